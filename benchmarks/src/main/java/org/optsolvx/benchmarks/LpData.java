@@ -0,0 +1,136 @@
+package org.optsolvx.benchmarks;
+
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.Constraint;
+import org.optsolvx.model.OptimizationDirection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generated model data, kept outside of any model so that the construction benchmarks only
+ * measure the model API. Names and term maps for the name-based API are prepared up front.
+ */
+public final class LpData {
+
+    private final OptimizationDirection direction;
+    private final String[] names;
+    private final double[] lower;
+    private final double[] upper;
+    private final double[] cost;
+    private final Map<String, Double> objective = new LinkedHashMap<>();
+
+    private final List<String> rowNames = new ArrayList<>();
+    private final List<Map<String, Double>> rowTerms = new ArrayList<>();
+    private final List<Constraint.Relation> relations = new ArrayList<>();
+    private double[] rhs = new double[16];
+    private int[] rowStarts = new int[17];
+    private int[] columns = new int[64];
+    private double[] values = new double[64];
+
+    LpData(int n, OptimizationDirection direction) {
+        this.direction = direction;
+        this.names = new String[n];
+        this.lower = new double[n];
+        this.upper = new double[n];
+        this.cost = new double[n];
+    }
+
+    void variable(int j, double lb, double ub, double c) {
+        names[j] = "x" + j;
+        lower[j] = lb;
+        upper[j] = ub;
+        cost[j] = c;
+        if (c != 0.0) objective.put(names[j], c);
+    }
+
+    void row(int[] cols, double[] vals, int len, Constraint.Relation rel, double b) {
+        final int i = relations.size();
+        final int start = rowStarts[i];
+        if (start + len > columns.length) {
+            columns = Arrays.copyOf(columns, Math.max(2 * columns.length, start + len));
+            values = Arrays.copyOf(values, columns.length);
+        }
+        if (i + 1 >= rhs.length) {
+            rhs = Arrays.copyOf(rhs, 2 * rhs.length);
+            rowStarts = Arrays.copyOf(rowStarts, rhs.length + 1);
+        }
+        final Map<String, Double> terms = new LinkedHashMap<>();
+        for (int p = 0; p < len; p++) {
+            columns[start + p] = cols[p];
+            values[start + p] = vals[p];
+            terms.put(names[cols[p]], vals[p]);
+        }
+        rowStarts[i + 1] = start + len;
+        rhs[i] = b;
+        rowNames.add("r" + i);
+        rowTerms.add(terms);
+        relations.add(rel);
+    }
+
+    public int getVariableCount() {
+        return names.length;
+    }
+
+    public int getConstraintCount() {
+        return relations.size();
+    }
+
+    public int getNonZeroCount() {
+        return rowStarts[relations.size()];
+    }
+
+    /**
+     * Adds all variables through {@link AbstractLPModel#addVariable}.
+     */
+    public void addVariables(AbstractLPModel model) {
+        for (int j = 0; j < names.length; j++) {
+            model.addVariable(names[j], lower[j], upper[j]);
+        }
+    }
+
+    /**
+     * Adds objective and all rows through the name-based API (term maps, {@link AbstractLPModel#addConstraint}).
+     */
+    public void addConstraints(AbstractLPModel model) {
+        model.setObjective(objective, direction);
+        for (int i = 0; i < relations.size(); i++) {
+            model.addConstraint(rowNames.get(i), rowTerms.get(i), relations.get(i), rhs[i]);
+        }
+    }
+
+    /**
+     * @return unbuilt model created through the name-based API
+     */
+    public AbstractLPModel toModel() {
+        final AbstractLPModel model = new AbstractLPModel();
+        addVariables(model);
+        addConstraints(model);
+        return model;
+    }
+
+    /**
+     * @return unbuilt model created through the index-based bulk API
+     */
+    public AbstractLPModel toModelBulk() {
+        final AbstractLPModel model = new AbstractLPModel();
+        final int m = relations.size();
+        model.addVariables(names, lower, upper);
+        model.addRows(rowNames.toArray(new String[0]), Arrays.copyOf(rowStarts, m + 1), columns, values,
+                relations.toArray(new Constraint.Relation[0]), Arrays.copyOf(rhs, m));
+        model.setObjective(cost, direction);
+        return model;
+    }
+
+    /**
+     * @return built model (name-based API)
+     */
+    public AbstractLPModel toBuiltModel() {
+        final AbstractLPModel model = toModel();
+        model.build();
+        return model;
+    }
+}
@@ -0,0 +1,160 @@
+package org.optsolvx.benchmarks;
+
+import org.optsolvx.model.Constraint;
+import org.optsolvx.model.OptimizationDirection;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Generated LP families used by the benchmarks. Every family is feasible and bounded and is
+ * generated deterministically from a size (number of variables) and a seed.
+ */
+public enum LpFamily {
+    /**
+     * Every row touches every variable: n boxed variables, n/2 LEQ rows with positive coefficients.
+     */
+    DENSE {
+        @Override
+        LpData generate(int n, Random random) {
+            final LpData data = new LpData(n, OptimizationDirection.MAXIMIZE);
+            for (int j = 0; j < n; j++) data.variable(j, 0.0, 100.0, 1 + random.nextInt(9));
+            final int[] columns = new int[n];
+            final double[] values = new double[n];
+            for (int i = 0; i < n / 2; i++) {
+                double sum = 0.0;
+                for (int j = 0; j < n; j++) {
+                    columns[j] = j;
+                    values[j] = 1 + random.nextInt(9);
+                    sum += values[j];
+                }
+                data.row(columns, values, n, Constraint.Relation.LEQ, 10.0 * sum);
+            }
+            return data;
+        }
+    },
+    /**
+     * Five non-zeros per row, mixed relations; right-hand sides from a point within the bounds.
+     */
+    SPARSE {
+        @Override
+        LpData generate(int n, Random random) {
+            return sparse(n, random, false);
+        }
+    },
+    /**
+     * Stoichiometric network like flux balance analysis: S·v = 0 over n reactions and 2n/3
+     * metabolites, irreversible and reversible fluxes, limited uptake, biomass objective.
+     */
+    FBA {
+        @Override
+        LpData generate(int n, Random random) {
+            final int metabolites = Math.max(2, 2 * n / 3);
+            final LpData data = new LpData(n, OptimizationDirection.MAXIMIZE);
+            // Column-wise stoichiometry, collected per metabolite row
+            final int[][] rowColumns = new int[metabolites][8];
+            final double[][] rowValues = new double[metabolites][8];
+            final int[] rowLength = new int[metabolites];
+            for (int j = 0; j < n; j++) {
+                final boolean biomass = j == n - 1;
+                final boolean exchange = !biomass && random.nextInt(10) == 0;
+                if (biomass) {
+                    data.variable(j, 0.0, 1000.0, 1.0);
+                } else if (exchange) {
+                    data.variable(j, -10.0, 1000.0, 0.0);
+                } else if (random.nextInt(10) < 3) {
+                    data.variable(j, -1000.0, 1000.0, 0.0);
+                } else {
+                    data.variable(j, 0.0, 1000.0, 0.0);
+                }
+                final int entries = biomass ? Math.min(10, metabolites) : exchange ? 1 : 2 + random.nextInt(3);
+                final int first = random.nextInt(metabolites);
+                for (int k = 0; k < entries; k++) {
+                    final int i = (first + k * 7) % metabolites;
+                    double v = random.nextBoolean() ? 1.0 : 2.0;
+                    if (biomass || (!exchange && k < entries / 2)) v = -v; // consumed
+                    if (rowLength[i] == rowColumns[i].length) {
+                        rowColumns[i] = Arrays.copyOf(rowColumns[i], 2 * rowLength[i]);
+                        rowValues[i] = Arrays.copyOf(rowValues[i], 2 * rowLength[i]);
+                    }
+                    if (contains(rowColumns[i], rowLength[i], j)) continue;
+                    rowColumns[i][rowLength[i]] = j;
+                    rowValues[i][rowLength[i]++] = v;
+                }
+            }
+            for (int i = 0; i < metabolites; i++) {
+                if (rowLength[i] == 0) continue;
+                data.row(rowColumns[i], rowValues[i], rowLength[i], Constraint.Relation.EQ, 0.0);
+            }
+            return data;
+        }
+    },
+    /**
+     * Like {@link #SPARSE}, but most right-hand sides are zero, half of the rows are equalities
+     * and every fifth row is a scaled copy of the previous one (degenerate vertices).
+     */
+    DEGENERATE {
+        @Override
+        LpData generate(int n, Random random) {
+            return sparse(n, random, true);
+        }
+    };
+
+    /**
+     * @param n    number of variables
+     * @param seed random seed
+     * @return the generated model data
+     */
+    public LpData create(int n, long seed) {
+        if (n < 2) throw new IllegalArgumentException("Size must be at least 2: " + n);
+        return generate(n, new Random(seed));
+    }
+
+    abstract LpData generate(int n, Random random);
+
+    private static LpData sparse(int n, Random random, boolean degenerate) {
+        final LpData data = new LpData(n, OptimizationDirection.MINIMIZE);
+        final double[] point = new double[n];
+        for (int j = 0; j < n; j++) {
+            final double upper = 1 + random.nextInt(20);
+            data.variable(j, 0.0, upper, random.nextInt(11) - 5);
+            point[j] = degenerate && random.nextInt(4) != 0 ? 0.0 : random.nextInt((int) upper + 1);
+        }
+        final int len = Math.min(5, n);
+        final int[] columns = new int[len];
+        final double[] values = new double[len];
+        final Constraint.Relation[] relations = Constraint.Relation.values();
+        for (int i = 0; i < n / 2; i++) {
+            final boolean copy = degenerate && i % 5 == 4;
+            double activity = 0.0;
+            if (!copy) {
+                for (int p = 0; p < len; p++) {
+                    int j;
+                    do {
+                        j = random.nextInt(n);
+                    } while (contains(columns, p, j));
+                    columns[p] = j;
+                    values[p] = random.nextInt(7) - 3;
+                    if (values[p] == 0.0) values[p] = 1.0;
+                }
+            } else {
+                for (int p = 0; p < len; p++) values[p] *= 2.0;
+            }
+            for (int p = 0; p < len; p++) activity += values[p] * point[columns[p]];
+            final Constraint.Relation rel = degenerate && i % 2 == 0
+                    ? Constraint.Relation.EQ : relations[random.nextInt(relations.length)];
+            double rhs = activity;
+            if (!degenerate && rel == Constraint.Relation.LEQ) rhs += random.nextInt(5);
+            if (!degenerate && rel == Constraint.Relation.GEQ) rhs -= random.nextInt(5);
+            data.row(columns, values, len, rel, rhs);
+        }
+        return data;
+    }
+
+    private static boolean contains(int[] columns, int length, int j) {
+        for (int k = 0; k < length; k++) {
+            if (columns[k] == j) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,97 @@
+package org.optsolvx.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.optsolvx.model.AbstractLPModel;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Model construction: name-based {@code addVariable}/{@code addConstraint}, the index-based
+ * bulk API and {@code build()}. The model data is generated once per trial.
+ * <p>
+ * {@link #addConstraint} and {@link #build} need a fresh model per call, prepared in an
+ * invocation-level setup that is not measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModelConstructionBenchmark {
+
+    @Param({"DENSE", "SPARSE", "FBA", "DEGENERATE"})
+    public LpFamily family;
+
+    @Param({"100", "1000"})
+    public int size;
+
+    LpData data;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        data = family.create(size, 42L);
+    }
+
+    @Benchmark
+    public AbstractLPModel addVariable() {
+        final AbstractLPModel model = new AbstractLPModel();
+        data.addVariables(model);
+        return model;
+    }
+
+    @Benchmark
+    public AbstractLPModel addConstraint(WithVariables state) {
+        data.addConstraints(state.model);
+        return state.model;
+    }
+
+    @Benchmark
+    public AbstractLPModel bulkApi() {
+        return data.toModelBulk();
+    }
+
+    @Benchmark
+    public AbstractLPModel build(Unbuilt state) {
+        state.model.build();
+        return state.model;
+    }
+
+    /**
+     * Model with all variables, but no objective and rows yet.
+     */
+    @State(Scope.Thread)
+    public static class WithVariables {
+        AbstractLPModel model;
+
+        @Setup(Level.Invocation)
+        public void create(ModelConstructionBenchmark benchmark) {
+            model = new AbstractLPModel();
+            benchmark.data.addVariables(model);
+        }
+    }
+
+    /**
+     * Complete model that has not been built yet.
+     */
+    @State(Scope.Thread)
+    public static class Unbuilt {
+        AbstractLPModel model;
+
+        @Setup(Level.Invocation)
+        public void create(ModelConstructionBenchmark benchmark) {
+            model = benchmark.data.toModel();
+        }
+    }
+}
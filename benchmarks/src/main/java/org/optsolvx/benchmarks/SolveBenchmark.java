@@ -0,0 +1,59 @@
+package org.optsolvx.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.solver.LPSolution;
+import org.optsolvx.solver.LPSolverAdapter;
+import org.optsolvx.solver.SolverRegistry;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@code solve} (translation, optimization and result mapping) of a built model
+ * with every registered backend.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SolveBenchmark {
+
+    @Param({"DENSE", "SPARSE", "FBA", "DEGENERATE"})
+    public LpFamily family;
+
+    @Param({"100", "500"})
+    public int size;
+
+    @Param({"commons-math", "ojalgo", "optsolvx-simplex", "pdlp"})
+    public String solver;
+
+    AbstractLPModel model;
+    LPSolverAdapter adapter;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        model = family.create(size, 42L).toBuiltModel();
+        adapter = SolverRegistry.create(solver);
+        if (!adapter.solve(model).isFeasible()) {
+            throw new IllegalStateException(solver + " found no solution for " + family + "/" + size);
+        }
+    }
+
+    @Benchmark
+    public LPSolution solve() {
+        return adapter.solve(model);
+    }
+}
@@ -0,0 +1,55 @@
+package org.optsolvx.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.optsolvx.backend.ojalgo.OjAlgoSession;
+import org.optsolvx.backend.ojalgo.OjAlgoSolver;
+import org.optsolvx.model.AbstractLPModel;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Model-to-backend translation without solving. Opening an {@link OjAlgoSession} translates
+ * the built model into an ojAlgo model and nothing else.
+ * <p>
+ * {@code CommonsMathSolver} translates and optimizes in one call; its translation is part of
+ * {@link SolveBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TranslationBenchmark {
+
+    @Param({"DENSE", "SPARSE", "FBA", "DEGENERATE"})
+    public LpFamily family;
+
+    @Param({"100", "1000"})
+    public int size;
+
+    AbstractLPModel model;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        model = family.create(size, 42L).toBuiltModel();
+    }
+
+    @Benchmark
+    public OjAlgoSession ojAlgo() {
+        final OjAlgoSession session = new OjAlgoSolver().openSession(model);
+        session.close();
+        return session;
+    }
+}
@@ -0,0 +1,243 @@
+package org.optsolvx.analysis;
+
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.Constraint;
+import org.optsolvx.model.OptimizationDirection;
+import org.optsolvx.solver.LPSolution;
+import org.optsolvx.solver.LPSolverAdapter;
+import org.optsolvx.solver.LPSolverSession;
+import org.optsolvx.solver.SolverRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Flux variability analysis (FVA): the minimum and maximum of every variable over all
+ * solutions whose objective value lies within a fraction of the optimum.
+ * <p>
+ * The model is solved once and the optimum Z is fixed by one extra constraint
+ * ({@code c'x >= Z - (1 - fraction) |Z|} for MAXIMIZE, {@code c'x <= Z + (1 - fraction) |Z|}
+ * for MINIMIZE). The 2n min/max subproblems are then split over a pool of workers.
+ * Every worker owns one copy of the fixed model and one backend session
+ * ({@link LPSolverAdapter#openSession}); between solves it only swaps the objective
+ * coefficient and direction, and writes the optimum straight into the result arrays.
+ * Tasks are handed out in small chunks from a shared counter, so uneven solve times balance out.
+ * <p>
+ * Any {@link ExecutorService} can run the workers, e.g. a {@link ForkJoinPool} (default:
+ * the common pool) or, on Java 21+, a virtual-thread executor; {@link #setParallelism}
+ * bounds the number of workers and thus of model copies.
+ */
+public final class FluxVariabilityAnalysis {
+
+    // Number of subproblems a worker takes from the shared counter at once
+    private static final int CHUNK = 8;
+
+    // Relative slack on the optimum constraint to absorb round-off of the first solve
+    private static final double OPTIMUM_TOLERANCE = 1e-9;
+
+    private final Supplier<? extends LPSolverAdapter> backends;
+    private double fractionOfOptimum = 1.0;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private ExecutorService executor;
+
+    /**
+     * @param backends creates one backend instance per worker (and one for the initial solve)
+     */
+    public FluxVariabilityAnalysis(Supplier<? extends LPSolverAdapter> backends) {
+        if (backends == null) throw new IllegalArgumentException("Backend supplier must not be null.");
+        this.backends = backends;
+    }
+
+    /**
+     * @param backend name of a backend registered in {@link SolverRegistry}
+     */
+    public FluxVariabilityAnalysis(String backend) {
+        if (!SolverRegistry.has(backend)) {
+            throw new IllegalArgumentException("Unknown solver: " + backend + " (known: " + SolverRegistry.names() + ")");
+        }
+        this.backends = () -> SolverRegistry.create(backend);
+    }
+
+    public double getFractionOfOptimum() {
+        return fractionOfOptimum;
+    }
+
+    /**
+     * @param fractionOfOptimum required fraction of the optimum, in (0, 1]; default 1
+     */
+    public void setFractionOfOptimum(double fractionOfOptimum) {
+        if (!(fractionOfOptimum > 0.0 && fractionOfOptimum <= 1.0)) {
+            throw new IllegalArgumentException("Fraction of optimum must be in (0, 1]: " + fractionOfOptimum);
+        }
+        this.fractionOfOptimum = fractionOfOptimum;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @param parallelism maximum number of workers; default: number of available processors
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @return executor running the workers, or null for the common ForkJoin pool
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * @param executor executor running the workers (null: common ForkJoin pool); not shut down here
+     */
+    public void setExecutor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Runs FVA for all variables of the model.
+     */
+    public FluxVariabilityResult run(AbstractLPModel model) {
+        if (model == null) throw new IllegalArgumentException("Model must not be null.");
+        final int[] all = new int[model.getVariableCount()];
+        for (int j = 0; j < all.length; j++) all[j] = j;
+        return run(model, all);
+    }
+
+    /**
+     * Runs FVA for the given variables of the model. The model itself is not modified.
+     *
+     * @param model     the model (built on demand)
+     * @param variables indices of the variables to analyse
+     * @return minimum and maximum of each variable, aligned with {@code variables}
+     */
+    public FluxVariabilityResult run(AbstractLPModel model, int[] variables) {
+        if (model == null) throw new IllegalArgumentException("Model must not be null.");
+        for (int j : variables) {
+            if (j < 0 || j >= model.getVariableCount()) {
+                throw new IllegalArgumentException("Variable index " + j + " out of range [0, " + model.getVariableCount() + ")");
+            }
+        }
+        if (!model.isBuilt()) model.build();
+        final int[] vars = variables.clone();
+
+        final LPSolution optimum = backends.get().solve(model);
+        if (!optimum.isFeasible()) {
+            return FluxVariabilityResult.infeasible(vars);
+        }
+        final double z = optimum.getObjectiveValue();
+        final AbstractLPModel fixed = fixOptimum(model, z);
+
+        final double[] minimum = new double[vars.length];
+        final double[] maximum = new double[vars.length];
+        final int tasks = 2 * vars.length;
+        final int workers = Math.max(1, Math.min(parallelism, (tasks + CHUNK - 1) / CHUNK));
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicBoolean failed = new AtomicBoolean();
+
+        final ExecutorService pool = executor != null ? executor : ForkJoinPool.commonPool();
+        final List<Future<?>> futures = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            futures.add(pool.submit(() -> {
+                try {
+                    work(fixed, vars, minimum, maximum, next, failed);
+                } catch (RuntimeException | Error e) {
+                    failed.set(true);
+                    throw e;
+                }
+            }));
+        }
+        awaitAll(futures);
+        return new FluxVariabilityResult(vars, minimum, maximum, z, true);
+    }
+
+    private void work(AbstractLPModel fixed, int[] vars, double[] minimum, double[] maximum,
+                      AtomicInteger next, AtomicBoolean failed) {
+        final AbstractLPModel local = fixed.copy();
+        final int tasks = 2 * vars.length;
+        int current = -1; // variable that currently carries objective coefficient 1
+        try (LPSolverSession session = backends.get().openSession(local)) {
+            int start;
+            while (!failed.get() && (start = next.getAndAdd(CHUNK)) < tasks) {
+                final int end = Math.min(start + CHUNK, tasks);
+                for (int t = start; t < end; t++) {
+                    final int k = t >> 1;
+                    final boolean max = (t & 1) == 0;
+                    if (vars[k] != current) {
+                        if (current >= 0) local.setObjectiveCoefficient(current, 0.0);
+                        current = vars[k];
+                        local.setObjectiveCoefficient(current, 1.0);
+                    }
+                    local.setDirection(max ? OptimizationDirection.MAXIMIZE : OptimizationDirection.MINIMIZE);
+                    final LPSolution sol = session.solve();
+                    (max ? maximum : minimum)[k] = sol.isFeasible() ? sol.getObjectiveValue() : Double.NaN;
+                }
+            }
+        }
+    }
+
+    /**
+     * Copy of the model with a zero objective and the optimum constraint appended.
+     */
+    private AbstractLPModel fixOptimum(AbstractLPModel model, double z) {
+        final AbstractLPModel fixed = model.copy();
+        final int n = model.getVariableCount();
+        int nnz = 0;
+        for (int j = 0; j < n; j++) {
+            if (model.getObjectiveCoefficient(j) != 0.0) nnz++;
+        }
+        final int[] columns = new int[nnz];
+        final double[] values = new double[nnz];
+        nnz = 0;
+        for (int j = 0; j < n; j++) {
+            final double c = model.getObjectiveCoefficient(j);
+            if (c != 0.0) {
+                columns[nnz] = j;
+                values[nnz++] = c;
+            }
+        }
+        final double slack = (1.0 - fractionOfOptimum) * Math.abs(z) + OPTIMUM_TOLERANCE * Math.max(1.0, Math.abs(z));
+        if (model.getDirection() == OptimizationDirection.MAXIMIZE) {
+            fixed.addRow(null, columns, values, Constraint.Relation.GEQ, z - slack);
+        } else {
+            fixed.addRow(null, columns, values, Constraint.Relation.LEQ, z + slack);
+        }
+        fixed.setObjective(new double[n], OptimizationDirection.MAXIMIZE);
+        fixed.setPresolveEnabled(false);
+        fixed.build();
+        return fixed;
+    }
+
+    private static void awaitAll(List<Future<?>> futures) {
+        RuntimeException failure = null;
+        for (Future<?> f : futures) {
+            try {
+                f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                for (Future<?> g : futures) g.cancel(true);
+                throw new IllegalStateException("Interrupted while waiting for FVA workers.", e);
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    final Throwable cause = e.getCause();
+                    if (cause instanceof Error) throw (Error) cause;
+                    failure = cause instanceof RuntimeException
+                            ? (RuntimeException) cause
+                            : new IllegalStateException("FVA worker failed.", cause);
+                }
+            }
+        }
+        if (failure != null) throw failure;
+    }
+}
@@ -0,0 +1,75 @@
+package org.optsolvx.analysis;
+
+import java.util.Arrays;
+
+/**
+ * Result of a {@link FluxVariabilityAnalysis} run.
+ * Entry {@code k} of {@link #getMinimum()} and {@link #getMaximum()} belongs to the
+ * model variable {@code getVariables()[k]}. A value is NaN if the backend found no
+ * feasible solution for that subproblem (e.g. the variable is unbounded in that direction).
+ */
+public final class FluxVariabilityResult {
+
+    private final int[] variables;
+    private final double[] minimum;
+    private final double[] maximum;
+    private final double objectiveValue;
+    private final boolean feasible;
+
+    FluxVariabilityResult(int[] variables, double[] minimum, double[] maximum,
+                          double objectiveValue, boolean feasible) {
+        this.variables = variables;
+        this.minimum = minimum;
+        this.maximum = maximum;
+        this.objectiveValue = objectiveValue;
+        this.feasible = feasible;
+    }
+
+    static FluxVariabilityResult infeasible(int[] variables) {
+        final double[] nan = new double[variables.length];
+        Arrays.fill(nan, Double.NaN);
+        return new FluxVariabilityResult(variables, nan, nan.clone(), Double.NaN, false);
+    }
+
+    /**
+     * @return number of analysed variables
+     */
+    public int size() {
+        return variables.length;
+    }
+
+    /**
+     * @return model indices of the analysed variables (not copied)
+     */
+    public int[] getVariables() {
+        return variables;
+    }
+
+    /**
+     * @return minimum of each analysed variable (not copied)
+     */
+    public double[] getMinimum() {
+        return minimum;
+    }
+
+    /**
+     * @return maximum of each analysed variable (not copied)
+     */
+    public double[] getMaximum() {
+        return maximum;
+    }
+
+    /**
+     * @return optimal objective value of the original model (NaN if infeasible)
+     */
+    public double getObjectiveValue() {
+        return objectiveValue;
+    }
+
+    /**
+     * @return false if the original model was infeasible; all ranges are NaN then
+     */
+    public boolean isFeasible() {
+        return feasible;
+    }
+}
@@ -0,0 +1,29 @@
+package org.optsolvx.backend.commonsmath;
+
+import org.optsolvx.solver.LPSolverAdapter;
+import org.optsolvx.solver.SolverProvider;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Registers {@link CommonsMathSolver} as {@code "commons-math"} (aliases {@code "commonsmath"}, {@code "cm"});
+ * see {@link SolverProvider}.
+ */
+public final class CommonsMathProvider implements SolverProvider {
+
+    @Override
+    public String getName() {
+        return CommonsMathSolver.NAME;
+    }
+
+    @Override
+    public List<String> getAliases() {
+        return Arrays.asList("commonsmath", "cm");
+    }
+
+    @Override
+    public LPSolverAdapter create() {
+        return new CommonsMathSolver();
+    }
+}
@@ -1,40 +1,155 @@
 package org.optsolvx.backend.commonsmath;
 
+import org.optsolvx.backend.simplex.DualRecovery;
+import org.optsolvx.jfr.Events;
 import org.optsolvx.model.AbstractLPModel;
-import org.optsolvx.model.Variable;
-import org.optsolvx.model.Constraint;
 import org.optsolvx.model.Constraint.Relation;
 import org.optsolvx.model.OptimizationDirection;
+import org.optsolvx.model.SparseMatrix;
 
+import org.apache.commons.math3.exception.TooManyIterationsException;
+import org.apache.commons.math3.linear.OpenMapRealVector;
 import org.apache.commons.math3.optim.PointValuePair;
 import org.apache.commons.math3.optim.MaxIter;
 import org.apache.commons.math3.optim.linear.LinearConstraint;
 import org.apache.commons.math3.optim.linear.LinearConstraintSet;
 import org.apache.commons.math3.optim.linear.LinearObjectiveFunction;
+import org.apache.commons.math3.optim.linear.NoFeasibleSolutionException;
 import org.apache.commons.math3.optim.linear.NonNegativeConstraint;
 import org.apache.commons.math3.optim.linear.Relationship;
 import org.apache.commons.math3.optim.linear.SimplexSolver;
+import org.apache.commons.math3.optim.linear.UnboundedSolutionException;
 import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
 import org.optsolvx.solver.LPSolution;
 import org.optsolvx.solver.LPSolverAdapter;
+import org.optsolvx.solver.SolveControl;
+import org.optsolvx.solver.SolveStatistics;
+import org.optsolvx.solver.SolveStatus;
+import org.optsolvx.solver.Workspace;
 
 import java.util.*;
 
 /**
  * Commons Math 3 backend for OptSolvX.
- * Implementation notes:
+ * Two formulations are available:
+ * <p>
+ * Compact (default):
+ * - Equality constraints stay single {@link Relationship#EQ} rows.
+ * - Variables are substituted to be non-negative: x = lb + x' (finite lb),
+ * x = ub - x' (only ub finite), x = x⁺ - x⁻ (free); fixed variables become constants.
+ * This allows NonNegativeConstraint(true), so no extra free-variable column is needed.
+ * - An upper-bound row x' &lt;= ub - lb is emitted only for boxed variables whose bound is
+ * not already implied by a single-signed model row.
+ * - Rows are passed as sparse vectors; results are mapped back to the original variables.
+ * If the mapped-back point violates a model row (Commons Math can return such points for
+ * degenerate EQ problems), the expanded formulation is solved instead.
+ * <p>
+ * Expanded (legacy, {@code new CommonsMathSolver(false)}):
  * - Equality constraints are represented as two inequalities (<= and >=).
  * - Variable bounds are added explicitly as linear constraints (lb/ub).
  * - NonNegativeConstraint(false) is required to allow negative fluxes.
- * - If the problem is infeasible or unbounded, the solution is marked infeasible
- * and the objective is reported as NaN to mirror legacy behavior.
+ * <p>
+ * If the problem is infeasible or unbounded, the solution is marked infeasible
+ * and the objective is reported as NaN to mirror legacy behavior; the reason is
+ * available from {@link LPSolution#getStatistics()}. Commons Math reports no duals; they are
+ * recovered from the optimal point by a warm-started crossover ({@link DualRecovery}) under the
+ * same solve control; if the control stops it or it hits its iteration cap, the solution has no
+ * duals. {@link #setDualRecovery(boolean)} switches the crossover off.
+ * Instances reuse their translation arrays ({@link Workspace}) across solves and are not thread-safe.
  */
 public final class CommonsMathSolver implements LPSolverAdapter {
 
-    private static final int MAX_ITERS = 10_000;
+    /**
+     * Registry name of this backend, also reported in {@link org.optsolvx.solver.SolveStatistics#getBackend()}.
+     */
+    public static final String NAME = "commons-math";
+
+    private static final int DEFAULT_MAX_ITERATIONS = 10_000;
+
+    // Column kinds of the compact formulation
+    private static final byte FIXED = 0;       // x = lb (no column)
+    private static final byte FROM_LOWER = 1;  // x = lb + x'
+    private static final byte FROM_UPPER = 2;  // x = ub - x'
+    private static final byte FREE = 3;        // x = x⁺ - x⁻ (two columns)
+
+    private final boolean compact;
+    private int maxIterations = DEFAULT_MAX_ITERATIONS;
+    private boolean dualRecovery = true;
+    private final Workspace workspace = new Workspace();
+    private final DualRecovery recovery = new DualRecovery();
+
+    /**
+     * Creates a solver using the compact formulation.
+     */
+    public CommonsMathSolver() {
+        this(true);
+    }
+
+    /**
+     * @param compact true for the compact formulation, false for the expanded legacy one
+     */
+    public CommonsMathSolver(boolean compact) {
+        this.compact = compact;
+    }
+
+    /**
+     * @return true if the compact formulation is used
+     */
+    public boolean isCompact() {
+        return compact;
+    }
+
+    /**
+     * @return simplex iteration limit per solve, default 10000
+     */
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+
+    public void setMaxIterations(int maxIterations) {
+        if (maxIterations < 1) {
+            throw new IllegalArgumentException("maxIterations must be positive: " + maxIterations);
+        }
+        this.maxIterations = maxIterations;
+    }
+
+    /**
+     * @return true if optimal solutions get duals from a crossover, default true
+     */
+    public boolean isDualRecovery() {
+        return dualRecovery;
+    }
+
+    /**
+     * @param dualRecovery false to skip the crossover; optimal solutions then keep their row
+     *                     activities and slacks but have no duals
+     */
+    public void setDualRecovery(boolean dualRecovery) {
+        this.dualRecovery = dualRecovery;
+    }
+
+    @Override
+    public long getWorkspaceBytes() {
+        return workspace.getRetainedBytes() + recovery.getWorkspaceBytes();
+    }
+
+    @Override
+    public void clearWorkspace() {
+        workspace.clear();
+        recovery.clearWorkspace();
+    }
 
     @Override
     public LPSolution solve(AbstractLPModel model) {
+        return solve(model, new SolveControl());
+    }
+
+    /**
+     * The control is checked before the translation and in every simplex iteration; its iteration
+     * limit replaces {@link #getMaxIterations()} for this call.
+     */
+    @Override
+    public LPSolution solve(AbstractLPModel model, SolveControl control) {
         if (model == null) {
             throw new IllegalArgumentException("Model must not be null.");
         }
@@ -42,15 +157,254 @@ public final class CommonsMathSolver implements LPSolverAdapter {
         if (!model.isBuilt()) {
             model.build();
         }
+        final Object event = Events.beginSolve();
+        final Run run = new Run(control, control.getMaxIterations() > 0 ? control.getMaxIterations() : maxIterations);
+        if (control.shouldStop()) {
+            run.status = control.getStopStatus();
+            final LPSolution solution = infeasible(model, run);
+            Events.endSolve(event, model, solution.getStatistics());
+            return solution;
+        }
+        final LPSolution solution = compact ? solveCompact(model, run) : solveExpanded(model, run);
+        Events.endSolve(event, model, solution.getStatistics());
+        return solution;
+    }
 
-        final List<Variable> vars = model.getVariables();
-        final int n = vars.size();
+    private LPSolution solveCompact(AbstractLPModel model, Run run) {
+        final int n = model.getVariableCount();
+        final SparseMatrix matrix = model.getMatrix();
+        final int m = matrix.getRowCount();
+
+        // ----- Variable substitution -----
+        final byte[] kind = workspace.bytes(0, n);
+        final int[] column = workspace.ints(0, n);   // first compact column of each variable (-1 if fixed)
+        final double[] shift = workspace.doubles(0, n);
+        int cols = 0;
+        for (int j = 0; j < n; j++) {
+            final double lb = model.getVariableLowerBound(j);
+            final double ub = model.getVariableUpperBound(j);
+            if (lb == ub) {
+                kind[j] = FIXED;
+                shift[j] = lb;
+                column[j] = -1;
+            } else if (!Double.isInfinite(lb)) {
+                kind[j] = FROM_LOWER;
+                shift[j] = lb;
+                column[j] = cols++;
+            } else if (!Double.isInfinite(ub)) {
+                kind[j] = FROM_UPPER;
+                shift[j] = ub;
+                column[j] = cols++;
+            } else {
+                kind[j] = FREE;
+                column[j] = cols;
+                cols += 2;
+            }
+        }
 
         // ----- Objective -----
-        final double[] objective = new double[n];
-        for (Map.Entry<String, Double> e : model.getObjectiveCoefficients().entrySet()) {
-            final int idx = model.getVariableIndex(e.getKey());
-            objective[idx] = e.getValue();
+        final double[] objective = workspace.doubles(1, cols);
+        double constant = 0.0;
+        for (int j = 0; j < n; j++) {
+            final double c = model.getObjectiveCoefficient(j);
+            if (c == 0.0) continue;
+            constant += c * shift[j];
+            addTerm(objective, kind[j], column[j], c);
+        }
+        final LinearObjectiveFunction f = new LinearObjectiveFunction(objective, constant);
+        final GoalType goal = (model.getDirection() == OptimizationDirection.MAXIMIZE)
+                ? GoalType.MAXIMIZE : GoalType.MINIMIZE;
+
+        // ----- Model rows (EQ stays EQ), with shifted right-hand sides -----
+        final Collection<LinearConstraint> cons = new ArrayList<>();
+        final double[] impliedUpper = workspace.doubles(2, cols);
+        Arrays.fill(impliedUpper, Double.POSITIVE_INFINITY);
+        final double[] row = workspace.doubles(3, cols);
+        final int[] rowColumns = workspace.ints(1, cols);
+        final double[] rowValues = workspace.doubles(4, cols);
+        for (int i = 0; i < m; i++) {
+            double rhs = model.getConstraintRhs(i);
+            boolean anyPositive = false, anyNegative = false;
+            int len = 0;
+            final OpenMapRealVector a = new OpenMapRealVector(cols);
+            for (int p = matrix.getRowStart(i); p < matrix.getRowEnd(i); p++) {
+                final int j = matrix.getColumnIndex(p);
+                final double v = matrix.getRowValue(p);
+                rhs -= v * shift[j];
+                if (kind[j] == FIXED || v == 0.0) continue;
+                addTerm(row, kind[j], column[j], v);
+            }
+            for (int p = matrix.getRowStart(i); p < matrix.getRowEnd(i); p++) {
+                final int j = matrix.getColumnIndex(p);
+                if (kind[j] == FIXED) continue;
+                for (int c = column[j]; c < column[j] + (kind[j] == FREE ? 2 : 1); c++) {
+                    if (row[c] == 0.0) continue;
+                    a.setEntry(c, row[c]);
+                    rowColumns[len] = c;
+                    rowValues[len++] = row[c];
+                    if (row[c] > 0) anyPositive = true;
+                    else anyNegative = true;
+                    row[c] = 0.0;
+                }
+            }
+            final Relation rel = model.getConstraintRelation(i);
+            if (!anyPositive && !anyNegative) {
+                // Row without free columns: constant 0 must satisfy it, otherwise infeasible
+                if (violates(rel, rhs)) {
+                    run.status = SolveStatus.INFEASIBLE;
+                    run.translationNanos += run.lap();
+                    return infeasible(model, run);
+                }
+                continue;
+            }
+            cons.add(new LinearConstraint(a, toRelationship(rel), rhs));
+            recordImpliedUpper(impliedUpper, rowColumns, rowValues, len, rel, rhs, anyPositive, anyNegative);
+        }
+
+        // ----- Upper-bound rows only where needed -----
+        for (int j = 0; j < n; j++) {
+            if (kind[j] != FROM_LOWER) continue;
+            final double range = model.getVariableUpperBound(j) - shift[j];
+            if (Double.isInfinite(range)) continue;
+            final int c = column[j];
+            if (impliedUpper[c] <= range) continue;
+            final OpenMapRealVector a = new OpenMapRealVector(cols);
+            a.setEntry(c, 1.0);
+            cons.add(new LinearConstraint(a, Relationship.LEQ, range));
+        }
+
+        // ----- Optimize and map back -----
+        final double[] point = optimize(f, cons, goal, true, cols, run);
+        if (point == null) {
+            return infeasible(model, run);
+        }
+        // Not a workspace slot: the solution takes ownership of the values
+        final double[] x = new double[n];
+        for (int j = 0; j < n; j++) {
+            switch (kind[j]) {
+                case FIXED:
+                    x[j] = shift[j];
+                    break;
+                case FROM_LOWER:
+                    x[j] = shift[j] + point[column[j]];
+                    break;
+                case FROM_UPPER:
+                    x[j] = shift[j] - point[column[j]];
+                    break;
+                default:
+                    x[j] = point[column[j]] - point[column[j] + 1];
+            }
+        }
+        if (!satisfiesRows(model, x)) {
+            // Commons Math can end degenerate EQ problems with an artificial variable left in
+            // the basis and return a point violating a row; the expanded formulation avoids this.
+            return solveExpanded(model, run);
+        }
+        double objectiveValue = 0.0;
+        for (int j = 0; j < n; j++) {
+            objectiveValue += model.getObjectiveCoefficient(j) * x[j];
+        }
+        return solution(model, x, objectiveValue, true, run);
+    }
+
+    /**
+     * Adds coefficient c of an original variable to the compact columns it maps to.
+     */
+    private static void addTerm(double[] target, byte kind, int column, double c) {
+        switch (kind) {
+            case FROM_LOWER:
+                target[column] += c;
+                break;
+            case FROM_UPPER:
+                target[column] -= c;
+                break;
+            case FREE:
+                target[column] += c;
+                target[column + 1] -= c;
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * A row whose non-zero coefficients all have one sign bounds every column from above:
+     * sum a_c x_c &lt;= r with all a_c &gt; 0 and x &gt;= 0 gives x_c &lt;= r / a_c.
+     */
+    private static void recordImpliedUpper(double[] impliedUpper, int[] columns, double[] values, int len,
+                                           Relation rel, double rhs, boolean anyPositive, boolean anyNegative) {
+        final double sign;
+        if (anyPositive && !anyNegative && (rel == Relation.LEQ || rel == Relation.EQ)) {
+            sign = 1.0;
+        } else if (anyNegative && !anyPositive && (rel == Relation.GEQ || rel == Relation.EQ)) {
+            sign = -1.0;
+        } else {
+            return;
+        }
+        for (int k = 0; k < len; k++) {
+            final double bound = (sign * rhs) / (sign * values[k]);
+            if (bound < impliedUpper[columns[k]]) impliedUpper[columns[k]] = bound;
+        }
+    }
+
+    /**
+     * Checks the mapped-back point against the model rows (bounds hold by construction).
+     */
+    private static boolean satisfiesRows(AbstractLPModel model, double[] x) {
+        final SparseMatrix matrix = model.getMatrix();
+        for (int i = 0; i < matrix.getRowCount(); i++) {
+            double activity = 0.0;
+            for (int p = matrix.getRowStart(i); p < matrix.getRowEnd(i); p++) {
+                activity += matrix.getRowValue(p) * x[matrix.getColumnIndex(p)];
+            }
+            final double rhs = model.getConstraintRhs(i);
+            final double tol = 1e-6 * (1.0 + Math.abs(rhs));
+            switch (model.getConstraintRelation(i)) {
+                case LEQ:
+                    if (activity > rhs + tol) return false;
+                    break;
+                case GEQ:
+                    if (activity < rhs - tol) return false;
+                    break;
+                default:
+                    if (Math.abs(activity - rhs) > tol) return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean violates(Relation rel, double rhs) {
+        final double tol = 1e-9 * (1.0 + Math.abs(rhs));
+        switch (rel) {
+            case LEQ:
+                return 0.0 > rhs + tol;
+            case GEQ:
+                return 0.0 < rhs - tol;
+            default:
+                return Math.abs(rhs) > tol;
+        }
+    }
+
+    private static Relationship toRelationship(Relation rel) {
+        switch (rel) {
+            case LEQ:
+                return Relationship.LEQ;
+            case GEQ:
+                return Relationship.GEQ;
+            case EQ:
+                return Relationship.EQ;
+            default:
+                throw new IllegalArgumentException("Unknown relation: " + rel);
+        }
+    }
+
+    private LPSolution solveExpanded(AbstractLPModel model, Run run) {
+        final int n = model.getVariableCount();
+
+        // ----- Objective -----
+        final double[] objective = workspace.doubles(6, n);
+        for (int j = 0; j < n; j++) {
+            objective[j] = model.getObjectiveCoefficient(j);
         }
         final LinearObjectiveFunction f = new LinearObjectiveFunction(objective, 0.0);
         final GoalType goal = (model.getDirection() == OptimizationDirection.MAXIMIZE)
@@ -59,14 +413,16 @@ public final class CommonsMathSolver implements LPSolverAdapter {
         // ----- Constraints from model -----
         final Collection<LinearConstraint> cons = new ArrayList<>();
 
-        // Linear constraints (EQ → two inequalities)
-        for (Constraint c : model.getConstraints()) {
-            final double[] a = new double[n];
-            for (Map.Entry<String, Double> term : c.getCoefficients().entrySet()) {
-                a[model.getVariableIndex(term.getKey())] = term.getValue();
+        // Linear constraints (EQ → two inequalities), rows read from the CSR matrix
+        // One dense row buffer; LinearConstraint copies its coefficients
+        final double[] a = workspace.doubles(7, n);
+        final SparseMatrix matrix = model.getMatrix();
+        for (int row = 0; row < matrix.getRowCount(); row++) {
+            for (int p = matrix.getRowStart(row); p < matrix.getRowEnd(row); p++) {
+                a[matrix.getColumnIndex(p)] = matrix.getRowValue(p);
             }
-            final double rhs = c.getRhs();
-            final Relation rel = c.getRelation();
+            final double rhs = model.getConstraintRhs(row);
+            final Relation rel = model.getConstraintRelation(row);
             switch (rel) {
                 case LEQ:
                     cons.add(new LinearConstraint(a, Relationship.LEQ, rhs));
@@ -81,67 +437,162 @@ public final class CommonsMathSolver implements LPSolverAdapter {
                 default:
                     throw new IllegalArgumentException("Unknown relation: " + rel);
             }
+            for (int p = matrix.getRowStart(row); p < matrix.getRowEnd(row); p++) {
+                a[matrix.getColumnIndex(p)] = 0.0;
+            }
         }
 
         // Variable bounds (as constraints)
         for (int i = 0; i < n; i++) {
-            final Variable v = vars.get(i);
-            final double lb = v.getLowerBound();
-            final double ub = v.getUpperBound();
+            final double lb = model.getVariableLowerBound(i);
+            final double ub = model.getVariableUpperBound(i);
 
+            a[i] = 1.0;
             // x_i >= lb
             if (!Double.isInfinite(lb)) {
-                final double[] a = new double[n];
-                a[i] = 1.0;
                 cons.add(new LinearConstraint(a, Relationship.GEQ, lb));
             }
             // x_i <= ub
             if (!Double.isInfinite(ub)) {
-                final double[] a = new double[n];
-                a[i] = 1.0;
                 cons.add(new LinearConstraint(a, Relationship.LEQ, ub));
             }
+            a[i] = 0.0;
         }
 
-        // ----- Optimize -----
-        final SimplexSolver solver = new SimplexSolver();
-        PointValuePair pvp;
-        boolean feasible = true;
-        double objectiveValue = Double.NaN;
-        double[] point = new double[n];
+        // IMPORTANT: allow negative values (fluxes can be negative)
+        final double[] point = optimize(f, cons, goal, false, n, run);
+        if (point == null) {
+            return infeasible(model, run);
+        }
+        double objectiveValue = 0.0;
+        for (int j = 0; j < n; j++) {
+            objectiveValue += objective[j] * point[j];
+        }
+        return solution(model, point, objectiveValue, true, run);
+    }
 
+    /**
+     * Runs the simplex; returns the point (padded to {@code size}) or null if no optimum was found.
+     * Everything since the last lap of {@code run} counts as translation; the reason for a
+     * missing optimum is recorded in {@code run.status}.
+     */
+    private static double[] optimize(LinearObjectiveFunction f, Collection<LinearConstraint> cons,
+                                     GoalType goal, boolean nonNegative, int size, Run run) {
+        final LinearConstraintSet constraints = new LinearConstraintSet(cons);
+        run.translationNanos += run.lap();
+        final SimplexSolver solver = new ControlledSimplexSolver(run.control);
         try {
-            pvp = solver.optimize(
-                    new MaxIter(MAX_ITERS),
+            final PointValuePair pvp = solver.optimize(
+                    new MaxIter(run.maxIterations),
                     f,
-                    new LinearConstraintSet(cons),
+                    constraints,
                     goal,
-                    // IMPORTANT: allow negative values (fluxes can be negative)
-                    new NonNegativeConstraint(false)
+                    new NonNegativeConstraint(nonNegative)
             );
             if (pvp == null || pvp.getPoint() == null) {
-                feasible = false;
-            } else {
-                point = pvp.getPoint();
-                // Guard: some solvers can return shorter arrays in degenerate cases
-                if (point.length < n) {
-                    point = Arrays.copyOf(point, n);
-                }
-                objectiveValue = pvp.getValue();
+                run.status = SolveStatus.ERROR;
+                return null;
+            }
+            double[] point = pvp.getPoint();
+            // Guard: some solvers can return shorter arrays in degenerate cases
+            if (point.length < size) {
+                point = Arrays.copyOf(point, size);
             }
-        } catch (Exception ex) {
-            // Infeasible/unbounded/iteration limit → mark infeasible, keep NaN objective
-            feasible = false;
+            run.status = SolveStatus.OPTIMAL;
+            return point;
+        } catch (NoFeasibleSolutionException ex) {
+            run.status = SolveStatus.INFEASIBLE;
+        } catch (UnboundedSolutionException ex) {
+            run.status = SolveStatus.UNBOUNDED;
+        } catch (TooManyIterationsException ex) {
+            run.status = SolveStatus.ITERATION_LIMIT;
+        } catch (Stopped ex) {
+            run.status = run.control.getStopStatus();
+        } catch (RuntimeException ex) {
+            run.status = SolveStatus.ERROR;
+            run.error = ex;
+        } finally {
+            run.iterations += solver.getIterations();
+            run.solveNanos += run.lap();
         }
+        // No optimum → mark infeasible, keep NaN objective
+        return null;
+    }
 
-        // Build name → value map in declared variable order
-        final Map<String, Double> values = new LinkedHashMap<String, Double>(n);
-        for (int i = 0; i < n; i++) {
-            final String name = vars.get(i).getName();
-            final double val = (i < point.length) ? point[i] : 0.0;
-            values.put(name, val);
+    private LPSolution infeasible(AbstractLPModel model, Run run) {
+        return solution(model, new double[model.getVariableCount()], Double.NaN, false, run);
+    }
+
+    private LPSolution solution(AbstractLPModel model, double[] x, double objectiveValue, boolean feasible,
+                                Run run) {
+        // Values in declared variable order, names shared with the model
+        if (!feasible) {
+            return new LPSolution(model.getVariableNameIndex(), x, objectiveValue, false, statistics(run));
         }
+        // Commons Math does not expose its final tableau, the duals come from a crossover
+        final double[] duals = dualRecovery ? recovery.duals(model, x, run.control) : null;
+        return new LPSolution(model, x, duals, objectiveValue, true, statistics(run));
+    }
+
+    private static SolveStatistics statistics(Run run) {
+        return new SolveStatistics(run.status, NAME, run.translationNanos, run.solveNanos, run.lap(),
+                run.iterations, run.error);
+    }
+
+    /**
+     * Phase timings and outcome of one {@link #solve} call (the expanded fallback adds to them).
+     */
+    private static final class Run {
+        final SolveControl control;
+        final int maxIterations;
+        private long mark = System.nanoTime();
+        long translationNanos;
+        long solveNanos;
+        int iterations;
+        SolveStatus status = SolveStatus.OPTIMAL;
+        Throwable error;
 
-        return new LPSolution(values, objectiveValue, feasible);
+        Run(SolveControl control, int maxIterations) {
+            this.control = control;
+            this.maxIterations = maxIterations;
+        }
+
+        /**
+         * @return nanoseconds since the previous lap (or since creation)
+         */
+        long lap() {
+            final long now = System.nanoTime();
+            final long elapsed = now - mark;
+            mark = now;
+            return elapsed;
+        }
+    }
+
+    /**
+     * Simplex that checks the solve control in every iteration.
+     */
+    private static final class ControlledSimplexSolver extends SimplexSolver {
+        private final SolveControl control;
+
+        ControlledSimplexSolver(SolveControl control) {
+            this.control = control;
+        }
+
+        @Override
+        protected void incrementIterationCount() {
+            super.incrementIterationCount();
+            if (control.shouldStop()) throw new Stopped();
+        }
+    }
+
+    /**
+     * Unwinds the simplex when the solve control asks to stop.
+     */
+    private static final class Stopped extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        Stopped() {
+            super(null, null, false, false);
+        }
     }
 }
@@ -0,0 +1,28 @@
+package org.optsolvx.backend.ojalgo;
+
+import org.optsolvx.solver.LPSolverAdapter;
+import org.optsolvx.solver.SolverProvider;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Registers {@link OjAlgoSolver} as {@code "ojalgo"} (alias {@code "oj"}); see {@link SolverProvider}.
+ */
+public final class OjAlgoProvider implements SolverProvider {
+
+    @Override
+    public String getName() {
+        return OjAlgoSolver.NAME;
+    }
+
+    @Override
+    public List<String> getAliases() {
+        return Collections.singletonList("oj");
+    }
+
+    @Override
+    public LPSolverAdapter create() {
+        return new OjAlgoSolver();
+    }
+}
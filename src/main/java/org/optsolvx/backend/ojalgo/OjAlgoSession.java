@@ -0,0 +1,511 @@
+package org.optsolvx.backend.ojalgo;
+
+import org.ojalgo.optimisation.Expression;
+import org.ojalgo.optimisation.ExpressionsBasedModel;
+import org.ojalgo.optimisation.IntermediateSolver;
+import org.ojalgo.optimisation.Optimisation;
+import org.optsolvx.backend.simplex.DualRecovery;
+import org.optsolvx.jfr.Events;
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.Constraint;
+import org.optsolvx.model.ModelChange;
+import org.optsolvx.model.OptimizationDirection;
+import org.optsolvx.model.SparseMatrix;
+import org.optsolvx.solver.LPSolution;
+import org.optsolvx.solver.LPSolverSession;
+import org.optsolvx.solver.SolveControl;
+import org.optsolvx.solver.SolveStatistics;
+import org.optsolvx.solver.SolveStatus;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Stateful ojAlgo solve session, see {@link OjAlgoSolver#openSession(AbstractLPModel)}.
+ * The ExpressionsBasedModel and its Variable/Expression handles are built once and kept
+ * alive; objective edits are applied to those handles in place and {@link #solve()}
+ * re-solves starting from the previous result.
+ * <p>
+ * The session works on its own copy of bounds, right-hand sides and objective; the
+ * {@link AbstractLPModel} it was opened on is not modified by session edits. Edits made on
+ * the model itself (see {@link AbstractLPModel#setVariableBounds} and friends) are picked up
+ * by the next {@link #solve()} through the model's change log: only the dirty handles are
+ * updated. If variables or constraints were added, the session is reloaded from the model.
+ * ojAlgo's presolve may tighten variable limits on the handles, so after an objective edit all
+ * limits are restored from the session's copy before the next solve. It also marks rows that
+ * the current bounds make redundant, and that mark cannot be undone; after bound, RHS or
+ * coefficient edits (and after an infeasible or failed result) the ojAlgo model is therefore
+ * translated again from the session's copy, still warm-started with the previous result.
+ * <p>
+ * Solutions carry row activities, slacks and duals (see {@link LPSolution}) as long as the
+ * session has no edits of its own, since those refer to the model's rows and objective. The
+ * duals come from a crossover ({@link DualRecovery}), which can be switched off with
+ * {@link #setDualRecovery(boolean)}.
+ * Not thread-safe.
+ */
+public final class OjAlgoSession implements LPSolverSession {
+
+    private static final Logger LOGGER = Logger.getLogger(OjAlgoSession.class.getName());
+
+    private final AbstractLPModel model;
+
+    // ojAlgo handles, rebuilt after bound, RHS or coefficient edits and after an infeasible result
+    private ExpressionsBasedModel ebm;
+    private org.ojalgo.optimisation.Variable[] variables;
+    private Expression[] rows;
+    private Expression objective;
+    private IntermediateSolver solver;
+
+    // Session state (source of truth for the ojAlgo handles)
+    private double[] lower;
+    private double[] upper;
+    private Constraint.Relation[] relations;
+    private double[] rhs;
+    private double[] costs;
+    private boolean maximise;
+    private long syncedVersion; // model version the state was last synchronized with
+
+    private Optimisation.Result previous;
+    private boolean modified;
+    private boolean stale;
+    private boolean closed;
+    private boolean ownEdits;              // session edits not made on the model
+    private boolean dualRecovery = true;
+    private DualRecovery recovery;
+    private long pendingTranslationNanos; // translation time not yet reported by a solve
+    private long defaultTimeAbort;         // ojAlgo limits, restored after a solve with a SolveControl
+    private int defaultIterationsAbort;
+
+    OjAlgoSession(AbstractLPModel model) {
+        if (model == null) {
+            throw new IllegalArgumentException("Model must not be null.");
+        }
+        if (!model.isBuilt()) {
+            model.build();
+        }
+        this.model = model;
+        load();
+    }
+
+    /**
+     * @return the model this session was opened on
+     */
+    @Override
+    public AbstractLPModel getModel() {
+        return model;
+    }
+
+    /**
+     * @param dualRecovery false to skip the crossover; optimal solutions then keep their row
+     *                     activities and slacks but have no duals
+     */
+    public void setDualRecovery(boolean dualRecovery) {
+        this.dualRecovery = dualRecovery;
+    }
+
+    /**
+     * Changes the bounds of variable {@code index}; infinite values mean unbounded.
+     */
+    public void setVariableBounds(int index, double lowerBound, double upperBound) {
+        checkOpen();
+        checkVariable(index);
+        if (Double.isNaN(lowerBound) || Double.isNaN(upperBound) || lowerBound > upperBound) {
+            throw new IllegalArgumentException("Invalid bounds for variable " + index + ": ["
+                    + lowerBound + ", " + upperBound + "]");
+        }
+        lower[index] = lowerBound;
+        upper[index] = upperBound;
+        stale = true;
+        ownEdits = true;
+    }
+
+    /**
+     * Changes the right-hand side of constraint {@code row}; its relation is kept.
+     */
+    public void setConstraintRhs(int row, double value) {
+        checkOpen();
+        if (row < 0 || row >= rows.length) {
+            throw new IndexOutOfBoundsException("Constraint index out of range: " + row);
+        }
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("RHS must not be NaN (constraint " + row + ").");
+        }
+        rhs[row] = value;
+        stale = true;
+        ownEdits = true;
+    }
+
+    /**
+     * Changes the objective coefficient of variable {@code index}; the direction is kept.
+     */
+    public void setObjectiveCoefficient(int index, double value) {
+        checkOpen();
+        checkVariable(index);
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("Objective coefficient must be finite (variable " + index + ").");
+        }
+        costs[index] = value;
+        objective.set(variables[index], value);
+        modified = true;
+        ownEdits = true;
+    }
+
+    /**
+     * Name-based variant of {@link #setVariableBounds(int, double, double)}.
+     */
+    public void setVariableBounds(String name, double lowerBound, double upperBound) {
+        setVariableBounds(model.getVariableIndex(name), lowerBound, upperBound);
+    }
+
+    /**
+     * Name-based variant of {@link #setConstraintRhs(int, double)}.
+     */
+    public void setConstraintRhs(String name, double value) {
+        setConstraintRhs(model.getConstraintIndex(name), value);
+    }
+
+    /**
+     * Name-based variant of {@link #setObjectiveCoefficient(int, double)}.
+     */
+    public void setObjectiveCoefficient(String name, double value) {
+        setObjectiveCoefficient(model.getVariableIndex(name), value);
+    }
+
+    /**
+     * Solves the current state. After edits the cached ojAlgo solver is rebuilt from the
+     * kept handles and warm-started with the previous feasible result.
+     *
+     * Backend exceptions are reported as {@link SolveStatus#ERROR} with the cause in the statistics.
+     *
+     * @return solution over all variables of the model, in declared order
+     */
+    @Override
+    public LPSolution solve() {
+        return solve(Events.beginSolve(), new SolveControl());
+    }
+
+    /**
+     * {@link #solve()} within the limits of {@code control}: the remaining time and the
+     * iteration limit become ojAlgo's abort limits, and {@link SolveControl#cancel()} interrupts
+     * the solving thread, which ojAlgo checks between iterations.
+     *
+     * @param control limits and cancellation of this call
+     * @return solution over all variables of the model, in declared order
+     */
+    public LPSolution solve(SolveControl control) {
+        return solve(Events.beginSolve(), control);
+    }
+
+    /**
+     * {@link #solve(SolveControl)} committing the given flight recorder event (see {@link Events#beginSolve()}).
+     */
+    LPSolution solve(Object event, SolveControl control) {
+        checkOpen();
+        final long syncStart = System.nanoTime();
+        syncWithModel();
+        if (stale) {
+            solver.dispose();
+            translate();
+            stale = false;
+        } else if (modified) {
+            restoreLimits();
+            solver.reset();
+        }
+        modified = false;
+        final long solveStart = System.nanoTime();
+        final long translation = pendingTranslationNanos + (solveStart - syncStart);
+        pendingTranslationNanos = 0L;
+
+        SolveStatus status = control.getStopStatus();
+        Optimisation.Result result = null;
+        RuntimeException error = null;
+        if (status == null) {
+            applyLimits(control);
+            control.enterInterruptible();
+            try {
+                result = solver.solve(previous);
+                status = toStatus(result.getState());
+            } catch (RuntimeException e) {
+                // Errors (out of memory, ...) propagate; backend failures are reported on the solution
+                LOGGER.log(Level.WARNING, "ojAlgo solve failed", e);
+                status = SolveStatus.ERROR;
+                result = null;
+                error = e;
+            } finally {
+                control.leaveInterruptible();
+            }
+            if (status != SolveStatus.OPTIMAL && error == null) {
+                status = stopStatus(status, control);
+            }
+        }
+        final long extractionStart = System.nanoTime();
+
+        // Values in declared order
+        final int n = variables.length;
+        final double[] x = new double[n];
+        double sum = 0.0;
+        boolean finite = true;
+        for (int j = 0; j < n; j++) {
+            final double val = result != null && j < result.count() ? result.doubleValue(j) : 0.0;
+            x[j] = val;
+            sum += costs[j] * val;
+            finite &= !Double.isInfinite(val) && !Double.isNaN(val);
+        }
+        if (status.hasSolution() && !finite) {
+            status = SolveStatus.UNBOUNDED; // ojAlgo reports unbounded LPs as OPTIMAL with infinite values
+        }
+        final boolean feasible = status.hasSolution();
+        previous = feasible ? result : null; // warm start for the next solve
+        stale = !feasible;
+
+        // ojAlgo's multipliers are not mapped to the expressions reliably, the duals come from a crossover.
+        // Row information refers to the model, so it is left out while session edits deviate from it.
+        final boolean rowInfo = feasible && !ownEdits;
+        double[] duals = null;
+        if (rowInfo && dualRecovery && status == SolveStatus.OPTIMAL) {
+            if (recovery == null) recovery = new DualRecovery();
+            duals = recovery.duals(model, x, control);
+        }
+
+        // Objective recomputed from the values (backend-independent)
+        final SolveStatistics statistics = new SolveStatistics(status, OjAlgoSolver.NAME, translation,
+                extractionStart - solveStart, System.nanoTime() - extractionStart, -1, error);
+        Events.endSolve(event, model, statistics);
+        return rowInfo
+                ? new LPSolution(model, x, duals, sum, true, statistics)
+                : new LPSolution(model.getVariableNameIndex(), x, feasible ? sum : Double.NaN, feasible, statistics);
+    }
+
+    /**
+     * Sets ojAlgo's abort limits for the next solve: the control's, or the defaults.
+     */
+    private void applyLimits(SolveControl control) {
+        final Optimisation.Options options = ebm.options;
+        options.time_abort = control.hasDeadline()
+                ? Math.max(1L, TimeUnit.NANOSECONDS.toMillis(control.getRemainingNanos()))
+                : defaultTimeAbort;
+        options.iterations_abort = control.getMaxIterations() > 0 ? control.getMaxIterations() : defaultIterationsAbort;
+    }
+
+    /**
+     * Explains a non-optimal result that ojAlgo may have produced by aborting at a limit of the control.
+     */
+    private static SolveStatus stopStatus(SolveStatus status, SolveControl control) {
+        final SolveStatus stop = control.getStopStatus();
+        if (stop != null) return stop;
+        if (control.getMaxIterations() > 0
+                && status != SolveStatus.INFEASIBLE && status != SolveStatus.UNBOUNDED) {
+            return SolveStatus.ITERATION_LIMIT;
+        }
+        return status;
+    }
+
+    /**
+     * Maps ojAlgo's result state; ojAlgo does not report iteration counts.
+     */
+    private static SolveStatus toStatus(Optimisation.State state) {
+        if (state == null) return SolveStatus.ERROR;
+        // ojAlgo counts UNBOUNDED as feasible, check it first
+        if (state == Optimisation.State.UNBOUNDED) return SolveStatus.UNBOUNDED;
+        if (state == Optimisation.State.INFEASIBLE) return SolveStatus.INFEASIBLE;
+        if (state.isOptimal()) return SolveStatus.OPTIMAL;
+        if (state.isFeasible()) return SolveStatus.FEASIBLE;
+        return SolveStatus.ERROR;
+    }
+
+    /**
+     * Releases the cached ojAlgo solver. Further calls fail with IllegalStateException.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            solver.dispose();
+            previous = null;
+        }
+    }
+
+    /**
+     * Copies bounds, right-hand sides and objective from the model and translates it.
+     */
+    private void load() {
+        final int n = model.getVariableCount();
+        final int m = model.getConstraintCount();
+        syncedVersion = model.getVersion();
+        ownEdits = false;
+        lower = new double[n];
+        upper = new double[n];
+        costs = new double[n];
+        relations = new Constraint.Relation[m];
+        rhs = new double[m];
+        for (int j = 0; j < n; j++) {
+            lower[j] = model.getVariableLowerBound(j);
+            upper[j] = model.getVariableUpperBound(j);
+            costs[j] = model.getObjectiveCoefficient(j);
+        }
+        for (int row = 0; row < m; row++) {
+            relations[row] = model.getConstraintRelation(row);
+            rhs[row] = model.getConstraintRhs(row);
+        }
+        maximise = model.getDirection() == OptimizationDirection.MAXIMIZE;
+        translate();
+    }
+
+    /**
+     * Applies the model changes recorded since the last synchronization to the handles.
+     */
+    private void syncWithModel() {
+        final long version = model.getVersion();
+        if (version == syncedVersion) return;
+        final List<ModelChange> changes = model.getChangesSince(syncedVersion);
+        if (changes == null || containsStructuralChange(changes)) {
+            solver.dispose();
+            load();
+            previous = null;
+            stale = false;
+            modified = false;
+            return;
+        }
+        syncedVersion = version;
+        for (ModelChange change : changes) {
+            final int row = change.getRow();
+            final int column = change.getColumn();
+            switch (change.getType()) {
+                case VARIABLE_BOUNDS:
+                    lower[column] = model.getVariableLowerBound(column);
+                    upper[column] = model.getVariableUpperBound(column);
+                    stale = true;
+                    break;
+                case CONSTRAINT_RHS:
+                    rhs[row] = model.getConstraintRhs(row);
+                    stale = true;
+                    break;
+                case OBJECTIVE_COEFFICIENT:
+                    costs[column] = model.getObjectiveCoefficient(column);
+                    objective.set(variables[column], costs[column]);
+                    break;
+                case OBJECTIVE:
+                    for (int j = 0; j < costs.length; j++) {
+                        costs[j] = model.getObjectiveCoefficient(j);
+                        objective.set(variables[j], costs[j]);
+                    }
+                    break;
+                case DIRECTION:
+                    maximise = model.getDirection() == OptimizationDirection.MAXIMIZE;
+                    objective.weight(maximise ? -1.0 : +1.0);
+                    break;
+                case COEFFICIENT:
+                    stale = true; // translate() reads the matrix
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected change: " + change);
+            }
+        }
+        modified = true;
+    }
+
+    private static boolean containsStructuralChange(List<ModelChange> changes) {
+        for (ModelChange change : changes) {
+            if (change.getType().isStructural()) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Builds the ojAlgo model and handles from the session's copy.
+     */
+    private void translate() {
+        final long start = System.nanoTime();
+        final int n = lower.length;
+        ebm = new ExpressionsBasedModel();
+        defaultTimeAbort = ebm.options.time_abort;
+        defaultIterationsAbort = ebm.options.iterations_abort;
+        variables = new org.ojalgo.optimisation.Variable[n];
+        rows = new Expression[rhs.length];
+
+        // Variables + bounds (indexed like the model's matrix columns)
+        for (int j = 0; j < n; j++) {
+            variables[j] = ebm.addVariable(model.getVariableName(j));
+            applyBounds(j);
+        }
+
+        // Linear constraints, rows read from the CSR matrix
+        final SparseMatrix matrix = model.getMatrix();
+        for (int row = 0; row < rows.length; row++) {
+            final Expression ex = ebm.addExpression(model.getConstraintName(row));
+            for (int p = matrix.getRowStart(row); p < matrix.getRowEnd(row); p++) {
+                ex.set(variables[matrix.getColumnIndex(p)], matrix.getRowValue(p));
+            }
+            rows[row] = ex;
+            applyRhs(row);
+        }
+
+        // Objective (weight flip for MAX, we always minimise)
+        objective = ebm.addExpression("objective");
+        for (int j = 0; j < n; j++) {
+            if (costs[j] != 0.0) objective.set(variables[j], costs[j]);
+        }
+        objective.weight(maximise ? -1.0 : +1.0);
+
+        solver = ebm.prepare(SessionSolver::new);
+        pendingTranslationNanos += System.nanoTime() - start;
+    }
+
+    private void restoreLimits() {
+        for (int j = 0; j < variables.length; j++) {
+            applyBounds(j);
+        }
+        for (int row = 0; row < rows.length; row++) {
+            applyRhs(row);
+        }
+    }
+
+    private void applyBounds(int j) {
+        final org.ojalgo.optimisation.Variable ov = variables[j];
+        ov.lower(Double.isInfinite(lower[j]) ? null : lower[j]);
+        ov.upper(Double.isInfinite(upper[j]) ? null : upper[j]);
+    }
+
+    private void applyRhs(int row) {
+        final Expression ex = rows[row];
+        final double value = rhs[row];
+        switch (relations[row]) {
+            case LEQ:
+                ex.lower(null);
+                ex.upper(value);
+                break;
+            case GEQ:
+                ex.upper(null);
+                ex.lower(value);
+                break;
+            case EQ:
+                ex.level(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown relation: " + relations[row]);
+        }
+    }
+
+    private void checkVariable(int index) {
+        if (index < 0 || index >= variables.length) {
+            throw new IndexOutOfBoundsException("Variable index out of range: " + index);
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Session is closed.");
+        }
+    }
+
+    /**
+     * Keeps ojAlgo's integration and solver instance between solves.
+     */
+    private static final class SessionSolver extends IntermediateSolver {
+        SessionSolver(ExpressionsBasedModel model) {
+            super(model);
+        }
+    }
+}
@@ -0,0 +1,631 @@
+package org.optsolvx.backend.pdlp;
+
+import org.optsolvx.model.SparseMatrix;
+import org.optsolvx.solver.SolveControl;
+import org.optsolvx.solver.Workspace;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Restarted primal-dual hybrid gradient method for
+ * <pre>
+ * min c·x  s.t.  K_i·x = q_i (equality rows),  K_i·x &gt;= q_i (other rows),  l &lt;= x &lt;= u
+ * </pre>
+ * following PDLP: Ruiz and Pock–Chambolle diagonal scaling, adaptive step sizes, primal
+ * weight updates and KKT-error based restarts to the current or the averaged iterate.
+ * Termination is checked every {@value #EVALUATION_FREQUENCY} iterations on the unscaled
+ * problem with relative tolerances; infeasibility is detected from the difference of the
+ * iterates since the last restart, checked at every evaluation and for the restart point at
+ * every restart.
+ * <p>
+ * The matrix-vector products run row-parallel (K·x) and column-parallel (Kᵀ·y) on the given
+ * pool, so results do not depend on the number of threads.
+ */
+final class Pdhg {
+
+    enum Outcome {
+        OPTIMAL, PRIMAL_INFEASIBLE, DUAL_INFEASIBLE, ITERATION_LIMIT, STOPPED,
+        /** Step size or iterates became non-finite, or no acceptable step size was found. */
+        NUMERICAL_ERROR
+    }
+
+    private static final int EVALUATION_FREQUENCY = 64;
+    private static final int RUIZ_ITERATIONS = 10;
+    private static final double RESTART_SUFFICIENT = 0.2;
+    private static final double RESTART_NECESSARY = 0.8;
+    private static final double RESTART_ARTIFICIAL = 0.36;
+    // Relative residual of infeasibility certificates, like the default optimality tolerance:
+    // iterate differences approach an exact ray only slowly
+    private static final double INFEASIBILITY_TOLERANCE = 1e-6;
+    private static final double MAX_PRIMAL_WEIGHT = 1e8;
+    private static final int MAX_REJECTED_STEPS = 1000;
+    private static final int GRAIN = 2048;
+
+    private final int n;
+    private final int m;
+    private final ForkJoinPool pool;
+    private final double tolerance;
+    private final int maxIterations;
+    private final SolveControl control;
+    private final Workspace work;
+
+    // Scaled matrix K~ = R·K·C in CSR and CSC form
+    private final int[] rowStart;
+    private final int[] colIndex;
+    private final double[] rowValue;
+    private final int[] colStart;
+    private final int[] rowIndex;
+    private final double[] colValue;
+    private final double[] rowScale;
+    private final double[] colScale;
+
+    // Unscaled problem
+    private final boolean[] equality;
+    private final double[] q;
+    private final double[] c;
+    private final double[] lower;
+    private final double[] upper;
+    private final double qNorm;
+    private final double cNorm;
+
+    // Scaled problem
+    private final double[] qs;
+    private final double[] cs;
+    private final double[] ls;
+    private final double[] us;
+
+    // Iterates (scaled) with their products K~·x and K~ᵀ·y
+    private double[] x, y, kx, kty;
+    private double[] xNew, yNew, kxNew, ktyNew;
+    private final double[] xSum, ySum, kxSum, ktySum;
+    private final double[] xAvg, yAvg, kxAvg, ktyAvg;
+    private final double[] xStart, yStart, kxStart, ktyStart;
+    private final double[] rayX, rayKx, rayY, rayKty;
+    private double weightSum;
+
+    private double eta;
+    private double omega;
+    private int iterations;
+    private long steps;
+    private double relativeError = Double.POSITIVE_INFINITY;
+    private boolean averageIsResult;
+
+    /**
+     * @param a        constraint matrix
+     * @param rowSign  +1 to keep a row, -1 to negate it (turns &lt;= rows into &gt;= rows)
+     * @param equality true for equality rows
+     * @param rhs      right-hand sides (before applying rowSign)
+     * @param cost     minimization objective
+     * @param lower    variable lower bounds
+     * @param upper    variable upper bounds
+     * @param pool     pool for the matrix-vector products, null to run sequentially
+     * @param control  checked once per iteration
+     * @param work     scratch arrays of the owning solver, reused between solves
+     */
+    Pdhg(SparseMatrix a, double[] rowSign, boolean[] equality, double[] rhs, double[] cost,
+         double[] lower, double[] upper, double tolerance, int maxIterations, ForkJoinPool pool,
+         SolveControl control, Workspace work) {
+        this.n = a.getColumnCount();
+        this.m = a.getRowCount();
+        this.pool = pool;
+        this.tolerance = tolerance;
+        this.maxIterations = maxIterations;
+        this.control = control;
+        this.work = work;
+        this.equality = equality;
+        this.c = cost;
+        this.lower = lower;
+        this.upper = upper;
+        this.q = work.doubles(0, m);
+        for (int i = 0; i < m; i++) q[i] = rowSign[i] * rhs[i];
+        this.qNorm = norm(q);
+        this.cNorm = norm(c);
+
+        final int nnz = a.getNonZeroCount();
+        rowStart = work.ints(0, m + 1);
+        colIndex = work.ints(1, nnz);
+        rowValue = work.doubles(1, nnz);
+        for (int i = 0; i < m; i++) {
+            rowStart[i + 1] = a.getRowEnd(i);
+            for (int p = a.getRowStart(i); p < a.getRowEnd(i); p++) {
+                colIndex[p] = a.getColumnIndex(p);
+                rowValue[p] = rowSign[i] * a.getRowValue(p);
+            }
+        }
+        colStart = work.ints(2, n + 1);
+        rowIndex = work.ints(3, nnz);
+        colValue = work.doubles(2, nnz);
+        for (int j = 0; j < n; j++) {
+            colStart[j + 1] = a.getColumnEnd(j);
+            for (int p = a.getColumnStart(j); p < a.getColumnEnd(j); p++) {
+                rowIndex[p] = a.getRowIndex(p);
+                colValue[p] = rowSign[rowIndex[p]] * a.getColumnValue(p);
+            }
+        }
+        rowScale = work.doubles(3, m);
+        colScale = work.doubles(4, n);
+        scale();
+
+        qs = work.doubles(5, m);
+        for (int i = 0; i < m; i++) qs[i] = rowScale[i] * q[i];
+        cs = work.doubles(6, n);
+        ls = work.doubles(7, n);
+        us = work.doubles(8, n);
+        for (int j = 0; j < n; j++) {
+            cs[j] = colScale[j] * c[j];
+            ls[j] = lower[j] / colScale[j];
+            us[j] = upper[j] / colScale[j];
+        }
+
+        x = work.doubles(9, n);
+        xNew = work.doubles(10, n);
+        kty = work.doubles(11, n);
+        ktyNew = work.doubles(12, n);
+        xSum = work.doubles(13, n);
+        ktySum = work.doubles(14, n);
+        xAvg = work.doubles(15, n);
+        ktyAvg = work.doubles(16, n);
+        xStart = work.doubles(17, n);
+        ktyStart = work.doubles(18, n);
+        y = work.doubles(19, m);
+        yNew = work.doubles(20, m);
+        kx = work.doubles(21, m);
+        kxNew = work.doubles(22, m);
+        ySum = work.doubles(23, m);
+        kxSum = work.doubles(24, m);
+        yAvg = work.doubles(25, m);
+        kxAvg = work.doubles(26, m);
+        yStart = work.doubles(27, m);
+        kxStart = work.doubles(28, m);
+        rayX = work.doubles(29, n);
+        rayKx = work.doubles(30, m);
+        rayY = work.doubles(31, m);
+        rayKty = work.doubles(32, n);
+    }
+
+    int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * @return largest relative error (primal residual, dual residual, gap) at the last evaluation
+     */
+    double getRelativeError() {
+        return relativeError;
+    }
+
+    /**
+     * @return unscaled primal values of the result (valid after {@link Outcome#OPTIMAL})
+     */
+    double[] getValues() {
+        final double[] src = averageIsResult ? xAvg : x;
+        final double[] values = new double[n];
+        for (int j = 0; j < n; j++) values[j] = colScale[j] * src[j];
+        return values;
+    }
+
+    /**
+     * @return unscaled duals of the rows {@code K·x >= q} of the result (valid after {@link Outcome#OPTIMAL})
+     */
+    double[] getDuals() {
+        final double[] src = averageIsResult ? yAvg : y;
+        final double[] duals = new double[m];
+        for (int i = 0; i < m; i++) duals[i] = rowScale[i] * src[i];
+        return duals;
+    }
+
+    Outcome run() {
+        double maxAbs = 0.0;
+        for (double v : rowValue) maxAbs = Math.max(maxAbs, Math.abs(v));
+        eta = maxAbs > 0.0 ? 1.0 / maxAbs : 1.0;
+        final double csNorm = norm(cs);
+        final double qsNorm = norm(qs);
+        omega = csNorm > 1e-10 && qsNorm > 1e-10
+                ? clamp(csNorm / qsNorm, 1.0 / MAX_PRIMAL_WEIGHT, MAX_PRIMAL_WEIGHT) : 1.0;
+
+        // Start at the projection of 0 onto the bounds, y = 0
+        for (int j = 0; j < n; j++) x[j] = clamp(0.0, ls[j], us[j]);
+        multiply(x, kx);
+        saveStart();
+        double restartKkt = kkt(x, y, kx, kty);
+        double previousKkt = Double.POSITIVE_INFINITY;
+        int sinceRestart = 0;
+
+        while (iterations < maxIterations) {
+            if (control.shouldStop()) return Outcome.STOPPED;
+            final Outcome failed = step();
+            if (failed != null) return failed;
+            iterations++;
+            sinceRestart++;
+            if (iterations % EVALUATION_FREQUENCY != 0 && iterations != maxIterations) continue;
+
+            average();
+            if (converged(x, y, kx, kty)) {
+                averageIsResult = false;
+                return Outcome.OPTIMAL;
+            }
+            if (converged(xAvg, yAvg, kxAvg, ktyAvg)) {
+                averageIsResult = true;
+                return Outcome.OPTIMAL;
+            }
+            if (primalRay(x)) return Outcome.DUAL_INFEASIBLE;
+            if (dualRay(y)) return Outcome.PRIMAL_INFEASIBLE;
+
+            // Restart to the better of current and average iterate
+            final double currentKkt = kkt(x, y, kx, kty);
+            final double averageKkt = kkt(xAvg, yAvg, kxAvg, ktyAvg);
+            final boolean useAverage = averageKkt < currentKkt;
+            final double candidateKkt = Math.min(currentKkt, averageKkt);
+            final boolean restart = candidateKkt <= RESTART_SUFFICIENT * restartKkt
+                    || (candidateKkt <= RESTART_NECESSARY * restartKkt && candidateKkt > previousKkt)
+                    || sinceRestart >= RESTART_ARTIFICIAL * iterations;
+            if (!restart) {
+                previousKkt = candidateKkt;
+                continue;
+            }
+            if (useAverage) {
+                // The current iterate was checked above
+                if (primalRay(xAvg)) return Outcome.DUAL_INFEASIBLE;
+                if (dualRay(yAvg)) return Outcome.PRIMAL_INFEASIBLE;
+                System.arraycopy(xAvg, 0, x, 0, n);
+                System.arraycopy(ktyAvg, 0, kty, 0, n);
+                System.arraycopy(yAvg, 0, y, 0, m);
+                System.arraycopy(kxAvg, 0, kx, 0, m);
+            }
+            updatePrimalWeight();
+            saveStart();
+            restartKkt = candidateKkt;
+            previousKkt = Double.POSITIVE_INFINITY;
+            sinceRestart = 0;
+        }
+        return Outcome.ITERATION_LIMIT;
+    }
+
+    /**
+     * One accepted PDHG step with the adaptive step size rule (rejected steps are retried).
+     *
+     * @return null once a step was accepted, otherwise why no step could be taken
+     */
+    private Outcome step() {
+        for (int rejected = 0; ; rejected++) {
+            if (rejected > 0 && control.shouldStop()) return Outcome.STOPPED;
+            if (rejected == MAX_REJECTED_STEPS) return Outcome.NUMERICAL_ERROR;
+            steps++;
+            final double tau = eta / omega;
+            final double sigma = eta * omega;
+            final double[] x0 = x, kty0 = kty, y0 = y, kx0 = kx, x1 = xNew, y1 = yNew, kx1 = kxNew, kty1 = ktyNew;
+            forRange(n, (from, to) -> {
+                for (int j = from; j < to; j++) {
+                    x1[j] = clamp(x0[j] - tau * (cs[j] - kty0[j]), ls[j], us[j]);
+                }
+            });
+            forRange(m, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    double s = 0.0;
+                    for (int p = rowStart[i]; p < rowStart[i + 1]; p++) s += rowValue[p] * x1[colIndex[p]];
+                    kx1[i] = s;
+                    final double v = y0[i] + sigma * (qs[i] - 2.0 * s + kx0[i]);
+                    y1[i] = equality[i] ? v : Math.max(0.0, v);
+                }
+            });
+            multiplyTransposed(y1, kty1);
+
+            double dx2 = 0.0, dy2 = 0.0, interaction = 0.0;
+            for (int j = 0; j < n; j++) {
+                final double dx = x1[j] - x0[j];
+                dx2 += dx * dx;
+                interaction += dx * (kty1[j] - kty0[j]);
+            }
+            for (int i = 0; i < m; i++) {
+                final double dy = y1[i] - y0[i];
+                dy2 += dy * dy;
+            }
+            final double movement = 0.5 * (omega * dx2 + dy2 / omega);
+            interaction = Math.abs(interaction);
+            final double limit = interaction > 0.0 ? movement / interaction : Double.POSITIVE_INFINITY;
+            final double used = eta;
+            eta = Math.min((1.0 - Math.pow(steps + 1, -0.3)) * limit, (1.0 + Math.pow(steps + 1, -0.6)) * eta);
+            // Non-finite iterates make the limit NaN, so the step would never be accepted
+            if (!(eta > 0.0 && eta < Double.POSITIVE_INFINITY)) return Outcome.NUMERICAL_ERROR;
+            if (used <= limit) {
+                xNew = x0;
+                yNew = y0;
+                kxNew = kx0;
+                ktyNew = kty0;
+                x = x1;
+                y = y1;
+                kx = kx1;
+                kty = kty1;
+                accumulate(used);
+                return null;
+            }
+        }
+    }
+
+    private void accumulate(double weight) {
+        for (int j = 0; j < n; j++) {
+            xSum[j] += weight * x[j];
+            ktySum[j] += weight * kty[j];
+        }
+        for (int i = 0; i < m; i++) {
+            ySum[i] += weight * y[i];
+            kxSum[i] += weight * kx[i];
+        }
+        weightSum += weight;
+    }
+
+    private void average() {
+        final double w = weightSum > 0.0 ? 1.0 / weightSum : 0.0;
+        for (int j = 0; j < n; j++) {
+            xAvg[j] = w * xSum[j];
+            ktyAvg[j] = w * ktySum[j];
+        }
+        for (int i = 0; i < m; i++) {
+            yAvg[i] = w * ySum[i];
+            kxAvg[i] = w * kxSum[i];
+        }
+    }
+
+    private void saveStart() {
+        System.arraycopy(x, 0, xStart, 0, n);
+        System.arraycopy(kty, 0, ktyStart, 0, n);
+        System.arraycopy(y, 0, yStart, 0, m);
+        System.arraycopy(kx, 0, kxStart, 0, m);
+        Arrays.fill(xSum, 0.0);
+        Arrays.fill(ktySum, 0.0);
+        Arrays.fill(ySum, 0.0);
+        Arrays.fill(kxSum, 0.0);
+        weightSum = 0.0;
+    }
+
+    /**
+     * Balances primal and dual progress since the last restart (smoothed in log scale), within
+     * [1 / {@value #MAX_PRIMAL_WEIGHT}, {@value #MAX_PRIMAL_WEIGHT}] so that diverging iterates
+     * of unbounded problems cannot drive one of the step sizes to zero.
+     */
+    private void updatePrimalWeight() {
+        double dx2 = 0.0, dy2 = 0.0;
+        for (int j = 0; j < n; j++) dx2 += (x[j] - xStart[j]) * (x[j] - xStart[j]);
+        for (int i = 0; i < m; i++) dy2 += (y[i] - yStart[i]) * (y[i] - yStart[i]);
+        final double dx = Math.sqrt(dx2), dy = Math.sqrt(dy2);
+        if (dx > 1e-10 && dy > 1e-10) {
+            final double weight = Math.exp(0.5 * Math.log(dy / dx) + 0.5 * Math.log(omega));
+            if (!Double.isNaN(weight)) omega = clamp(weight, 1.0 / MAX_PRIMAL_WEIGHT, MAX_PRIMAL_WEIGHT);
+        }
+    }
+
+    // ----- Optimality measures on the unscaled problem -----
+
+    private double primalResidual(double[] kxs) {
+        double sum = 0.0;
+        for (int i = 0; i < m; i++) {
+            final double activity = kxs[i] / rowScale[i];
+            final double r = equality[i] ? activity - q[i] : Math.max(0.0, q[i] - activity);
+            sum += r * r;
+        }
+        return Math.sqrt(sum);
+    }
+
+    /**
+     * @return {dual residual, dual objective} for the reduced costs c - Kᵀ·y
+     */
+    private double[] dualResidualAndObjective(double[] ys, double[] ktys) {
+        double objective = 0.0;
+        for (int i = 0; i < m; i++) objective += q[i] * rowScale[i] * ys[i];
+        double sum = 0.0;
+        for (int j = 0; j < n; j++) {
+            final double r = c[j] - ktys[j] / colScale[j];
+            final boolean hasLower = !Double.isInfinite(lower[j]);
+            final boolean hasUpper = !Double.isInfinite(upper[j]);
+            if (r > 0.0) {
+                if (hasLower) objective += lower[j] * r;
+                else sum += r * r;
+            } else if (r < 0.0) {
+                if (hasUpper) objective += upper[j] * r;
+                else sum += r * r;
+            }
+        }
+        return new double[]{Math.sqrt(sum), objective};
+    }
+
+    private double primalObjective(double[] xs) {
+        double objective = 0.0;
+        for (int j = 0; j < n; j++) objective += c[j] * colScale[j] * xs[j];
+        return objective;
+    }
+
+    private boolean converged(double[] xs, double[] ys, double[] kxs, double[] ktys) {
+        final double primal = primalResidual(kxs);
+        final double[] dual = dualResidualAndObjective(ys, ktys);
+        final double objective = primalObjective(xs);
+        final double error = Math.max(primal / (1.0 + qNorm), Math.max(dual[0] / (1.0 + cNorm),
+                Math.abs(objective - dual[1]) / (1.0 + Math.abs(objective) + Math.abs(dual[1]))));
+        relativeError = Math.min(relativeError, error);
+        return error <= tolerance;
+    }
+
+    private double kkt(double[] xs, double[] ys, double[] kxs, double[] ktys) {
+        final double primal = primalResidual(kxs);
+        final double[] dual = dualResidualAndObjective(ys, ktys);
+        final double gap = primalObjective(xs) - dual[1];
+        return Math.sqrt(omega * primal * primal + dual[0] * dual[0] / omega + gap * gap);
+    }
+
+    /**
+     * Direction d = xs - x_start, projected onto the recession cone of the bounds: if c·d &lt; 0
+     * and d stays feasible for the rows, the problem is unbounded (if feasible at all). Slopes
+     * within rounding error of zero do not count.
+     */
+    private boolean primalRay(double[] xs) {
+        double slope = 0.0;
+        double magnitude = 0.0;
+        for (int j = 0; j < n; j++) {
+            double d = xs[j] - xStart[j];
+            if (!Double.isInfinite(lower[j])) d = Math.max(d, 0.0);
+            if (!Double.isInfinite(upper[j])) d = Math.min(d, 0.0);
+            rayX[j] = d;
+            final double term = cs[j] * d;
+            slope += term;
+            magnitude += Math.abs(term);
+        }
+        if (!(-slope > INFEASIBILITY_TOLERANCE * magnitude)) return false;
+        multiply(rayX, rayKx);
+        double violation = 0.0;
+        for (int i = 0; i < m; i++) {
+            final double d = rayKx[i] / rowScale[i];
+            violation = Math.max(violation, equality[i] ? Math.abs(d) : -d);
+        }
+        return violation <= INFEASIBILITY_TOLERANCE * -slope;
+    }
+
+    /**
+     * Farkas direction d = ys - y_start, with negative multipliers of inequality rows dropped:
+     * a dual ray with positive objective proves primal infeasibility. Objectives within
+     * rounding error of zero do not count.
+     */
+    private boolean dualRay(double[] ys) {
+        double objective = 0.0;
+        double magnitude = 0.0;
+        for (int i = 0; i < m; i++) {
+            final double d = equality[i] ? ys[i] - yStart[i] : Math.max(ys[i] - yStart[i], 0.0);
+            rayY[i] = d;
+            objective += qs[i] * d;
+            magnitude += Math.abs(qs[i] * d);
+        }
+        multiplyTransposed(rayY, rayKty);
+        double violation = 0.0;
+        for (int j = 0; j < n; j++) {
+            final double r = -rayKty[j] / colScale[j];
+            if (r > 0.0) {
+                if (!Double.isInfinite(lower[j])) {
+                    objective += lower[j] * r;
+                    magnitude += Math.abs(lower[j] * r);
+                } else {
+                    violation = Math.max(violation, r);
+                }
+            } else if (r < 0.0) {
+                if (!Double.isInfinite(upper[j])) {
+                    objective += upper[j] * r;
+                    magnitude += Math.abs(upper[j] * r);
+                } else {
+                    violation = Math.max(violation, -r);
+                }
+            }
+        }
+        return objective > INFEASIBILITY_TOLERANCE * magnitude && violation <= INFEASIBILITY_TOLERANCE * objective;
+    }
+
+    // ----- Scaling and sparse kernels -----
+
+    /**
+     * Ruiz equilibration (infinity norm) followed by a Pock–Chambolle step (alpha = 1).
+     */
+    private void scale() {
+        Arrays.fill(rowScale, 1.0);
+        Arrays.fill(colScale, 1.0);
+        final double[] rowNorm = work.doubles(29, m);
+        final double[] colNorm = work.doubles(30, n);
+        for (int k = 0; k <= RUIZ_ITERATIONS; k++) {
+            final boolean pockChambolle = k == RUIZ_ITERATIONS;
+            Arrays.fill(rowNorm, 0.0);
+            Arrays.fill(colNorm, 0.0);
+            for (int i = 0; i < m; i++) {
+                for (int p = rowStart[i]; p < rowStart[i + 1]; p++) {
+                    final int j = colIndex[p];
+                    final double v = Math.abs(rowValue[p]) * rowScale[i] * colScale[j];
+                    if (pockChambolle) {
+                        rowNorm[i] += v;
+                        colNorm[j] += v;
+                    } else {
+                        rowNorm[i] = Math.max(rowNorm[i], v);
+                        colNorm[j] = Math.max(colNorm[j], v);
+                    }
+                }
+            }
+            for (int i = 0; i < m; i++) {
+                if (rowNorm[i] > 0.0) rowScale[i] /= Math.sqrt(rowNorm[i]);
+            }
+            for (int j = 0; j < n; j++) {
+                if (colNorm[j] > 0.0) colScale[j] /= Math.sqrt(colNorm[j]);
+            }
+        }
+        for (int i = 0; i < m; i++) {
+            for (int p = rowStart[i]; p < rowStart[i + 1]; p++) rowValue[p] *= rowScale[i] * colScale[colIndex[p]];
+        }
+        for (int j = 0; j < n; j++) {
+            for (int p = colStart[j]; p < colStart[j + 1]; p++) colValue[p] *= rowScale[rowIndex[p]] * colScale[j];
+        }
+    }
+
+    private void multiply(double[] in, double[] out) {
+        forRange(m, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                double s = 0.0;
+                for (int p = rowStart[i]; p < rowStart[i + 1]; p++) s += rowValue[p] * in[colIndex[p]];
+                out[i] = s;
+            }
+        });
+    }
+
+    private void multiplyTransposed(double[] in, double[] out) {
+        forRange(n, (from, to) -> {
+            for (int j = from; j < to; j++) {
+                double s = 0.0;
+                for (int p = colStart[j]; p < colStart[j + 1]; p++) s += colValue[p] * in[rowIndex[p]];
+                out[j] = s;
+            }
+        });
+    }
+
+    private void forRange(int size, RangeTask task) {
+        if (pool == null || size < 2 * GRAIN) {
+            task.run(0, size);
+            return;
+        }
+        final int grain = Math.max(GRAIN, size / (4 * pool.getParallelism()));
+        pool.invoke(new RangeAction(task, 0, size, grain));
+    }
+
+    private interface RangeTask {
+        void run(int from, int to);
+    }
+
+    private static final class RangeAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        // Only ever run inside the pool, never serialized
+        private final transient RangeTask task;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        RangeAction(RangeTask task, int from, int to, int grain) {
+            this.task = task;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                task.run(from, to);
+                return;
+            }
+            final int mid = (from + to) >>> 1;
+            invokeAll(new RangeAction(task, from, mid, grain), new RangeAction(task, mid, to, grain));
+        }
+    }
+
+    private static double clamp(double v, double lo, double hi) {
+        return v < lo ? lo : (v > hi ? hi : v);
+    }
+
+    private static double norm(double[] v) {
+        double sum = 0.0;
+        for (double d : v) sum += d * d;
+        return Math.sqrt(sum);
+    }
+}
@@ -0,0 +1,20 @@
+package org.optsolvx.backend.pdlp;
+
+import org.optsolvx.solver.LPSolverAdapter;
+import org.optsolvx.solver.SolverProvider;
+
+/**
+ * Registers {@link PdlpSolver} as {@code "pdlp"}; see {@link SolverProvider}.
+ */
+public final class PdlpProvider implements SolverProvider {
+
+    @Override
+    public String getName() {
+        return PdlpSolver.NAME;
+    }
+
+    @Override
+    public LPSolverAdapter create() {
+        return new PdlpSolver();
+    }
+}
@@ -0,0 +1,266 @@
+package org.optsolvx.backend.pdlp;
+
+import org.optsolvx.jfr.Events;
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.OptimizationDirection;
+import org.optsolvx.model.SparseMatrix;
+import org.optsolvx.solver.LPSolution;
+import org.optsolvx.solver.LPSolverAdapter;
+import org.optsolvx.solver.SolveControl;
+import org.optsolvx.solver.SolveStatistics;
+import org.optsolvx.solver.SolveStatus;
+import org.optsolvx.solver.Workspace;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * First-order backend for very large LPs (registered as {@code "pdlp"}): a restarted
+ * primal-dual hybrid gradient method in the style of PDLP, see {@link Pdhg}.
+ * <p>
+ * - Only sparse matrix-vector products with the model's matrix are needed, no factorization,
+ * so memory stays linear in the number of non-zeros.
+ * - The products run in parallel for matrices with at least {@value #PARALLEL_NON_ZEROS}
+ * non-zeros ({@link #setParallelism}); the result does not depend on the thread count.
+ * - Diagonal preconditioning (Ruiz + Pock–Chambolle), adaptive steps and restarts.
+ * - The solution is approximate: a solve stops once primal residual, dual residual and duality
+ * gap are below the relative tolerance ({@link #setTolerance}), so row activities can deviate
+ * from the right-hand sides by about tolerance·(1 + ||rhs||). Variable bounds always hold.
+ * <p>
+ * Infeasible and unbounded problems, and solves reaching the iteration limit, return no values
+ * and objective NaN; the status tells them apart. A primal ray is only reported as
+ * {@code UNBOUNDED} once a run with zero costs found a feasible point. The objective is
+ * recomputed from the returned values.
+ * Duals and reduced costs are as approximate as the values.
+ * Instances reuse their iteration vectors ({@link Workspace}) across solves and are not thread-safe.
+ */
+public final class PdlpSolver implements LPSolverAdapter {
+
+    /**
+     * Registry name of this backend, also reported in {@link org.optsolvx.solver.SolveStatistics#getBackend()}.
+     */
+    public static final String NAME = "pdlp";
+
+    /**
+     * Matrices with fewer non-zeros are multiplied on the calling thread.
+     */
+    public static final int PARALLEL_NON_ZEROS = 100_000;
+
+    private double tolerance = 1e-6;
+    private int maxIterations = 100_000;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private int lastIterations;
+    private double lastRelativeError = Double.NaN;
+    private final Workspace translation = new Workspace(); // bounds, costs and row data
+    private final Workspace kernel = new Workspace();      // iterates of the PDHG kernel
+
+    /**
+     * @return relative optimality tolerance, default 1e-6
+     */
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * @param tolerance relative tolerance for primal residual, dual residual and duality gap;
+     *                  larger values trade accuracy for fewer iterations
+     */
+    public void setTolerance(double tolerance) {
+        if (!(tolerance > 0.0)) {
+            throw new IllegalArgumentException("Tolerance must be positive: " + tolerance);
+        }
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * @return iteration limit, default 100000
+     */
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+
+    public void setMaxIterations(int maxIterations) {
+        if (maxIterations < 1) {
+            throw new IllegalArgumentException("maxIterations must be positive: " + maxIterations);
+        }
+        this.maxIterations = maxIterations;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @param parallelism number of threads for the matrix-vector products; default: number of processors
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @return number of iterations of the last solve
+     */
+    public int getLastIterationCount() {
+        return lastIterations;
+    }
+
+    /**
+     * @return best relative error (max of primal residual, dual residual and gap) seen in the
+     * last solve, NaN before the first solve
+     */
+    public double getLastRelativeError() {
+        return lastRelativeError;
+    }
+
+    @Override
+    public long getWorkspaceBytes() {
+        return translation.getRetainedBytes() + kernel.getRetainedBytes();
+    }
+
+    @Override
+    public void clearWorkspace() {
+        translation.clear();
+        kernel.clear();
+    }
+
+    @Override
+    public LPSolution solve(AbstractLPModel model) {
+        return solve(model, new SolveControl());
+    }
+
+    /**
+     * The control is checked once per iteration; its iteration limit replaces
+     * {@link #getMaxIterations()} for this call.
+     */
+    @Override
+    public LPSolution solve(AbstractLPModel model, SolveControl control) {
+        if (model == null) {
+            throw new IllegalArgumentException("Model must not be null.");
+        }
+        if (!model.isBuilt()) {
+            model.build();
+        }
+        final Object event = Events.beginSolve();
+        final LPSolution solution = solveBuilt(model, control);
+        Events.endSolve(event, model, solution.getStatistics());
+        return solution;
+    }
+
+    private LPSolution solveBuilt(AbstractLPModel model, SolveControl control) {
+        final long start = System.nanoTime();
+        final int n = model.getVariableCount();
+        final SparseMatrix matrix = model.getMatrix();
+        final int m = matrix.getRowCount();
+
+        final double sign = model.getDirection() == OptimizationDirection.MAXIMIZE ? -1.0 : 1.0;
+        final double[] cost = translation.doubles(0, n);
+        final double[] lower = translation.doubles(1, n);
+        final double[] upper = translation.doubles(2, n);
+        for (int j = 0; j < n; j++) {
+            cost[j] = sign * model.getObjectiveCoefficient(j);
+            lower[j] = model.getVariableLowerBound(j);
+            upper[j] = model.getVariableUpperBound(j);
+            if (lower[j] > upper[j]) {
+                lastIterations = 0;
+                final long end = System.nanoTime();
+                return infeasible(model, SolveStatus.INFEASIBLE, end - start, 0L, end);
+            }
+        }
+        // Rows as K·x >= q or K·x = q: LEQ rows are negated
+        final double[] rowSign = translation.doubles(3, m);
+        final boolean[] equality = translation.booleans(0, m);
+        final double[] rhs = translation.doubles(4, m);
+        for (int i = 0; i < m; i++) {
+            rhs[i] = model.getConstraintRhs(i);
+            switch (model.getConstraintRelation(i)) {
+                case LEQ:
+                    rowSign[i] = -1.0;
+                    break;
+                case GEQ:
+                    rowSign[i] = 1.0;
+                    break;
+                case EQ:
+                    rowSign[i] = 1.0;
+                    equality[i] = true;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown relation: " + model.getConstraintRelation(i));
+            }
+        }
+
+        final ForkJoinPool pool = parallelism > 1 && matrix.getNonZeroCount() >= PARALLEL_NON_ZEROS
+                ? new ForkJoinPool(parallelism) : null;
+        final Pdhg pdhg;
+        Pdhg.Outcome outcome;
+        final long solveStart;
+        try {
+            final int limit = control.getMaxIterations() > 0 ? control.getMaxIterations() : maxIterations;
+            pdhg = new Pdhg(matrix, rowSign, equality, rhs, cost, lower, upper, tolerance, limit, pool, control,
+                    kernel);
+            solveStart = System.nanoTime();
+            outcome = pdhg.run();
+            lastIterations = pdhg.getIterations();
+            lastRelativeError = pdhg.getRelativeError();
+            if (outcome == Pdhg.Outcome.DUAL_INFEASIBLE) {
+                // The primal ray proves unboundedness only if there is a feasible point:
+                // solve the feasibility problem (zero costs) with the remaining iterations
+                Arrays.fill(cost, 0.0);
+                final Pdhg feasibility = new Pdhg(matrix, rowSign, equality, rhs, cost, lower, upper, tolerance,
+                        Math.max(1, limit - lastIterations), pool, control, kernel);
+                final Pdhg.Outcome feasible = feasibility.run();
+                lastIterations += feasibility.getIterations();
+                if (feasible != Pdhg.Outcome.OPTIMAL) outcome = feasible;
+            }
+        } finally {
+            if (pool != null) pool.shutdown();
+        }
+        final long extractionStart = System.nanoTime();
+        if (outcome != Pdhg.Outcome.OPTIMAL) {
+            final SolveStatus status = outcome == Pdhg.Outcome.STOPPED
+                    ? control.getStopStatus() : toStatus(outcome);
+            final Throwable error = outcome == Pdhg.Outcome.NUMERICAL_ERROR
+                    ? new ArithmeticException("PDHG step size or iterates became non-finite") : null;
+            return infeasible(model, status, solveStart - start, extractionStart - solveStart,
+                    extractionStart, error);
+        }
+
+        final double[] x = pdhg.getValues();
+        double objective = 0.0;
+        for (int j = 0; j < n; j++) {
+            objective += model.getObjectiveCoefficient(j) * x[j];
+        }
+        // Duals of K·x >= q for the minimised costs, mapped back to the model's rows and direction
+        final double[] duals = pdhg.getDuals();
+        for (int i = 0; i < m; i++) duals[i] *= sign * rowSign[i];
+        return new LPSolution(model, x, duals, objective, true, new SolveStatistics(SolveStatus.OPTIMAL, NAME,
+                solveStart - start, extractionStart - solveStart, System.nanoTime() - extractionStart,
+                lastIterations, null));
+    }
+
+    private LPSolution infeasible(AbstractLPModel model, SolveStatus status, long translationNanos,
+                                  long solveNanos, long extractionStart) {
+        return infeasible(model, status, translationNanos, solveNanos, extractionStart, null);
+    }
+
+    private LPSolution infeasible(AbstractLPModel model, SolveStatus status, long translationNanos,
+                                  long solveNanos, long extractionStart, Throwable error) {
+        return LPSolution.unsolved(model, new SolveStatistics(status, NAME, translationNanos,
+                solveNanos, System.nanoTime() - extractionStart, lastIterations, error));
+    }
+
+    private static SolveStatus toStatus(Pdhg.Outcome outcome) {
+        switch (outcome) {
+            case OPTIMAL:
+                return SolveStatus.OPTIMAL;
+            case PRIMAL_INFEASIBLE:
+                return SolveStatus.INFEASIBLE;
+            case DUAL_INFEASIBLE:
+                return SolveStatus.UNBOUNDED;
+            case NUMERICAL_ERROR:
+                return SolveStatus.ERROR;
+            default:
+                return SolveStatus.ITERATION_LIMIT;
+        }
+    }
+}
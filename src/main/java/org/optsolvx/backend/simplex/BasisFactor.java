@@ -0,0 +1,389 @@
+package org.optsolvx.backend.simplex;
+
+import org.optsolvx.model.SparseMatrix;
+
+import java.util.Arrays;
+
+/**
+ * Sparse LU factorization of a simplex basis with product-form (eta) updates.
+ * <p>
+ * Column {@code j < n} of the computational form is column {@code j} of the constraint
+ * matrix, column {@code n + i} is the logical {@code -e_i} of row {@code i}.
+ * {@link #factorize(int[])} computes {@code B = L·U} by left-looking (Gilbert–Peierls)
+ * elimination: basis columns are taken in order of increasing count, each one is solved
+ * against the L columns found so far (only over the rows reachable from its pattern) and
+ * the largest remaining entry becomes the pivot. Dependent columns are replaced by logicals.
+ * After a basis change {@link #update(int, double[])} appends one eta column; the caller
+ * refactorizes once {@link #MAX_UPDATES} of them have been collected.
+ * Vectors in row space are indexed by constraint, vectors in basis space by basis position.
+ */
+final class BasisFactor {
+
+    /**
+     * Number of eta updates after which the basis should be refactorized.
+     */
+    static final int MAX_UPDATES = 100;
+
+    private static final double SINGULAR_TOLERANCE = 1e-11;
+    private static final double DROP_TOLERANCE = 1e-14;
+
+    private final SparseMatrix a;
+    private final int n;
+    private final int m;
+
+    // Step k of the elimination pivots on row pivotRow[k] and basis position position[k]
+    private final int[] pivotRow;
+    private final int[] position;
+    private final int[] stepOfRow;
+    private final double[] diagonal;
+
+    // L columns (row indices, multipliers) and U columns (earlier steps, values), per step
+    private final int[] lStart;
+    private int[] lIndex = new int[16];
+    private double[] lValue = new double[16];
+    private final int[] uStart;
+    private int[] uIndex = new int[16];
+    private double[] uValue = new double[16];
+
+    // Eta file: pivot position, pivot value and off-pivot entries of each update
+    private int etaCount;
+    private int[] etaPosition = new int[MAX_UPDATES];
+    private double[] etaPivot = new double[MAX_UPDATES];
+    private int[] etaStart = new int[MAX_UPDATES + 1];
+    private int[] etaIndex = new int[16];
+    private double[] etaValue = new double[16];
+
+    // Work arrays of the elimination
+    private final double[] work;
+    private final int[] mark;
+    private int stamp;
+    private final int[] stack;
+    private final int[] stackPos;
+    private final int[] reach;
+
+    BasisFactor(SparseMatrix a) {
+        this.a = a;
+        this.n = a.getColumnCount();
+        this.m = a.getRowCount();
+        pivotRow = new int[m];
+        position = new int[m];
+        stepOfRow = new int[m];
+        diagonal = new double[m];
+        lStart = new int[m + 1];
+        uStart = new int[m + 1];
+        work = new double[m];
+        mark = new int[m];
+        stack = new int[m];
+        stackPos = new int[m];
+        reach = new int[m];
+    }
+
+    /**
+     * @return number of eta updates since the last factorization
+     */
+    int getUpdateCount() {
+        return etaCount;
+    }
+
+    /**
+     * Factorizes the basis given by the variable of each position. Columns that are
+     * (numerically) dependent on the others are replaced in {@code basis} by the logicals
+     * of rows that were left without pivot.
+     *
+     * @param basis variable of each basis position, length m; repaired in place
+     * @return the variables removed from the basis (empty if it was regular)
+     */
+    int[] factorize(int[] basis) {
+        etaCount = 0;
+        etaStart[0] = 0;
+        Arrays.fill(stepOfRow, -1);
+        lStart[0] = 0;
+        uStart[0] = 0;
+
+        // Sparse columns first (logicals have one entry)
+        final long[] order = new long[m];
+        for (int pos = 0; pos < m; pos++) {
+            order[pos] = ((long) columnCount(basis[pos]) << 32) | pos;
+        }
+        Arrays.sort(order);
+
+        int steps = 0;
+        int[] singular = new int[0];
+        for (long key : order) {
+            final int pos = (int) key;
+            if (eliminate(basis[pos], pos, steps)) {
+                steps++;
+            } else {
+                singular = Arrays.copyOf(singular, singular.length + 1);
+                singular[singular.length - 1] = pos;
+            }
+        }
+
+        // Repair: each dependent column is replaced by the logical of an unpivoted row
+        final int[] removed = new int[singular.length];
+        int row = 0;
+        for (int k = 0; k < singular.length; k++) {
+            while (stepOfRow[row] >= 0) row++;
+            final int pos = singular[k];
+            removed[k] = basis[pos];
+            basis[pos] = n + row;
+            pivotRow[steps] = row;
+            position[steps] = pos;
+            stepOfRow[row] = steps;
+            diagonal[steps] = -1.0;
+            lStart[steps + 1] = lStart[steps];
+            uStart[steps + 1] = uStart[steps];
+            steps++;
+        }
+        return removed;
+    }
+
+    /**
+     * Completes a partial basis with logicals and factorizes it: the candidates are taken in the
+     * given order, each one that is independent of those taken before gets the next basis
+     * position, and the remaining positions get the logicals of the rows left without pivot.
+     *
+     * @param candidates variables in order of preference, at most m are taken
+     * @param count      number of candidates
+     * @param basis      receives the variable of each basis position, length m
+     * @return number of candidates taken
+     */
+    int complete(int[] candidates, int count, int[] basis) {
+        etaCount = 0;
+        etaStart[0] = 0;
+        Arrays.fill(stepOfRow, -1);
+        lStart[0] = 0;
+        uStart[0] = 0;
+
+        int steps = 0;
+        for (int c = 0; c < count && steps < m; c++) {
+            if (eliminate(candidates[c], steps, steps)) {
+                basis[steps] = candidates[c];
+                steps++;
+            }
+        }
+        final int taken = steps;
+        for (int row = 0; row < m; row++) {
+            if (stepOfRow[row] >= 0) continue;
+            basis[steps] = n + row;
+            pivotRow[steps] = row;
+            position[steps] = steps;
+            stepOfRow[row] = steps;
+            diagonal[steps] = -1.0;
+            lStart[steps + 1] = lStart[steps];
+            uStart[steps + 1] = uStart[steps];
+            steps++;
+        }
+        return taken;
+    }
+
+    /**
+     * Solves {@code B·x = rhs}.
+     *
+     * @param rhs right-hand side in row space; cleared on return
+     * @param out solution in basis space
+     */
+    void ftran(double[] rhs, double[] out) {
+        for (int k = 0; k < m; k++) {
+            final double v = rhs[pivotRow[k]];
+            if (v == 0.0) continue;
+            for (int p = lStart[k]; p < lStart[k + 1]; p++) {
+                rhs[lIndex[p]] -= lValue[p] * v;
+            }
+        }
+        for (int k = m - 1; k >= 0; k--) {
+            final int r = pivotRow[k];
+            final double z = rhs[r] / diagonal[k];
+            rhs[r] = 0.0;
+            out[position[k]] = z;
+            if (z == 0.0) continue;
+            for (int p = uStart[k]; p < uStart[k + 1]; p++) {
+                rhs[pivotRow[uIndex[p]]] -= uValue[p] * z;
+            }
+        }
+        for (int e = 0; e < etaCount; e++) {
+            final int r = etaPosition[e];
+            final double z = out[r] / etaPivot[e];
+            out[r] = z;
+            if (z == 0.0) continue;
+            for (int p = etaStart[e]; p < etaStart[e + 1]; p++) {
+                out[etaIndex[p]] -= etaValue[p] * z;
+            }
+        }
+    }
+
+    /**
+     * Solves {@code B^T·y = rhs}.
+     *
+     * @param rhs right-hand side in basis space; overwritten
+     * @param out solution in row space
+     */
+    void btran(double[] rhs, double[] out) {
+        for (int e = etaCount - 1; e >= 0; e--) {
+            final int r = etaPosition[e];
+            double s = rhs[r];
+            for (int p = etaStart[e]; p < etaStart[e + 1]; p++) {
+                s -= etaValue[p] * rhs[etaIndex[p]];
+            }
+            rhs[r] = s / etaPivot[e];
+        }
+        for (int k = 0; k < m; k++) {
+            double s = rhs[position[k]];
+            for (int p = uStart[k]; p < uStart[k + 1]; p++) {
+                s -= uValue[p] * out[pivotRow[uIndex[p]]];
+            }
+            out[pivotRow[k]] = s / diagonal[k];
+        }
+        for (int k = m - 1; k >= 0; k--) {
+            double s = 0.0;
+            for (int p = lStart[k]; p < lStart[k + 1]; p++) {
+                s += lValue[p] * out[lIndex[p]];
+            }
+            out[pivotRow[k]] -= s;
+        }
+    }
+
+    /**
+     * Records the replacement of the column at basis position {@code r}.
+     *
+     * @param r     basis position of the leaving variable
+     * @param alpha {@code B^-1·a_q} of the entering column (basis space), before the update
+     */
+    void update(int r, double[] alpha) {
+        if (etaCount == etaPosition.length) {
+            final int cap = etaCount * 2;
+            etaPosition = Arrays.copyOf(etaPosition, cap);
+            etaPivot = Arrays.copyOf(etaPivot, cap);
+            etaStart = Arrays.copyOf(etaStart, cap + 1);
+        }
+        int size = etaStart[etaCount];
+        for (int i = 0; i < m; i++) {
+            if (i == r || Math.abs(alpha[i]) <= DROP_TOLERANCE) continue;
+            if (size == etaIndex.length) {
+                etaIndex = Arrays.copyOf(etaIndex, size * 2);
+                etaValue = Arrays.copyOf(etaValue, size * 2);
+            }
+            etaIndex[size] = i;
+            etaValue[size++] = alpha[i];
+        }
+        etaPosition[etaCount] = r;
+        etaPivot[etaCount] = alpha[r];
+        etaStart[++etaCount] = size;
+    }
+
+    // One step of the left-looking elimination; false if the column is dependent
+    private boolean eliminate(int column, int pos, int k) {
+        stamp++;
+        int top = m;
+        if (column < n) {
+            for (int p = a.getColumnStart(column); p < a.getColumnEnd(column); p++) {
+                final int row = a.getRowIndex(p);
+                if (mark[row] != stamp) top = depthFirst(row, top);
+                work[row] = a.getColumnValue(p);
+            }
+        } else {
+            final int row = column - n;
+            top = depthFirst(row, top);
+            work[row] = -1.0;
+        }
+
+        // Numeric solve with the L columns, in topological order
+        for (int t = top; t < m; t++) {
+            final int s = stepOfRow[reach[t]];
+            if (s < 0) continue;
+            final double v = work[reach[t]];
+            if (v == 0.0) continue;
+            for (int p = lStart[s]; p < lStart[s + 1]; p++) {
+                work[lIndex[p]] -= lValue[p] * v;
+            }
+        }
+
+        // Pivot: largest entry in an unpivoted row
+        int pivot = -1;
+        double max = SINGULAR_TOLERANCE;
+        for (int t = top; t < m; t++) {
+            final int row = reach[t];
+            if (stepOfRow[row] < 0 && Math.abs(work[row]) > max) {
+                max = Math.abs(work[row]);
+                pivot = row;
+            }
+        }
+        if (pivot < 0) {
+            for (int t = top; t < m; t++) work[reach[t]] = 0.0;
+            return false;
+        }
+
+        final double d = work[pivot];
+        int lSize = lStart[k];
+        int uSize = uStart[k];
+        ensureL(lSize + m - top);
+        ensureU(uSize + m - top);
+        for (int t = top; t < m; t++) {
+            final int row = reach[t];
+            final double v = work[row];
+            work[row] = 0.0;
+            if (row == pivot || Math.abs(v) <= DROP_TOLERANCE) continue;
+            if (stepOfRow[row] >= 0) {
+                uIndex[uSize] = stepOfRow[row];
+                uValue[uSize++] = v;
+            } else {
+                lIndex[lSize] = row;
+                lValue[lSize++] = v / d;
+            }
+        }
+        pivotRow[k] = pivot;
+        position[k] = pos;
+        stepOfRow[pivot] = k;
+        diagonal[k] = d;
+        lStart[k + 1] = lSize;
+        uStart[k + 1] = uSize;
+        return true;
+    }
+
+    // Iterative depth-first search over the L columns; finished rows are pushed onto reach[--top]
+    private int depthFirst(int start, int top) {
+        int head = 0;
+        stack[0] = start;
+        mark[start] = stamp;
+        stackPos[0] = stepOfRow[start] >= 0 ? lStart[stepOfRow[start]] : 0;
+        while (head >= 0) {
+            final int row = stack[head];
+            final int s = stepOfRow[row];
+            final int end = s >= 0 ? lStart[s + 1] : 0;
+            boolean pushed = false;
+            while (stackPos[head] < end) {
+                final int child = lIndex[stackPos[head]++];
+                if (mark[child] != stamp) {
+                    mark[child] = stamp;
+                    stack[++head] = child;
+                    stackPos[head] = stepOfRow[child] >= 0 ? lStart[stepOfRow[child]] : 0;
+                    pushed = true;
+                    break;
+                }
+            }
+            if (!pushed) {
+                head--;
+                reach[--top] = row;
+            }
+        }
+        return top;
+    }
+
+    private int columnCount(int column) {
+        return column < n ? a.getColumnEnd(column) - a.getColumnStart(column) : 1;
+    }
+
+    private void ensureL(int capacity) {
+        if (capacity <= lIndex.length) return;
+        final int cap = Math.max(capacity, lIndex.length * 2);
+        lIndex = Arrays.copyOf(lIndex, cap);
+        lValue = Arrays.copyOf(lValue, cap);
+    }
+
+    private void ensureU(int capacity) {
+        if (capacity <= uIndex.length) return;
+        final int cap = Math.max(capacity, uIndex.length * 2);
+        uIndex = Arrays.copyOf(uIndex, cap);
+        uValue = Arrays.copyOf(uValue, cap);
+    }
+}
@@ -0,0 +1,137 @@
+package org.optsolvx.backend.simplex;
+
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.SparseMatrix;
+import org.optsolvx.solver.LPSolution;
+import org.optsolvx.solver.SolveControl;
+import org.optsolvx.solver.Workspace;
+
+/**
+ * Computes row duals for an optimal point found by a backend that does not expose them
+ * (crossover). A basis is guessed from the variables and rows at their bounds in the point, and
+ * {@link DualSimplex} is warm-started from it: for a non-degenerate vertex the guess is optimal and
+ * only the factorization is needed, otherwise a few pivots reach an optimal basis. Optimal duals
+ * are complementary to every optimal point, so they fit the given point even if the simplex ends
+ * at another vertex. The guess is completed to a regular basis with logicals, and the simplex
+ * gets {@value #MAX_ITERATIONS_PER_ROW} iterations per row; if that is not enough, there are no
+ * duals.
+ * <p>
+ * Keeps its scratch arrays between calls and is not thread-safe.
+ */
+public final class DualRecovery {
+
+    // Relative distance below which a value counts as sitting on its bound
+    private static final double BOUND_TOLERANCE = 1e-7;
+
+    // Iteration limit of the simplex, per row plus a minimum: an optimal point is usually a few
+    // pivots away from an optimal basis, so a crossover that takes longer is abandoned
+    private static final int MAX_ITERATIONS_PER_ROW = 3;
+    private static final int MIN_ITERATIONS = 100;
+
+    private final Workspace translation = new Workspace();
+    private final Workspace kernel = new Workspace();
+    private int lastIterations;
+
+    /**
+     * @param model   built model that {@code x} is optimal for
+     * @param x       optimal variable values, indexed like the model's variables
+     * @param control control of the solve that found {@code x}, checked once per simplex iteration
+     * @return duals in the convention of {@link LPSolution#getDuals()}, or null if no optimal basis was
+     * found within the iteration limit or the control asked to stop
+     */
+    public double[] duals(AbstractLPModel model, double[] x, SolveControl control) {
+        lastIterations = 0;
+        if (control.shouldStop()) return null;
+        final SparseMatrix matrix = model.getMatrix();
+        final int n = matrix.getColumnCount();
+        final int m = matrix.getRowCount();
+        final int size = n + m;
+        final double[] lower = translation.doubles(0, size);
+        final double[] upper = translation.doubles(1, size);
+        final double[] cost = translation.doubles(2, size);
+        if (!DualSimplexSolver.translate(model, lower, upper, cost)) return null;
+
+        // Values of structurals and logicals (row activities)
+        final double[] value = translation.doubles(3, size);
+        System.arraycopy(x, 0, value, 0, n);
+        for (int i = 0; i < m; i++) {
+            double activity = 0.0;
+            for (int p = matrix.getRowStart(i); p < matrix.getRowEnd(i); p++) {
+                activity += matrix.getRowValue(p) * x[matrix.getColumnIndex(p)];
+            }
+            value[n + i] = activity;
+        }
+
+        // Everything strictly between its bounds has to be basic. Those variables are taken
+        // into an LU-completed basis (logicals of slack rows first, they are always independent),
+        // dependent ones move to their nearest bound, and the logicals of binding rows fill up
+        final byte[] status = translation.bytes(0, size);
+        final int[] candidates = translation.ints(0, size);
+        int count = 0;
+        for (int j = 0; j < size; j++) {
+            status[j] = boundStatus(value[j], lower[j], upper[j]);
+        }
+        for (int j = n; j < size; j++) {
+            if (status[j] == DualSimplex.BASIC) candidates[count++] = j;
+        }
+        for (int j = 0; j < n; j++) {
+            if (status[j] == DualSimplex.BASIC) candidates[count++] = j;
+        }
+        final int[] basis = translation.ints(1, m);
+        new BasisFactor(matrix).complete(candidates, count, basis);
+        for (int c = 0; c < count; c++) {
+            final int j = candidates[c];
+            status[j] = nearestBound(value[j], lower[j], upper[j]);
+        }
+        for (int k = 0; k < m; k++) status[basis[k]] = DualSimplex.BASIC;
+
+        final DualSimplex simplex = new DualSimplex(matrix, lower, upper, cost, status,
+                MAX_ITERATIONS_PER_ROW * m + MIN_ITERATIONS, control, kernel);
+        final DualSimplex.Outcome outcome = simplex.run();
+        lastIterations = simplex.getIterations();
+        if (outcome != DualSimplex.Outcome.OPTIMAL) return null;
+        final double[] duals = simplex.getDuals();
+        final double sign = DualSimplexSolver.sign(model);
+        for (int i = 0; i < m; i++) duals[i] *= sign;
+        return duals;
+    }
+
+    /**
+     * @return simplex iterations of the last {@link #duals} call
+     */
+    public int getLastIterationCount() {
+        return lastIterations;
+    }
+
+    /**
+     * @return bytes of scratch arrays kept between calls
+     */
+    public long getWorkspaceBytes() {
+        return translation.getRetainedBytes() + kernel.getRetainedBytes();
+    }
+
+    /**
+     * Drops the scratch arrays kept between calls.
+     */
+    public void clearWorkspace() {
+        translation.clear();
+        kernel.clear();
+    }
+
+    private static byte boundStatus(double v, double lower, double upper) {
+        final double tolerance = BOUND_TOLERANCE * (1.0 + Math.abs(v));
+        if (!Double.isInfinite(lower) && Math.abs(v - lower) <= tolerance) return DualSimplex.AT_LOWER;
+        if (!Double.isInfinite(upper) && Math.abs(v - upper) <= tolerance) return DualSimplex.AT_UPPER;
+        if (Double.isInfinite(lower) && Double.isInfinite(upper) && Math.abs(v) <= tolerance) {
+            return DualSimplex.AT_ZERO;
+        }
+        return DualSimplex.BASIC;
+    }
+
+    private static byte nearestBound(double v, double lower, double upper) {
+        if (Double.isInfinite(lower) && Double.isInfinite(upper)) return DualSimplex.AT_ZERO;
+        if (Double.isInfinite(upper)) return DualSimplex.AT_LOWER;
+        if (Double.isInfinite(lower)) return DualSimplex.AT_UPPER;
+        return v - lower <= upper - v ? DualSimplex.AT_LOWER : DualSimplex.AT_UPPER;
+    }
+}
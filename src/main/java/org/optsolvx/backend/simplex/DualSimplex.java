@@ -0,0 +1,673 @@
+package org.optsolvx.backend.simplex;
+
+import org.optsolvx.model.SparseMatrix;
+import org.optsolvx.solver.SolveControl;
+import org.optsolvx.solver.Workspace;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Bounded revised dual simplex on the computational form {@code A·x - s = 0},
+ * {@code l <= (x, s) <= u}, minimizing {@code c·(x, s)}.
+ * <p>
+ * Variables {@code 0..n-1} are the structurals, {@code n + i} is the logical of row {@code i};
+ * the bounds of a logical carry the row's right-hand side. Nonbasic variables sit at a bound
+ * (or at zero if free), so bounds are handled without extra rows. Each iteration
+ * <ul>
+ *   <li>selects the leaving row by dual steepest edge pricing,</li>
+ *   <li>computes the pivot row and runs a bound flipping ratio test with Harris tolerances,</li>
+ *   <li>updates primal values, reduced costs and edge weights, and the factorization
+ *   ({@link BasisFactor}, product-form updates).</li>
+ * </ul>
+ * A basis that is not dual feasible is first made dual feasible by solving the auxiliary
+ * problem with all bounds replaced by {@code [-1, 1]} boxes (phase one). If the objective stalls
+ * on degenerate pivots, the costs are perturbed slightly; perturbations and cost shifts are
+ * removed at the end and the loop continues if that left the basis dual infeasible.
+ */
+final class DualSimplex {
+
+    enum Outcome {
+        OPTIMAL,
+        /** Dual unbounded: the problem has no feasible point. */
+        INFEASIBLE,
+        /** No dual feasible basis: the problem is unbounded or infeasible. */
+        DUAL_INFEASIBLE,
+        ITERATION_LIMIT,
+        /** Stopped by the solve control (deadline or cancellation). */
+        STOPPED
+    }
+
+    // Variable status, same codes as SimplexBasis.Status ordinals
+    static final byte BASIC = 0;
+    static final byte AT_LOWER = 1;
+    static final byte AT_UPPER = 2;
+    static final byte AT_ZERO = 3;
+
+    private static final double PRIMAL_TOLERANCE = 1e-7;
+    private static final double DUAL_TOLERANCE = 1e-7;
+    private static final double ZERO_TOLERANCE = 1e-9;
+    private static final double PIVOT_MISMATCH = 1e-6;
+    private static final double PERTURBATION = 1e-5;
+    private static final int STALL_ITERATIONS = 50;
+    private static final int MAX_ROUNDS = 4;
+    private static final double MAX_WEIGHT = 1e8;
+
+    private final SparseMatrix a;
+    private final int n;
+    private final int m;
+    private double[] lower;
+    private double[] upper;
+    private final double[] cost;
+    private final double[] shift;
+    private boolean shifted;
+    private boolean perturbed;
+    private boolean phaseOneShifted;
+    private final int maxIterations;
+    private final SolveControl control;
+    private final Workspace work;
+    private int iterations;
+
+    private final byte[] status;
+    private final int[] basis;
+    private final double[] xB;      // basic values, basis space
+    private final double[] dual;    // row duals y, row space
+    private final double[] reduced; // reduced costs d
+    private final double[] weight;  // dual steepest edge weights, basis space
+    private final BasisFactor factor;
+
+    // Work arrays
+    private final double[] rowWork;
+    private final double[] posWork;
+    private final double[] rho;
+    private final double[] tau;
+    private final double[] alphaRow;
+    private final double[] alphaCol;
+    private final int[] candidate;
+    private final double[] candidateSlack; // signed reduced cost, >= 0 when dual feasible
+    private final double[] candidateAlpha; // |pivot row entry|
+    private final int[] flips;
+    private int flipCount;
+    private double step;
+    private final Random random = new Random(20231);
+
+    /**
+     * @param a             constraint matrix, n columns and m rows
+     * @param lower         lower bounds of the n + m variables (copied)
+     * @param upper         upper bounds of the n + m variables (copied)
+     * @param cost          costs of the n + m variables (copied)
+     * @param start         start status of the n + m variables with exactly m BASIC entries,
+     *                      or null for the slack basis
+     * @param maxIterations iteration limit
+     * @param control       checked once per iteration
+     * @param work          scratch arrays of the owning solver, reused between solves
+     */
+    DualSimplex(SparseMatrix a, double[] lower, double[] upper, double[] cost, byte[] start, int maxIterations,
+                SolveControl control, Workspace work) {
+        this.a = a;
+        this.n = a.getColumnCount();
+        this.m = a.getRowCount();
+        final int size = n + m;
+        this.work = work;
+        this.lower = work.doubles(0, size);
+        this.upper = work.doubles(1, size);
+        this.cost = work.doubles(2, size);
+        System.arraycopy(lower, 0, this.lower, 0, size);
+        System.arraycopy(upper, 0, this.upper, 0, size);
+        System.arraycopy(cost, 0, this.cost, 0, size);
+        this.shift = work.doubles(3, size);
+        this.maxIterations = maxIterations;
+        this.control = control;
+
+        status = work.bytes(0, size);
+        basis = work.ints(0, m);
+        if (start == null) {
+            for (int i = 0; i < m; i++) {
+                status[n + i] = BASIC;
+                basis[i] = n + i;
+            }
+            for (int j = 0; j < n; j++) status[j] = AT_LOWER;
+        } else {
+            int k = 0;
+            for (int j = 0; j < size; j++) {
+                status[j] = start[j];
+                if (start[j] == BASIC) basis[k++] = j;
+            }
+        }
+        xB = work.doubles(4, m);
+        dual = work.doubles(5, m);
+        reduced = work.doubles(6, size);
+        weight = work.doubles(7, m);
+        Arrays.fill(weight, 1.0);
+        factor = new BasisFactor(a);
+
+        rowWork = work.doubles(8, m);
+        posWork = work.doubles(9, m);
+        rho = work.doubles(10, m);
+        tau = work.doubles(11, m);
+        alphaRow = work.doubles(12, size);
+        alphaCol = work.doubles(13, m);
+        candidate = work.ints(1, size);
+        candidateSlack = work.doubles(14, size);
+        candidateAlpha = work.doubles(15, size);
+        flips = work.ints(2, size);
+    }
+
+    /**
+     * Runs phase one (if needed) and phase two.
+     */
+    Outcome run() {
+        refactor();
+        for (int round = 0; round < MAX_ROUNDS; round++) {
+            final boolean perturb = round == 0;
+            if (!chooseNonbasicBounds()) {
+                final Outcome phaseOne = phaseOne(perturb);
+                if (phaseOne != Outcome.OPTIMAL) return phaseOne;
+                if (!chooseNonbasicBounds()) {
+                    if (phaseOneShifted && round + 1 < MAX_ROUNDS) continue;
+                    return Outcome.DUAL_INFEASIBLE;
+                }
+            }
+            computePrimal();
+            final Outcome outcome = iterate(perturb);
+            if (outcome != Outcome.OPTIMAL || !shifted) return outcome;
+            removeShifts();
+            computeDual();
+            if (isDualFeasible()) return Outcome.OPTIMAL;
+        }
+        return Outcome.ITERATION_LIMIT;
+    }
+
+    int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * @return status of the n + m variables (copy)
+     */
+    byte[] getStatus() {
+        return status.clone();
+    }
+
+    /**
+     * @return values of the n + m variables
+     */
+    double[] getValues() {
+        final double[] x = new double[n + m];
+        for (int j = 0; j < n + m; j++) {
+            if (status[j] != BASIC) x[j] = nonbasicValue(j);
+        }
+        for (int k = 0; k < m; k++) x[basis[k]] = xB[k];
+        return x;
+    }
+
+    /**
+     * @return row duals of the final basis for the minimised costs (valid after {@link Outcome#OPTIMAL})
+     */
+    double[] getDuals() {
+        computeDual();
+        return dual.clone();
+    }
+
+    // ----- Phases -----
+
+    /**
+     * Solves the auxiliary problem over [-1, 1] boxes; its optimal basis is dual feasible
+     * for the original bounds iff the original problem has a dual feasible basis.
+     */
+    private Outcome phaseOne(boolean perturb) {
+        final double[] originalLower = lower;
+        final double[] originalUpper = upper;
+        lower = work.doubles(16, n + m);
+        upper = work.doubles(17, n + m);
+        for (int j = 0; j < n + m; j++) {
+            final boolean hasLower = !Double.isInfinite(originalLower[j]);
+            final boolean hasUpper = !Double.isInfinite(originalUpper[j]);
+            lower[j] = hasLower ? 0.0 : -1.0;
+            upper[j] = hasUpper ? 0.0 : 1.0;
+        }
+        chooseNonbasicBounds();
+        computePrimal();
+        final Outcome outcome = iterate(perturb);
+        lower = originalLower;
+        upper = originalUpper;
+        phaseOneShifted = shifted;
+        if (shifted) {
+            removeShifts();
+            computeDual();
+        }
+        return outcome;
+    }
+
+    /**
+     * Main loop of the dual simplex for the current bounds; expects a dual feasible basis.
+     */
+    private Outcome iterate(boolean perturb) {
+        int degenerate = 0;
+        boolean fresh = true;
+        while (true) {
+            if (factor.getUpdateCount() >= BasisFactor.MAX_UPDATES) {
+                refactor();
+                if (fixDualInfeasibilities()) computePrimal();
+                fresh = true;
+            }
+            final int r = chooseRow();
+            if (r < 0) {
+                if (fresh) return Outcome.OPTIMAL;
+                // Confirm primal feasibility on freshly computed values, not on updated ones
+                refactor();
+                if (fixDualInfeasibilities()) computePrimal();
+                fresh = true;
+                continue;
+            }
+            if (iterations >= maxIterations) return Outcome.ITERATION_LIMIT;
+            if (control.shouldStop()) return Outcome.STOPPED;
+
+            final int p = basis[r];
+            final boolean toUpper = xB[r] > upper[p];
+            final double target = toUpper ? upper[p] : lower[p];
+            final double sigma = toUpper ? 1.0 : -1.0;
+            final double delta = Math.abs(xB[r] - target);
+
+            // Pivot row rho·[A -I]
+            Arrays.fill(posWork, 0.0);
+            posWork[r] = 1.0;
+            factor.btran(posWork, rho);
+            computePivotRow();
+
+            final int q = ratioTest(sigma, delta);
+            if (q < 0) return Outcome.INFEASIBLE;
+
+            // Entering column, checked against the pivot row entry
+            loadColumn(q, rowWork);
+            factor.ftran(rowWork, alphaCol);
+            final double pivot = alphaCol[r];
+            if (Math.abs(pivot - alphaRow[q]) > PIVOT_MISMATCH * (1.0 + Math.abs(pivot))
+                    || Math.abs(pivot) < ZERO_TOLERANCE) {
+                if (!fresh) {
+                    refactor();
+                    if (fixDualInfeasibilities()) computePrimal();
+                    fresh = true;
+                    continue;
+                }
+                if (Math.abs(pivot) < ZERO_TOLERANCE) return Outcome.ITERATION_LIMIT;
+            }
+
+            // tau = B^-1·rho for the edge weights
+            System.arraycopy(rho, 0, rowWork, 0, m);
+            factor.ftran(rowWork, tau);
+
+            // Dual update
+            final double t = sigma * step;
+            if (t != 0.0) {
+                for (int j = 0; j < n + m; j++) {
+                    if (status[j] != BASIC && alphaRow[j] != 0.0) reduced[j] -= t * alphaRow[j];
+                }
+            }
+            reduced[p] = -t;
+            reduced[q] = 0.0;
+
+            // Bound flips of the ratio test
+            if (flipCount > 0) {
+                for (int f = 0; f < flipCount; f++) {
+                    final int j = flips[f];
+                    final double dx;
+                    if (status[j] == AT_LOWER) {
+                        status[j] = AT_UPPER;
+                        dx = upper[j] - lower[j];
+                    } else {
+                        status[j] = AT_LOWER;
+                        dx = lower[j] - upper[j];
+                    }
+                    addColumn(j, dx, rowWork);
+                }
+                factor.ftran(rowWork, posWork);
+                for (int i = 0; i < m; i++) xB[i] -= posWork[i];
+            }
+
+            // Primal step: p leaves at its violated bound, q enters
+            final double theta = (xB[r] - target) / pivot;
+            final double enteringValue = nonbasicValue(q);
+            if (theta != 0.0) {
+                for (int i = 0; i < m; i++) {
+                    if (alphaCol[i] != 0.0) xB[i] -= theta * alphaCol[i];
+                }
+            }
+            xB[r] = enteringValue + theta;
+
+            updateWeights(r, p, pivot);
+
+            status[p] = toUpper && lower[p] != upper[p] ? AT_UPPER : AT_LOWER;
+            status[q] = BASIC;
+            basis[r] = q;
+            factor.update(r, alphaCol);
+            iterations++;
+            fresh = false;
+
+            if (step * delta <= ZERO_TOLERANCE * ZERO_TOLERANCE) {
+                if (++degenerate >= STALL_ITERATIONS && perturb && !perturbed) perturbCosts();
+            } else {
+                degenerate = 0;
+            }
+        }
+    }
+
+    // ----- Pricing and ratio test -----
+
+    /**
+     * Dual steepest edge: the basic variable with the largest infeasibility² / weight. Every
+     * infeasible row can be chosen, whatever its weight.
+     */
+    private int chooseRow() {
+        int best = -1;
+        double bestScore = -1.0;
+        for (int k = 0; k < m; k++) {
+            final int j = basis[k];
+            final double infeasibility;
+            if (xB[k] < lower[j] - PRIMAL_TOLERANCE) {
+                infeasibility = lower[j] - xB[k];
+            } else if (xB[k] > upper[j] + PRIMAL_TOLERANCE) {
+                infeasibility = xB[k] - upper[j];
+            } else {
+                continue;
+            }
+            final double w = weight[k];
+            final double score = infeasibility * infeasibility / (w > 0.0 && w <= MAX_WEIGHT ? w : 1.0);
+            if (score > bestScore) {
+                bestScore = score;
+                best = k;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Bound flipping ratio test with Harris tolerances. Breakpoints are passed in groups of
+     * (nearly) equal ratio; a group of boxed variables is flipped to its other bound as long
+     * as the dual objective keeps improving, otherwise the entry of the group with the largest
+     * pivot becomes the entering variable.
+     *
+     * @return entering variable, or -1 if the dual is unbounded
+     */
+    private int ratioTest(double sigma, double delta) {
+        int count = 0;
+        for (int j = 0; j < n + m; j++) {
+            final byte s = status[j];
+            if (s == BASIC || lower[j] == upper[j]) continue;
+            final double alpha = sigma * alphaRow[j];
+            if (Math.abs(alpha) < ZERO_TOLERANCE) continue;
+            final double slack;
+            if (s == AT_LOWER) {
+                if (alpha < 0.0) continue;
+                slack = reduced[j];
+            } else if (s == AT_UPPER) {
+                if (alpha > 0.0) continue;
+                slack = -reduced[j];
+            } else {
+                slack = Math.abs(reduced[j]);
+            }
+            candidate[count] = j;
+            candidateSlack[count] = slack;
+            candidateAlpha[count++] = Math.abs(alpha);
+        }
+
+        flipCount = 0;
+        double slope = delta;
+        while (count > 0) {
+            double bound = Double.POSITIVE_INFINITY;
+            for (int c = 0; c < count; c++) {
+                bound = Math.min(bound, (candidateSlack[c] + DUAL_TOLERANCE) / candidateAlpha[c]);
+            }
+            int best = -1;
+            double capacity = 0.0;
+            for (int c = 0; c < count; c++) {
+                if (candidateSlack[c] / candidateAlpha[c] > bound) continue;
+                if (best < 0 || candidateAlpha[c] > candidateAlpha[best]) best = c;
+                final int j = candidate[c];
+                capacity += candidateAlpha[c] * (upper[j] - lower[j]); // infinite if not boxed
+            }
+            if (slope - capacity > PRIMAL_TOLERANCE) {
+                // Flip the whole group and continue with the remaining breakpoints
+                slope -= capacity;
+                int kept = 0;
+                for (int c = 0; c < count; c++) {
+                    if (candidateSlack[c] / candidateAlpha[c] > bound) {
+                        candidate[kept] = candidate[c];
+                        candidateSlack[kept] = candidateSlack[c];
+                        candidateAlpha[kept++] = candidateAlpha[c];
+                    } else {
+                        flips[flipCount++] = candidate[c];
+                    }
+                }
+                count = kept;
+                continue;
+            }
+            step = Math.max(0.0, candidateSlack[best] / candidateAlpha[best]);
+            return candidate[best];
+        }
+        flipCount = 0;
+        return -1;
+    }
+
+    private void computePivotRow() {
+        Arrays.fill(alphaRow, 0.0);
+        for (int i = 0; i < m; i++) {
+            final double v = rho[i];
+            if (v == 0.0) continue;
+            for (int p = a.getRowStart(i); p < a.getRowEnd(i); p++) {
+                alphaRow[a.getColumnIndex(p)] += v * a.getRowValue(p);
+            }
+            alphaRow[n + i] = -v;
+        }
+    }
+
+    /**
+     * Dual steepest edge weight update (weights are the squared row norms of B^-1). The weight
+     * of the leaving row is taken exactly from rho, so update errors cannot compound through
+     * it; if a weight still ends up non-finite or above {@value #MAX_WEIGHT}, all weights
+     * restart at 1.
+     */
+    private void updateWeights(int r, int leaving, double pivot) {
+        double wr = 0.0;
+        for (int i = 0; i < m; i++) wr += rho[i] * rho[i];
+        final double norm = columnNormSquared(leaving);
+        boolean valid = true;
+        for (int i = 0; i < m; i++) {
+            if (i == r || alphaCol[i] == 0.0) continue;
+            final double ratio = alphaCol[i] / pivot;
+            final double w = Math.max(weight[i] - 2.0 * ratio * tau[i] + ratio * ratio * wr, ratio * ratio / norm);
+            weight[i] = w;
+            valid &= w <= MAX_WEIGHT;
+        }
+        // rho_r·a_leaving = 1 before and 1 / pivot after the pivot
+        weight[r] = Math.max(wr, 1.0 / norm) / (pivot * pivot);
+        if (!valid || !(weight[r] <= MAX_WEIGHT)) Arrays.fill(weight, 1.0);
+    }
+
+    // ----- Dual feasibility -----
+
+    /**
+     * Puts every nonbasic variable at the bound its reduced cost asks for.
+     *
+     * @return false if some variable cannot be made dual feasible (missing bound)
+     */
+    private boolean chooseNonbasicBounds() {
+        boolean feasible = true;
+        for (int j = 0; j < n + m; j++) {
+            if (status[j] == BASIC) continue;
+            final boolean hasLower = !Double.isInfinite(lower[j]);
+            final boolean hasUpper = !Double.isInfinite(upper[j]);
+            final double d = reduced[j];
+            if (hasLower && hasUpper) {
+                if (lower[j] == upper[j] || d > DUAL_TOLERANCE) {
+                    status[j] = AT_LOWER;
+                } else if (d < -DUAL_TOLERANCE) {
+                    status[j] = AT_UPPER;
+                } else if (status[j] == AT_ZERO) {
+                    status[j] = AT_LOWER;
+                }
+            } else if (hasLower) {
+                status[j] = AT_LOWER;
+                if (d < -DUAL_TOLERANCE) feasible = false;
+            } else if (hasUpper) {
+                status[j] = AT_UPPER;
+                if (d > DUAL_TOLERANCE) feasible = false;
+            } else {
+                status[j] = AT_ZERO;
+                if (Math.abs(d) > DUAL_TOLERANCE) feasible = false;
+            }
+        }
+        return feasible;
+    }
+
+    private boolean isDualFeasible() {
+        for (int j = 0; j < n + m; j++) {
+            if (dualInfeasibility(j) > DUAL_TOLERANCE) return false;
+        }
+        return true;
+    }
+
+    private double dualInfeasibility(int j) {
+        switch (status[j]) {
+            case AT_LOWER:
+                return lower[j] == upper[j] ? 0.0 : -reduced[j];
+            case AT_UPPER:
+                return reduced[j];
+            case AT_ZERO:
+                return Math.abs(reduced[j]);
+            default:
+                return 0.0;
+        }
+    }
+
+    /**
+     * Repairs dual infeasibilities found after a refactorization: boxed variables are flipped,
+     * all others get a cost shift that zeroes their reduced cost.
+     *
+     * @return true if bounds were flipped (primal values must be recomputed)
+     */
+    private boolean fixDualInfeasibilities() {
+        boolean flipped = false;
+        for (int j = 0; j < n + m; j++) {
+            if (dualInfeasibility(j) <= DUAL_TOLERANCE) continue;
+            if (!Double.isInfinite(lower[j]) && !Double.isInfinite(upper[j])) {
+                status[j] = status[j] == AT_LOWER ? AT_UPPER : AT_LOWER;
+                flipped = true;
+            } else {
+                shiftCost(j, -reduced[j]);
+            }
+        }
+        return flipped;
+    }
+
+    /**
+     * Perturbs the costs of nonbasic variables in their dual feasible direction to break ties.
+     */
+    private void perturbCosts() {
+        perturbed = true;
+        for (int j = 0; j < n + m; j++) {
+            final byte s = status[j];
+            if (s == BASIC || s == AT_ZERO || lower[j] == upper[j]) continue;
+            final double xi = PERTURBATION * (1.0 + random.nextDouble()) * (1.0 + Math.abs(cost[j]));
+            shiftCost(j, s == AT_LOWER ? xi : -xi);
+        }
+    }
+
+    private void shiftCost(int j, double amount) {
+        cost[j] += amount;
+        shift[j] += amount;
+        reduced[j] += amount;
+        shifted = true;
+    }
+
+    private void removeShifts() {
+        for (int j = 0; j < n + m; j++) {
+            cost[j] -= shift[j];
+            shift[j] = 0.0;
+        }
+        shifted = false;
+    }
+
+    // ----- Recomputation from scratch -----
+
+    /**
+     * Refactorizes the basis (repairing it if singular) and recomputes primal and dual values.
+     */
+    private void refactor() {
+        final int[] removed = factor.factorize(basis);
+        if (removed.length > 0) {
+            for (int j : removed) {
+                status[j] = !Double.isInfinite(lower[j]) ? AT_LOWER
+                        : !Double.isInfinite(upper[j]) ? AT_UPPER : AT_ZERO;
+            }
+            for (int k = 0; k < m; k++) status[basis[k]] = BASIC;
+            Arrays.fill(weight, 1.0);
+        }
+        computePrimal();
+        computeDual();
+    }
+
+    private void computePrimal() {
+        Arrays.fill(rowWork, 0.0);
+        for (int j = 0; j < n + m; j++) {
+            if (status[j] == BASIC) continue;
+            final double v = nonbasicValue(j);
+            if (v != 0.0) addColumn(j, -v, rowWork);
+        }
+        factor.ftran(rowWork, xB);
+    }
+
+    private void computeDual() {
+        for (int k = 0; k < m; k++) posWork[k] = cost[basis[k]];
+        factor.btran(posWork, dual);
+        for (int j = 0; j < n; j++) {
+            double d = cost[j];
+            for (int p = a.getColumnStart(j); p < a.getColumnEnd(j); p++) {
+                d -= dual[a.getRowIndex(p)] * a.getColumnValue(p);
+            }
+            reduced[j] = d;
+        }
+        for (int i = 0; i < m; i++) {
+            reduced[n + i] = cost[n + i] + dual[i];
+        }
+        for (int k = 0; k < m; k++) reduced[basis[k]] = 0.0;
+    }
+
+    // ----- Helpers -----
+
+    private double nonbasicValue(int j) {
+        switch (status[j]) {
+            case AT_LOWER:
+                return lower[j];
+            case AT_UPPER:
+                return upper[j];
+            default:
+                return 0.0;
+        }
+    }
+
+    private void loadColumn(int j, double[] target) {
+        Arrays.fill(target, 0.0);
+        addColumn(j, 1.0, target);
+    }
+
+    // target += factor * column j of [A -I]
+    private void addColumn(int j, double factor, double[] target) {
+        if (j < n) {
+            for (int p = a.getColumnStart(j); p < a.getColumnEnd(j); p++) {
+                target[a.getRowIndex(p)] += factor * a.getColumnValue(p);
+            }
+        } else {
+            target[j - n] -= factor;
+        }
+    }
+
+    private double columnNormSquared(int j) {
+        if (j >= n) return 1.0;
+        double s = 0.0;
+        for (int p = a.getColumnStart(j); p < a.getColumnEnd(j); p++) {
+            s += a.getColumnValue(p) * a.getColumnValue(p);
+        }
+        return s > 0.0 ? s : 1.0;
+    }
+}
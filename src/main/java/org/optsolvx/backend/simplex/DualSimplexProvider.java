@@ -0,0 +1,28 @@
+package org.optsolvx.backend.simplex;
+
+import org.optsolvx.solver.LPSolverAdapter;
+import org.optsolvx.solver.SolverProvider;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Registers {@link DualSimplexSolver} as {@code "optsolvx-simplex"} (alias {@code "simplex"}); see {@link SolverProvider}.
+ */
+public final class DualSimplexProvider implements SolverProvider {
+
+    @Override
+    public String getName() {
+        return DualSimplexSolver.NAME;
+    }
+
+    @Override
+    public List<String> getAliases() {
+        return Collections.singletonList("simplex");
+    }
+
+    @Override
+    public LPSolverAdapter create() {
+        return new DualSimplexSolver();
+    }
+}
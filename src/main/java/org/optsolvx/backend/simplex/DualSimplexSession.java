@@ -0,0 +1,80 @@
+package org.optsolvx.backend.simplex;
+
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.solver.LPSolution;
+import org.optsolvx.solver.LPSolverSession;
+
+/**
+ * Re-solve session of {@link DualSimplexSolver}, see {@link DualSimplexSolver#openSession}.
+ * Every {@link #solve()} reads the current model (so in-place edits such as
+ * {@link AbstractLPModel#setVariableBounds} are always picked up) and starts from the basis
+ * of the previous solve. After bound or RHS edits that basis is still dual feasible, so the
+ * dual simplex typically needs only a few iterations. If variables or constraints were
+ * added, the session starts from the slack basis again. Not thread-safe.
+ */
+public final class DualSimplexSession implements LPSolverSession {
+
+    private final AbstractLPModel model;
+    private final DualSimplexSolver solver = new DualSimplexSolver();
+    private SimplexBasis basis;
+    private boolean closed;
+
+    DualSimplexSession(AbstractLPModel model, int maxIterations) {
+        if (model == null) {
+            throw new IllegalArgumentException("Model must not be null.");
+        }
+        this.model = model;
+        solver.setMaxIterations(maxIterations);
+    }
+
+    @Override
+    public AbstractLPModel getModel() {
+        return model;
+    }
+
+    /**
+     * @return basis of the last solve, or null before the first solve
+     */
+    public SimplexBasis getBasis() {
+        return basis;
+    }
+
+    /**
+     * Sets the basis the next solve starts from (e.g. saved from another session); null means
+     * the slack basis.
+     */
+    public void setBasis(SimplexBasis basis) {
+        checkOpen();
+        this.basis = basis;
+    }
+
+    /**
+     * @return number of simplex iterations of the last solve
+     */
+    public int getLastIterationCount() {
+        return solver.getLastIterationCount();
+    }
+
+    @Override
+    public LPSolution solve() {
+        checkOpen();
+        final boolean fits = basis != null
+                && basis.matches(model.getVariableCount(), model.getConstraintCount());
+        solver.setStartBasis(fits ? basis : null);
+        final LPSolution solution = solver.solve(model);
+        basis = solver.getLastBasis();
+        return solution;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        basis = null;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Session is closed.");
+        }
+    }
+}
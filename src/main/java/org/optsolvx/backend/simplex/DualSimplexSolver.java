@@ -0,0 +1,280 @@
+package org.optsolvx.backend.simplex;
+
+import org.optsolvx.jfr.Events;
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.OptimizationDirection;
+import org.optsolvx.model.SparseMatrix;
+import org.optsolvx.solver.LPSolution;
+import org.optsolvx.solver.LPSolverAdapter;
+import org.optsolvx.solver.SolveControl;
+import org.optsolvx.solver.SolveStatistics;
+import org.optsolvx.solver.SolveStatus;
+import org.optsolvx.solver.Workspace;
+
+import java.util.Arrays;
+
+/**
+ * Native OptSolvX backend: a bounded revised dual simplex working directly on the model's
+ * sparse matrix (registered as {@code "optsolvx-simplex"}).
+ * <p>
+ * - Rows become logicals with bounds from relation and RHS; variable bounds are handled
+ * natively (no bound rows, no variable splitting).
+ * - Sparse LU factorization of the basis with product-form updates, dual steepest edge
+ * pricing and a bound flipping ratio test, see {@link DualSimplex}.
+ * - The final basis of each solve is available via {@link #getLastBasis()} and can be used
+ * to warm-start later solves ({@link #setStartBasis}); {@link #openSession} does this
+ * automatically between re-solves.
+ * <p>
+ * Infeasible and unbounded problems (and runs hitting the iteration limit) return no values
+ * and objective NaN, like the other backends; the status tells them apart. If no dual feasible
+ * basis exists, a run with zero costs decides between {@code UNBOUNDED} and {@code INFEASIBLE}.
+ * The objective is recomputed from the returned variable values. Instances keep the last basis and
+ * their scratch arrays ({@link Workspace}) and are not thread-safe.
+ */
+public final class DualSimplexSolver implements LPSolverAdapter {
+
+    /**
+     * Registry name of this backend, also reported in {@link org.optsolvx.solver.SolveStatistics#getBackend()}.
+     */
+    public static final String NAME = "optsolvx-simplex";
+
+    private int maxIterations;
+    private SimplexBasis startBasis;
+    private SimplexBasis lastBasis;
+    private int lastIterations;
+    private final Workspace translation = new Workspace(); // bounds and costs of structurals and logicals
+    private final Workspace kernel = new Workspace();      // arrays of the dual simplex
+
+    /**
+     * @return iteration limit, 0 for the automatic limit
+     */
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+
+    /**
+     * Sets the iteration limit; 0 (default) chooses {@code 10000 + 10·(variables + constraints)}.
+     */
+    public void setMaxIterations(int maxIterations) {
+        if (maxIterations < 0) {
+            throw new IllegalArgumentException("maxIterations must be >= 0, was " + maxIterations);
+        }
+        this.maxIterations = maxIterations;
+    }
+
+    /**
+     * Sets the basis the following solves start from; null (default) starts from the slack basis.
+     *
+     * @param basis basis of a model with the same dimensions as the models solved next
+     */
+    public void setStartBasis(SimplexBasis basis) {
+        this.startBasis = basis;
+    }
+
+    /**
+     * @return final basis of the last solve (optimal if the solve succeeded), null before the first solve
+     */
+    public SimplexBasis getLastBasis() {
+        return lastBasis;
+    }
+
+    /**
+     * @return number of simplex iterations of the last solve
+     */
+    public int getLastIterationCount() {
+        return lastIterations;
+    }
+
+    @Override
+    public long getWorkspaceBytes() {
+        return translation.getRetainedBytes() + kernel.getRetainedBytes();
+    }
+
+    @Override
+    public void clearWorkspace() {
+        translation.clear();
+        kernel.clear();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the start basis does not fit the model
+     */
+    @Override
+    public LPSolution solve(AbstractLPModel model) {
+        return solve(model, new SolveControl());
+    }
+
+    /**
+     * The control is checked once per simplex iteration; its iteration limit replaces
+     * {@link #getMaxIterations()} for this call.
+     *
+     * @throws IllegalArgumentException if the start basis does not fit the model
+     */
+    @Override
+    public LPSolution solve(AbstractLPModel model, SolveControl control) {
+        if (model == null) {
+            throw new IllegalArgumentException("Model must not be null.");
+        }
+        if (!model.isBuilt()) {
+            model.build();
+        }
+        final Object event = Events.beginSolve();
+        final LPSolution solution = solveBuilt(model, control);
+        Events.endSolve(event, model, solution.getStatistics());
+        return solution;
+    }
+
+    private LPSolution solveBuilt(AbstractLPModel model, SolveControl control) {
+        final long start = System.nanoTime();
+        final int n = model.getVariableCount();
+        final SparseMatrix matrix = model.getMatrix();
+        final int m = matrix.getRowCount();
+        final byte[] startStatus = startStatus(n, m);
+
+        // Bounds of structurals and logicals (A·x - s = 0)
+        final double[] lower = translation.doubles(0, n + m);
+        final double[] upper = translation.doubles(1, n + m);
+        final double[] cost = translation.doubles(2, n + m);
+        final double sign = sign(model);
+        if (!translate(model, lower, upper, cost)) {
+            lastIterations = 0;
+            final long end = System.nanoTime();
+            return infeasible(model, SolveStatus.INFEASIBLE, end - start, 0L, end);
+        }
+
+        final int perCall = control.getMaxIterations() > 0 ? control.getMaxIterations() : maxIterations;
+        final int limit = perCall > 0 ? perCall : 10_000 + 10 * (n + m);
+        final DualSimplex simplex = new DualSimplex(matrix, lower, upper, cost, startStatus, limit, control,
+                kernel);
+        final long solveStart = System.nanoTime();
+        final DualSimplex.Outcome outcome = simplex.run();
+        final long extractionStart = System.nanoTime();
+        lastBasis = new SimplexBasis(n, m, simplex.getStatus());
+        lastIterations = simplex.getIterations();
+        if (outcome == DualSimplex.Outcome.DUAL_INFEASIBLE) {
+            // Unbounded only if there is a feasible point: with zero costs every basis is dual
+            // feasible, so the dual simplex decides feasibility from the final basis
+            Arrays.fill(cost, 0.0);
+            final DualSimplex feasibility = new DualSimplex(matrix, lower, upper, cost, simplex.getStatus(),
+                    Math.max(1, limit - lastIterations), control, kernel);
+            final DualSimplex.Outcome feasible = feasibility.run();
+            lastIterations += feasibility.getIterations();
+            final long end = System.nanoTime();
+            final SolveStatus status;
+            if (feasible == DualSimplex.Outcome.OPTIMAL) status = SolveStatus.UNBOUNDED;
+            else if (feasible == DualSimplex.Outcome.STOPPED) status = control.getStopStatus();
+            else status = toStatus(feasible);
+            return infeasible(model, status, solveStart - start, end - solveStart, end);
+        }
+        if (outcome != DualSimplex.Outcome.OPTIMAL) {
+            final SolveStatus status = outcome == DualSimplex.Outcome.STOPPED
+                    ? control.getStopStatus() : toStatus(outcome);
+            return infeasible(model, status, solveStart - start, extractionStart - solveStart,
+                    extractionStart);
+        }
+
+        // Values in declared order, objective recomputed from them
+        final double[] x = Arrays.copyOf(simplex.getValues(), n);
+        double objective = 0.0;
+        for (int j = 0; j < n; j++) {
+            objective += model.getObjectiveCoefficient(j) * x[j];
+        }
+        final double[] duals = simplex.getDuals();
+        for (int i = 0; i < m; i++) duals[i] *= sign;
+        return new LPSolution(model, x, duals, objective, true, new SolveStatistics(SolveStatus.OPTIMAL, NAME,
+                solveStart - start, extractionStart - solveStart, System.nanoTime() - extractionStart,
+                lastIterations, null));
+    }
+
+    /**
+     * @return factor turning the model's objective into the minimised one
+     */
+    static double sign(AbstractLPModel model) {
+        return model.getDirection() == OptimizationDirection.MAXIMIZE ? -1.0 : 1.0;
+    }
+
+    /**
+     * Fills bounds and minimised costs of the n structurals and the m logicals ({@code A·x - s = 0}).
+     *
+     * @return false if a variable has lower bound &gt; upper bound
+     */
+    static boolean translate(AbstractLPModel model, double[] lower, double[] upper, double[] cost) {
+        final int n = model.getVariableCount();
+        final int m = model.getConstraintCount();
+        final double sign = sign(model);
+        boolean boundsValid = true;
+        for (int j = 0; j < n; j++) {
+            lower[j] = model.getVariableLowerBound(j);
+            upper[j] = model.getVariableUpperBound(j);
+            cost[j] = sign * model.getObjectiveCoefficient(j);
+            if (lower[j] > upper[j]) boundsValid = false;
+        }
+        for (int i = 0; i < m; i++) {
+            final double rhs = model.getConstraintRhs(i);
+            cost[n + i] = 0.0;
+            switch (model.getConstraintRelation(i)) {
+                case LEQ:
+                    lower[n + i] = Double.NEGATIVE_INFINITY;
+                    upper[n + i] = rhs;
+                    break;
+                case GEQ:
+                    lower[n + i] = rhs;
+                    upper[n + i] = Double.POSITIVE_INFINITY;
+                    break;
+                case EQ:
+                    lower[n + i] = rhs;
+                    upper[n + i] = rhs;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown relation: " + model.getConstraintRelation(i));
+            }
+        }
+        return boundsValid;
+    }
+
+    /**
+     * Opens a session that warm-starts every re-solve from the basis of the previous one
+     * (as long as no variables or constraints were added in between).
+     *
+     * @param model model to solve repeatedly
+     * @return a new session with this solver's iteration limit
+     */
+    @Override
+    public DualSimplexSession openSession(AbstractLPModel model) {
+        return new DualSimplexSession(model, maxIterations);
+    }
+
+    private byte[] startStatus(int n, int m) {
+        if (startBasis == null) return null;
+        if (!startBasis.matches(n, m)) {
+            throw new IllegalArgumentException("Start basis " + startBasis + " does not fit a model with "
+                    + n + " variables and " + m + " constraints.");
+        }
+        final byte[] status = startBasis.status();
+        int basic = 0;
+        for (byte s : status) {
+            if (s == DualSimplex.BASIC) basic++;
+        }
+        if (basic != m) {
+            throw new IllegalArgumentException("Start basis has " + basic + " basic entries, expected " + m);
+        }
+        return status;
+    }
+
+    private LPSolution infeasible(AbstractLPModel model, SolveStatus status, long translationNanos,
+                                  long solveNanos, long extractionStart) {
+        return LPSolution.unsolved(model, new SolveStatistics(status, NAME, translationNanos,
+                solveNanos, System.nanoTime() - extractionStart, lastIterations, null));
+    }
+
+    private static SolveStatus toStatus(DualSimplex.Outcome outcome) {
+        switch (outcome) {
+            case OPTIMAL:
+                return SolveStatus.OPTIMAL;
+            case INFEASIBLE:
+                return SolveStatus.INFEASIBLE;
+            default:
+                return SolveStatus.ITERATION_LIMIT;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.optsolvx.backend.simplex;
+
+/**
+ * Saved basis of {@link DualSimplexSolver}: the status of every variable and of every
+ * constraint's logical (slack). Obtained from {@link DualSimplexSolver#getLastBasis()} or
+ * {@link DualSimplexSession#getBasis()} and passed back via
+ * {@link DualSimplexSolver#setStartBasis(SimplexBasis)} to warm-start a later solve of a
+ * model with the same dimensions. Immutable.
+ */
+public final class SimplexBasis {
+
+    /**
+     * Status of a variable or logical in the basis.
+     */
+    public enum Status {
+        /** In the basis; its value is determined by the constraints. */
+        BASIC,
+        /** Nonbasic at its lower bound. */
+        AT_LOWER,
+        /** Nonbasic at its upper bound. */
+        AT_UPPER,
+        /** Nonbasic free variable at zero. */
+        AT_ZERO
+    }
+
+    private static final Status[] STATUS = Status.values();
+
+    private final int variableCount;
+    private final int constraintCount;
+    private final byte[] status; // variables first, then logicals
+
+    SimplexBasis(int variableCount, int constraintCount, byte[] status) {
+        this.variableCount = variableCount;
+        this.constraintCount = constraintCount;
+        this.status = status;
+    }
+
+    public int getVariableCount() {
+        return variableCount;
+    }
+
+    public int getConstraintCount() {
+        return constraintCount;
+    }
+
+    /**
+     * @param index variable index
+     * @return status of the variable
+     */
+    public Status getVariableStatus(int index) {
+        if (index < 0 || index >= variableCount) {
+            throw new IndexOutOfBoundsException("Variable index out of range: " + index);
+        }
+        return STATUS[status[index]];
+    }
+
+    /**
+     * @param index constraint index
+     * @return status of the constraint's logical; BASIC means the row is not treated as active
+     */
+    public Status getConstraintStatus(int index) {
+        if (index < 0 || index >= constraintCount) {
+            throw new IndexOutOfBoundsException("Constraint index out of range: " + index);
+        }
+        return STATUS[status[variableCount + index]];
+    }
+
+    /**
+     * @return true if this basis fits a model with the given dimensions
+     */
+    public boolean matches(int variables, int constraints) {
+        return variableCount == variables && constraintCount == constraints;
+    }
+
+    byte[] status() {
+        return status;
+    }
+
+    @Override
+    public String toString() {
+        return "SimplexBasis{variables=" + variableCount + ", constraints=" + constraintCount + "}";
+    }
+}
@@ -0,0 +1,91 @@
+package org.optsolvx.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Buffered text output to a channel. Integral numbers are formatted without allocation,
+ * other numbers with the shortest round-trip representation of {@link Double#toString}.
+ */
+final class ByteSink {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final WritableByteChannel channel;
+    private final byte[] buf = new byte[BUFFER_SIZE];
+    private final byte[] digits = new byte[20];
+    private int pos;
+    private int column;
+
+    ByteSink(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * @return number of bytes written since the last line break
+     */
+    int column() {
+        return column;
+    }
+
+    ByteSink write(char c) throws IOException {
+        if (pos == buf.length) flushBuffer();
+        buf[pos++] = (byte) c;
+        column = c == '\n' ? 0 : column + 1;
+        return this;
+    }
+
+    ByteSink write(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            if (c >= 0x80) {
+                for (byte b : s.substring(i).getBytes(StandardCharsets.UTF_8)) write((char) (b & 0xff));
+                break;
+            }
+            write(c);
+        }
+        return this;
+    }
+
+    ByteSink newLine() throws IOException {
+        return write('\n');
+    }
+
+    /**
+     * Writes a finite number.
+     *
+     * @throws IllegalArgumentException for NaN and infinite values
+     */
+    ByteSink write(double v) throws IOException {
+        if (Double.isNaN(v) || Double.isInfinite(v)) {
+            throw new IllegalArgumentException("Cannot write number " + v);
+        }
+        if (v == Math.rint(v) && Math.abs(v) < 1e15) {
+            long l = (long) v;
+            if (l < 0) {
+                write('-');
+                l = -l;
+            }
+            int n = 0;
+            do {
+                digits[n++] = (byte) ('0' + (l % 10));
+                l /= 10;
+            } while (l != 0);
+            while (n > 0) write((char) digits[--n]);
+            return this;
+        }
+        return write(Double.toString(v));
+    }
+
+    void flush() throws IOException {
+        flushBuffer();
+    }
+
+    private void flushBuffer() throws IOException {
+        final ByteBuffer bb = ByteBuffer.wrap(buf, 0, pos);
+        while (bb.hasRemaining()) channel.write(bb);
+        pos = 0;
+    }
+}
@@ -0,0 +1,105 @@
+package org.optsolvx.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Reads a channel line by line into one reusable byte buffer. The current line is
+ * {@code buffer()[lineStart(), lineEnd())} (without line terminator) and stays valid until
+ * the next call of {@link #nextLine()}. No objects are allocated per line.
+ */
+final class LineScanner {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final ReadableByteChannel channel;
+    private byte[] buf = new byte[BUFFER_SIZE];
+    private int pos;      // start of the unread data
+    private int limit;    // end of the valid data
+    private int scanned;  // data before this offset contains no line break
+    private boolean eof;
+
+    private int lineStart;
+    private int lineEnd;
+    private long lineNumber;
+
+    LineScanner(ReadableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    byte[] buffer() {
+        return buf;
+    }
+
+    int lineStart() {
+        return lineStart;
+    }
+
+    int lineEnd() {
+        return lineEnd;
+    }
+
+    /**
+     * @return 1-based number of the current line
+     */
+    long lineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * @return false at the end of the input
+     */
+    boolean nextLine() throws IOException {
+        while (true) {
+            for (int i = Math.max(pos, scanned); i < limit; i++) {
+                if (buf[i] == '\n') {
+                    setLine(pos, i);
+                    pos = i + 1;
+                    return true;
+                }
+            }
+            scanned = limit;
+            if (eof) {
+                if (pos < limit) {
+                    setLine(pos, limit);
+                    pos = limit;
+                    return true;
+                }
+                return false;
+            }
+            fill();
+        }
+    }
+
+    private void setLine(int start, int end) {
+        if (end > start && buf[end - 1] == '\r') end--;
+        lineStart = start;
+        lineEnd = end;
+        lineNumber++;
+    }
+
+    private void fill() throws IOException {
+        if (pos > 0) {
+            System.arraycopy(buf, pos, buf, 0, limit - pos);
+            limit -= pos;
+            scanned -= pos;
+            pos = 0;
+        }
+        if (limit == buf.length) {
+            final byte[] bigger = new byte[2 * buf.length];
+            System.arraycopy(buf, 0, bigger, 0, limit);
+            buf = bigger;
+        }
+        final int n = channel.read(ByteBuffer.wrap(buf, limit, buf.length - limit));
+        if (n < 0) eof = true;
+        else limit += n;
+    }
+
+    /**
+     * @return an IOException naming the current line
+     */
+    IOException error(String message) {
+        return new IOException("Line " + lineNumber + ": " + message);
+    }
+}
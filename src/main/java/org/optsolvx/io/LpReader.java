@@ -0,0 +1,439 @@
+package org.optsolvx.io;
+
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.Constraint;
+import org.optsolvx.model.OptimizationDirection;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streaming reader for LP models in CPLEX LP format.
+ * <p>
+ * Like {@link MpsReader}, the input is tokenized in place from a channel buffer and names
+ * are resolved without allocation once known. Sections start with a keyword at the
+ * beginning of a line (case-insensitive): {@code Maximize}/{@code Minimize} (also
+ * {@code max}, {@code min}, ...), {@code Subject To} ({@code such that}, {@code st},
+ * {@code s.t.}), {@code Bounds} and {@code End}; {@code \} starts a comment.
+ * Constraints may span lines and are named {@code name:} (on the same line as the name) or
+ * {@code R1}, {@code R2}, ... Bounds are {@code x free}, {@code x op v}, {@code v op x} or
+ * {@code v op x op v} with {@code inf}/{@code infinity} for unbounded sides; variables
+ * without bounds are in [0, inf).
+ * Integer sections (generals, binaries, semi-continuous), quadratic terms and objective
+ * constants are rejected. Format errors are reported as IOException with the line number.
+ */
+public final class LpReader {
+
+    /**
+     * Reads a model from a file.
+     *
+     * @param path LP file
+     * @return the model (not built)
+     * @throws IOException on read or format errors
+     */
+    public AbstractLPModel read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel);
+        }
+    }
+
+    /**
+     * Reads a model from a channel (not closed here).
+     *
+     * @param channel LP input, e.g. {@code Channels.newChannel(inputStream)}
+     * @return the model (not built)
+     * @throws IOException on read or format errors
+     */
+    public AbstractLPModel read(ReadableByteChannel channel) throws IOException {
+        return new Parser(new LineScanner(channel)).parse();
+    }
+
+    // Token types
+    private static final int EOF = 0;
+    private static final int SECTION = 1;
+    private static final int NAME = 2;
+    private static final int LABEL = 3;
+    private static final int NUMBER = 4;
+    private static final int PLUS = 5;
+    private static final int MINUS = 6;
+    private static final int RELATION = 7;
+
+    // Sections
+    private static final int MAXIMIZE = 0;
+    private static final int MINIMIZE = 1;
+    private static final int SUBJECT_TO = 2;
+    private static final int BOUNDS = 3;
+    private static final int END = 4;
+    private static final int INTEGER = 5;
+
+    private static final String[][] KEYWORDS = {
+            {"maximize", "maximum", "max"},
+            {"minimize", "minimum", "min"},
+            {"subject to", "such that", "s.t.", "st.", "st"},
+            {"bounds", "bound"},
+            {"end"},
+            {"generals", "general", "gen", "integers", "binaries", "binary", "bin",
+                    "semi-continuous", "semis", "semi"},
+    };
+
+    private static final class Parser {
+        private final LineScanner in;
+        private final ModelBuilder builder = new ModelBuilder();
+        private byte[] buf;
+        private int pos;
+        private int end;
+        private boolean atLineStart;
+        private boolean eof;
+
+        // Current token
+        private int type;
+        private int start;
+        private int stop;
+        private double number;
+        private int section;
+        private Constraint.Relation relation;
+
+        Parser(LineScanner in) {
+            this.in = in;
+        }
+
+        AbstractLPModel parse() throws IOException {
+            next();
+            if (type != SECTION || (section != MAXIMIZE && section != MINIMIZE)) {
+                throw in.error("Expected Maximize or Minimize");
+            }
+            builder.direction = section == MAXIMIZE ? OptimizationDirection.MAXIMIZE : OptimizationDirection.MINIMIZE;
+            objective();
+            if (type == SECTION && section == SUBJECT_TO) constraints();
+            if (type == SECTION && section == BOUNDS) bounds();
+            if (type == SECTION && section == INTEGER) {
+                throw in.error("Integer sections are not supported (LP models only)");
+            }
+            if (type != SECTION || section != END) throw in.error("Expected End");
+            return builder.build();
+        }
+
+        private void objective() throws IOException {
+            next();
+            if (type == LABEL) next();
+            while (type != SECTION && type != EOF) {
+                final double c = coefficient();
+                if (type != NAME) throw in.error("Constants are not supported in the objective");
+                final int j = builder.variable(buf, start, stop);
+                builder.cost[j] += c;
+                next();
+            }
+        }
+
+        private void constraints() throws IOException {
+            next();
+            while (type != SECTION && type != EOF) {
+                final int i;
+                if (type == LABEL) {
+                    if (builder.rows.find(buf, start, stop) >= 0) throw in.error("Duplicate row " + token());
+                    i = builder.addRow(buf, start, stop, Constraint.Relation.EQ);
+                    next();
+                } else {
+                    int k = builder.rows.size() + 1;
+                    while (builder.rows.find("R" + k) >= 0) k++;
+                    i = builder.addRow("R" + k, Constraint.Relation.EQ);
+                }
+                while (type != RELATION) {
+                    final double c = coefficient();
+                    if (type != NAME) throw in.error("Expected variable, found " + describe());
+                    builder.entry(i, builder.variable(buf, start, stop), c);
+                    next();
+                }
+                builder.relations[i] = relation;
+                next();
+                builder.rhs[i] = value(false);
+                next();
+            }
+        }
+
+        private void bounds() throws IOException {
+            next();
+            while (type != SECTION && type != EOF) {
+                if (type == NAME && !isInfinity()) {
+                    final int j = builder.variable(buf, start, stop);
+                    next();
+                    if (type == NAME && equalsIgnoreCase(start, stop, "free")) {
+                        builder.setLower(j, Double.NEGATIVE_INFINITY);
+                        builder.upper[j] = Double.POSITIVE_INFINITY;
+                        next();
+                        continue;
+                    }
+                    if (type != RELATION) throw in.error("Expected relation or 'free' in bound");
+                    final Constraint.Relation rel = relation;
+                    next();
+                    apply(j, rel, value(true));
+                    next();
+                } else {
+                    final double v = value(true);
+                    next();
+                    if (type != RELATION) throw in.error("Expected relation in bound");
+                    final Constraint.Relation rel = relation;
+                    next();
+                    if (type != NAME) throw in.error("Expected variable in bound");
+                    final int j = builder.variable(buf, start, stop);
+                    apply(j, flip(rel), v);
+                    next();
+                    if (type == RELATION) {
+                        final Constraint.Relation rel2 = relation;
+                        next();
+                        apply(j, rel2, value(true));
+                        next();
+                    }
+                }
+            }
+        }
+
+        /** Applies {@code x rel v}. */
+        private void apply(int j, Constraint.Relation rel, double v) {
+            switch (rel) {
+                case LEQ:
+                    builder.upper[j] = v;
+                    break;
+                case GEQ:
+                    builder.setLower(j, v);
+                    break;
+                default:
+                    builder.setLower(j, v);
+                    builder.upper[j] = v;
+                    break;
+            }
+        }
+
+        private static Constraint.Relation flip(Constraint.Relation rel) {
+            switch (rel) {
+                case LEQ:
+                    return Constraint.Relation.GEQ;
+                case GEQ:
+                    return Constraint.Relation.LEQ;
+                default:
+                    return rel;
+            }
+        }
+
+        /**
+         * Reads an optional sign and coefficient; the current token should then be the variable.
+         */
+        private double coefficient() throws IOException {
+            double sign = 1.0;
+            while (type == PLUS || type == MINUS) {
+                if (type == MINUS) sign = -sign;
+                next();
+            }
+            if (type != NUMBER) return sign;
+            final double c = sign * number;
+            next();
+            return c;
+        }
+
+        /**
+         * Reads a signed number (the current token is its last token).
+         */
+        private double value(boolean allowInfinity) throws IOException {
+            double sign = 1.0;
+            if (type == PLUS || type == MINUS) {
+                if (type == MINUS) sign = -1.0;
+                next();
+            }
+            if (type == NUMBER) return sign * number;
+            if (allowInfinity && type == NAME && isInfinity()) return sign * Double.POSITIVE_INFINITY;
+            throw in.error("Expected number, found " + describe());
+        }
+
+        private boolean isInfinity() {
+            return equalsIgnoreCase(start, stop, "inf") || equalsIgnoreCase(start, stop, "infinity");
+        }
+
+        // ----- Lexer -----
+
+        private void next() throws IOException {
+            while (true) {
+                if (eof) {
+                    type = EOF;
+                    return;
+                }
+                if (buf == null || pos >= end) {
+                    if (!in.nextLine()) {
+                        eof = true;
+                        continue;
+                    }
+                    buf = in.buffer();
+                    pos = in.lineStart();
+                    end = in.lineEnd();
+                    atLineStart = true;
+                    continue;
+                }
+                final byte b = buf[pos];
+                if (b == ' ' || b == '\t') {
+                    pos++;
+                    continue;
+                }
+                if (b == '\\') {
+                    pos = end;
+                    continue;
+                }
+                if (atLineStart) {
+                    atLineStart = false;
+                    if (keyword()) return;
+                }
+                start = pos;
+                if (b == '+' || b == '-') {
+                    pos++;
+                    type = b == '+' ? PLUS : MINUS;
+                } else if (b == '<' || b == '>' || b == '=') {
+                    relation();
+                } else if ((b >= '0' && b <= '9') || b == '.') {
+                    numberToken();
+                } else if (isNameStart(b)) {
+                    while (pos < end && isNameChar(buf[pos])) pos++;
+                    type = NAME;
+                    int p = pos;
+                    while (p < end && (buf[p] == ' ' || buf[p] == '\t')) p++;
+                    if (p < end && buf[p] == ':') {
+                        type = LABEL;
+                        stop = pos;
+                        pos = p + 1;
+                        return;
+                    }
+                } else {
+                    throw in.error("Unexpected character '" + (char) b + "'");
+                }
+                stop = pos;
+                return;
+            }
+        }
+
+        private void relation() throws IOException {
+            final byte b = buf[pos++];
+            final boolean eq = pos < end && buf[pos] == '=';
+            final boolean gt = pos < end && buf[pos] == '>';
+            final boolean lt = pos < end && buf[pos] == '<';
+            type = RELATION;
+            if (b == '<') {
+                relation = Constraint.Relation.LEQ;
+                if (eq) pos++;
+            } else if (b == '>') {
+                relation = Constraint.Relation.GEQ;
+                if (eq) pos++;
+            } else if (lt) { // =<
+                relation = Constraint.Relation.LEQ;
+                pos++;
+            } else if (gt) { // =>
+                relation = Constraint.Relation.GEQ;
+                pos++;
+            } else {
+                relation = Constraint.Relation.EQ;
+            }
+        }
+
+        private void numberToken() throws IOException {
+            while (pos < end && ((buf[pos] >= '0' && buf[pos] <= '9') || buf[pos] == '.')) pos++;
+            if (pos < end && (buf[pos] == 'e' || buf[pos] == 'E')) {
+                int p = pos + 1;
+                if (p < end && (buf[p] == '+' || buf[p] == '-')) p++;
+                if (p < end && buf[p] >= '0' && buf[p] <= '9') {
+                    while (p < end && buf[p] >= '0' && buf[p] <= '9') p++;
+                    pos = p;
+                }
+            }
+            try {
+                number = Numbers.parse(buf, start, pos);
+            } catch (NumberFormatException e) {
+                throw in.error(e.getMessage());
+            }
+            type = NUMBER;
+        }
+
+        /**
+         * Recognizes a section keyword at the current position (start of a line).
+         */
+        private boolean keyword() throws IOException {
+            for (int s = 0; s < KEYWORDS.length; s++) {
+                for (String kw : KEYWORDS[s]) {
+                    final int after = match(kw);
+                    if (after < 0) continue;
+                    pos = after;
+                    type = SECTION;
+                    section = s;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return position after the keyword, or -1 if the line does not start with it
+         */
+        private int match(String kw) {
+            int p = pos;
+            for (int k = 0; k < kw.length(); k++) {
+                final char c = kw.charAt(k);
+                if (c == ' ') {
+                    if (p >= end || (buf[p] != ' ' && buf[p] != '\t')) return -1;
+                    while (p < end && (buf[p] == ' ' || buf[p] == '\t')) p++;
+                    continue;
+                }
+                if (p >= end || Character.toLowerCase((char) buf[p]) != c) return -1;
+                p++;
+            }
+            if (p < end && buf[p] != ' ' && buf[p] != '\t' && buf[p] != '\\') return -1;
+            return p;
+        }
+
+        private boolean equalsIgnoreCase(int s, int e, String ascii) {
+            if (e - s != ascii.length()) return false;
+            for (int k = 0; k < ascii.length(); k++) {
+                if (Character.toLowerCase((char) buf[s + k]) != ascii.charAt(k)) return false;
+            }
+            return true;
+        }
+
+        private static boolean isNameStart(byte b) {
+            return isNameChar(b) && !(b >= '0' && b <= '9') && b != '.';
+        }
+
+        private static boolean isNameChar(byte b) {
+            if (b < 0) return true; // UTF-8
+            if (b <= ' ') return false;
+            switch (b) {
+                case '+':
+                case '-':
+                case '<':
+                case '>':
+                case '=':
+                case ':':
+                case '\\':
+                case '[':
+                case ']':
+                case '^':
+                case '*':
+                    return false;
+                default:
+                    return true;
+            }
+        }
+
+        private String token() {
+            return new String(buf, start, stop - start, StandardCharsets.UTF_8);
+        }
+
+        private String describe() {
+            switch (type) {
+                case EOF:
+                    return "end of input";
+                case SECTION:
+                    return "section keyword";
+                default:
+                    return "'" + token() + "'";
+            }
+        }
+    }
+}
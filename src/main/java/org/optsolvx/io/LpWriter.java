@@ -0,0 +1,136 @@
+package org.optsolvx.io;
+
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.OptimizationDirection;
+import org.optsolvx.model.SparseMatrix;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes LP models in CPLEX LP format, streaming row by row from the compiled
+ * {@link SparseMatrix} through a buffered channel. Long expressions are wrapped so that no
+ * line exceeds the 255 character limit of the format. Every variable is listed in the objective
+ * (with coefficient 0 if needed) and in the bounds, so that variables without entries and the
+ * variable order survive a round trip through {@link LpReader}.
+ * <p>
+ * Names must be valid LP names: no whitespace or any of {@code + - < > = : \ [ ] ^ *}, and
+ * not starting with a digit or a period.
+ */
+public final class LpWriter {
+
+    private static final int WRAP_COLUMN = 200;
+
+    /**
+     * Writes a model to a file (created or truncated).
+     *
+     * @param model the model to write
+     * @param path  target file
+     * @throws IOException on write errors
+     * @throws IllegalArgumentException if a name is not a valid LP name or a value is NaN
+     */
+    public void write(AbstractLPModel model, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(model, channel);
+        }
+    }
+
+    /**
+     * Writes a model to a channel (not closed here).
+     *
+     * @param model   the model to write
+     * @param channel LP output, e.g. {@code Channels.newChannel(outputStream)}
+     * @throws IOException on write errors
+     * @throws IllegalArgumentException if a name is not a valid LP name or a value is NaN
+     */
+    public void write(AbstractLPModel model, WritableByteChannel channel) throws IOException {
+        final int n = model.getVariableCount();
+        final int m = model.getConstraintCount();
+        final String[] columns = new String[n];
+        for (int j = 0; j < n; j++) columns[j] = checkName(model.getVariableName(j));
+
+        final ByteSink out = new ByteSink(channel);
+        out.write(model.getDirection() == OptimizationDirection.MAXIMIZE ? "Maximize" : "Minimize").newLine();
+        out.write(" obj:");
+        for (int j = 0; j < n; j++) {
+            // Zero terms too: readers number variables by first appearance
+            term(out, model.getObjectiveCoefficient(j), columns[j]);
+        }
+        out.newLine();
+
+        out.write("Subject To").newLine();
+        final SparseMatrix a = model.getMatrix();
+        for (int i = 0; i < m; i++) {
+            out.write(' ').write(checkName(model.getConstraintName(i))).write(':');
+            final int end = a.getRowEnd(i);
+            int p = a.getRowStart(i);
+            if (p == end) {
+                if (n == 0) throw new IllegalArgumentException("Cannot write an empty constraint without variables");
+                term(out, 0.0, columns[0]);
+            }
+            for (; p < end; p++) {
+                term(out, a.getRowValue(p), columns[a.getColumnIndex(p)]);
+            }
+            switch (model.getConstraintRelation(i)) {
+                case LEQ:
+                    out.write(" <= ");
+                    break;
+                case GEQ:
+                    out.write(" >= ");
+                    break;
+                default:
+                    out.write(" = ");
+                    break;
+            }
+            out.write(model.getConstraintRhs(i)).newLine();
+        }
+
+        out.write("Bounds").newLine();
+        for (int j = 0; j < n; j++) {
+            final double lo = model.getVariableLowerBound(j);
+            final double up = model.getVariableUpperBound(j);
+            // Bounds always start with the number, so variable names never read as keywords
+            out.write(' ');
+            bound(out, lo).write(" <= ").write(columns[j]);
+            if (up != Double.POSITIVE_INFINITY || lo == Double.NEGATIVE_INFINITY) {
+                bound(out.write(" <= "), up);
+            }
+            out.newLine();
+        }
+        out.write("End").newLine();
+        out.flush();
+    }
+
+    private static void term(ByteSink out, double value, String column) throws IOException {
+        if (out.column() > WRAP_COLUMN) out.newLine().write(' ');
+        out.write(value < 0.0 ? " - " : " + ");
+        final double abs = Math.abs(value);
+        if (abs != 1.0) out.write(abs).write(' ');
+        out.write(column);
+    }
+
+    private static ByteSink bound(ByteSink out, double value) throws IOException {
+        if (value == Double.POSITIVE_INFINITY) return out.write("inf");
+        if (value == Double.NEGATIVE_INFINITY) return out.write("-inf");
+        return out.write(value);
+    }
+
+    private static String checkName(String name) {
+        if (name.isEmpty()) throw new IllegalArgumentException("Empty name");
+        final char first = name.charAt(0);
+        if ((first >= '0' && first <= '9') || first == '.') {
+            throw new IllegalArgumentException("Name '" + name + "' starts with a digit or period");
+        }
+        for (int i = 0; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            if (c <= ' ' || "+-<>=:\\[]^*".indexOf(c) >= 0) {
+                throw new IllegalArgumentException("Name '" + name + "' contains '" + c + "'");
+            }
+        }
+        return name;
+    }
+}
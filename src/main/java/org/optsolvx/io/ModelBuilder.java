@@ -0,0 +1,194 @@
+package org.optsolvx.io;
+
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.Constraint;
+import org.optsolvx.model.OptimizationDirection;
+
+import java.util.Arrays;
+
+/**
+ * Primitive staging area for the readers: variables, rows and coefficient triplets are
+ * collected in growable arrays and handed to the bulk API of {@link AbstractLPModel}
+ * ({@code addVariables}, {@code setObjective(double[])}, {@code addRows}) in one go.
+ * <p>
+ * Ranged rows (both sides finite) keep one side in the row itself and get a copy named
+ * {@code <row>_range} for the other side.
+ */
+final class ModelBuilder {
+
+    final NameTable variables = new NameTable();
+    double[] lower = new double[16];
+    double[] upper = new double[16];
+    double[] cost = new double[16];
+    boolean[] lowerSet = new boolean[16];
+
+    final NameTable rows = new NameTable();
+    Constraint.Relation[] relations = new Constraint.Relation[16];
+    double[] rhs = new double[16];
+    double[] range = new double[16];
+
+    private int[] entryRows = new int[64];
+    private int[] entryColumns = new int[64];
+    private double[] entryValues = new double[64];
+    private int entryCount;
+
+    OptimizationDirection direction = OptimizationDirection.MINIMIZE;
+
+    /**
+     * @return index of the variable, added with bounds [0, inf) if unknown
+     */
+    int variable(byte[] b, int from, int to) {
+        final int j = variables.find(b, from, to);
+        return j >= 0 ? j : newVariable(variables.add(b, from, to));
+    }
+
+    int variable(String name) {
+        final int j = variables.find(name);
+        return j >= 0 ? j : newVariable(variables.add(name));
+    }
+
+    private int newVariable(int j) {
+        if (j == lower.length) {
+            final int capacity = 2 * j;
+            lower = Arrays.copyOf(lower, capacity);
+            upper = Arrays.copyOf(upper, capacity);
+            cost = Arrays.copyOf(cost, capacity);
+            lowerSet = Arrays.copyOf(lowerSet, capacity);
+        }
+        lower[j] = 0.0;
+        upper[j] = Double.POSITIVE_INFINITY;
+        return j;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the row exists
+     */
+    int addRow(byte[] b, int from, int to, Constraint.Relation rel) {
+        return newRow(rows.add(b, from, to), rel);
+    }
+
+    int addRow(String name, Constraint.Relation rel) {
+        return newRow(rows.add(name), rel);
+    }
+
+    private int newRow(int i, Constraint.Relation rel) {
+        if (i == relations.length) {
+            final int capacity = 2 * i;
+            relations = Arrays.copyOf(relations, capacity);
+            rhs = Arrays.copyOf(rhs, capacity);
+            range = Arrays.copyOf(range, capacity);
+        }
+        relations[i] = rel;
+        rhs[i] = 0.0;
+        range[i] = Double.NaN;
+        return i;
+    }
+
+    void entry(int row, int column, double value) {
+        if (entryCount == entryRows.length) {
+            final int capacity = 2 * entryCount;
+            entryRows = Arrays.copyOf(entryRows, capacity);
+            entryColumns = Arrays.copyOf(entryColumns, capacity);
+            entryValues = Arrays.copyOf(entryValues, capacity);
+        }
+        entryRows[entryCount] = row;
+        entryColumns[entryCount] = column;
+        entryValues[entryCount++] = value;
+    }
+
+    /**
+     * Sets an upper bound; a negative upper bound on a variable whose lower bound was never
+     * set moves the lower bound to -inf (MPS convention).
+     */
+    void setUpper(int j, double value) {
+        upper[j] = value;
+        if (value < 0.0 && !lowerSet[j] && lower[j] == 0.0) lower[j] = Double.NEGATIVE_INFINITY;
+    }
+
+    void setLower(int j, double value) {
+        lower[j] = value;
+        lowerSet[j] = true;
+    }
+
+    AbstractLPModel build() {
+        final int n = variables.size();
+        final int m0 = rows.size();
+
+        // Ranged rows get a copy for their second side
+        final int[] copyOf = new int[m0];
+        int m = m0;
+        for (int i = 0; i < m0; i++) {
+            copyOf[i] = hasRange(i) ? m++ : -1;
+        }
+        final String[] rowNames = new String[m];
+        final Constraint.Relation[] rels = new Constraint.Relation[m];
+        final double[] b = new double[m];
+        for (int i = 0; i < m0; i++) {
+            rowNames[i] = rows.name(i);
+            rels[i] = relations[i];
+            b[i] = rhs[i];
+            if (copyOf[i] < 0) continue;
+            final double r = range[i];
+            final int k = copyOf[i];
+            rowNames[k] = uniqueRowName(rows.name(i) + "_range");
+            switch (relations[i]) {
+                case LEQ:
+                    rels[k] = Constraint.Relation.GEQ;
+                    b[k] = rhs[i] - Math.abs(r);
+                    break;
+                case GEQ:
+                    rels[k] = Constraint.Relation.LEQ;
+                    b[k] = rhs[i] + Math.abs(r);
+                    break;
+                default:
+                    rels[i] = r > 0.0 ? Constraint.Relation.GEQ : Constraint.Relation.LEQ;
+                    rels[k] = r > 0.0 ? Constraint.Relation.LEQ : Constraint.Relation.GEQ;
+                    b[k] = rhs[i] + r;
+                    break;
+            }
+        }
+
+        // Triplets to CSR (stable, so column order within a row is kept)
+        final int[] starts = new int[m + 1];
+        for (int k = 0; k < entryCount; k++) {
+            final int i = entryRows[k];
+            starts[i + 1]++;
+            if (copyOf[i] >= 0) starts[copyOf[i] + 1]++;
+        }
+        for (int i = 0; i < m; i++) starts[i + 1] += starts[i];
+        final int[] next = Arrays.copyOf(starts, m);
+        final int[] columns = new int[starts[m]];
+        final double[] values = new double[starts[m]];
+        for (int k = 0; k < entryCount; k++) {
+            final int i = entryRows[k];
+            int p = next[i]++;
+            columns[p] = entryColumns[k];
+            values[p] = entryValues[k];
+            if (copyOf[i] >= 0) {
+                p = next[copyOf[i]]++;
+                columns[p] = entryColumns[k];
+                values[p] = entryValues[k];
+            }
+        }
+
+        final String[] names = new String[n];
+        for (int j = 0; j < n; j++) names[j] = variables.name(j);
+        final AbstractLPModel model = new AbstractLPModel();
+        model.addVariables(names, Arrays.copyOf(lower, n), Arrays.copyOf(upper, n));
+        model.setObjective(Arrays.copyOf(cost, n), direction);
+        model.addRows(rowNames, starts, columns, values, rels, b);
+        return model;
+    }
+
+    private boolean hasRange(int i) {
+        final double r = range[i];
+        if (Double.isNaN(r) || Double.isInfinite(r)) return false;
+        return relations[i] != Constraint.Relation.EQ || r != 0.0;
+    }
+
+    private String uniqueRowName(String name) {
+        String candidate = name;
+        for (int k = 2; rows.find(candidate) >= 0; k++) candidate = name + k;
+        return candidate;
+    }
+}
@@ -0,0 +1,408 @@
+package org.optsolvx.io;
+
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.Constraint;
+import org.optsolvx.model.OptimizationDirection;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streaming reader for LP models in MPS format (free format by default, fixed format via
+ * {@link #setFixedFormat(boolean)}).
+ * <p>
+ * The input is read from a channel in large blocks and tokenized in place; row and column
+ * names are resolved through a byte-level hash table and numbers are parsed directly from
+ * the buffer, so known names and numbers cause no allocation. The model is created through
+ * the bulk API of {@link AbstractLPModel} (not built).
+ * <p>
+ * Supported sections: NAME, OBJSENSE, ROWS, COLUMNS, RHS, RANGES, BOUNDS (UP, LO, FX, FR, MI,
+ * PL), ENDATA. The first N row is the objective, further N rows are dropped. Ranged rows are
+ * split into two constraints ({@code <row>_range} holds the second side). Bounds of absolute
+ * value 1e30 or more are infinite; a negative UP bound on a variable without LO bound sets the
+ * lower bound to -inf. Integer markers, integer bound types and other sections are rejected,
+ * an objective constant (RHS of the objective row) is ignored.
+ * Format errors are reported as IOException with the line number.
+ */
+public final class MpsReader {
+
+    private static final double INFINITY = 1e30;
+    private static final int[] FIXED_START = {1, 4, 14, 24, 39, 49};
+    private static final int[] FIXED_END = {3, 12, 22, 36, 47, 61};
+
+    private boolean fixedFormat;
+
+    public boolean isFixedFormat() {
+        return fixedFormat;
+    }
+
+    /**
+     * @param fixedFormat true to read fields by column position (names may contain spaces)
+     */
+    public void setFixedFormat(boolean fixedFormat) {
+        this.fixedFormat = fixedFormat;
+    }
+
+    /**
+     * Reads a model from a file.
+     *
+     * @param path MPS file
+     * @return the model (not built)
+     * @throws IOException on read or format errors
+     */
+    public AbstractLPModel read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel);
+        }
+    }
+
+    /**
+     * Reads a model from a channel (not closed here).
+     *
+     * @param channel MPS input, e.g. {@code Channels.newChannel(inputStream)}
+     * @return the model (not built)
+     * @throws IOException on read or format errors
+     */
+    public AbstractLPModel read(ReadableByteChannel channel) throws IOException {
+        return new Parser(new LineScanner(channel), fixedFormat).parse();
+    }
+
+    private enum Section { NONE, NAME, OBJSENSE, ROWS, COLUMNS, RHS, RANGES, BOUNDS, END }
+
+    private static final class Parser {
+        private final LineScanner in;
+        private final boolean fixed;
+        private final ModelBuilder builder = new ModelBuilder();
+        // Field slots 1..6 of the current data line (fixed-format semantics), start/end offsets
+        private final int[] fieldStart = new int[7];
+        private final int[] fieldEnd = new int[7];
+        private final int[] tokenStart = new int[8];
+        private final int[] tokenEnd = new int[8];
+        // N rows; index 0 is the objective
+        private final NameTable freeRows = new NameTable();
+        private byte[] buf;
+
+        Parser(LineScanner in, boolean fixed) {
+            this.in = in;
+            this.fixed = fixed;
+        }
+
+        AbstractLPModel parse() throws IOException {
+            Section section = Section.NONE;
+            int column = -1;
+            while (in.nextLine()) {
+                buf = in.buffer();
+                final int start = in.lineStart();
+                final int end = in.lineEnd();
+                if (start == end || buf[start] == '*' || isBlank(start, end)) continue;
+
+                if (buf[start] != ' ' && buf[start] != '\t') {
+                    section = header(start, end);
+                    if (section == Section.END) break;
+                    continue;
+                }
+                switch (section) {
+                    case OBJSENSE:
+                        fields(start, end, section);
+                        objectiveSense(fieldStart[1] < fieldEnd[1] ? 1 : 2);
+                        break;
+                    case ROWS:
+                        fields(start, end, section);
+                        row();
+                        break;
+                    case COLUMNS:
+                        fields(start, end, section);
+                        column = column(column);
+                        break;
+                    case RHS:
+                    case RANGES:
+                        fields(start, end, section);
+                        rhsOrRange(section == Section.RANGES, 3);
+                        if (fieldStart[5] < fieldEnd[5]) rhsOrRange(section == Section.RANGES, 5);
+                        break;
+                    case BOUNDS:
+                        fields(start, end, section);
+                        bound();
+                        break;
+                    default:
+                        throw in.error("Data line outside of a section");
+                }
+            }
+            if (section != Section.END) throw in.error("Missing ENDATA");
+            return builder.build();
+        }
+
+        private Section header(int start, int end) throws IOException {
+            final int n = tokens(start, end);
+            final String keyword = new String(buf, tokenStart[0], tokenEnd[0] - tokenStart[0],
+                    StandardCharsets.US_ASCII);
+            switch (keyword) {
+                case "NAME":
+                    return Section.NAME;
+                case "OBJSENSE":
+                    if (n > 1) {
+                        fieldStart[1] = tokenStart[1];
+                        fieldEnd[1] = tokenEnd[1];
+                        objectiveSense(1);
+                    }
+                    return Section.OBJSENSE;
+                case "ROWS":
+                    return Section.ROWS;
+                case "COLUMNS":
+                    return Section.COLUMNS;
+                case "RHS":
+                    return Section.RHS;
+                case "RANGES":
+                    return Section.RANGES;
+                case "BOUNDS":
+                    return Section.BOUNDS;
+                case "ENDATA":
+                    return Section.END;
+                default:
+                    throw in.error("Unsupported section " + keyword);
+            }
+        }
+
+        private void objectiveSense(int f) throws IOException {
+            if (is(f, "MAX") || is(f, "MAXIMIZE")) builder.direction = OptimizationDirection.MAXIMIZE;
+            else if (is(f, "MIN") || is(f, "MINIMIZE")) builder.direction = OptimizationDirection.MINIMIZE;
+            else throw in.error("Unknown objective sense");
+        }
+
+        private void row() throws IOException {
+            require(1, "row type");
+            require(2, "row name");
+            if (fieldEnd[1] - fieldStart[1] != 1) throw in.error("Unknown row type");
+            final byte type = buf[fieldStart[1]];
+            if (type == 'N' || type == 'n') {
+                if (freeRows.find(buf, fieldStart[2], fieldEnd[2]) >= 0
+                        || builder.rows.find(buf, fieldStart[2], fieldEnd[2]) >= 0) {
+                    throw in.error("Duplicate row " + field(2));
+                }
+                freeRows.add(buf, fieldStart[2], fieldEnd[2]);
+                return;
+            }
+            final Constraint.Relation rel;
+            switch (type) {
+                case 'L':
+                case 'l':
+                    rel = Constraint.Relation.LEQ;
+                    break;
+                case 'G':
+                case 'g':
+                    rel = Constraint.Relation.GEQ;
+                    break;
+                case 'E':
+                case 'e':
+                    rel = Constraint.Relation.EQ;
+                    break;
+                default:
+                    throw in.error("Unknown row type");
+            }
+            if (freeRows.find(buf, fieldStart[2], fieldEnd[2]) >= 0
+                    || builder.rows.find(buf, fieldStart[2], fieldEnd[2]) >= 0) {
+                throw in.error("Duplicate row " + field(2));
+            }
+            builder.addRow(buf, fieldStart[2], fieldEnd[2], rel);
+        }
+
+        private int column(int previous) throws IOException {
+            require(2, "column name");
+            if (is(3, "'MARKER'")) throw in.error("Integer markers are not supported (LP models only)");
+            int j = previous;
+            if (j < 0 || !sameName(builder.variables.name(j), 2)) {
+                j = builder.variable(buf, fieldStart[2], fieldEnd[2]);
+            }
+            require(3, "row name");
+            entry(j, 3, 4);
+            if (fieldStart[5] < fieldEnd[5]) entry(j, 5, 6);
+            return j;
+        }
+
+        private void entry(int j, int rowField, int valueField) throws IOException {
+            require(valueField, "value");
+            final double v = number(valueField);
+            final int i = builder.rows.find(buf, fieldStart[rowField], fieldEnd[rowField]);
+            if (i >= 0) {
+                builder.entry(i, j, v);
+                return;
+            }
+            final int free = freeRows.find(buf, fieldStart[rowField], fieldEnd[rowField]);
+            if (free < 0) throw in.error("Unknown row " + field(rowField));
+            if (free == 0) builder.cost[j] += v;
+        }
+
+        private void rhsOrRange(boolean ranges, int rowField) throws IOException {
+            require(rowField, "row name");
+            require(rowField + 1, "value");
+            final double v = number(rowField + 1);
+            final int i = builder.rows.find(buf, fieldStart[rowField], fieldEnd[rowField]);
+            if (i < 0) {
+                if (freeRows.find(buf, fieldStart[rowField], fieldEnd[rowField]) >= 0) return; // objective constant
+                throw in.error("Unknown row " + field(rowField));
+            }
+            if (ranges) builder.range[i] = v;
+            else builder.rhs[i] = v;
+        }
+
+        private void bound() throws IOException {
+            require(1, "bound type");
+            require(3, "column name");
+            final int j = builder.variables.find(buf, fieldStart[3], fieldEnd[3]);
+            if (j < 0) throw in.error("Unknown column " + field(3));
+            if (is(1, "FR")) {
+                builder.setLower(j, Double.NEGATIVE_INFINITY);
+                builder.upper[j] = Double.POSITIVE_INFINITY;
+            } else if (is(1, "MI")) {
+                builder.setLower(j, Double.NEGATIVE_INFINITY);
+            } else if (is(1, "PL")) {
+                builder.upper[j] = Double.POSITIVE_INFINITY;
+            } else {
+                require(4, "bound value");
+                final double v = bound(number(4));
+                if (is(1, "UP")) {
+                    builder.setUpper(j, v);
+                } else if (is(1, "LO")) {
+                    builder.setLower(j, v);
+                } else if (is(1, "FX")) {
+                    builder.setLower(j, v);
+                    builder.upper[j] = v;
+                } else if (is(1, "BV") || is(1, "LI") || is(1, "UI") || is(1, "SC")) {
+                    throw in.error("Integer bound type " + field(1) + " is not supported (LP models only)");
+                } else {
+                    throw in.error("Unknown bound type " + field(1));
+                }
+            }
+        }
+
+        private static double bound(double v) {
+            if (v >= INFINITY) return Double.POSITIVE_INFINITY;
+            if (v <= -INFINITY) return Double.NEGATIVE_INFINITY;
+            return v;
+        }
+
+        // ----- Fields -----
+
+        /**
+         * Fills the field slots 1..6 of a data line, by column position (fixed) or from the
+         * whitespace separated tokens (free).
+         */
+        private void fields(int start, int end, Section section) throws IOException {
+            for (int f = 1; f <= 6; f++) {
+                fieldStart[f] = 0;
+                fieldEnd[f] = 0;
+            }
+            if (fixed) {
+                for (int f = 1; f <= 6; f++) {
+                    int s = Math.min(start + FIXED_START[f - 1], end);
+                    int e = Math.min(start + FIXED_END[f - 1], end);
+                    while (s < e && isSpace(buf[s])) s++;
+                    while (e > s && isSpace(buf[e - 1])) e--;
+                    fieldStart[f] = s;
+                    fieldEnd[f] = e;
+                }
+                return;
+            }
+            final int n = tokens(start, end);
+            int first; // slot of the first token
+            switch (section) {
+                case OBJSENSE:
+                case ROWS:
+                    first = 1;
+                    break;
+                case COLUMNS:
+                    first = 2;
+                    break;
+                case RHS:
+                case RANGES:
+                    first = n % 2 == 1 ? 2 : 3; // set name is optional
+                    break;
+                default: // BOUNDS: type [set] column [value]
+                    final boolean valueless = n >= 1 && (tokenIs(0, "FR") || tokenIs(0, "MI") || tokenIs(0, "PL"));
+                    final boolean hasSet = valueless ? n >= 3 : n >= 4;
+                    fieldStart[1] = tokenStart[0];
+                    fieldEnd[1] = tokenEnd[0];
+                    int f = hasSet ? 2 : 3;
+                    for (int t = 1; t < n && f <= 6; t++, f++) {
+                        fieldStart[f] = tokenStart[t];
+                        fieldEnd[f] = tokenEnd[t];
+                    }
+                    return;
+            }
+            if (first + n - 1 > 6) throw in.error("Too many fields");
+            for (int t = 0; t < n; t++) {
+                fieldStart[first + t] = tokenStart[t];
+                fieldEnd[first + t] = tokenEnd[t];
+            }
+        }
+
+        private int tokens(int start, int end) throws IOException {
+            int n = 0;
+            int i = start;
+            while (true) {
+                while (i < end && isSpace(buf[i])) i++;
+                if (i >= end) return n;
+                if (n == tokenStart.length) throw in.error("Too many fields");
+                tokenStart[n] = i;
+                while (i < end && !isSpace(buf[i])) i++;
+                tokenEnd[n++] = i;
+            }
+        }
+
+        private double number(int f) throws IOException {
+            try {
+                return Numbers.parse(buf, fieldStart[f], fieldEnd[f]);
+            } catch (NumberFormatException e) {
+                throw in.error(e.getMessage());
+            }
+        }
+
+        private void require(int f, String what) throws IOException {
+            if (fieldStart[f] >= fieldEnd[f]) throw in.error("Missing " + what);
+        }
+
+        private boolean is(int f, String ascii) {
+            return equalsIgnoreCase(fieldStart[f], fieldEnd[f], ascii);
+        }
+
+        private boolean tokenIs(int t, String ascii) {
+            return equalsIgnoreCase(tokenStart[t], tokenEnd[t], ascii);
+        }
+
+        private boolean equalsIgnoreCase(int s, int e, String ascii) {
+            if (e - s != ascii.length()) return false;
+            for (int k = 0; k < ascii.length(); k++) {
+                if (Character.toUpperCase((char) buf[s + k]) != ascii.charAt(k)) return false;
+            }
+            return true;
+        }
+
+        private boolean sameName(String name, int f) {
+            final int len = fieldEnd[f] - fieldStart[f];
+            if (name.length() != len) return false;
+            for (int k = 0; k < len; k++) {
+                if (name.charAt(k) != buf[fieldStart[f] + k]) return false;
+            }
+            return true;
+        }
+
+        private String field(int f) {
+            return new String(buf, fieldStart[f], fieldEnd[f] - fieldStart[f], StandardCharsets.UTF_8);
+        }
+
+        private boolean isBlank(int start, int end) {
+            for (int i = start; i < end; i++) {
+                if (!isSpace(buf[i])) return false;
+            }
+            return true;
+        }
+
+        private static boolean isSpace(byte b) {
+            return b == ' ' || b == '\t';
+        }
+    }
+}
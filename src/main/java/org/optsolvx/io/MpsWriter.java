@@ -0,0 +1,141 @@
+package org.optsolvx.io;
+
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.OptimizationDirection;
+import org.optsolvx.model.SparseMatrix;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes LP models in free MPS format, streaming column by column from the compiled
+ * {@link SparseMatrix} through a buffered channel.
+ * <p>
+ * The objective row is named {@code obj} (made unique if a constraint has that name), a
+ * maximization objective is written with {@code OBJSENSE MAX}. Names must not contain
+ * whitespace.
+ */
+public final class MpsWriter {
+
+    /**
+     * Writes a model to a file (created or truncated).
+     *
+     * @param model the model to write
+     * @param path  target file
+     * @throws IOException on write errors
+     * @throws IllegalArgumentException if a name contains whitespace or a value is NaN
+     */
+    public void write(AbstractLPModel model, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(model, channel);
+        }
+    }
+
+    /**
+     * Writes a model to a channel (not closed here).
+     *
+     * @param model   the model to write
+     * @param channel MPS output, e.g. {@code Channels.newChannel(outputStream)}
+     * @throws IOException on write errors
+     * @throws IllegalArgumentException if a name contains whitespace or a value is NaN
+     */
+    public void write(AbstractLPModel model, WritableByteChannel channel) throws IOException {
+        final int n = model.getVariableCount();
+        final int m = model.getConstraintCount();
+        final String[] columns = new String[n];
+        final String[] rows = new String[m];
+        for (int j = 0; j < n; j++) columns[j] = checkName(model.getVariableName(j));
+        for (int i = 0; i < m; i++) rows[i] = checkName(model.getConstraintName(i));
+        String objective = "obj";
+        for (int k = 2; model.hasConstraint(objective); k++) objective = "obj" + k;
+
+        final ByteSink out = new ByteSink(channel);
+        out.write("NAME OPTSOLVX").newLine();
+        if (model.getDirection() == OptimizationDirection.MAXIMIZE) {
+            out.write("OBJSENSE").newLine().write("    MAX").newLine();
+        }
+
+        out.write("ROWS").newLine();
+        out.write(" N  ").write(objective).newLine();
+        for (int i = 0; i < m; i++) {
+            switch (model.getConstraintRelation(i)) {
+                case LEQ:
+                    out.write(" L  ");
+                    break;
+                case GEQ:
+                    out.write(" G  ");
+                    break;
+                default:
+                    out.write(" E  ");
+                    break;
+            }
+            out.write(rows[i]).newLine();
+        }
+
+        out.write("COLUMNS").newLine();
+        final SparseMatrix a = model.getMatrix();
+        for (int j = 0; j < n; j++) {
+            final double c = model.getObjectiveCoefficient(j);
+            final int end = a.getColumnEnd(j);
+            int p = a.getColumnStart(j);
+            if (c != 0.0 || p == end) {
+                entry(out, columns[j], objective, c);
+            }
+            for (; p < end; p++) {
+                entry(out, columns[j], rows[a.getRowIndex(p)], a.getColumnValue(p));
+            }
+        }
+
+        out.write("RHS").newLine();
+        for (int i = 0; i < m; i++) {
+            final double b = model.getConstraintRhs(i);
+            if (b != 0.0) entry(out, "RHS", rows[i], b);
+        }
+
+        out.write("BOUNDS").newLine();
+        for (int j = 0; j < n; j++) {
+            final double lo = model.getVariableLowerBound(j);
+            final double up = model.getVariableUpperBound(j);
+            if (lo == up) {
+                bound(out, "FX", columns[j]).write("  ").write(lo).newLine();
+                continue;
+            }
+            if (lo == Double.NEGATIVE_INFINITY && up == Double.POSITIVE_INFINITY) {
+                bound(out, "FR", columns[j]).newLine();
+                continue;
+            }
+            if (lo == Double.NEGATIVE_INFINITY) {
+                bound(out, "MI", columns[j]).newLine();
+            } else if (lo != 0.0) {
+                bound(out, "LO", columns[j]).write("  ").write(lo).newLine();
+            }
+            if (up != Double.POSITIVE_INFINITY) {
+                bound(out, "UP", columns[j]).write("  ").write(up).newLine();
+            }
+        }
+        out.write("ENDATA").newLine();
+        out.flush();
+    }
+
+    private static void entry(ByteSink out, String column, String row, double value) throws IOException {
+        out.write("    ").write(column).write("  ").write(row).write("  ").write(value).newLine();
+    }
+
+    private static ByteSink bound(ByteSink out, String type, String column) throws IOException {
+        return out.write(' ').write(type).write(" BND  ").write(column);
+    }
+
+    private static String checkName(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            if (Character.isWhitespace(name.charAt(i))) {
+                throw new IllegalArgumentException("Name '" + name + "' contains whitespace");
+            }
+        }
+        if (name.isEmpty()) throw new IllegalArgumentException("Empty name");
+        return name;
+    }
+}
@@ -0,0 +1,104 @@
+package org.optsolvx.io;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table from names (looked up as UTF-8 byte ranges) to dense indices.
+ * Lookups of known names do not allocate; only new names create a String.
+ */
+final class NameTable {
+
+    private byte[][] keys = new byte[16][];
+    private String[] names = new String[16];
+    private int[] slots = new int[32]; // index + 1, 0 = empty
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    String name(int index) {
+        return names[index];
+    }
+
+    /**
+     * @return index of the name, or -1 if unknown
+     */
+    int find(byte[] b, int from, int to) {
+        final int mask = slots.length - 1;
+        for (int s = hash(b, from, to) & mask; ; s = (s + 1) & mask) {
+            final int e = slots[s];
+            if (e == 0) return -1;
+            if (equal(keys[e - 1], b, from, to)) return e - 1;
+        }
+    }
+
+    int find(String name) {
+        final byte[] b = name.getBytes(StandardCharsets.UTF_8);
+        return find(b, 0, b.length);
+    }
+
+    /**
+     * Adds a new name.
+     *
+     * @return index of the name (the previous size)
+     * @throws IllegalArgumentException if the name is already present
+     */
+    int add(byte[] b, int from, int to) {
+        if (find(b, from, to) >= 0) {
+            throw new IllegalArgumentException("Duplicate name: " + new String(b, from, to - from, StandardCharsets.UTF_8));
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, 2 * size);
+            names = Arrays.copyOf(names, 2 * size);
+        }
+        keys[size] = Arrays.copyOfRange(b, from, to);
+        names[size] = new String(b, from, to - from, StandardCharsets.UTF_8);
+        if (2 * (size + 1) > slots.length) rehash();
+        insert(size);
+        return size++;
+    }
+
+    int add(String name) {
+        final byte[] b = name.getBytes(StandardCharsets.UTF_8);
+        return add(b, 0, b.length);
+    }
+
+    /**
+     * @return index of the name, adding it if unknown
+     */
+    int intern(byte[] b, int from, int to) {
+        final int index = find(b, from, to);
+        return index >= 0 ? index : add(b, from, to);
+    }
+
+    private void insert(int index) {
+        final byte[] key = keys[index];
+        final int mask = slots.length - 1;
+        int s = hash(key, 0, key.length) & mask;
+        while (slots[s] != 0) s = (s + 1) & mask;
+        slots[s] = index + 1;
+    }
+
+    private void rehash() {
+        slots = new int[2 * slots.length];
+        for (int i = 0; i < size; i++) insert(i);
+    }
+
+    private static int hash(byte[] b, int from, int to) {
+        int h = 0x811c9dc5;
+        for (int i = from; i < to; i++) {
+            h = (h ^ b[i]) * 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean equal(byte[] key, byte[] b, int from, int to) {
+        if (key.length != to - from) return false;
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] != b[from + i]) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,86 @@
+package org.optsolvx.io;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parses decimal numbers from byte ranges without allocating. Numbers with up to 15
+ * significant digits and a decimal exponent within ±22 are converted exactly with one
+ * multiplication or division; all others fall back to {@link Double#parseDouble}.
+ */
+final class Numbers {
+
+    private static final double[] POWERS = new double[23];
+
+    static {
+        POWERS[0] = 1.0;
+        for (int i = 1; i < POWERS.length; i++) POWERS[i] = POWERS[i - 1] * 10.0;
+    }
+
+    private Numbers() {
+    }
+
+    /**
+     * @throws NumberFormatException if the range is not a decimal number
+     */
+    static double parse(byte[] b, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (b[i] == '+' || b[i] == '-')) {
+            negative = b[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int significant = 0;
+        int exponent = 0;
+        boolean digits = false;
+        boolean exact = true;
+        for (; i < to && b[i] >= '0' && b[i] <= '9'; i++) {
+            digits = true;
+            if (significant < 18) {
+                mantissa = 10 * mantissa + (b[i] - '0');
+                if (mantissa != 0) significant++;
+            } else {
+                exponent++;
+                exact = false;
+            }
+        }
+        if (i < to && b[i] == '.') {
+            for (i++; i < to && b[i] >= '0' && b[i] <= '9'; i++) {
+                digits = true;
+                if (significant < 18) {
+                    mantissa = 10 * mantissa + (b[i] - '0');
+                    if (mantissa != 0) significant++;
+                    exponent--;
+                } else {
+                    exact = false;
+                }
+            }
+        }
+        if (!digits) throw invalid(b, from, to);
+        if (i < to && (b[i] == 'e' || b[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < to && (b[i] == '+' || b[i] == '-')) {
+                negativeExponent = b[i] == '-';
+                i++;
+            }
+            if (i == to) throw invalid(b, from, to);
+            int e = 0;
+            for (; i < to && b[i] >= '0' && b[i] <= '9'; i++) {
+                if (e < 100_000) e = 10 * e + (b[i] - '0');
+            }
+            exponent += negativeExponent ? -e : e;
+        }
+        if (i != to) throw invalid(b, from, to);
+        if (mantissa == 0) return negative ? -0.0 : 0.0;
+        if (exact && significant <= 15 && exponent >= -22 && exponent <= 22) {
+            final double v = exponent >= 0 ? mantissa * POWERS[exponent] : mantissa / POWERS[-exponent];
+            return negative ? -v : v;
+        }
+        return Double.parseDouble(new String(b, from, to - from, StandardCharsets.ISO_8859_1));
+    }
+
+    private static NumberFormatException invalid(byte[] b, int from, int to) {
+        return new NumberFormatException("Not a number: '" + new String(b, from, to - from, StandardCharsets.UTF_8) + "'");
+    }
+}
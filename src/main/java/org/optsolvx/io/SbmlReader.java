@@ -0,0 +1,370 @@
+package org.optsolvx.io;
+
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.Constraint;
+import org.optsolvx.model.OptimizationDirection;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Streaming importer for constraint-based models in SBML Level 3 with the FBC package
+ * (version 2, and the flux bounds of version 1).
+ * <p>
+ * The document is read with StAX in one pass, without building a DOM, and the model is
+ * created through the bulk API of {@link AbstractLPModel} (not built):
+ * <ul>
+ *   <li>every reaction becomes a variable named by its id, bounded by its
+ *   {@code fbc:lowerFluxBound}/{@code fbc:upperFluxBound} parameters (FBC v1: {@code fbc:fluxBound}
+ *   elements); reactions without bounds get [0, inf), or (-inf, inf) if reversible</li>
+ *   <li>every species that is not a boundary species becomes an EQ row {@code S v = 0} named by
+ *   its id; reactants enter with minus, products with plus their stoichiometry</li>
+ *   <li>the active FBC objective (or the first one) becomes the objective and direction</li>
+ * </ul>
+ * Annotations, notes, gene associations and kinetic laws are skipped. Memory beyond the
+ * model itself is limited to names and a few primitive arrays. Unknown references and
+ * malformed values are reported as IOException with the line number.
+ */
+public final class SbmlReader {
+
+    private static final String FBC_NAMESPACE = "http://www.sbml.org/sbml/level3/version1/fbc/";
+
+    /**
+     * Reads a model from a file.
+     *
+     * @param path SBML file
+     * @return the model (not built)
+     * @throws IOException on read or format errors
+     */
+    public AbstractLPModel read(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Reads a model from a stream (not closed here).
+     *
+     * @param in SBML document
+     * @return the model (not built)
+     * @throws IOException on read or format errors
+     */
+    public AbstractLPModel read(InputStream in) throws IOException {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        XMLStreamReader xml = null;
+        try {
+            xml = factory.createXMLStreamReader(in);
+            return new Parser(xml).parse();
+        } catch (XMLStreamException e) {
+            throw new IOException("Invalid XML: " + e.getMessage(), e);
+        } finally {
+            if (xml != null) {
+                try {
+                    xml.close();
+                } catch (XMLStreamException ignored) {
+                    // nothing left to release
+                }
+            }
+        }
+    }
+
+    private static final class Parser {
+        private final XMLStreamReader xml;
+        private final ModelBuilder builder = new ModelBuilder();
+        private String core; // namespace of the SBML core elements
+
+        // Boundary species: referenced by reactions, but without a row
+        private final NameTable boundary = new NameTable();
+
+        // Global parameters (value NaN until defined) and the bound parameters of each reaction
+        private final NameTable parameters = new NameTable();
+        private double[] parameterValues = new double[16];
+        private int[] lowerParameter = new int[16];
+        private int[] upperParameter = new int[16];
+
+        // Current context
+        private int skipDepth; // > 0 inside annotation or notes
+        private boolean inParameters;
+        private double stoichiometrySign;
+        private int reaction = -1;
+        private boolean inObjective;
+        private boolean objectiveRead;
+        private String activeObjective;
+
+        Parser(XMLStreamReader xml) {
+            this.xml = xml;
+        }
+
+        AbstractLPModel parse() throws XMLStreamException, IOException {
+            while (xml.hasNext()) {
+                final int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    if (skipDepth > 0) skipDepth++;
+                    else start();
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if (skipDepth > 0) skipDepth--;
+                    else end();
+                }
+            }
+            if (core == null) throw new IOException("Not an SBML document");
+            resolveBounds();
+            return builder.build();
+        }
+
+        private void start() throws IOException {
+            final String ns = namespace();
+            final String name = xml.getLocalName();
+            if (core == null) {
+                if (!"sbml".equals(name)) throw error("Not an SBML document");
+                if (!"3".equals(xml.getAttributeValue(null, "level"))) {
+                    throw error("Only SBML Level 3 is supported");
+                }
+                core = ns;
+                return;
+            }
+            if (ns.startsWith(FBC_NAMESPACE)) {
+                startFbc(name);
+                return;
+            }
+            if (!core.equals(ns)) return;
+            switch (name) {
+                case "annotation":
+                case "notes":
+                    skipDepth = 1;
+                    break;
+                case "listOfParameters":
+                    inParameters = reaction < 0;
+                    break;
+                case "parameter":
+                    if (inParameters) parameter();
+                    break;
+                case "species":
+                    species();
+                    break;
+                case "reaction":
+                    reaction();
+                    break;
+                case "listOfReactants":
+                    stoichiometrySign = -1.0;
+                    break;
+                case "listOfProducts":
+                    stoichiometrySign = 1.0;
+                    break;
+                case "speciesReference":
+                    if (reaction >= 0 && stoichiometrySign != 0.0) speciesReference();
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void end() {
+            final String ns = namespace();
+            final String name = xml.getLocalName();
+            if (ns.startsWith(FBC_NAMESPACE)) {
+                if ("objective".equals(name)) {
+                    if (inObjective) objectiveRead = true;
+                    inObjective = false;
+                }
+                return;
+            }
+            if (core == null || !core.equals(ns)) return;
+            switch (name) {
+                case "listOfParameters":
+                    inParameters = false;
+                    break;
+                case "reaction":
+                    reaction = -1;
+                    break;
+                case "listOfReactants":
+                case "listOfProducts":
+                    stoichiometrySign = 0.0;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void startFbc(String name) throws IOException {
+            switch (name) {
+                case "listOfObjectives":
+                    activeObjective = fbcAttribute("activeObjective");
+                    break;
+                case "objective":
+                    final String id = fbcAttribute("id");
+                    inObjective = !objectiveRead && (activeObjective == null || activeObjective.equals(id));
+                    if (inObjective) {
+                        final String type = required(fbcAttribute("type"), "fbc:type");
+                        if ("maximize".equals(type)) builder.direction = OptimizationDirection.MAXIMIZE;
+                        else if ("minimize".equals(type)) builder.direction = OptimizationDirection.MINIMIZE;
+                        else throw error("Unknown objective type " + type);
+                    }
+                    break;
+                case "fluxObjective":
+                    if (inObjective) {
+                        final int j = knownReaction(required(fbcAttribute("reaction"), "fbc:reaction"));
+                        builder.cost[j] += number(required(fbcAttribute("coefficient"), "fbc:coefficient"));
+                    }
+                    break;
+                case "fluxBound": // FBC version 1
+                    fluxBound();
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void parameter() throws IOException {
+            final String id = required(xml.getAttributeValue(null, "id"), "id");
+            final String value = xml.getAttributeValue(null, "value");
+            final int k = parameter(id);
+            if (!Double.isNaN(parameterValues[k])) throw error("Duplicate parameter " + id);
+            parameterValues[k] = value == null ? Double.NaN : number(value);
+        }
+
+        private int parameter(String id) {
+            int k = parameters.find(id);
+            if (k < 0) {
+                k = parameters.add(id);
+                if (k == parameterValues.length) parameterValues = Arrays.copyOf(parameterValues, 2 * k);
+                parameterValues[k] = Double.NaN;
+            }
+            return k;
+        }
+
+        private void species() throws IOException {
+            final String id = required(xml.getAttributeValue(null, "id"), "id");
+            if (builder.rows.find(id) >= 0 || boundary.find(id) >= 0) throw error("Duplicate species " + id);
+            if ("true".equals(xml.getAttributeValue(null, "boundaryCondition"))) {
+                boundary.add(id);
+            } else {
+                builder.addRow(id, Constraint.Relation.EQ);
+            }
+        }
+
+        private void reaction() throws IOException {
+            final String id = required(xml.getAttributeValue(null, "id"), "id");
+            if (builder.variables.find(id) >= 0) throw error("Duplicate reaction " + id);
+            final int j = builder.variable(id);
+            if (j == lowerParameter.length) {
+                lowerParameter = Arrays.copyOf(lowerParameter, 2 * j);
+                upperParameter = Arrays.copyOf(upperParameter, 2 * j);
+            }
+            if ("true".equals(xml.getAttributeValue(null, "reversible"))) {
+                builder.lower[j] = Double.NEGATIVE_INFINITY;
+            }
+            final String lower = fbcAttribute("lowerFluxBound");
+            final String upper = fbcAttribute("upperFluxBound");
+            lowerParameter[j] = lower == null ? -1 : parameter(lower);
+            upperParameter[j] = upper == null ? -1 : parameter(upper);
+            reaction = j;
+        }
+
+        private void speciesReference() throws IOException {
+            final String species = required(xml.getAttributeValue(null, "species"), "species");
+            final String stoichiometry = xml.getAttributeValue(null, "stoichiometry");
+            final double s = stoichiometry == null ? 1.0 : number(stoichiometry);
+            final int i = builder.rows.find(species);
+            if (i >= 0) {
+                builder.entry(i, reaction, stoichiometrySign * s);
+            } else if (boundary.find(species) < 0) {
+                throw error("Unknown species " + species);
+            }
+        }
+
+        private void fluxBound() throws IOException {
+            final int j = knownReaction(required(fbcAttribute("reaction"), "fbc:reaction"));
+            final String operation = required(fbcAttribute("operation"), "fbc:operation");
+            final double value = number(required(fbcAttribute("value"), "fbc:value"));
+            switch (operation) {
+                case "lessEqual":
+                    builder.upper[j] = value;
+                    break;
+                case "greaterEqual":
+                    builder.lower[j] = value;
+                    break;
+                case "equal":
+                    builder.lower[j] = value;
+                    builder.upper[j] = value;
+                    break;
+                default:
+                    throw error("Unknown flux bound operation " + operation);
+            }
+        }
+
+        private void resolveBounds() throws IOException {
+            for (int j = 0; j < builder.variables.size(); j++) {
+                if (lowerParameter[j] >= 0) builder.lower[j] = boundValue(lowerParameter[j], j);
+                if (upperParameter[j] >= 0) builder.upper[j] = boundValue(upperParameter[j], j);
+            }
+        }
+
+        private double boundValue(int k, int j) throws IOException {
+            final double v = parameterValues[k];
+            if (Double.isNaN(v)) {
+                throw new IOException("Flux bound parameter " + parameters.name(k) + " of reaction "
+                        + builder.variables.name(j) + " has no value");
+            }
+            return v;
+        }
+
+        private int knownReaction(String id) throws IOException {
+            final int j = builder.variables.find(id);
+            if (j < 0) throw error("Unknown reaction " + id);
+            return j;
+        }
+
+        private String namespace() {
+            final String ns = xml.getNamespaceURI();
+            return ns == null ? "" : ns;
+        }
+
+        /**
+         * @return the attribute in the FBC namespace (or without namespace), or null
+         */
+        private String fbcAttribute(String local) {
+            for (int k = 0; k < xml.getAttributeCount(); k++) {
+                if (!local.equals(xml.getAttributeLocalName(k))) continue;
+                final String ns = xml.getAttributeNamespace(k);
+                if (ns == null || ns.isEmpty() || ns.startsWith(FBC_NAMESPACE)) return xml.getAttributeValue(k);
+            }
+            return null;
+        }
+
+        private String required(String value, String attribute) throws IOException {
+            if (value == null) throw error("Missing attribute " + attribute + " on " + xml.getLocalName());
+            return value;
+        }
+
+        private double number(String value) throws IOException {
+            final String v = value.trim();
+            switch (v) {
+                case "INF":
+                    return Double.POSITIVE_INFINITY;
+                case "-INF":
+                    return Double.NEGATIVE_INFINITY;
+                default:
+                    try {
+                        return Double.parseDouble(v);
+                    } catch (NumberFormatException e) {
+                        throw error("Not a number: '" + value + "'");
+                    }
+            }
+        }
+
+        private IOException error(String message) {
+            return new IOException("Line " + xml.getLocation().getLineNumber() + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.optsolvx.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.optsolvx.BackendResolution")
+@Label("Backend Resolution")
+@Category("OptSolvX")
+@Description("Solver backend chosen by OptSolvXConfig.resolve and the setting it came from")
+@StackTrace(false)
+final class BackendResolutionEvent extends Event {
+
+    @Label("Backend")
+    String backend;
+
+    @Label("Source")
+    @Description("explicit, model, global, system-property, environment, config-file or fallback")
+    String source;
+
+    @Label("Presolve")
+    boolean presolve;
+}
@@ -0,0 +1,87 @@
+package org.optsolvx.jfr;
+
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.solver.SolveStatistics;
+
+/**
+ * Java Flight Recorder events of OptSolvX (category "OptSolvX"):
+ * - {@code org.optsolvx.ModelBuild}: duration and size of {@link AbstractLPModel#build()},
+ * - {@code org.optsolvx.BackendResolution}: backend chosen by
+ * {@link org.optsolvx.solver.OptSolvXConfig#resolve} and the setting it came from,
+ * - {@code org.optsolvx.Solve}: one backend solve with status, phase timings and model size.
+ * <p>
+ * Without a recording the begin methods return null after one enabled check, so the
+ * instrumentation costs next to nothing. On runtimes without {@code jdk.jfr} (and in the
+ * Java 8 build, which leaves the event classes out) all methods are no-ops.
+ * <pre>
+ * final Object event = Events.beginSolve();
+ * ... translate, solve, extract ...
+ * Events.endSolve(event, model, solution.getStatistics());
+ * </pre>
+ */
+public final class Events {
+
+    private static final Recorder RECORDER = Recorder.load();
+
+    private Events() {
+    }
+
+    /**
+     * @return true if the events are backed by {@code jdk.jfr} in this runtime
+     */
+    public static boolean isAvailable() {
+        return RECORDER.isAvailable();
+    }
+
+    /**
+     * Starts a model build event.
+     *
+     * @return opaque event handle, null if the event is not recorded
+     */
+    public static Object beginBuild() {
+        return RECORDER.beginBuild();
+    }
+
+    /**
+     * Ends and commits a model build event started with {@link #beginBuild()}.
+     */
+    public static void endBuild(Object event, int variables, int constraints, int nonZeros) {
+        if (event != null) {
+            RECORDER.endBuild(event, variables, constraints, nonZeros);
+        }
+    }
+
+    /**
+     * Records which backend was resolved and from which setting.
+     *
+     * @param backend  solver name as requested
+     * @param source   setting that won the resolution, e.g. "explicit", "model" or "fallback"
+     * @param presolve true if the backend is wrapped in a presolve adapter
+     */
+    public static void backendResolved(String backend, String source, boolean presolve) {
+        RECORDER.backendResolved(backend, source, presolve);
+    }
+
+    /**
+     * Starts a solve event.
+     *
+     * @return opaque event handle, null if the event is not recorded
+     */
+    public static Object beginSolve() {
+        return RECORDER.beginSolve();
+    }
+
+    /**
+     * Ends and commits a solve event started with {@link #beginSolve()}.
+     *
+     * @param event      handle returned by {@link #beginSolve()}
+     * @param model      the solved model (size fields)
+     * @param statistics statistics of the produced solution (status and phase fields)
+     */
+    public static void endSolve(Object event, AbstractLPModel model, SolveStatistics statistics) {
+        if (event != null) {
+            RECORDER.endSolve(event, model.getVariableCount(), model.getConstraintCount(),
+                    model.getMatrix().getNonZeroCount(), statistics);
+        }
+    }
+}
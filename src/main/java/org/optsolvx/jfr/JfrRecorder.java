@@ -0,0 +1,72 @@
+package org.optsolvx.jfr;
+
+import org.optsolvx.solver.SolveStatistics;
+
+/**
+ * Emits the {@code jdk.jfr} events. Loaded reflectively by {@link Recorder#load()} and left
+ * out of the Java 8 build.
+ */
+final class JfrRecorder extends Recorder {
+
+    @Override
+    boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    Object beginBuild() {
+        final ModelBuildEvent event = new ModelBuildEvent();
+        if (!event.isEnabled()) return null;
+        event.begin();
+        return event;
+    }
+
+    @Override
+    void endBuild(Object handle, int variables, int constraints, int nonZeros) {
+        final ModelBuildEvent event = (ModelBuildEvent) handle;
+        event.end();
+        if (event.shouldCommit()) {
+            event.variables = variables;
+            event.constraints = constraints;
+            event.nonZeros = nonZeros;
+            event.commit();
+        }
+    }
+
+    @Override
+    void backendResolved(String backend, String source, boolean presolve) {
+        final BackendResolutionEvent event = new BackendResolutionEvent();
+        if (event.shouldCommit()) {
+            event.backend = backend;
+            event.source = source;
+            event.presolve = presolve;
+            event.commit();
+        }
+    }
+
+    @Override
+    Object beginSolve() {
+        final SolveEvent event = new SolveEvent();
+        if (!event.isEnabled()) return null;
+        event.begin();
+        return event;
+    }
+
+    @Override
+    void endSolve(Object handle, int variables, int constraints, int nonZeros, SolveStatistics statistics) {
+        final SolveEvent event = (SolveEvent) handle;
+        event.end();
+        if (event.shouldCommit()) {
+            event.backend = statistics.getBackend();
+            event.status = statistics.getStatus().name();
+            event.variables = variables;
+            event.constraints = constraints;
+            event.nonZeros = nonZeros;
+            event.translationTime = statistics.getTranslationNanos();
+            event.solveTime = statistics.getSolveNanos();
+            event.extractionTime = statistics.getExtractionNanos();
+            event.iterations = statistics.getIterations();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.optsolvx.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.optsolvx.ModelBuild")
+@Label("Model Build")
+@Category("OptSolvX")
+@Description("AbstractLPModel.build(): compilation of the constraint matrix")
+final class ModelBuildEvent extends Event {
+
+    @Label("Variables")
+    int variables;
+
+    @Label("Constraints")
+    int constraints;
+
+    @Label("Non-Zeros")
+    int nonZeros;
+}
@@ -0,0 +1,44 @@
+package org.optsolvx.jfr;
+
+import org.optsolvx.solver.SolveStatistics;
+
+/**
+ * No-op event sink; {@link JfrRecorder} overrides it when {@code jdk.jfr} is present.
+ */
+class Recorder {
+
+    private static final String JFR_RECORDER = "org.optsolvx.jfr.JfrRecorder";
+
+    /**
+     * @return the JFR-backed recorder if the runtime and this build support it, a no-op one otherwise
+     */
+    static Recorder load() {
+        try {
+            Class.forName("jdk.jfr.Event");
+            return (Recorder) Class.forName(JFR_RECORDER).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new Recorder();
+        }
+    }
+
+    boolean isAvailable() {
+        return false;
+    }
+
+    Object beginBuild() {
+        return null;
+    }
+
+    void endBuild(Object event, int variables, int constraints, int nonZeros) {
+    }
+
+    void backendResolved(String backend, String source, boolean presolve) {
+    }
+
+    Object beginSolve() {
+        return null;
+    }
+
+    void endSolve(Object event, int variables, int constraints, int nonZeros, SolveStatistics statistics) {
+    }
+}
@@ -0,0 +1,45 @@
+package org.optsolvx.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("org.optsolvx.Solve")
+@Label("LP Solve")
+@Category("OptSolvX")
+@Description("One backend solve: model translation, solver run and solution extraction")
+final class SolveEvent extends Event {
+
+    @Label("Backend")
+    String backend;
+
+    @Label("Status")
+    String status;
+
+    @Label("Variables")
+    int variables;
+
+    @Label("Constraints")
+    int constraints;
+
+    @Label("Non-Zeros")
+    int nonZeros;
+
+    @Label("Translation Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long translationTime;
+
+    @Label("Solve Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long solveTime;
+
+    @Label("Extraction Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long extractionTime;
+
+    @Label("Iterations")
+    int iterations;
+}
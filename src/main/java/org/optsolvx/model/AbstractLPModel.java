@@ -2,39 +2,105 @@ package org.optsolvx.model;
 
 import static java.text.MessageFormat.format;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.logging.Logger;
 
+import org.optsolvx.jfr.Events;
 import org.optsolvx.model.OptimizationDirection;
 
 /**
  * Generic base class for linear programming models (LP).
  * Stores all variables, constraints, and the objective function.
  * Can be used independently of any solver backend.
+ * <p>
+ * Storage is primitive: bounds, objective and right-hand sides live in double arrays,
+ * the constraint matrix in a sparse triplet store (see {@link #getMatrix()}).
+ * {@link Variable} and {@link Constraint} objects returned by this class are thin views.
+ * Besides the name-based API there is an index-based bulk API
+ * ({@link #addVariables}, {@link #addRow}, {@link #addRows}, {@link #addColumn}, {@link #addColumns})
+ * that works on plain arrays without boxing. Names are optional there; a missing name
+ * is generated on demand as {@code _x<index>} for variables and {@code _c<index>} for constraints.
+ * <p>
+ * Bounds, right-hand sides, objective and matrix coefficients can be edited in place
+ * ({@link #setVariableBounds}, {@link #setConstraintRhs}, {@link #setObjectiveCoefficient},
+ * {@link #setCoefficient}). Every modification increments {@link #getVersion()} and is recorded
+ * in a change log, so backends and caches can ask which rows and columns are dirty since a
+ * version they have seen ({@link #getChangesSince}, {@link #getDirtyRows}, {@link #getDirtyColumns}).
  */
 public class AbstractLPModel {
 
     private static final Logger LOGGER = Logger.getLogger(AbstractLPModel.class.getName());
+
+    // Prefixes of lazily generated names for unnamed variables/constraints
+    private static final String VARIABLE_PREFIX = "_x";
+    private static final String CONSTRAINT_PREFIX = "_c";
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Maximum number of retained change log entries; older entries are dropped in halves
+    private static final int MAX_CHANGE_LOG = 1 << 16;
+
+    private static final ModelChange.Type[] CHANGE_TYPES = ModelChange.Type.values();
+
     /**
      * If true, enables detailed debug logging for model operations.
      * Default: false (no logging).
      */
     private boolean debug = false;
 
-    // List of all variables in the model, in insertion order
-    private final List<Variable> variables = new ArrayList<>();
+    // ----- Variables (columns), in insertion order -----
+    private int variableCount = 0;
+    private String[] variableNames; // null = generated name
+    private double[] lowerBounds;
+    private double[] upperBounds;
+    private Variable[] variableViews; // lazily created views
+
+    // ----- Constraints (rows), in insertion order -----
+    private int constraintCount = 0;
+    private String[] constraintNames; // null = generated name
+    private Constraint.Relation[] relations;
+    private double[] rhsValues;
+    private Constraint[] constraintViews; // lazily created views
 
-    // List of all constraints in the model
-    private final List<Constraint> constraints = new ArrayList<>();
+    // Constraint matrix as coordinate triplets (row, column, value) in insertion order
+    private int[] entryRows;
+    private int[] entryColumns;
+    private double[] entryValues;
+    private int entryCount = 0;
 
-    // Maps variable names to their index in the variables list
+    // Compiled CSR/CSC snapshot of the triplets; null when stale
+    private volatile SparseMatrix matrix;
+    private final Object matrixLock = new Object();
+
+    // Incrementally maintained structural hash, see getFingerprint()
+    private final Object fingerprintLock = new Object();
+    private ModelFingerprint fingerprint;
+
+    // Shared name snapshots for solutions, replaced when names are added
+    private volatile NameIndex variableNameIndex;
+    private volatile NameIndex constraintNameIndex;
+
+    // Coefficients set via setCoefficient (key: row << 32 | column), merged into the triplets on compile
+    private final Map<Long, Double> pendingCoefficients = new HashMap<>();
+
+    // Change log: entry k was recorded as version logBase + k + 1; version == logBase + logSize
+    private long version = 0;
+    private long logBase = 0;
+    private int logSize = 0;
+    private byte[] logTypes;
+    private int[] logRows;
+    private int[] logColumns;
+
+    // Maps explicit variable names to their index (generated names are not stored)
     private final Map<String, Integer> variableIndices = new HashMap<>();
 
-    // Maps constraint names to their index in the constraints list
+    // Maps explicit constraint names to their index (generated names are not stored)
     private final Map<String, Integer> constraintIndices = new HashMap<>();
 
-    // Coefficients of the objective function: varName -> coefficient
-    private final Map<String, Double> objectiveCoefficients = new HashMap<>();
+    // Dense coefficients of the objective function, indexed like the variables
+    private double[] objective;
 
     // The optimization direction of the model (MAXIMIZE or MINIMIZE). Default ist Maximize.
     private OptimizationDirection direction = OptimizationDirection.MAXIMIZE;
@@ -42,10 +108,42 @@ public class AbstractLPModel {
     // Optional per-model solver preference (e.g., "ojalgo", "commons-math", ...).
     private String preferredSolver;
 
+    // Optional per-model request to run presolve before the backend (see OptSolvXConfig#resolve).
+    private boolean presolveEnabled = false;
+
     // True after build() is called; no further changes allowed
     private boolean built = false;
 
+    // True after freeze(); every modification throws
+    private volatile boolean frozen = false;
+
+    public AbstractLPModel() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param initialCapacity initial capacity of the variable, constraint, matrix and log storage
+     */
+    protected AbstractLPModel(int initialCapacity) {
+        variableNames = new String[initialCapacity];
+        lowerBounds = new double[initialCapacity];
+        upperBounds = new double[initialCapacity];
+        objective = new double[initialCapacity];
+        constraintNames = new String[initialCapacity];
+        relations = new Constraint.Relation[initialCapacity];
+        rhsValues = new double[initialCapacity];
+        entryRows = new int[initialCapacity];
+        entryColumns = new int[initialCapacity];
+        entryValues = new double[initialCapacity];
+        logTypes = new byte[initialCapacity];
+        logRows = new int[initialCapacity];
+        logColumns = new int[initialCapacity];
+    }
+
     private void beforeModelChange() {
+        if (frozen) {
+            throw new IllegalStateException(getClass().getSimpleName() + " is frozen and cannot be modified.");
+        }
         if (built) {
             built = false;
             if (debug)
@@ -53,6 +151,25 @@ public class AbstractLPModel {
         }
     }
 
+    private void beforeStructureChange() {
+        beforeModelChange();
+        matrix = null;
+    }
+
+    /**
+     * Hook for subclasses that keep their own storage: checks that the model is not frozen,
+     * resets the built flag and records the change in the change log.
+     *
+     * @param type   kind of change
+     * @param row    affected constraint index, or -1
+     * @param column affected variable index, or -1
+     * @throws IllegalStateException if the model is frozen
+     */
+    protected void modelChanged(ModelChange.Type type, int row, int column) {
+        beforeModelChange();
+        logChange(type, row, column);
+    }
+
     /**
      * Adds a new variable to the model.
      *
@@ -64,21 +181,113 @@ public class AbstractLPModel {
      * @throws IllegalStateException    if the model is already built
      */
     public int addVariable(String name, double lower, double upper) {
-        beforeModelChange();
-        if (variableIndices.containsKey(name)) {
-            if (debug) LOGGER.warning("Duplicate variable name: " + name);
-            throw new IllegalArgumentException("Variable name already exists: " + name);
-        }
+        beforeStructureChange();
+        checkNewVariableName(name, variableCount);
         if (debug) {
             LOGGER.info(format("{0}: Added variable: {1} [{2,number,0.####}, {3,number,0.####}]", getClass().getSimpleName(), name, lower, upper));
         }
-        Variable var = new Variable(name, lower, upper);
-        int idx = variables.size();
-        variables.add(var);
-        variableIndices.put(name, idx);
+        final int idx = appendVariable(name, lower, upper);
+        logChange(ModelChange.Type.VARIABLES_ADDED, -1, idx);
         return idx;
     }
 
+    /**
+     * Appends a block of variables with the given bounds.
+     *
+     * @param names optional names (null array or null elements: names are generated)
+     * @param lower lower bounds, one per new variable
+     * @param upper upper bounds, one per new variable
+     * @return index of the first new variable
+     * @throws IllegalArgumentException on length mismatch or duplicate names
+     */
+    public int addVariables(String[] names, double[] lower, double[] upper) {
+        final int count = lower.length;
+        requireLength("upper", upper.length, count);
+        if (names != null) requireLength("names", names.length, count);
+        beforeStructureChange();
+        checkNewVariableNames(names, count);
+        final int first = variableCount;
+        ensureVariableCapacity(first + count);
+        System.arraycopy(lower, 0, lowerBounds, first, count);
+        System.arraycopy(upper, 0, upperBounds, first, count);
+        for (int k = 0; k < count; k++) {
+            final String name = names == null ? null : names[k];
+            if (name != null && !isGeneratedName(name, VARIABLE_PREFIX, first + k)) {
+                variableNames[first + k] = name;
+                variableIndices.put(name, first + k);
+            }
+        }
+        variableCount += count;
+        if (count > 0) logChange(ModelChange.Type.VARIABLES_ADDED, -1, first);
+        if (debug) {
+            LOGGER.info(format("{0}: Added {1} variables.", getClass().getSimpleName(), count));
+        }
+        return first;
+    }
+
+    /**
+     * Adds a variable together with its column of matrix coefficients and its objective coefficient.
+     *
+     * @param name      optional name (null: generated)
+     * @param lower     lower bound (inclusive)
+     * @param upper     upper bound (inclusive)
+     * @param objective objective coefficient
+     * @param rows      indices of existing constraints the variable appears in
+     * @param values    coefficients, aligned with {@code rows}
+     * @return index of the new variable
+     * @throws IllegalArgumentException on length mismatch, unknown rows or duplicate names
+     */
+    public int addColumn(String name, double lower, double upper, double objective,
+                         int[] rows, double[] values) {
+        requireLength("values", values.length, rows.length);
+        checkIndices("Constraint", rows, 0, rows.length, constraintCount);
+        beforeStructureChange();
+        checkNewVariableName(name, variableCount);
+        final int idx = appendVariable(name, lower, upper);
+        this.objective[idx] = objective;
+        ensureEntryCapacity(entryCount + rows.length);
+        for (int k = 0; k < rows.length; k++) {
+            appendEntry(rows[k], idx, values[k]);
+        }
+        logChange(ModelChange.Type.VARIABLES_ADDED, -1, idx);
+        return idx;
+    }
+
+    /**
+     * Appends a block of variables given column-wise in compressed sparse column form.
+     * Column {@code k} has the coefficients {@code values[p]} in rows {@code rows[p]}
+     * for {@code columnStarts[k] <= p < columnStarts[k + 1]}.
+     *
+     * @param names        optional names (null array or null elements: names are generated)
+     * @param lower        lower bounds, one per new variable
+     * @param upper        upper bounds, one per new variable
+     * @param objective    optional objective coefficients (null: all zero)
+     * @param columnStarts column offsets into {@code rows}/{@code values}, length count + 1
+     * @param rows         row indices of existing constraints
+     * @param values       matrix coefficients
+     * @return index of the first new variable
+     * @throws IllegalArgumentException on length mismatch, unknown rows or duplicate names
+     */
+    public int addColumns(String[] names, double[] lower, double[] upper, double[] objective,
+                          int[] columnStarts, int[] rows, double[] values) {
+        final int count = lower.length;
+        requireLength("columnStarts", columnStarts.length, count + 1);
+        final int nnz = columnStarts[count] - columnStarts[0];
+        checkStarts(columnStarts, count, rows.length);
+        requireMinLength("values", values.length, columnStarts[count]);
+        checkIndices("Constraint", rows, columnStarts[0], columnStarts[count], constraintCount);
+        if (objective != null) requireLength("objective", objective.length, count);
+        final int first = addVariables(names, lower, upper);
+        if (objective != null) System.arraycopy(objective, 0, this.objective, first, count);
+        ensureEntryCapacity(entryCount + nnz);
+        for (int k = 0; k < count; k++) {
+            for (int p = columnStarts[k]; p < columnStarts[k + 1]; p++) {
+                appendEntry(rows[p], first + k, values[p]);
+            }
+        }
+        return first;
+    }
+
     /**
      * Adds a new linear constraint to the model.
      *
@@ -86,24 +295,89 @@ public class AbstractLPModel {
      * @param coeffs map of variable name to coefficient in the constraint
      * @param rel    type of constraint (LEQ, GEQ, EQ)
      * @param rhs    right-hand side value of the constraint
-     * @return the new Constraint object
-     * @throws IllegalArgumentException if the name already exists
+     * @return the new Constraint object (a view over the model's matrix row)
+     * @throws IllegalArgumentException if the name already exists or a variable is unknown
      * @throws IllegalStateException    if the model is already built
      */
     public Constraint addConstraint(String name, Map<String, Double> coeffs, Constraint.Relation rel, double rhs) {
-        beforeModelChange();
-        if (constraintIndices.containsKey(name)) {
-            if (debug) LOGGER.warning("Duplicate constraint name: " + name);
-            throw new IllegalArgumentException("Constraint name already exists: " + name);
+        beforeStructureChange();
+        checkNewConstraintName(name, constraintCount);
+        // Resolve all names first so that a failing lookup leaves the model untouched
+        final int[] cols = new int[coeffs.size()];
+        final double[] vals = new double[cols.length];
+        int k = 0;
+        for (Map.Entry<String, Double> e : coeffs.entrySet()) {
+            cols[k] = getVariableIndex(e.getKey());
+            vals[k++] = e.getValue();
         }
         if (debug) {
             LOGGER.info(format("{0}: Added constraint {1} ({2}) rhs={3, number,0.####}, vars={4}", getClass().getSimpleName(), name, rel, rhs, coeffs.keySet()));
         }
-        Constraint c = new Constraint(name, coeffs, rel, rhs);
-        int idx = constraints.size();
-        constraints.add(c);
-        constraintIndices.put(name, idx);
-        return c;
+        final int idx = appendConstraint(name, rel, rhs, cols, vals, 0, cols.length);
+        logChange(ModelChange.Type.CONSTRAINTS_ADDED, idx, -1);
+        return constraintView(idx);
+    }
+
+    /**
+     * Adds a linear constraint given by variable indices and coefficients.
+     *
+     * @param name    optional name (null: generated)
+     * @param columns variable indices
+     * @param values  coefficients, aligned with {@code columns}
+     * @param rel     type of constraint (LEQ, GEQ, EQ)
+     * @param rhs     right-hand side value
+     * @return index of the new constraint
+     * @throws IllegalArgumentException on length mismatch, unknown variables or duplicate names
+     */
+    public int addRow(String name, int[] columns, double[] values, Constraint.Relation rel, double rhs) {
+        requireLength("values", values.length, columns.length);
+        checkIndices("Variable", columns, 0, columns.length, variableCount);
+        Objects.requireNonNull(rel, "rel");
+        beforeStructureChange();
+        checkNewConstraintName(name, constraintCount);
+        final int idx = appendConstraint(name, rel, rhs, columns, values, 0, columns.length);
+        logChange(ModelChange.Type.CONSTRAINTS_ADDED, idx, -1);
+        return idx;
+    }
+
+    /**
+     * Appends a block of constraints given row-wise in compressed sparse row form.
+     * Row {@code k} has the coefficients {@code values[p]} for variables {@code columns[p]}
+     * for {@code rowStarts[k] <= p < rowStarts[k + 1]}.
+     *
+     * @param names     optional names (null array or null elements: names are generated)
+     * @param rowStarts row offsets into {@code columns}/{@code values}, length count + 1
+     * @param columns   variable indices
+     * @param values    matrix coefficients
+     * @param rels      relation of each new constraint
+     * @param rhs       right-hand side of each new constraint
+     * @return index of the first new constraint
+     * @throws IllegalArgumentException on length mismatch, unknown variables or duplicate names
+     */
+    public int addRows(String[] names, int[] rowStarts, int[] columns, double[] values,
+                       Constraint.Relation[] rels, double[] rhs) {
+        final int count = rels.length;
+        requireLength("rhs", rhs.length, count);
+        requireLength("rowStarts", rowStarts.length, count + 1);
+        if (names != null) requireLength("names", names.length, count);
+        checkStarts(rowStarts, count, columns.length);
+        requireMinLength("values", values.length, rowStarts[count]);
+        checkIndices("Variable", columns, rowStarts[0], rowStarts[count], variableCount);
+        for (Constraint.Relation rel : rels) Objects.requireNonNull(rel, "rels");
+        beforeStructureChange();
+        checkNewConstraintNames(names, count);
+        final int first = constraintCount;
+        ensureConstraintCapacity(first + count);
+        ensureEntryCapacity(entryCount + rowStarts[count] - rowStarts[0]);
+        for (int k = 0; k < count; k++) {
+            appendConstraint(names == null ? null : names[k], rels[k], rhs[k],
+                    columns, values, rowStarts[k], rowStarts[k + 1]);
+        }
+        if (count > 0) logChange(ModelChange.Type.CONSTRAINTS_ADDED, first, -1);
+        if (debug) {
+            LOGGER.info(format("{0}: Added {1} constraints.", getClass().getSimpleName(), count));
+        }
+        return first;
     }
 
     /**
@@ -111,13 +385,267 @@ public class AbstractLPModel {
      *
      * @param coeffs    map of variable name to objective coefficient
      * @param direction the optimization direction (MAXIMIZE or MINIMIZE)
+     * @throws IllegalArgumentException if a variable is unknown
      * @throws IllegalStateException if the model is already built
      */
     public void setObjective(Map<String, Double> coeffs, OptimizationDirection direction) {
+        final double[] dense = new double[getVariableCount()];
+        for (Map.Entry<String, Double> e : coeffs.entrySet()) {
+            dense[getVariableIndex(e.getKey())] = e.getValue();
+        }
+        setObjective(dense, direction);
+    }
+
+    /**
+     * Sets the objective function from a dense coefficient array indexed like the variables.
+     *
+     * @param coeffs    objective coefficients, one per variable (copied)
+     * @param direction the optimization direction (MAXIMIZE or MINIMIZE)
+     * @throws IllegalArgumentException if the array length does not match the variable count
+     */
+    public void setObjective(double[] coeffs, OptimizationDirection direction) {
+        requireLength("coeffs", coeffs.length, variableCount);
         beforeModelChange();
-        objectiveCoefficients.clear();
-        objectiveCoefficients.putAll(coeffs);
-        this.direction = direction;
+        System.arraycopy(coeffs, 0, objective, 0, variableCount);
+        logChange(ModelChange.Type.OBJECTIVE, -1, -1);
+        if (this.direction != direction) {
+            this.direction = direction;
+            logChange(ModelChange.Type.DIRECTION, -1, -1);
+        }
+    }
+
+    /**
+     * Changes the bounds of an existing variable in place.
+     *
+     * @param index variable index
+     * @param lower new lower bound (inclusive)
+     * @param upper new upper bound (inclusive)
+     * @throws IllegalArgumentException if a bound is NaN
+     */
+    public void setVariableBounds(int index, double lower, double upper) {
+        checkVariableIndex(index);
+        if (Double.isNaN(lower) || Double.isNaN(upper)) {
+            throw new IllegalArgumentException("Bounds must not be NaN: " + getVariableName(index));
+        }
+        beforeModelChange();
+        lowerBounds[index] = lower;
+        upperBounds[index] = upper;
+        logChange(ModelChange.Type.VARIABLE_BOUNDS, -1, index);
+    }
+
+    /**
+     * Name-based variant of {@link #setVariableBounds(int, double, double)}.
+     */
+    public void setVariableBounds(String name, double lower, double upper) {
+        setVariableBounds(getVariableIndex(name), lower, upper);
+    }
+
+    /**
+     * Changes the right-hand side of an existing constraint in place; the relation is kept.
+     *
+     * @param index constraint index
+     * @param rhs   new right-hand side
+     * @throws IllegalArgumentException if the value is NaN
+     */
+    public void setConstraintRhs(int index, double rhs) {
+        checkConstraintIndex(index);
+        if (Double.isNaN(rhs)) {
+            throw new IllegalArgumentException("RHS must not be NaN: " + getConstraintName(index));
+        }
+        beforeModelChange();
+        rhsValues[index] = rhs;
+        logChange(ModelChange.Type.CONSTRAINT_RHS, index, -1);
+    }
+
+    /**
+     * Name-based variant of {@link #setConstraintRhs(int, double)}.
+     */
+    public void setConstraintRhs(String name, double rhs) {
+        setConstraintRhs(getConstraintIndex(name), rhs);
+    }
+
+    /**
+     * Changes one objective coefficient in place; the direction is kept.
+     *
+     * @param index variable index
+     * @param value new objective coefficient
+     * @throws IllegalArgumentException if the value is NaN
+     */
+    public void setObjectiveCoefficient(int index, double value) {
+        checkVariableIndex(index);
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("Objective coefficient must not be NaN: " + getVariableName(index));
+        }
+        beforeModelChange();
+        objective[index] = value;
+        logChange(ModelChange.Type.OBJECTIVE_COEFFICIENT, -1, index);
+    }
+
+    /**
+     * Name-based variant of {@link #setObjectiveCoefficient(int, double)}.
+     */
+    public void setObjectiveCoefficient(String name, double value) {
+        setObjectiveCoefficient(getVariableIndex(name), value);
+    }
+
+    /**
+     * Sets the matrix coefficient of a variable in a constraint, replacing any previous value.
+     * Setting 0 removes the entry. The matrix snapshot is recompiled on the next {@link #getMatrix()}.
+     *
+     * @param row    constraint index
+     * @param column variable index
+     * @param value  new coefficient
+     * @throws IllegalArgumentException if the value is NaN
+     */
+    public void setCoefficient(int row, int column, double value) {
+        checkConstraintIndex(row);
+        checkVariableIndex(column);
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("Coefficient must not be NaN: "
+                    + getConstraintName(row) + "/" + getVariableName(column));
+        }
+        beforeModelChange();
+        synchronized (matrixLock) {
+            pendingCoefficients.put(coefficientKey(row, column), value);
+            matrix = null;
+        }
+        logChange(ModelChange.Type.COEFFICIENT, row, column);
+    }
+
+    /**
+     * Name-based variant of {@link #setCoefficient(int, int, double)}.
+     */
+    public void setCoefficient(String constraint, String variable, double value) {
+        setCoefficient(getConstraintIndex(constraint), getVariableIndex(variable), value);
+    }
+
+    /**
+     * @return matrix coefficient of the variable in the constraint (0 if absent)
+     */
+    public double getCoefficient(int row, int column) {
+        checkConstraintIndex(row);
+        checkVariableIndex(column);
+        synchronized (matrixLock) {
+            final Double pending = pendingCoefficients.get(coefficientKey(row, column));
+            if (pending != null) return pending;
+        }
+        return getMatrix().get(row, column);
+    }
+
+    /**
+     * Returns the model version. It starts at 0 and is incremented by every recorded change.
+     *
+     * @return current version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the changes recorded after the given version, oldest first.
+     * The log keeps the most recent changes only; if it no longer reaches back to
+     * {@code version}, null is returned and callers should treat the whole model as changed.
+     *
+     * @param version a version previously obtained from {@link #getVersion()}
+     * @return the changes with a version greater than {@code version}, or null if not retained
+     * @throws IllegalArgumentException if the version is negative or in the future
+     */
+    public List<ModelChange> getChangesSince(long version) {
+        final int from = changeLogOffset(version);
+        if (from < 0) return null;
+        final List<ModelChange> changes = new ArrayList<>(logSize - from);
+        for (int k = from; k < logSize; k++) {
+            changes.add(new ModelChange(logBase + k + 1, CHANGE_TYPES[logTypes[k]], logRows[k], logColumns[k]));
+        }
+        return changes;
+    }
+
+    /**
+     * Returns the sorted indices of variables whose bounds, objective coefficient or matrix
+     * column changed after the given version (including variables added since and columns
+     * that received coefficients of added constraints).
+     *
+     * @param version a version previously obtained from {@link #getVersion()}
+     * @return dirty column indices, or null if the change log no longer reaches back that far
+     */
+    public int[] getDirtyColumns(long version) {
+        final int from = changeLogOffset(version);
+        if (from < 0) return null;
+        final int n = getVariableCount();
+        final int m = getConstraintCount();
+        final BitSet dirty = new BitSet(n);
+        int firstAddedRow = m;
+        for (int k = from; k < logSize; k++) {
+            switch (CHANGE_TYPES[logTypes[k]]) {
+                case VARIABLE_BOUNDS:
+                case OBJECTIVE_COEFFICIENT:
+                case COEFFICIENT:
+                    dirty.set(logColumns[k]);
+                    break;
+                case OBJECTIVE:
+                    dirty.set(0, n);
+                    break;
+                case VARIABLES_ADDED:
+                    dirty.set(logColumns[k], n);
+                    break;
+                case CONSTRAINTS_ADDED:
+                    firstAddedRow = Math.min(firstAddedRow, logRows[k]);
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (firstAddedRow < m) {
+            final SparseMatrix a = getMatrix();
+            for (int i = firstAddedRow; i < m; i++) {
+                for (int p = a.getRowStart(i); p < a.getRowEnd(i); p++) {
+                    dirty.set(a.getColumnIndex(p));
+                }
+            }
+        }
+        return dirty.stream().toArray();
+    }
+
+    /**
+     * Returns the sorted indices of constraints whose right-hand side or matrix row changed
+     * after the given version (including constraints added since and rows that received
+     * coefficients of added variables).
+     *
+     * @param version a version previously obtained from {@link #getVersion()}
+     * @return dirty row indices, or null if the change log no longer reaches back that far
+     */
+    public int[] getDirtyRows(long version) {
+        final int from = changeLogOffset(version);
+        if (from < 0) return null;
+        final int n = getVariableCount();
+        final int m = getConstraintCount();
+        final BitSet dirty = new BitSet(m);
+        int firstAddedColumn = n;
+        for (int k = from; k < logSize; k++) {
+            switch (CHANGE_TYPES[logTypes[k]]) {
+                case CONSTRAINT_RHS:
+                case COEFFICIENT:
+                    dirty.set(logRows[k]);
+                    break;
+                case CONSTRAINTS_ADDED:
+                    dirty.set(logRows[k], m);
+                    break;
+                case VARIABLES_ADDED:
+                    firstAddedColumn = Math.min(firstAddedColumn, logColumns[k]);
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (firstAddedColumn < n) {
+            final SparseMatrix a = getMatrix();
+            for (int j = firstAddedColumn; j < n; j++) {
+                for (int p = a.getColumnStart(j); p < a.getColumnEnd(j); p++) {
+                    dirty.set(a.getRowIndex(p));
+                }
+            }
+        }
+        return dirty.stream().toArray();
     }
 
     /**
@@ -134,42 +662,230 @@ public class AbstractLPModel {
         this.preferredSolver = (name == null ? null : name.trim());
     }
 
+    /**
+     * Returns true if adapters resolved for this model should presolve it first.
+     */
+    public boolean isPresolveEnabled() {
+        return presolveEnabled;
+    }
+
+    /**
+     * Requests (or disables) the presolve stage for this model. When enabled,
+     * {@code OptSolvXConfig.resolve} wraps the chosen backend in a presolving adapter
+     * that solves a reduced model and maps the solution back onto this model.
+     */
+    public void setPresolveEnabled(boolean presolveEnabled) {
+        this.presolveEnabled = presolveEnabled;
+    }
+
     /**
      * Finalizes the model, assigns indices to variables and constraints.
      * After calling build(), no further variables or constraints can be added
      * until the model is changed again. If the model is changed after build(),
      * the 'built' flag will be reset and build() must be called again before solving.
-     * Logs a summary when the model is finalized.
+     * Logs a summary when the model is finalized and emits an {@code org.optsolvx.ModelBuild}
+     * flight recorder event (see {@link Events}).
      */
     public void build() {
         if (built) return;
         if (debug) {
-            LOGGER.info(format("{0}: Building model with {1} variables and {2} constraints.", getClass().getSimpleName(), variables.size(), constraints.size()));
+            LOGGER.info(format("{0}: Building model with {1} variables and {2} constraints.", getClass().getSimpleName(), getVariableCount(), getConstraintCount()));
         }
+        final Object event = Events.beginBuild();
+        final SparseMatrix matrix = getMatrix();
         built = true;
+        Events.endBuild(event, getVariableCount(), getConstraintCount(), matrix.getNonZeroCount());
         if (debug) {
             LOGGER.info(format("{0}: Model finalized. No further modifications allowed.", getClass().getSimpleName()));
         }
     }
 
     /**
-     * Returns the internal list of variables.
-     * Modifications to this list affect the model directly.
+     * Returns a read-only list of views on the variables, in insertion order.
+     * Use {@link #addVariable} or {@link #addVariables} to add variables.
      *
      * @return the variables list
      */
     public List<Variable> getVariables() {
-        return variables;
+        return new AbstractList<Variable>() {
+            @Override
+            public Variable get(int index) {
+                checkVariableIndex(index);
+                return variableView(index);
+            }
+
+            @Override
+            public int size() {
+                return getVariableCount();
+            }
+        };
     }
 
     /**
-     * Returns the internal list of constraints.
-     * Modifications to this list affect the model directly.
+     * Returns a read-only list of views on the constraints, in insertion order.
+     * Use {@link #addConstraint} or {@link #addRows} to add constraints;
+     * the coefficients are kept in the sparse matrix.
      *
      * @return the constraint list
      */
     public List<Constraint> getConstraints() {
-        return constraints;
+        return new AbstractList<Constraint>() {
+            @Override
+            public Constraint get(int index) {
+                checkConstraintIndex(index);
+                return constraintView(index);
+            }
+
+            @Override
+            public int size() {
+                return getConstraintCount();
+            }
+        };
+    }
+
+    /**
+     * Returns the constraint matrix as a read-only CSR/CSC view
+     * (rows = constraint indices, columns = variable indices).
+     * The snapshot is compiled lazily and reused until the model changes.
+     *
+     * @return the compiled sparse matrix
+     */
+    public SparseMatrix getMatrix() {
+        SparseMatrix m = matrix;
+        if (m == null) {
+            synchronized (matrixLock) {
+                m = matrix;
+                if (m == null) {
+                    applyPendingCoefficients();
+                    m = SparseMatrix.fromTriplets(constraintCount, variableCount,
+                            entryRows, entryColumns, entryValues, entryCount);
+                    matrix = m;
+                }
+            }
+        }
+        return m;
+    }
+
+    /**
+     * @return number of variables (matrix columns)
+     */
+    public int getVariableCount() {
+        return variableCount;
+    }
+
+    /**
+     * @return number of constraints (matrix rows)
+     */
+    public int getConstraintCount() {
+        return constraintCount;
+    }
+
+    /**
+     * Returns the name of the variable at the given index (generated if none was given).
+     *
+     * @param index the variable index
+     * @return the variable name
+     */
+    public String getVariableName(int index) {
+        checkVariableIndex(index);
+        final String name = variableNames[index];
+        return name != null ? name : VARIABLE_PREFIX + index;
+    }
+
+    /**
+     * @return lower bound of the variable at the given index
+     */
+    public double getVariableLowerBound(int index) {
+        checkVariableIndex(index);
+        return lowerBounds[index];
+    }
+
+    /**
+     * @return upper bound of the variable at the given index
+     */
+    public double getVariableUpperBound(int index) {
+        checkVariableIndex(index);
+        return upperBounds[index];
+    }
+
+    /**
+     * @return objective coefficient of the variable at the given index
+     */
+    public double getObjectiveCoefficient(int index) {
+        checkVariableIndex(index);
+        return objective[index];
+    }
+
+    /**
+     * Returns the name of the constraint at the given index (generated if none was given).
+     *
+     * @param index the constraint index
+     * @return the constraint name
+     */
+    public String getConstraintName(int index) {
+        checkConstraintIndex(index);
+        final String name = constraintNames[index];
+        return name != null ? name : CONSTRAINT_PREFIX + index;
+    }
+
+    /**
+     * @return relation (LEQ, GEQ, EQ) of the constraint at the given index
+     */
+    public Constraint.Relation getConstraintRelation(int index) {
+        checkConstraintIndex(index);
+        return relations[index];
+    }
+
+    /**
+     * @return right-hand side of the constraint at the given index
+     */
+    public double getConstraintRhs(int index) {
+        checkConstraintIndex(index);
+        return rhsValues[index];
+    }
+
+    /**
+     * @return true if a variable with this name exists
+     */
+    public boolean hasVariable(String name) {
+        return findVariable(name) >= 0;
+    }
+
+    /**
+     * @return true if a constraint with this name exists
+     */
+    public boolean hasConstraint(String name) {
+        return findConstraint(name) >= 0;
+    }
+
+    /**
+     * Returns the variable names as an immutable index, shared by all solutions of this model
+     * (a new one is created only after variables were added).
+     *
+     * @return variable names in index order
+     */
+    public NameIndex getVariableNameIndex() {
+        NameIndex index = variableNameIndex;
+        if (index == null || index.size() != getVariableCount()) {
+            index = NameIndex.variables(this);
+            variableNameIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the constraint names as an immutable index, shared by all solutions of this model
+     * (a new one is created only after constraints were added).
+     *
+     * @return constraint names in index order
+     */
+    public NameIndex getConstraintNameIndex() {
+        NameIndex index = constraintNameIndex;
+        if (index == null || index.size() != getConstraintCount()) {
+            index = NameIndex.constraints(this);
+            constraintNameIndex = index;
+        }
+        return index;
     }
 
     /**
@@ -180,9 +896,7 @@ public class AbstractLPModel {
      * @throws IllegalArgumentException if not found
      */
     public Variable getVariable(String name) {
-        Integer idx = variableIndices.get(name);
-        if (idx == null) throw new IllegalArgumentException("No such variable: " + name);
-        return variables.get(idx);
+        return variableView(getVariableIndex(name));
     }
 
     /**
@@ -193,16 +907,20 @@ public class AbstractLPModel {
      * @throws IllegalArgumentException if not found
      */
     public Constraint getConstraint(String name) {
-        Integer idx = constraintIndices.get(name);
-        if (idx == null) throw new IllegalArgumentException("No such constraint: " + name);
-        return constraints.get(idx);
+        return constraintView(getConstraintIndex(name));
     }
 
     /**
-     * Returns an unmodifiable map of the objective function coefficients.
+     * Returns an unmodifiable map of the non-zero objective function coefficients,
+     * in variable index order.
      */
     public Map<String, Double> getObjectiveCoefficients() {
-        return Collections.unmodifiableMap(objectiveCoefficients);
+        final Map<String, Double> coeffs = new LinkedHashMap<>();
+        for (int j = 0; j < getVariableCount(); j++) {
+            final double c = getObjectiveCoefficient(j);
+            if (c != 0.0) coeffs.put(getVariableName(j), c);
+        }
+        return Collections.unmodifiableMap(coeffs);
     }
 
     /**
@@ -221,7 +939,10 @@ public class AbstractLPModel {
      */
     public void setDirection(OptimizationDirection direction) {
         beforeModelChange();
-        this.direction = direction;
+        if (this.direction != direction) {
+            this.direction = direction;
+            logChange(ModelChange.Type.DIRECTION, -1, -1);
+        }
     }
 
     /**
@@ -239,6 +960,140 @@ public class AbstractLPModel {
         return built;
     }
 
+    /**
+     * Builds the model and makes it read-only: every later modification throws
+     * IllegalStateException. A frozen model can be shared by concurrent readers,
+     * e.g. as the base of many {@link ModelOverlay} scenarios.
+     */
+    public void freeze() {
+        if (frozen) return;
+        build();
+        frozen = true;
+    }
+
+    /**
+     * @return true if {@link #freeze()} was called
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Writes this model as a binary snapshot that {@link #openSnapshot(Path)} maps without
+     * parsing; see {@link MappedModel}.
+     *
+     * @param path target file (created or truncated)
+     * @throws IOException on write errors
+     */
+    public void saveSnapshot(Path path) throws IOException {
+        MappedModel.write(this, path);
+    }
+
+    /**
+     * Opens a snapshot written by {@link #saveSnapshot(Path)} as a read-only, memory-mapped model.
+     *
+     * @param path snapshot file
+     * @return the mapped model (built and frozen)
+     * @throws IOException if the file cannot be read, is not a snapshot or is corrupt
+     */
+    public static MappedModel openSnapshot(Path path) throws IOException {
+        return MappedModel.open(path);
+    }
+
+    /**
+     * Returns a 64-bit hash of everything that determines the solution of this model: variable
+     * names, bounds and objective coefficients, constraint names, relations and right-hand sides,
+     * the matrix and the direction. Equal models have equal fingerprints; different models
+     * collide with probability about 2^-64.
+     * <p>
+     * The first call hashes the whole model, O(non-zeros). Later calls only rehash the rows
+     * and columns recorded in the change log since the previous call, so after a few in-place
+     * edits the fingerprint is available in time proportional to the edits.
+     *
+     * @return the structural fingerprint
+     */
+    public long getFingerprint() {
+        synchronized (fingerprintLock) {
+            return currentFingerprint().value(this);
+        }
+    }
+
+    /**
+     * @return a copy of the up-to-date fingerprint state, tagged with {@code version}
+     */
+    ModelFingerprint copyFingerprintAt(long version) {
+        synchronized (fingerprintLock) {
+            return currentFingerprint().copyAt(version);
+        }
+    }
+
+    private ModelFingerprint currentFingerprint() {
+        if (fingerprint == null) {
+            fingerprint = newFingerprint();
+        }
+        if (fingerprint.getVersion() != getVersion() && !fingerprint.update(this)) {
+            fingerprint = ModelFingerprint.compute(this);
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Creates the fingerprint state on the first {@link #getFingerprint()} call; subclasses that
+     * share data with another model can start from that model's state instead of hashing it all.
+     */
+    ModelFingerprint newFingerprint() {
+        return ModelFingerprint.compute(this);
+    }
+
+    /**
+     * Returns an independent copy of this model as a plain AbstractLPModel: same names,
+     * bounds, matrix, objective, direction and settings, read through the public accessors.
+     * The copy has its own change log and is built if this model is built.
+     *
+     * @return the copy
+     */
+    public AbstractLPModel copy() {
+        final int n = getVariableCount();
+        final int m = getConstraintCount();
+        final String[] variableNames = new String[n];
+        final double[] lower = new double[n];
+        final double[] upper = new double[n];
+        final double[] costs = new double[n];
+        for (int j = 0; j < n; j++) {
+            variableNames[j] = getVariableName(j);
+            lower[j] = getVariableLowerBound(j);
+            upper[j] = getVariableUpperBound(j);
+            costs[j] = getObjectiveCoefficient(j);
+        }
+        final SparseMatrix a = getMatrix();
+        final String[] constraintNames = new String[m];
+        final Constraint.Relation[] rels = new Constraint.Relation[m];
+        final double[] rhs = new double[m];
+        final int[] rowStarts = new int[m + 1];
+        final int[] columns = new int[a.getNonZeroCount()];
+        final double[] values = new double[columns.length];
+        int q = 0;
+        for (int i = 0; i < m; i++) {
+            constraintNames[i] = getConstraintName(i);
+            rels[i] = getConstraintRelation(i);
+            rhs[i] = getConstraintRhs(i);
+            for (int p = a.getRowStart(i); p < a.getRowEnd(i); p++) {
+                columns[q] = a.getColumnIndex(p);
+                values[q++] = a.getRowValue(p);
+            }
+            rowStarts[i + 1] = q;
+        }
+
+        final AbstractLPModel copy = new AbstractLPModel();
+        copy.addVariables(variableNames, lower, upper);
+        copy.addRows(constraintNames, rowStarts, columns, values, rels, rhs);
+        copy.setObjective(costs, getDirection());
+        copy.setPreferredSolver(getPreferredSolver());
+        copy.setPresolveEnabled(isPresolveEnabled());
+        if (isBuilt()) copy.build();
+        return copy;
+    }
+
     /**
      * Returns the index of a variable by its name.
      *
@@ -247,8 +1102,8 @@ public class AbstractLPModel {
      * @throws IllegalArgumentException if not found
      */
     public int getVariableIndex(String name) {
-        Integer idx = variableIndices.get(name);
-        if (idx == null) throw new IllegalArgumentException("No such variable: " + name);
+        final int idx = findVariable(name);
+        if (idx < 0) throw new IllegalArgumentException("No such variable: " + name);
         return idx;
     }
 
@@ -260,8 +1115,8 @@ public class AbstractLPModel {
      * @throws IllegalArgumentException if not found
      */
     public int getConstraintIndex(String name) {
-        Integer idx = constraintIndices.get(name);
-        if (idx == null) throw new IllegalArgumentException("No such constraint: " + name);
+        final int idx = findConstraint(name);
+        if (idx < 0) throw new IllegalArgumentException("No such constraint: " + name);
         return idx;
     }
 
@@ -272,12 +1127,12 @@ public class AbstractLPModel {
     @Override
     public String toString() {
         StringJoiner variablesJoiner = new StringJoiner("\n  ", "Variables:\n  ", "\n");
-        for (Variable v : variables) {
+        for (Variable v : getVariables()) {
             variablesJoiner.add(String.valueOf(v));
         }
 
         StringJoiner constraintsJoiner = new StringJoiner("\n  ", "Constraints:\n  ", "\n");
-        for (Constraint c : constraints) {
+        for (Constraint c : getConstraints()) {
             constraintsJoiner.add(String.valueOf(c));
         }
 
@@ -285,8 +1140,8 @@ public class AbstractLPModel {
                 .append(getClass().getSimpleName()).append(":\n")
                 .append(variablesJoiner)
                 .append(constraintsJoiner)
-                .append("Objective: ").append(objectiveCoefficients)
-                .append(" direction=").append(direction).append("\n")
+                .append("Objective: ").append(getObjectiveCoefficients())
+                .append(" direction=").append(getDirection()).append("\n")
                 .toString();
     }
 
@@ -303,4 +1158,297 @@ public class AbstractLPModel {
     }
 
     protected void doBuild() { /* nothing here for base class */ }
-}
\ No newline at end of file
+
+    // ----- Internal storage helpers -----
+
+    private int appendVariable(String name, double lower, double upper) {
+        final int idx = variableCount;
+        ensureVariableCapacity(idx + 1);
+        lowerBounds[idx] = lower;
+        upperBounds[idx] = upper;
+        if (name != null && !isGeneratedName(name, VARIABLE_PREFIX, idx)) {
+            variableNames[idx] = name;
+            variableIndices.put(name, idx);
+        }
+        variableCount++;
+        return idx;
+    }
+
+    private int appendConstraint(String name, Constraint.Relation rel, double rhs,
+                                 int[] columns, double[] values, int from, int to) {
+        final int idx = constraintCount;
+        ensureConstraintCapacity(idx + 1);
+        relations[idx] = rel;
+        rhsValues[idx] = rhs;
+        if (name != null && !isGeneratedName(name, CONSTRAINT_PREFIX, idx)) {
+            constraintNames[idx] = name;
+            constraintIndices.put(name, idx);
+        }
+        ensureEntryCapacity(entryCount + to - from);
+        for (int p = from; p < to; p++) {
+            appendEntry(idx, columns[p], values[p]);
+        }
+        constraintCount++;
+        return idx;
+    }
+
+    private void appendEntry(int row, int column, double value) {
+        entryRows[entryCount] = row;
+        entryColumns[entryCount] = column;
+        entryValues[entryCount] = value;
+        entryCount++;
+    }
+
+    private static long coefficientKey(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+
+    // Replaces all triplets of (row, column) pairs set via setCoefficient by a single entry
+    private void applyPendingCoefficients() {
+        if (pendingCoefficients.isEmpty()) return;
+        final BitSet rows = new BitSet(constraintCount);
+        for (Long key : pendingCoefficients.keySet()) {
+            rows.set((int) (key >>> 32));
+        }
+        int kept = 0;
+        for (int k = 0; k < entryCount; k++) {
+            if (rows.get(entryRows[k])
+                    && pendingCoefficients.containsKey(coefficientKey(entryRows[k], entryColumns[k]))) {
+                continue;
+            }
+            entryRows[kept] = entryRows[k];
+            entryColumns[kept] = entryColumns[k];
+            entryValues[kept] = entryValues[k];
+            kept++;
+        }
+        entryCount = kept;
+        ensureEntryCapacity(entryCount + pendingCoefficients.size());
+        for (Map.Entry<Long, Double> e : pendingCoefficients.entrySet()) {
+            final long key = e.getKey();
+            if (e.getValue() != 0.0) {
+                appendEntry((int) (key >>> 32), (int) key, e.getValue());
+            }
+        }
+        pendingCoefficients.clear();
+    }
+
+    private void logChange(ModelChange.Type type, int row, int column) {
+        if (logSize == logTypes.length) {
+            if (logSize >= MAX_CHANGE_LOG) {
+                // Drop the older half; versions before logBase can no longer be answered
+                final int drop = logSize / 2;
+                System.arraycopy(logTypes, drop, logTypes, 0, logSize - drop);
+                System.arraycopy(logRows, drop, logRows, 0, logSize - drop);
+                System.arraycopy(logColumns, drop, logColumns, 0, logSize - drop);
+                logSize -= drop;
+                logBase += drop;
+            } else {
+                final int cap = Math.max(INITIAL_CAPACITY, logTypes.length * 2);
+                logTypes = Arrays.copyOf(logTypes, cap);
+                logRows = Arrays.copyOf(logRows, cap);
+                logColumns = Arrays.copyOf(logColumns, cap);
+            }
+        }
+        logTypes[logSize] = (byte) type.ordinal();
+        logRows[logSize] = row;
+        logColumns[logSize] = column;
+        logSize++;
+        version++;
+    }
+
+    // Position of the first log entry after the given version, or -1 if no longer retained
+    private int changeLogOffset(long since) {
+        if (since < 0 || since > version) {
+            throw new IllegalArgumentException("Version " + since + " out of range [0, " + version + "]");
+        }
+        return since < logBase ? -1 : (int) (since - logBase);
+    }
+
+    private Variable variableView(int index) {
+        if (variableViews == null || variableViews.length <= index) {
+            variableViews = Arrays.copyOf(variableViews == null ? new Variable[0] : variableViews,
+                    Math.max(index + 1, getVariableCount()));
+        }
+        Variable v = variableViews[index];
+        if (v == null) {
+            v = new Variable(this, index);
+            variableViews[index] = v;
+        }
+        return v;
+    }
+
+    private Constraint constraintView(int index) {
+        if (constraintViews == null || constraintViews.length <= index) {
+            constraintViews = Arrays.copyOf(constraintViews == null ? new Constraint[0] : constraintViews,
+                    Math.max(index + 1, getConstraintCount()));
+        }
+        Constraint c = constraintViews[index];
+        if (c == null) {
+            c = new Constraint(this, index);
+            constraintViews[index] = c;
+        }
+        return c;
+    }
+
+    private int findVariable(String name) {
+        if (name == null) return -1;
+        final Integer idx = variableIndices.get(name);
+        if (idx != null) return idx;
+        final int generated = parseGeneratedIndex(name, VARIABLE_PREFIX);
+        return generated >= 0 && generated < variableCount && variableNames[generated] == null ? generated : -1;
+    }
+
+    private int findConstraint(String name) {
+        if (name == null) return -1;
+        final Integer idx = constraintIndices.get(name);
+        if (idx != null) return idx;
+        final int generated = parseGeneratedIndex(name, CONSTRAINT_PREFIX);
+        return generated >= 0 && generated < constraintCount && constraintNames[generated] == null ? generated : -1;
+    }
+
+    private void checkNewVariableName(String name, int idx) {
+        if (name == null) return;
+        if (findVariable(name) >= 0) {
+            if (debug) LOGGER.warning("Duplicate variable name: " + name);
+            throw new IllegalArgumentException("Variable name already exists: " + name);
+        }
+        final int generated = parseGeneratedIndex(name, VARIABLE_PREFIX);
+        if (generated >= 0 && generated != idx) {
+            throw new IllegalArgumentException("Variable name is reserved for generated names: " + name);
+        }
+    }
+
+    private void checkNewVariableNames(String[] names, int count) {
+        if (names == null) return;
+        final Set<String> seen = new HashSet<>();
+        for (int k = 0; k < count; k++) {
+            if (names[k] == null) continue;
+            checkNewVariableName(names[k], variableCount + k);
+            if (!seen.add(names[k])) {
+                throw new IllegalArgumentException("Variable name already exists: " + names[k]);
+            }
+        }
+    }
+
+    private void checkNewConstraintName(String name, int idx) {
+        if (name == null) return;
+        if (findConstraint(name) >= 0) {
+            if (debug) LOGGER.warning("Duplicate constraint name: " + name);
+            throw new IllegalArgumentException("Constraint name already exists: " + name);
+        }
+        final int generated = parseGeneratedIndex(name, CONSTRAINT_PREFIX);
+        if (generated >= 0 && generated != idx) {
+            throw new IllegalArgumentException("Constraint name is reserved for generated names: " + name);
+        }
+    }
+
+    private void checkNewConstraintNames(String[] names, int count) {
+        if (names == null) return;
+        final Set<String> seen = new HashSet<>();
+        for (int k = 0; k < count; k++) {
+            if (names[k] == null) continue;
+            checkNewConstraintName(names[k], constraintCount + k);
+            if (!seen.add(names[k])) {
+                throw new IllegalArgumentException("Constraint name already exists: " + names[k]);
+            }
+        }
+    }
+
+    private static boolean isGeneratedName(String name, String prefix, int idx) {
+        return parseGeneratedIndex(name, prefix) == idx;
+    }
+
+    /**
+     * Returns the index encoded in a generated name (prefix followed by a canonical
+     * decimal number), or -1 if the name does not have that form.
+     */
+    private static int parseGeneratedIndex(String name, String prefix) {
+        final int len = name.length();
+        final int start = prefix.length();
+        if (len <= start || len > start + 10 || !name.startsWith(prefix)) return -1;
+        if (name.charAt(start) == '0' && len > start + 1) return -1;
+        long value = 0;
+        for (int i = start; i < len; i++) {
+            final char ch = name.charAt(i);
+            if (ch < '0' || ch > '9') return -1;
+            value = value * 10 + (ch - '0');
+        }
+        return value > Integer.MAX_VALUE ? -1 : (int) value;
+    }
+
+    /**
+     * @throws IndexOutOfBoundsException if {@code index} is not a variable index of this model
+     */
+    protected final void checkVariableIndex(int index) {
+        final int n = getVariableCount();
+        if (index < 0 || index >= n) {
+            throw new IndexOutOfBoundsException("Variable index " + index + " out of range [0, " + n + ")");
+        }
+    }
+
+    /**
+     * @throws IndexOutOfBoundsException if {@code index} is not a constraint index of this model
+     */
+    protected final void checkConstraintIndex(int index) {
+        final int m = getConstraintCount();
+        if (index < 0 || index >= m) {
+            throw new IndexOutOfBoundsException("Constraint index " + index + " out of range [0, " + m + ")");
+        }
+    }
+
+    private void ensureVariableCapacity(int capacity) {
+        if (capacity <= variableNames.length) return;
+        final int cap = Math.max(capacity, variableNames.length * 2);
+        variableNames = Arrays.copyOf(variableNames, cap);
+        lowerBounds = Arrays.copyOf(lowerBounds, cap);
+        upperBounds = Arrays.copyOf(upperBounds, cap);
+        objective = Arrays.copyOf(objective, cap);
+    }
+
+    private void ensureConstraintCapacity(int capacity) {
+        if (capacity <= constraintNames.length) return;
+        final int cap = Math.max(capacity, constraintNames.length * 2);
+        constraintNames = Arrays.copyOf(constraintNames, cap);
+        relations = Arrays.copyOf(relations, cap);
+        rhsValues = Arrays.copyOf(rhsValues, cap);
+    }
+
+    private void ensureEntryCapacity(int capacity) {
+        if (capacity <= entryRows.length) return;
+        final int cap = Math.max(capacity, entryRows.length * 2);
+        entryRows = Arrays.copyOf(entryRows, cap);
+        entryColumns = Arrays.copyOf(entryColumns, cap);
+        entryValues = Arrays.copyOf(entryValues, cap);
+    }
+
+    private static void requireLength(String what, int actual, int expected) {
+        if (actual != expected) {
+            throw new IllegalArgumentException("Length of " + what + " is " + actual + ", expected " + expected);
+        }
+    }
+
+    private static void requireMinLength(String what, int actual, int expected) {
+        if (actual < expected) {
+            throw new IllegalArgumentException("Length of " + what + " is " + actual + ", expected at least " + expected);
+        }
+    }
+
+    private static void checkStarts(int[] starts, int count, int limit) {
+        for (int k = 0; k < count; k++) {
+            if (starts[k] < 0 || starts[k] > starts[k + 1]) {
+                throw new IllegalArgumentException("Start offsets must be non-negative and non-decreasing at " + k);
+            }
+        }
+        if (starts[count] > limit) {
+            throw new IllegalArgumentException("Start offset " + starts[count] + " exceeds index array length " + limit);
+        }
+    }
+
+    private static void checkIndices(String what, int[] indices, int from, int to, int count) {
+        for (int p = from; p < to; p++) {
+            if (indices[p] < 0 || indices[p] >= count) {
+                throw new IllegalArgumentException(what + " index " + indices[p] + " out of range [0, " + count + ")");
+            }
+        }
+    }
+}
@@ -11,6 +11,8 @@ import java.util.Map;
  * the constraint relationship (≤, ≥ or =) and the right-hand side value.
  * The index of a constraint is managed by the parent LP model class (AbstractLPModel),
  * not by this object.
+ * Constraints returned by {@link AbstractLPModel} are thin views: name, relation,
+ * right-hand side and coefficients are read from the model's primitive storage.
  */
 public class Constraint {
     /**
@@ -21,7 +23,8 @@ public class Constraint {
     public enum Relation {LEQ, GEQ, EQ}
 
     /**
-     * Immutable map of variable names to their coefficients.
+     * Immutable map of variable names to their coefficients
+     * (a view over the owning model's matrix row for model constraints).
      */
     private final Map<String, Double> coefficients;
 
@@ -32,6 +35,10 @@ public class Constraint {
      */
     private final double rhs;
 
+    // Owning model and row index for model-backed views; null for standalone constraints
+    private final AbstractLPModel model;
+    private final int row;
+
 
     /**
      * Constructs a new Constraint.
@@ -49,6 +56,20 @@ public class Constraint {
         this.coefficients = Collections.unmodifiableMap(coefficients);
         this.relation = relation;
         this.rhs = rhs;
+        this.model = null;
+        this.row = -1;
+    }
+
+    /**
+     * Constructs a view on constraint {@code row} of the given model.
+     */
+    Constraint(AbstractLPModel model, int row) {
+        this.name = null;
+        this.coefficients = new RowCoefficientMap(model, row);
+        this.relation = null;
+        this.rhs = 0.0;
+        this.model = model;
+        this.row = row;
     }
 
     /**
@@ -57,11 +78,12 @@ public class Constraint {
      * @return constraint name
      */
     public String getName() {
-        return name;
+        return model == null ? name : model.getConstraintName(row);
     }
 
     /**
      * Returns the immutable map of coefficients for each variable.
+     * Backends should prefer {@link AbstractLPModel#getMatrix()} for index-based access.
      *
      * @return variable→coefficient map
      */
@@ -75,7 +97,7 @@ public class Constraint {
      * @return RHS value
      */
     public double getRhs() {
-        return rhs;
+        return model == null ? rhs : model.getConstraintRhs(row);
     }
 
     /**
@@ -84,7 +106,7 @@ public class Constraint {
      * @return constraint relation enum
      */
     public Relation getRelation() {
-        return relation;
+        return model == null ? relation : model.getConstraintRelation(row);
     }
 
     /**
@@ -93,7 +115,7 @@ public class Constraint {
      * @return right-hand side value
      */
     public double getRightHandSide() {
-        return rhs;
+        return getRhs();
     }
 
     /**
@@ -105,7 +127,7 @@ public class Constraint {
     public String toString() {
         return String.format(
                 "%s{name='%s', rel=%s, rhs=%s, coeffs=%s}",
-                getClass().getSimpleName(), name, relation, rhs, coefficients
+                getClass().getSimpleName(), getName(), getRelation(), getRhs(), coefficients
         );
     }
 }
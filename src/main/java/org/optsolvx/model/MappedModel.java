@@ -0,0 +1,658 @@
+package org.optsolvx.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Read-only model backed by a memory-mapped binary snapshot file.
+ * <p>
+ * {@link #write(AbstractLPModel, Path)} (or {@link AbstractLPModel#saveSnapshot(Path)}) stores a
+ * model in a compact, versioned little-endian format: a header with counts, direction and a
+ * CRC32 of the whole file, the bounds, objective and right-hand sides as double arrays, the
+ * matrix in CSR and CSC form, the relations and one string table with a hash index per name
+ * kind. {@link #open(Path)} maps the file and reads every value directly from the mapping, so
+ * opening costs a header check (plus one sequential checksum pass unless disabled) regardless
+ * of the model size, and processes mapping the same file share the page cache. Only
+ * {@link #getMatrix()} copies the CSR/CSC arrays onto the heap, once, on first use.
+ * <p>
+ * The model is built and frozen: every modification throws UnsupportedOperationException.
+ * Use {@code new ModelOverlay(snapshot)} for value scenarios or {@link #copy()} for a full,
+ * editable model. Snapshots are limited to 2 GiB.
+ */
+public final class MappedModel extends AbstractLPModel {
+
+    private static final int MAGIC = 0x5358534F; // "OSXS"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int CHECKSUM_OFFSET = 56;
+
+    private static final byte LEQ = 0;
+    private static final byte GEQ = 1;
+    private static final byte EQ = 2;
+
+    private final ByteBuffer map;
+    private final int variableCount;
+    private final int constraintCount;
+    private final int nonZeroCount;
+    private final OptimizationDirection direction;
+    private final Layout layout;
+
+    private final DoubleBuffer lower;
+    private final DoubleBuffer upper;
+    private final DoubleBuffer objective;
+    private final DoubleBuffer rhs;
+    private final ByteBuffer relations;
+    private final Names variableNames;
+    private final Names constraintNames;
+
+    private volatile SparseMatrix matrix;
+
+    private MappedModel(ByteBuffer map, boolean verify) throws IOException {
+        super(0);
+        this.map = map;
+        if (map.getInt(0) != MAGIC) throw new IOException("Not a model snapshot");
+        if (map.getInt(4) != VERSION) throw new IOException("Unsupported snapshot version " + map.getInt(4));
+        variableCount = map.getInt(8);
+        constraintCount = map.getInt(12);
+        nonZeroCount = map.getInt(16);
+        direction = map.getInt(20) == 1 ? OptimizationDirection.MAXIMIZE : OptimizationDirection.MINIMIZE;
+        final long variableNamesOffset = map.getLong(24);
+        final long constraintNamesOffset = map.getLong(32);
+        final long length = map.getLong(40);
+        if (variableCount < 0 || constraintCount < 0 || nonZeroCount < 0 || length != map.capacity()) {
+            throw new IOException("Corrupt snapshot header");
+        }
+        layout = new Layout(variableCount, constraintCount, nonZeroCount);
+        if (variableNamesOffset != layout.end || constraintNamesOffset <= variableNamesOffset
+                || constraintNamesOffset >= length) {
+            throw new IOException("Corrupt snapshot header");
+        }
+        if (verify && checksum(map) != map.getLong(CHECKSUM_OFFSET)) {
+            throw new IOException("Snapshot checksum mismatch");
+        }
+        lower = view(layout.lower).asDoubleBuffer();
+        upper = view(layout.upper).asDoubleBuffer();
+        objective = view(layout.objective).asDoubleBuffer();
+        rhs = view(layout.rhs).asDoubleBuffer();
+        relations = view(layout.relations);
+        variableNames = new Names((int) variableNamesOffset, variableCount);
+        constraintNames = new Names((int) constraintNamesOffset, constraintCount);
+    }
+
+    /**
+     * Maps a snapshot file and verifies its checksum.
+     *
+     * @param path snapshot written by {@link #write(AbstractLPModel, Path)}
+     * @return the read-only model
+     * @throws IOException if the file cannot be read, is not a snapshot or is corrupt
+     */
+    public static MappedModel open(Path path) throws IOException {
+        return open(path, true);
+    }
+
+    /**
+     * Maps a snapshot file.
+     *
+     * @param path   snapshot written by {@link #write(AbstractLPModel, Path)}
+     * @param verify whether to verify the checksum (reads the whole file once)
+     * @return the read-only model
+     * @throws IOException if the file cannot be read, is not a snapshot or is corrupt
+     */
+    public static MappedModel open(Path path, boolean verify) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size < HEADER_SIZE) throw new IOException("Not a model snapshot: " + path);
+            if (size > Integer.MAX_VALUE) throw new IOException("Snapshot larger than 2 GiB: " + path);
+            final MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            map.order(ByteOrder.LITTLE_ENDIAN);
+            return new MappedModel(map, verify);
+        }
+    }
+
+    /**
+     * Writes a model as a snapshot file (created or truncated).
+     *
+     * @param model the model to write (its matrix is compiled if necessary)
+     * @param path  target file
+     * @throws IOException on write errors
+     * @throws IllegalArgumentException if the snapshot would exceed 2 GiB
+     */
+    public static void write(AbstractLPModel model, Path path) throws IOException {
+        final int n = model.getVariableCount();
+        final int m = model.getConstraintCount();
+        final SparseMatrix a = model.getMatrix();
+        final int nnz = a.getNonZeroCount();
+        final String[] columnNames = new String[n];
+        final String[] rowNames = new String[m];
+        final byte[][] columnBytes = new byte[n][];
+        final byte[][] rowBytes = new byte[m][];
+        for (int j = 0; j < n; j++) {
+            columnNames[j] = model.getVariableName(j);
+            columnBytes[j] = columnNames[j].getBytes(StandardCharsets.UTF_8);
+        }
+        for (int i = 0; i < m; i++) {
+            rowNames[i] = model.getConstraintName(i);
+            rowBytes[i] = rowNames[i].getBytes(StandardCharsets.UTF_8);
+        }
+
+        final Layout layout = new Layout(n, m, nnz);
+        final long variableNamesOffset = layout.end;
+        final long constraintNamesOffset = variableNamesOffset + nameSectionSize(columnBytes);
+        final long length = constraintNamesOffset + nameSectionSize(rowBytes);
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Model too large for a snapshot (" + length + " bytes)");
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final Output out = new Output(channel);
+            out.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(m).putInt(nnz)
+                    .putInt(model.getDirection() == OptimizationDirection.MAXIMIZE ? 1 : 0)
+                    .putLong(variableNamesOffset).putLong(constraintNamesOffset).putLong(length)
+                    .putLong(0L).putLong(0L); // reserved, checksum
+            for (int j = 0; j < n; j++) out.putDouble(model.getVariableLowerBound(j));
+            for (int j = 0; j < n; j++) out.putDouble(model.getVariableUpperBound(j));
+            for (int j = 0; j < n; j++) out.putDouble(model.getObjectiveCoefficient(j));
+            for (int i = 0; i < m; i++) out.putDouble(model.getConstraintRhs(i));
+            for (int i = 0; i < m; i++) out.putInt(a.getRowStart(i));
+            out.putInt(nnz).align();
+            for (int p = 0; p < nnz; p++) out.putInt(a.getColumnIndex(p));
+            out.align();
+            for (int p = 0; p < nnz; p++) out.putDouble(a.getRowValue(p));
+            for (int j = 0; j < n; j++) out.putInt(a.getColumnStart(j));
+            out.putInt(nnz).align();
+            for (int p = 0; p < nnz; p++) out.putInt(a.getRowIndex(p));
+            out.align();
+            for (int p = 0; p < nnz; p++) out.putDouble(a.getColumnValue(p));
+            for (int i = 0; i < m; i++) {
+                switch (model.getConstraintRelation(i)) {
+                    case LEQ:
+                        out.put(LEQ);
+                        break;
+                    case GEQ:
+                        out.put(GEQ);
+                        break;
+                    default:
+                        out.put(EQ);
+                        break;
+                }
+            }
+            out.align();
+            writeNames(out, columnNames, columnBytes);
+            writeNames(out, rowNames, rowBytes);
+            out.finish();
+        }
+    }
+
+    // ----- Values read from the mapping -----
+
+    @Override
+    public int getVariableCount() {
+        return variableCount;
+    }
+
+    @Override
+    public int getConstraintCount() {
+        return constraintCount;
+    }
+
+    @Override
+    public String getVariableName(int index) {
+        checkVariableIndex(index);
+        return variableNames.name(index);
+    }
+
+    @Override
+    public double getVariableLowerBound(int index) {
+        checkVariableIndex(index);
+        return lower.get(index);
+    }
+
+    @Override
+    public double getVariableUpperBound(int index) {
+        checkVariableIndex(index);
+        return upper.get(index);
+    }
+
+    @Override
+    public double getObjectiveCoefficient(int index) {
+        checkVariableIndex(index);
+        return objective.get(index);
+    }
+
+    @Override
+    public String getConstraintName(int index) {
+        checkConstraintIndex(index);
+        return constraintNames.name(index);
+    }
+
+    @Override
+    public Constraint.Relation getConstraintRelation(int index) {
+        checkConstraintIndex(index);
+        switch (relations.get(index)) {
+            case LEQ:
+                return Constraint.Relation.LEQ;
+            case GEQ:
+                return Constraint.Relation.GEQ;
+            default:
+                return Constraint.Relation.EQ;
+        }
+    }
+
+    @Override
+    public double getConstraintRhs(int index) {
+        checkConstraintIndex(index);
+        return rhs.get(index);
+    }
+
+    @Override
+    public OptimizationDirection getDirection() {
+        return direction;
+    }
+
+    /**
+     * Copies the CSR and CSC arrays from the mapping onto the heap on first use.
+     */
+    @Override
+    public SparseMatrix getMatrix() {
+        SparseMatrix a = matrix;
+        if (a == null) {
+            synchronized (this) {
+                a = matrix;
+                if (a == null) {
+                    final int n = variableCount;
+                    final int m = constraintCount;
+                    final int nnz = nonZeroCount;
+                    final int[] rowStarts = new int[m + 1];
+                    final int[] columnIndices = new int[nnz];
+                    final double[] rowValues = new double[nnz];
+                    final int[] columnStarts = new int[n + 1];
+                    final int[] rowIndices = new int[nnz];
+                    final double[] columnValues = new double[nnz];
+                    view(layout.rowStarts).asIntBuffer().get(rowStarts);
+                    view(layout.columnIndices).asIntBuffer().get(columnIndices);
+                    view(layout.rowValues).asDoubleBuffer().get(rowValues);
+                    view(layout.columnStarts).asIntBuffer().get(columnStarts);
+                    view(layout.rowIndices).asIntBuffer().get(rowIndices);
+                    view(layout.columnValues).asDoubleBuffer().get(columnValues);
+                    a = SparseMatrix.of(m, n, rowStarts, columnIndices, rowValues,
+                            columnStarts, rowIndices, columnValues);
+                    matrix = a;
+                }
+            }
+        }
+        return a;
+    }
+
+    @Override
+    public double getCoefficient(int row, int column) {
+        checkConstraintIndex(row);
+        checkVariableIndex(column);
+        return getMatrix().get(row, column);
+    }
+
+    @Override
+    public int getVariableIndex(String name) {
+        final int idx = variableNames.find(name);
+        if (idx < 0) throw new IllegalArgumentException("No such variable: " + name);
+        return idx;
+    }
+
+    @Override
+    public int getConstraintIndex(String name) {
+        final int idx = constraintNames.find(name);
+        if (idx < 0) throw new IllegalArgumentException("No such constraint: " + name);
+        return idx;
+    }
+
+    @Override
+    public boolean hasVariable(String name) {
+        return variableNames.find(name) >= 0;
+    }
+
+    @Override
+    public boolean hasConstraint(String name) {
+        return constraintNames.find(name) >= 0;
+    }
+
+    @Override
+    public boolean isBuilt() {
+        return true;
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return true;
+    }
+
+    @Override
+    public void build() {
+        // always built
+    }
+
+    @Override
+    public void freeze() {
+        // always frozen
+    }
+
+    // ----- Modifications are not supported -----
+
+    @Override
+    public int addVariable(String name, double lower, double upper) {
+        throw readOnly();
+    }
+
+    @Override
+    public int addVariables(String[] names, double[] lower, double[] upper) {
+        throw readOnly();
+    }
+
+    @Override
+    public int addColumn(String name, double lower, double upper, double objective, int[] rows, double[] values) {
+        throw readOnly();
+    }
+
+    @Override
+    public int addColumns(String[] names, double[] lower, double[] upper, double[] objective,
+                          int[] columnStarts, int[] rows, double[] values) {
+        throw readOnly();
+    }
+
+    @Override
+    public Constraint addConstraint(String name, Map<String, Double> coeffs, Constraint.Relation rel, double rhs) {
+        throw readOnly();
+    }
+
+    @Override
+    public int addRow(String name, int[] columns, double[] values, Constraint.Relation rel, double rhs) {
+        throw readOnly();
+    }
+
+    @Override
+    public int addRows(String[] names, int[] rowStarts, int[] columns, double[] values,
+                       Constraint.Relation[] rels, double[] rhs) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setObjective(Map<String, Double> coeffs, OptimizationDirection direction) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setObjective(double[] coeffs, OptimizationDirection direction) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setVariableBounds(int index, double lower, double upper) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setConstraintRhs(int index, double rhs) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setObjectiveCoefficient(int index, double value) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setCoefficient(int row, int column, double value) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setDirection(OptimizationDirection direction) {
+        throw readOnly();
+    }
+
+    private UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException(
+                "MappedModel is read-only; use new ModelOverlay(model) or copy() to change it.");
+    }
+
+    // ----- Format -----
+
+    /**
+     * Slice of the mapping starting at the given offset, little-endian.
+     */
+    private ByteBuffer view(long offset) {
+        final ByteBuffer b = map.duplicate();
+        b.position((int) offset);
+        return b.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * CRC32 of the whole file with the checksum field read as zero.
+     */
+    private static long checksum(ByteBuffer map) {
+        final CRC32 crc = new CRC32();
+        final ByteBuffer b = map.duplicate();
+        b.limit(CHECKSUM_OFFSET);
+        crc.update(b);
+        crc.update(new byte[8]);
+        b.limit(map.capacity());
+        b.position(CHECKSUM_OFFSET + 8);
+        crc.update(b);
+        return crc.getValue();
+    }
+
+    private static long nameSectionSize(byte[][] names) {
+        long total = 0;
+        for (byte[] name : names) total += name.length;
+        return Layout.align(8L + 4L * (names.length + 1) + 4L * slotCount(names.length) + total);
+    }
+
+    private static void writeNames(Output out, String[] names, byte[][] bytes) throws IOException {
+        final int slotCount = slotCount(names.length);
+        out.putInt(slotCount).putInt(0);
+        int offset = 0;
+        out.putInt(0);
+        for (byte[] name : bytes) out.putInt(offset += name.length);
+        final int[] slots = new int[slotCount];
+        for (int k = 0; k < names.length; k++) {
+            int s = hash(names[k]) & (slotCount - 1);
+            while (slots[s] != 0) s = (s + 1) & (slotCount - 1);
+            slots[s] = k + 1;
+        }
+        for (int slot : slots) out.putInt(slot);
+        for (byte[] name : bytes) out.put(name);
+        out.align();
+    }
+
+    private static int slotCount(int count) {
+        int s = 2;
+        while (s < 2 * count) s <<= 1;
+        return s;
+    }
+
+    private static int hash(String name) {
+        final int h = name.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Offsets of the fixed-size sections; every section starts 8-byte aligned.
+     */
+    private static final class Layout {
+        final long lower;
+        final long upper;
+        final long objective;
+        final long rhs;
+        final long rowStarts;
+        final long columnIndices;
+        final long rowValues;
+        final long columnStarts;
+        final long rowIndices;
+        final long columnValues;
+        final long relations;
+        final long end;
+
+        Layout(int n, int m, int nnz) {
+            long off = HEADER_SIZE;
+            lower = off;
+            upper = off += 8L * n;
+            objective = off += 8L * n;
+            rhs = off += 8L * n;
+            rowStarts = off += 8L * m;
+            columnIndices = off = align(off + 4L * (m + 1));
+            rowValues = off = align(off + 4L * nnz);
+            columnStarts = off += 8L * nnz;
+            rowIndices = off = align(off + 4L * (n + 1));
+            columnValues = off = align(off + 4L * nnz);
+            relations = off += 8L * nnz;
+            end = align(off + m);
+        }
+
+        static long align(long off) {
+            return (off + 7) & ~7L;
+        }
+    }
+
+    /**
+     * Name section: slot count, reserved int, offsets[count + 1] into the UTF-8 bytes,
+     * hash slots (index + 1, 0 = empty; linear probing over {@link #hash(String)}), bytes.
+     */
+    private final class Names {
+        private final int count;
+        private final IntBuffer offsets;
+        private final IntBuffer slots;
+        private final ByteBuffer bytes;
+        private final int mask;
+        private String[] cache;
+
+        Names(int offset, int count) throws IOException {
+            this.count = count;
+            final int slotCount = map.getInt(offset);
+            if (slotCount != slotCount(count)) throw new IOException("Corrupt snapshot name table");
+            offsets = view(offset + 8L).asIntBuffer();
+            slots = view(offset + 8L + 4L * (count + 1)).asIntBuffer();
+            bytes = view(offset + 8L + 4L * (count + 1) + 4L * slotCount);
+            mask = slotCount - 1;
+        }
+
+        String name(int index) {
+            String[] c = cache;
+            if (c == null) cache = c = new String[count];
+            String name = c[index];
+            if (name == null) {
+                final int from = offsets.get(index);
+                final byte[] b = new byte[offsets.get(index + 1) - from];
+                final ByteBuffer d = bytes.duplicate();
+                d.position(from);
+                d.get(b);
+                c[index] = name = new String(b, StandardCharsets.UTF_8);
+            }
+            return name;
+        }
+
+        int find(String name) {
+            if (name == null) return -1;
+            final byte[] key = name.getBytes(StandardCharsets.UTF_8);
+            for (int s = hash(name) & mask; ; s = (s + 1) & mask) {
+                final int e = slots.get(s);
+                if (e == 0) return -1;
+                if (equal(e - 1, key)) return e - 1;
+            }
+        }
+
+        private boolean equal(int index, byte[] key) {
+            final int from = offsets.get(index);
+            if (offsets.get(index + 1) - from != key.length) return false;
+            for (int k = 0; k < key.length; k++) {
+                if (bytes.get(from + k) != key[k]) return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Buffered little-endian output that tracks the file position and the CRC32.
+     */
+    private static final class Output {
+        private final FileChannel channel;
+        private final ByteBuffer buf = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32 crc = new CRC32();
+        private long position;
+
+        Output(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        Output putInt(int v) throws IOException {
+            ensure(4);
+            buf.putInt(v);
+            position += 4;
+            return this;
+        }
+
+        Output putLong(long v) throws IOException {
+            ensure(8);
+            buf.putLong(v);
+            position += 8;
+            return this;
+        }
+
+        Output putDouble(double v) throws IOException {
+            ensure(8);
+            buf.putDouble(v);
+            position += 8;
+            return this;
+        }
+
+        Output put(byte v) throws IOException {
+            ensure(1);
+            buf.put(v);
+            position++;
+            return this;
+        }
+
+        Output put(byte[] b) throws IOException {
+            int from = 0;
+            while (from < b.length) {
+                ensure(1);
+                final int k = Math.min(buf.remaining(), b.length - from);
+                buf.put(b, from, k);
+                from += k;
+            }
+            position += b.length;
+            return this;
+        }
+
+        Output align() throws IOException {
+            while ((position & 7) != 0) put((byte) 0);
+            return this;
+        }
+
+        void finish() throws IOException {
+            flush();
+            final ByteBuffer checksum = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+            checksum.putLong(0, crc.getValue());
+            while (checksum.hasRemaining()) channel.write(checksum, CHECKSUM_OFFSET + checksum.position());
+        }
+
+        private void ensure(int k) throws IOException {
+            if (buf.remaining() < k) flush();
+        }
+
+        private void flush() throws IOException {
+            buf.flip();
+            crc.update(buf.duplicate());
+            while (buf.hasRemaining()) channel.write(buf);
+            buf.clear();
+        }
+    }
+}
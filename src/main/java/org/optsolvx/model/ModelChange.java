@@ -0,0 +1,81 @@
+package org.optsolvx.model;
+
+/**
+ * One entry of the change log of an {@link AbstractLPModel}.
+ * Every modification of a model increments its version by one and is recorded
+ * with that version, the kind of change and the affected row and/or column.
+ * See {@link AbstractLPModel#getChangesSince(long)}.
+ */
+public final class ModelChange {
+
+    /**
+     * Kind of a recorded change.
+     */
+    public enum Type {
+        /** Bounds of one variable (column) changed. */
+        VARIABLE_BOUNDS,
+        /** Right-hand side of one constraint (row) changed. */
+        CONSTRAINT_RHS,
+        /** Objective coefficient of one variable (column) changed. */
+        OBJECTIVE_COEFFICIENT,
+        /** One matrix coefficient (row, column) changed. */
+        COEFFICIENT,
+        /** The whole objective function was replaced. */
+        OBJECTIVE,
+        /** The optimization direction changed. */
+        DIRECTION,
+        /** Variables were appended; column is the first new index. */
+        VARIABLES_ADDED,
+        /** Constraints were appended; row is the first new index. */
+        CONSTRAINTS_ADDED;
+
+        /**
+         * @return true if the change added variables or constraints
+         */
+        public boolean isStructural() {
+            return this == VARIABLES_ADDED || this == CONSTRAINTS_ADDED;
+        }
+    }
+
+    private final long version;
+    private final Type type;
+    private final int row;
+    private final int column;
+
+    ModelChange(long version, Type type, int row, int column) {
+        this.version = version;
+        this.type = type;
+        this.row = row;
+        this.column = column;
+    }
+
+    /**
+     * @return model version created by this change
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return affected constraint index, or -1 if the change is not about a row
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * @return affected variable index, or -1 if the change is not about a column
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    @Override
+    public String toString() {
+        return "ModelChange{version=" + version + ", type=" + type + ", row=" + row + ", column=" + column + "}";
+    }
+}
@@ -0,0 +1,181 @@
+package org.optsolvx.model;
+
+import java.util.List;
+
+/**
+ * Incrementally maintained structural hash of a model, see {@link AbstractLPModel#getFingerprint()}.
+ * <p>
+ * Every variable and every constraint has its own 64-bit hash (variable: name, bounds and
+ * objective coefficient; constraint: name, relation, right-hand side and matrix row). Names are
+ * hashed with 64 bits over their characters, not through {@link String#hashCode()}, whose
+ * 32-bit value collides for names such as "Aa" and "BB". The fingerprint
+ * mixes the sum of all position-tagged hashes with the dimensions and the direction, so a change
+ * to one row or column only rehashes that row or column and updates the sum.
+ */
+final class ModelFingerprint {
+
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+    private static final long COLUMN_SEED = 0xC2B2AE3D27D4EB4FL;
+    private static final long ROW_SEED = 0x165667B19E3779F9L;
+
+    private final long[] columns;
+    private final long[] rows;
+    private long sum;
+    private long version;
+
+    private ModelFingerprint(long[] columns, long[] rows, long sum, long version) {
+        this.columns = columns;
+        this.rows = rows;
+        this.sum = sum;
+        this.version = version;
+    }
+
+    /**
+     * Hashes the whole model, O(variables + constraints + non-zeros).
+     */
+    static ModelFingerprint compute(AbstractLPModel model) {
+        final int n = model.getVariableCount();
+        final int m = model.getConstraintCount();
+        final SparseMatrix matrix = model.getMatrix();
+        final ModelFingerprint f = new ModelFingerprint(new long[n], new long[m], 0L, model.getVersion());
+        for (int j = 0; j < n; j++) {
+            f.columns[j] = hashColumn(model, j);
+            f.sum += columnTerm(j, f.columns[j]);
+        }
+        for (int i = 0; i < m; i++) {
+            f.rows[i] = hashRow(model, matrix, i);
+            f.sum += rowTerm(i, f.rows[i]);
+        }
+        return f;
+    }
+
+    /**
+     * @return a copy that is brought up to date from {@code version} by {@link #update}
+     */
+    ModelFingerprint copyAt(long version) {
+        return new ModelFingerprint(columns.clone(), rows.clone(), sum, version);
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * Rehashes the rows and columns changed since the last update.
+     *
+     * @return false if the change log does not reach back far enough or the structure
+     * changed; the caller must {@link #compute} the fingerprint again
+     */
+    boolean update(AbstractLPModel model) {
+        final List<ModelChange> changes = model.getChangesSince(version);
+        if (changes == null) return false;
+        SparseMatrix matrix = null;
+        for (ModelChange change : changes) {
+            final int row = change.getRow();
+            final int column = change.getColumn();
+            switch (change.getType()) {
+                case VARIABLE_BOUNDS:
+                case OBJECTIVE_COEFFICIENT:
+                    setColumn(column, hashColumn(model, column));
+                    break;
+                case OBJECTIVE:
+                    for (int j = 0; j < columns.length; j++) {
+                        setColumn(j, hashColumn(model, j));
+                    }
+                    break;
+                case CONSTRAINT_RHS:
+                case COEFFICIENT:
+                    if (matrix == null) matrix = model.getMatrix();
+                    setRow(row, hashRow(model, matrix, row));
+                    break;
+                case DIRECTION:
+                    break; // read by value()
+                default:
+                    return false;
+            }
+        }
+        version = model.getVersion();
+        return true;
+    }
+
+    /**
+     * @return the fingerprint of {@code model}, which must be at this state's version
+     */
+    long value(AbstractLPModel model) {
+        long h = sum;
+        h += mix(((long) columns.length << 32) ^ rows.length ^ GOLDEN);
+        h ^= model.getDirection().ordinal() * COLUMN_SEED;
+        return mix(h);
+    }
+
+    private void setColumn(int j, long hash) {
+        sum += columnTerm(j, hash) - columnTerm(j, columns[j]);
+        columns[j] = hash;
+    }
+
+    private void setRow(int i, long hash) {
+        sum += rowTerm(i, hash) - rowTerm(i, rows[i]);
+        rows[i] = hash;
+    }
+
+    private static long columnTerm(int j, long hash) {
+        return mix(hash + (j + 1) * GOLDEN + COLUMN_SEED);
+    }
+
+    private static long rowTerm(int i, long hash) {
+        return mix(hash + (i + 1) * GOLDEN + ROW_SEED);
+    }
+
+    private static long hashColumn(AbstractLPModel model, int j) {
+        long h = COLUMN_SEED;
+        h = step(h, hashName(model.getVariableName(j)));
+        h = step(h, bits(model.getVariableLowerBound(j)));
+        h = step(h, bits(model.getVariableUpperBound(j)));
+        h = step(h, bits(model.getObjectiveCoefficient(j)));
+        return h;
+    }
+
+    private static long hashRow(AbstractLPModel model, SparseMatrix matrix, int i) {
+        long h = ROW_SEED;
+        h = step(h, hashName(model.getConstraintName(i)));
+        h = step(h, model.getConstraintRelation(i).ordinal());
+        h = step(h, bits(model.getConstraintRhs(i)));
+        for (int p = matrix.getRowStart(i); p < matrix.getRowEnd(i); p++) {
+            h = step(h, matrix.getColumnIndex(p));
+            h = step(h, bits(matrix.getRowValue(p)));
+        }
+        return h;
+    }
+
+    private static long hashName(String name) {
+        if (name == null) return 0L;
+        long h = GOLDEN ^ name.length();
+        for (int k = 0; k < name.length(); k++) {
+            h = step(h, name.charAt(k));
+        }
+        return mix(h);
+    }
+
+    private static long step(long h, long value) {
+        return (Long.rotateLeft(h, 31) ^ value) * GOLDEN;
+    }
+
+    /**
+     * Bit pattern of a value; -0.0 and 0.0 hash alike.
+     */
+    private static long bits(double value) {
+        return value == 0.0 ? 0L : Double.doubleToLongBits(value);
+    }
+
+    /**
+     * MurmurHash3 64-bit finalizer.
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
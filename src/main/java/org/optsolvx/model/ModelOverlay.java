@@ -0,0 +1,325 @@
+package org.optsolvx.model;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Copy-on-write scenario over a frozen base model, e.g. for knockout or media scans.
+ * <p>
+ * The overlay shares names, structure and the constraint matrix with its base and stores
+ * only the values it changes (variable bounds, right-hand sides, objective coefficients,
+ * direction) as sparse deltas in primitive arrays; an overlay with a handful of edits takes
+ * a few hundred bytes. It is an {@link AbstractLPModel}, so it can be passed to every
+ * backend, to {@code OptSolvXConfig.resolve} and to the analysis and batch APIs.
+ * Edits are recorded in the overlay's own change log, so sessions opened on an overlay
+ * update incrementally.
+ * <p>
+ * The base model is frozen by the constructor ({@link AbstractLPModel#freeze()}), so any
+ * number of overlays can read it concurrently. Structural edits (adding variables or
+ * constraints, changing matrix coefficients) are not supported on an overlay and throw
+ * UnsupportedOperationException; use {@link #copy()} to obtain a full, editable model.
+ */
+public final class ModelOverlay extends AbstractLPModel {
+
+    private final AbstractLPModel base;
+
+    // Sparse deltas, keys sorted ascending
+    private final Deltas bounds = new Deltas(2);    // variable -> lower, upper
+    private final Deltas rhs = new Deltas(1);       // constraint -> rhs
+    private final Deltas objective = new Deltas(1); // variable -> objective coefficient
+
+    /**
+     * Creates an overlay without deltas. The base model is built and frozen.
+     *
+     * @param base the shared base model (may itself be an overlay)
+     */
+    public ModelOverlay(AbstractLPModel base) {
+        super(0);
+        if (base == null) {
+            throw new IllegalArgumentException("Base model must not be null.");
+        }
+        base.freeze();
+        this.base = base;
+        setDirection(base.getDirection());
+        setPreferredSolver(base.getPreferredSolver());
+        setPresolveEnabled(base.isPresolveEnabled());
+        build();
+    }
+
+    /**
+     * @return the frozen base model
+     */
+    public AbstractLPModel getBase() {
+        return base;
+    }
+
+    /**
+     * @return number of stored deltas (bounds, right-hand sides and objective coefficients)
+     */
+    public int getDeltaCount() {
+        return bounds.size + rhs.size + objective.size;
+    }
+
+    /**
+     * Removes all deltas so that the overlay equals its base again (direction included).
+     * Every removed delta is recorded as a change.
+     */
+    public void reset() {
+        for (int k = bounds.size - 1; k >= 0; k--) {
+            final int j = bounds.keys[k];
+            bounds.remove(j);
+            modelChanged(ModelChange.Type.VARIABLE_BOUNDS, -1, j);
+        }
+        for (int k = rhs.size - 1; k >= 0; k--) {
+            final int i = rhs.keys[k];
+            rhs.remove(i);
+            modelChanged(ModelChange.Type.CONSTRAINT_RHS, i, -1);
+        }
+        for (int k = objective.size - 1; k >= 0; k--) {
+            final int j = objective.keys[k];
+            objective.remove(j);
+            modelChanged(ModelChange.Type.OBJECTIVE_COEFFICIENT, -1, j);
+        }
+        setDirection(base.getDirection());
+    }
+
+    // ----- Values: delta if present, base otherwise -----
+
+    @Override
+    public int getVariableCount() {
+        return base.getVariableCount();
+    }
+
+    @Override
+    public int getConstraintCount() {
+        return base.getConstraintCount();
+    }
+
+    @Override
+    public String getVariableName(int index) {
+        return base.getVariableName(index);
+    }
+
+    @Override
+    public NameIndex getVariableNameIndex() {
+        return base.getVariableNameIndex();
+    }
+
+    @Override
+    public NameIndex getConstraintNameIndex() {
+        return base.getConstraintNameIndex();
+    }
+
+    @Override
+    public double getVariableLowerBound(int index) {
+        final int k = bounds.find(index);
+        return k >= 0 ? bounds.values[2 * k] : base.getVariableLowerBound(index);
+    }
+
+    @Override
+    public double getVariableUpperBound(int index) {
+        final int k = bounds.find(index);
+        return k >= 0 ? bounds.values[2 * k + 1] : base.getVariableUpperBound(index);
+    }
+
+    @Override
+    public double getObjectiveCoefficient(int index) {
+        final int k = objective.find(index);
+        return k >= 0 ? objective.values[k] : base.getObjectiveCoefficient(index);
+    }
+
+    @Override
+    public String getConstraintName(int index) {
+        return base.getConstraintName(index);
+    }
+
+    @Override
+    public Constraint.Relation getConstraintRelation(int index) {
+        return base.getConstraintRelation(index);
+    }
+
+    @Override
+    public double getConstraintRhs(int index) {
+        final int k = rhs.find(index);
+        return k >= 0 ? rhs.values[k] : base.getConstraintRhs(index);
+    }
+
+    @Override
+    public SparseMatrix getMatrix() {
+        return base.getMatrix();
+    }
+
+    /**
+     * Starts from the base model's fingerprint; the overlay's own change log (which begins at
+     * version 0) then rehashes only the changed rows and columns.
+     */
+    @Override
+    ModelFingerprint newFingerprint() {
+        return base.copyFingerprintAt(0L);
+    }
+
+    @Override
+    public double getCoefficient(int row, int column) {
+        return base.getCoefficient(row, column);
+    }
+
+    @Override
+    public int getVariableIndex(String name) {
+        return base.getVariableIndex(name);
+    }
+
+    @Override
+    public int getConstraintIndex(String name) {
+        return base.getConstraintIndex(name);
+    }
+
+    @Override
+    public boolean hasVariable(String name) {
+        return base.hasVariable(name);
+    }
+
+    @Override
+    public boolean hasConstraint(String name) {
+        return base.hasConstraint(name);
+    }
+
+    // ----- Value edits, stored as deltas -----
+
+    @Override
+    public void setVariableBounds(int index, double lower, double upper) {
+        checkVariableIndex(index);
+        if (Double.isNaN(lower) || Double.isNaN(upper)) {
+            throw new IllegalArgumentException("Bounds must not be NaN: " + getVariableName(index));
+        }
+        modelChanged(ModelChange.Type.VARIABLE_BOUNDS, -1, index);
+        bounds.put(index, lower, upper);
+    }
+
+    @Override
+    public void setConstraintRhs(int index, double value) {
+        checkConstraintIndex(index);
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("RHS must not be NaN: " + getConstraintName(index));
+        }
+        modelChanged(ModelChange.Type.CONSTRAINT_RHS, index, -1);
+        rhs.put(index, value);
+    }
+
+    @Override
+    public void setObjectiveCoefficient(int index, double value) {
+        checkVariableIndex(index);
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("Objective coefficient must not be NaN: " + getVariableName(index));
+        }
+        modelChanged(ModelChange.Type.OBJECTIVE_COEFFICIENT, -1, index);
+        objective.put(index, value);
+    }
+
+    /**
+     * Stores the coefficients that differ from the current objective as deltas.
+     */
+    @Override
+    public void setObjective(double[] coeffs, OptimizationDirection direction) {
+        if (coeffs.length != getVariableCount()) {
+            throw new IllegalArgumentException("Length of coeffs is " + coeffs.length + ", expected " + getVariableCount());
+        }
+        for (int j = 0; j < coeffs.length; j++) {
+            if (Double.compare(coeffs[j], getObjectiveCoefficient(j)) != 0) {
+                setObjectiveCoefficient(j, coeffs[j]);
+            }
+        }
+        setDirection(direction);
+    }
+
+    // ----- Structural edits are not supported -----
+
+    @Override
+    public int addVariable(String name, double lower, double upper) {
+        throw unsupported();
+    }
+
+    @Override
+    public int addVariables(String[] names, double[] lower, double[] upper) {
+        throw unsupported();
+    }
+
+    @Override
+    public int addColumn(String name, double lower, double upper, double objective, int[] rows, double[] values) {
+        throw unsupported();
+    }
+
+    @Override
+    public int addColumns(String[] names, double[] lower, double[] upper, double[] objective,
+                          int[] columnStarts, int[] rows, double[] values) {
+        throw unsupported();
+    }
+
+    @Override
+    public Constraint addConstraint(String name, Map<String, Double> coeffs, Constraint.Relation rel, double rhs) {
+        throw unsupported();
+    }
+
+    @Override
+    public int addRow(String name, int[] columns, double[] values, Constraint.Relation rel, double rhs) {
+        throw unsupported();
+    }
+
+    @Override
+    public int addRows(String[] names, int[] rowStarts, int[] columns, double[] values,
+                       Constraint.Relation[] rels, double[] rhs) {
+        throw unsupported();
+    }
+
+    @Override
+    public void setCoefficient(int row, int column, double value) {
+        throw unsupported();
+    }
+
+    private UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException(
+                "ModelOverlay only supports value edits; use copy() for structural changes.");
+    }
+
+    /**
+     * Sorted int keys with {@code width} doubles per key.
+     */
+    private static final class Deltas {
+        private final int width;
+        private int[] keys = new int[0];
+        private double[] values = new double[0];
+        private int size;
+
+        Deltas(int width) {
+            this.width = width;
+        }
+
+        int find(int key) {
+            return size == 0 ? -1 : Arrays.binarySearch(keys, 0, size, key);
+        }
+
+        void put(int key, double... v) {
+            int k = find(key);
+            if (k < 0) {
+                k = -k - 1;
+                if (size == keys.length) {
+                    final int cap = Math.max(4, 2 * size);
+                    keys = Arrays.copyOf(keys, cap);
+                    values = Arrays.copyOf(values, cap * width);
+                }
+                System.arraycopy(keys, k, keys, k + 1, size - k);
+                System.arraycopy(values, k * width, values, (k + 1) * width, (size - k) * width);
+                keys[k] = key;
+                size++;
+            }
+            System.arraycopy(v, 0, values, k * width, width);
+        }
+
+        void remove(int key) {
+            final int k = find(key);
+            if (k < 0) return;
+            System.arraycopy(keys, k + 1, keys, k, size - k - 1);
+            System.arraycopy(values, (k + 1) * width, values, k * width, (size - k - 1) * width);
+            size--;
+        }
+    }
+}
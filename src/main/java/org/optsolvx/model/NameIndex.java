@@ -0,0 +1,95 @@
+package org.optsolvx.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the variable or constraint names of a model, mapping names to
+ * indices. Obtained from {@link AbstractLPModel#getVariableNameIndex()} and
+ * {@link AbstractLPModel#getConstraintNameIndex()}, which share one instance among all
+ * solutions of a model (and of its overlays) as long as no names are added.
+ * The name lookup table is built on the first {@link #indexOf(String)} call.
+ */
+public final class NameIndex {
+
+    private final String kind;
+    private final String[] names;
+    private volatile Map<String, Integer> indices;
+
+    private NameIndex(String kind, String[] names) {
+        this.kind = kind;
+        this.names = names;
+    }
+
+    static NameIndex variables(AbstractLPModel model) {
+        final String[] names = new String[model.getVariableCount()];
+        for (int j = 0; j < names.length; j++) {
+            names[j] = model.getVariableName(j);
+        }
+        return new NameIndex("variable", names);
+    }
+
+    static NameIndex constraints(AbstractLPModel model) {
+        final String[] names = new String[model.getConstraintCount()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = model.getConstraintName(i);
+        }
+        return new NameIndex("constraint", names);
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public String getName(int index) {
+        return names[index];
+    }
+
+    /**
+     * @return index of {@code name}, -1 if unknown
+     */
+    public int indexOf(Object name) {
+        Map<String, Integer> map = indices;
+        if (map == null) {
+            map = new HashMap<>(names.length * 4 / 3 + 1);
+            for (int k = names.length - 1; k >= 0; k--) {
+                map.put(names[k], k); // first occurrence wins
+            }
+            indices = map;
+        }
+        final Integer index = map.get(name);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * @return index of {@code name}
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    public int require(String name) {
+        final int index = indexOf(name);
+        if (index < 0) throw new IllegalArgumentException("No such " + kind + ": " + name);
+        return index;
+    }
+
+    /**
+     * @return true if {@code o} is a name index of the same kind with the same names in the same order
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof NameIndex)) return false;
+        final NameIndex other = (NameIndex) o;
+        return kind.equals(other.kind) && Arrays.equals(names, other.names);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * kind.hashCode() + Arrays.hashCode(names);
+    }
+
+    @Override
+    public String toString() {
+        return kind + "s" + Arrays.toString(names);
+    }
+}
@@ -0,0 +1,79 @@
+package org.optsolvx.model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Unmodifiable variable name → coefficient map over one row of the model's sparse matrix.
+ * Nothing is copied: lookups and iteration read the current matrix snapshot of the model.
+ * Entries are iterated in variable index order.
+ */
+final class RowCoefficientMap extends AbstractMap<String, Double> {
+
+    private final AbstractLPModel model;
+    private final int row;
+
+    RowCoefficientMap(AbstractLPModel model, int row) {
+        this.model = model;
+        this.row = row;
+    }
+
+    @Override
+    public int size() {
+        final SparseMatrix m = model.getMatrix();
+        return m.getRowEnd(row) - m.getRowStart(row);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return position(key) >= 0;
+    }
+
+    @Override
+    public Double get(Object key) {
+        final int p = position(key);
+        return p < 0 ? null : model.getMatrix().getRowValue(p);
+    }
+
+    private int position(Object key) {
+        if (!(key instanceof String) || !model.hasVariable((String) key)) return -1;
+        return model.getMatrix().find(row, model.getVariableIndex((String) key));
+    }
+
+    @Override
+    public Set<Map.Entry<String, Double>> entrySet() {
+        return new AbstractSet<Map.Entry<String, Double>>() {
+            @Override
+            public int size() {
+                return RowCoefficientMap.this.size();
+            }
+
+            @Override
+            public Iterator<Map.Entry<String, Double>> iterator() {
+                final SparseMatrix m = model.getMatrix();
+                final int end = m.getRowEnd(row);
+                return new Iterator<Map.Entry<String, Double>>() {
+                    private int pos = m.getRowStart(row);
+
+                    @Override
+                    public boolean hasNext() {
+                        return pos < end;
+                    }
+
+                    @Override
+                    public Map.Entry<String, Double> next() {
+                        if (pos >= end) throw new NoSuchElementException();
+                        final String name = model.getVariableName(m.getColumnIndex(pos));
+                        final double value = m.getRowValue(pos);
+                        pos++;
+                        return new SimpleImmutableEntry<String, Double>(name, value);
+                    }
+                };
+            }
+        };
+    }
+}
@@ -0,0 +1,255 @@
+package org.optsolvx.model;
+
+/**
+ * Read-only sparse view of the constraint matrix of an LP model.
+ * The matrix is stored twice in compact primitive form:
+ * - CSR (compressed sparse row): row start offsets, column indices and values,
+ * with column indices sorted ascending within every row.
+ * - CSC (compressed sparse column): column start offsets, row indices and values,
+ * with row indices sorted ascending within every column.
+ * Instances are immutable snapshots created by {@link AbstractLPModel#getMatrix()}.
+ * Backends iterate rows or columns by position, e.g.:
+ * <pre>
+ * for (int p = m.getRowStart(i); p &lt; m.getRowEnd(i); p++) {
+ *     int j = m.getColumnIndex(p);
+ *     double a = m.getRowValue(p);
+ * }
+ * </pre>
+ */
+public final class SparseMatrix {
+
+    private final int rowCount;
+    private final int columnCount;
+
+    // CSR layout
+    private final int[] rowStarts;
+    private final int[] columnIndices;
+    private final double[] rowValues;
+
+    // CSC layout
+    private final int[] columnStarts;
+    private final int[] rowIndices;
+    private final double[] columnValues;
+
+    private SparseMatrix(int rowCount, int columnCount,
+                         int[] rowStarts, int[] columnIndices, double[] rowValues,
+                         int[] columnStarts, int[] rowIndices, double[] columnValues) {
+        this.rowCount = rowCount;
+        this.columnCount = columnCount;
+        this.rowStarts = rowStarts;
+        this.columnIndices = columnIndices;
+        this.rowValues = rowValues;
+        this.columnStarts = columnStarts;
+        this.rowIndices = rowIndices;
+        this.columnValues = columnValues;
+    }
+
+    /**
+     * Wraps already compiled CSR and CSC arrays (sorted within rows/columns, no duplicates).
+     * The arrays are not copied and must not be modified afterwards.
+     */
+    static SparseMatrix of(int rowCount, int columnCount,
+                           int[] rowStarts, int[] columnIndices, double[] rowValues,
+                           int[] columnStarts, int[] rowIndices, double[] columnValues) {
+        return new SparseMatrix(rowCount, columnCount,
+                rowStarts, columnIndices, rowValues,
+                columnStarts, rowIndices, columnValues);
+    }
+
+    /**
+     * Compiles coordinate triplets (row, column, value) into CSR and CSC form.
+     * Duplicate (row, column) entries are summed; explicitly stored zeros are kept.
+     *
+     * @param rowCount    number of rows
+     * @param columnCount number of columns
+     * @param rows        row index of each triplet
+     * @param columns     column index of each triplet
+     * @param values      value of each triplet
+     * @param count       number of valid triplets in the arrays
+     * @return the compiled matrix
+     */
+    static SparseMatrix fromTriplets(int rowCount, int columnCount,
+                                     int[] rows, int[] columns, double[] values, int count) {
+        // 1) Bucket triplets by column (stable): gives a column-major order.
+        final int[] byColumnStart = new int[columnCount + 1];
+        for (int k = 0; k < count; k++) byColumnStart[columns[k] + 1]++;
+        for (int j = 0; j < columnCount; j++) byColumnStart[j + 1] += byColumnStart[j];
+        final int[] order = new int[count];
+        final int[] next = new int[Math.max(rowCount, columnCount)];
+        System.arraycopy(byColumnStart, 0, next, 0, columnCount);
+        for (int k = 0; k < count; k++) order[next[columns[k]]++] = k;
+
+        // 2) Bucket by row, walking triplets in column-major order: columns end up sorted within rows.
+        final int[] rowStarts = new int[rowCount + 1];
+        for (int k = 0; k < count; k++) rowStarts[rows[k] + 1]++;
+        for (int i = 0; i < rowCount; i++) rowStarts[i + 1] += rowStarts[i];
+        int[] columnIndices = new int[count];
+        double[] rowValues = new double[count];
+        System.arraycopy(rowStarts, 0, next, 0, rowCount);
+        for (int q = 0; q < count; q++) {
+            final int k = order[q];
+            final int p = next[rows[k]]++;
+            columnIndices[p] = columns[k];
+            rowValues[p] = values[k];
+        }
+
+        // 3) Merge duplicates (adjacent equal column indices within a row).
+        int nnz = 0;
+        for (int i = 0; i < rowCount; i++) {
+            final int start = rowStarts[i];
+            final int end = rowStarts[i + 1];
+            rowStarts[i] = nnz;
+            for (int p = start; p < end; p++) {
+                if (nnz > rowStarts[i] && columnIndices[nnz - 1] == columnIndices[p]) {
+                    rowValues[nnz - 1] += rowValues[p];
+                } else {
+                    columnIndices[nnz] = columnIndices[p];
+                    rowValues[nnz] = rowValues[p];
+                    nnz++;
+                }
+            }
+        }
+        rowStarts[rowCount] = nnz;
+        if (nnz < count) {
+            final int[] ci = new int[nnz];
+            final double[] rv = new double[nnz];
+            System.arraycopy(columnIndices, 0, ci, 0, nnz);
+            System.arraycopy(rowValues, 0, rv, 0, nnz);
+            columnIndices = ci;
+            rowValues = rv;
+        }
+
+        // 4) Transpose CSR into CSC: rows end up sorted within columns.
+        final int[] columnStarts = new int[columnCount + 1];
+        for (int p = 0; p < nnz; p++) columnStarts[columnIndices[p] + 1]++;
+        for (int j = 0; j < columnCount; j++) columnStarts[j + 1] += columnStarts[j];
+        final int[] rowIndices = new int[nnz];
+        final double[] columnValues = new double[nnz];
+        System.arraycopy(columnStarts, 0, next, 0, columnCount);
+        for (int i = 0; i < rowCount; i++) {
+            for (int p = rowStarts[i]; p < rowStarts[i + 1]; p++) {
+                final int q = next[columnIndices[p]]++;
+                rowIndices[q] = i;
+                columnValues[q] = rowValues[p];
+            }
+        }
+
+        return new SparseMatrix(rowCount, columnCount,
+                rowStarts, columnIndices, rowValues,
+                columnStarts, rowIndices, columnValues);
+    }
+
+    /**
+     * @return number of rows (constraints)
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return number of columns (variables)
+     */
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    /**
+     * @return number of stored entries
+     */
+    public int getNonZeroCount() {
+        return rowStarts[rowCount];
+    }
+
+    // ----- CSR access -----
+
+    /**
+     * @return first CSR position of the given row
+     */
+    public int getRowStart(int row) {
+        return rowStarts[row];
+    }
+
+    /**
+     * @return CSR position one past the last entry of the given row
+     */
+    public int getRowEnd(int row) {
+        return rowStarts[row + 1];
+    }
+
+    /**
+     * @return column index of the entry at the given CSR position
+     */
+    public int getColumnIndex(int pos) {
+        return columnIndices[pos];
+    }
+
+    /**
+     * @return value of the entry at the given CSR position
+     */
+    public double getRowValue(int pos) {
+        return rowValues[pos];
+    }
+
+    // ----- CSC access -----
+
+    /**
+     * @return first CSC position of the given column
+     */
+    public int getColumnStart(int column) {
+        return columnStarts[column];
+    }
+
+    /**
+     * @return CSC position one past the last entry of the given column
+     */
+    public int getColumnEnd(int column) {
+        return columnStarts[column + 1];
+    }
+
+    /**
+     * @return row index of the entry at the given CSC position
+     */
+    public int getRowIndex(int pos) {
+        return rowIndices[pos];
+    }
+
+    /**
+     * @return value of the entry at the given CSC position
+     */
+    public double getColumnValue(int pos) {
+        return columnValues[pos];
+    }
+
+    // ----- Element access -----
+
+    /**
+     * Returns the CSR position of entry (row, column), or -1 if it is not stored.
+     * Uses a binary search within the row.
+     */
+    public int find(int row, int column) {
+        int lo = rowStarts[row];
+        int hi = rowStarts[row + 1] - 1;
+        while (lo <= hi) {
+            final int mid = (lo + hi) >>> 1;
+            final int c = columnIndices[mid];
+            if (c < column) lo = mid + 1;
+            else if (c > column) hi = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the value of entry (row, column), or 0.0 if it is not stored.
+     */
+    public double get(int row, int column) {
+        final int p = find(row, column);
+        return p < 0 ? 0.0 : rowValues[p];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{rows=%d, columns=%d, nonZeros=%d}",
+                getClass().getSimpleName(), rowCount, columnCount, getNonZeroCount());
+    }
+}
@@ -4,6 +4,7 @@ package org.optsolvx.model;
  * Represents a single variable in the linear programming model.
  * Stores name, lower and upper bounds.
  * The index of a variable is managed by the parent LP model class (AbstractLPModel), not by this object.
+ * Variables returned by {@link AbstractLPModel} are thin views that read the model's bound arrays.
  */
 public class Variable {
     // Unique name of the variable (user-defined)
@@ -12,6 +13,9 @@ public class Variable {
     private final double lowerBound;
     // Upper bound (inclusive)
     private final double upperBound;
+    // Owning model and index for model-backed views; null for standalone variables
+    private final AbstractLPModel model;
+    private final int index;
 
     /**
      * Creates a new variable with the given name and bounds.
@@ -24,27 +28,40 @@ public class Variable {
         this.name = name;
         this.lowerBound = lowerBound;
         this.upperBound = upperBound;
+        this.model = null;
+        this.index = -1;
+    }
+
+    /**
+     * Creates a view on variable {@code index} of the given model.
+     */
+    Variable(AbstractLPModel model, int index) {
+        this.name = null;
+        this.lowerBound = 0.0;
+        this.upperBound = 0.0;
+        this.model = model;
+        this.index = index;
     }
 
     /**
      * @return variable name
      */
     public String getName() {
-        return name;
+        return model == null ? name : model.getVariableName(index);
     }
 
     /**
      * @return lower bound
      */
     public double getLowerBound() {
-        return lowerBound;
+        return model == null ? lowerBound : model.getVariableLowerBound(index);
     }
 
     /**
      * @return upper bound
      */
     public double getUpperBound() {
-        return upperBound;
+        return model == null ? upperBound : model.getVariableUpperBound(index);
     }
 
     /**
@@ -53,7 +70,7 @@ public class Variable {
     @Override
     public String toString() {
         return String.format("%s{name='%s', [%f, %f]}",
-                getClass().getSimpleName(), name, lowerBound, upperBound
+                getClass().getSimpleName(), getName(), getLowerBound(), getUpperBound()
         );
     }
 }
@@ -0,0 +1,178 @@
+package org.optsolvx.presolve;
+
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.solver.LPSolution;
+import org.optsolvx.solver.SolveStatistics;
+import org.optsolvx.solver.SolveStatus;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of {@link Presolver#presolve}: the reduced model and the postsolve stack.
+ * The reduced model keeps the original variable and constraint names, so solutions
+ * of it can be mapped back by name with {@link #postsolve(LPSolution)}.
+ */
+public final class PresolveResult {
+
+    private final AbstractLPModel original;
+    private final AbstractLPModel reduced;
+    private final int[] reducedToOriginal;
+    private final double objectiveOffset;
+    private final List<Step> steps;
+    private final boolean infeasible;
+
+    PresolveResult(AbstractLPModel original, AbstractLPModel reduced, int[] reducedToOriginal,
+                   double objectiveOffset, List<Step> steps, boolean infeasible) {
+        this.original = original;
+        this.reduced = reduced;
+        this.reducedToOriginal = reducedToOriginal;
+        this.objectiveOffset = objectiveOffset;
+        this.steps = steps;
+        this.infeasible = infeasible;
+    }
+
+    static PresolveResult infeasible(AbstractLPModel original) {
+        final AbstractLPModel empty = new AbstractLPModel();
+        empty.build();
+        return new PresolveResult(original, empty, new int[0], 0.0, Collections.<Step>emptyList(), true);
+    }
+
+    /**
+     * @return the reduced model (already built); empty if presolve proved infeasibility
+     */
+    public AbstractLPModel getReducedModel() {
+        return reduced;
+    }
+
+    /**
+     * @return true if presolve proved the original model infeasible
+     */
+    public boolean isInfeasible() {
+        return infeasible;
+    }
+
+    /**
+     * @return constant objective contribution of the removed variables
+     */
+    public double getObjectiveOffset() {
+        return objectiveOffset;
+    }
+
+    /**
+     * @return number of variables removed by presolve
+     */
+    public int getRemovedVariables() {
+        return original.getVariableCount() - reduced.getVariableCount();
+    }
+
+    /**
+     * @return number of constraints removed by presolve
+     */
+    public int getRemovedConstraints() {
+        return original.getConstraintCount() - reduced.getConstraintCount();
+    }
+
+    /**
+     * Maps a solution of the reduced model back onto the original model.
+     * Values of removed variables are restored from the postsolve stack and the
+     * objective is recomputed on the original objective function.
+     * Row activities and slacks refer to the original rows; duals are not carried over.
+     *
+     * @param reducedSolution solution of {@link #getReducedModel()}
+     * @return solution over all original variables, in original order, with the statistics of
+     * {@code reducedSolution}
+     */
+    public LPSolution postsolve(LPSolution reducedSolution) {
+        final int n = original.getVariableCount();
+        final double[] x = new double[n];
+        final boolean feasible = !infeasible && reducedSolution != null && reducedSolution.isFeasible();
+
+        if (!infeasible && reducedSolution != null) {
+            final Map<String, Double> values = reducedSolution.getVariableValues();
+            for (int k = 0; k < reducedToOriginal.length; k++) {
+                final Double v = values.get(reduced.getVariableName(k));
+                x[reducedToOriginal[k]] = v == null ? 0.0 : v;
+            }
+            for (int s = steps.size() - 1; s >= 0; s--) {
+                steps.get(s).undo(x);
+            }
+        }
+
+        double objective = 0.0;
+        for (int j = 0; j < n; j++) {
+            objective += original.getObjectiveCoefficient(j) * x[j];
+        }
+        if (!feasible) {
+            final SolveStatistics statistics = infeasible || reducedSolution == null
+                    ? new SolveStatistics(SolveStatus.INFEASIBLE, null, 0L, 0L, 0L, -1, null)
+                    : reducedSolution.getStatistics();
+            return new LPSolution(original.getVariableNameIndex(), x, Double.NaN, false, statistics);
+        }
+        return new LPSolution(original, x, null, objective, true, reducedSolution.getStatistics());
+    }
+
+    /**
+     * One reversible presolve reduction that affects primal values.
+     */
+    static final class Step {
+        private static final int FIX = 0;
+        private static final int MERGE = 1;
+
+        private final int kind;
+        private final int column;
+        private final int other;
+        private final double value; // fixed value (FIX) or ratio (MERGE)
+        private final double lb, ub, otherLb, otherUb;
+
+        private Step(int kind, int column, int other, double value,
+                     double lb, double ub, double otherLb, double otherUb) {
+            this.kind = kind;
+            this.column = column;
+            this.other = other;
+            this.value = value;
+            this.lb = lb;
+            this.ub = ub;
+            this.otherLb = otherLb;
+            this.otherUb = otherUb;
+        }
+
+        static Step fix(int column, double value) {
+            return new Step(FIX, column, -1, value, 0, 0, 0, 0);
+        }
+
+        /**
+         * Column {@code other} was merged into {@code column}: x_column' = x_column + ratio * x_other.
+         */
+        static Step merge(int column, int other, double ratio,
+                          double lb, double ub, double otherLb, double otherUb) {
+            return new Step(MERGE, column, other, ratio, lb, ub, otherLb, otherUb);
+        }
+
+        void undo(double[] x) {
+            if (kind == FIX) {
+                x[column] = value;
+                return;
+            }
+            // Split merged value v into x_c in [lb, ub] and x_o in [otherLb, otherUb]
+            final double v = x[column];
+            final double ratio = value;
+            double lo = (v - ub) / ratio;
+            double hi = (v - lb) / ratio;
+            if (ratio < 0) {
+                final double t = lo;
+                lo = hi;
+                hi = t;
+            }
+            lo = Math.max(lo, otherLb);
+            hi = Math.min(hi, otherUb);
+            if (lo > hi) { // numerical noise: take the midpoint of the (empty) interval
+                lo = hi = 0.5 * (lo + hi);
+            }
+            final double t = Math.max(lo, Math.min(hi, 0.0));
+            x[other] = t;
+            x[column] = v - ratio * t;
+        }
+    }
+}
@@ -0,0 +1,584 @@
+package org.optsolvx.presolve;
+
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.Constraint;
+import org.optsolvx.model.OptimizationDirection;
+import org.optsolvx.model.SparseMatrix;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * LP presolve: reduces a model before it is handed to a backend.
+ * Reductions (applied repeatedly until nothing changes):
+ * - fixed variables (lower == upper) are removed and their contribution moved to the RHS
+ * - empty rows are dropped (or the model is reported infeasible)
+ * - singleton rows are turned into variable bounds
+ * - bounds are tightened from row activity bounds
+ * - dominated rows (always satisfied within the current bounds) are dropped
+ * - parallel rows are combined when the combination is a single LEQ/GEQ/EQ row
+ * - parallel columns with proportional objective are merged into one column
+ * The original model is not modified. Use {@link PresolveResult#postsolve} to map a
+ * solution of the reduced model back onto the original variables.
+ * Only primal values are restored.
+ */
+public final class Presolver {
+
+    private static final Logger LOGGER = Logger.getLogger(Presolver.class.getName());
+
+    private static final double INF = Double.POSITIVE_INFINITY;
+
+    private static final int MAX_PASSES = 20;
+
+    private final double tolerance;
+
+    // ----- Working state (valid during one presolve() call) -----
+    private SparseMatrix matrix;
+    private double[] lb;
+    private double[] ub;
+    private double[] cost;
+    private double[] rowLo;
+    private double[] rowHi;
+    private boolean[] colActive;
+    private boolean[] rowActive;
+    private int[] colCount;
+    private int[] rowCount;
+    private double objectiveOffset;
+    private boolean maximize;
+    private boolean infeasible;
+    private List<PresolveResult.Step> steps;
+
+    /**
+     * Creates a presolver with the default feasibility tolerance (1e-9).
+     */
+    public Presolver() {
+        this(1e-9);
+    }
+
+    /**
+     * @param tolerance absolute feasibility tolerance used by all reductions
+     */
+    public Presolver(double tolerance) {
+        if (!(tolerance >= 0.0)) throw new IllegalArgumentException("Tolerance must be >= 0: " + tolerance);
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Presolves the model.
+     *
+     * @param model the original model (left unchanged)
+     * @return reduced model plus the information needed for postsolve
+     */
+    public synchronized PresolveResult presolve(AbstractLPModel model) {
+        if (model == null) {
+            throw new IllegalArgumentException("Model must not be null.");
+        }
+        init(model);
+
+        boolean changed = true;
+        for (int pass = 0; pass < MAX_PASSES && changed && !infeasible; pass++) {
+            changed = removeFixedColumns();
+            changed |= reduceRows();
+            if (!changed && !infeasible) {
+                changed = mergeParallelRows();
+                changed |= mergeParallelColumns();
+            }
+        }
+
+        final PresolveResult result = infeasible
+                ? PresolveResult.infeasible(model)
+                : buildResult(model);
+        LOGGER.fine(() -> String.format("Presolve: %d x %d -> %d x %d%s",
+                model.getConstraintCount(), model.getVariableCount(),
+                result.getReducedModel().getConstraintCount(), result.getReducedModel().getVariableCount(),
+                infeasible ? " (infeasible)" : ""));
+        clear();
+        return result;
+    }
+
+    private void init(AbstractLPModel model) {
+        matrix = model.getMatrix();
+        final int n = model.getVariableCount();
+        final int m = model.getConstraintCount();
+        lb = new double[n];
+        ub = new double[n];
+        cost = new double[n];
+        colActive = new boolean[n];
+        colCount = new int[n];
+        for (int j = 0; j < n; j++) {
+            lb[j] = model.getVariableLowerBound(j);
+            ub[j] = model.getVariableUpperBound(j);
+            cost[j] = model.getObjectiveCoefficient(j);
+            colActive[j] = true;
+            colCount[j] = matrix.getColumnEnd(j) - matrix.getColumnStart(j);
+        }
+        rowLo = new double[m];
+        rowHi = new double[m];
+        rowActive = new boolean[m];
+        rowCount = new int[m];
+        for (int i = 0; i < m; i++) {
+            final double rhs = model.getConstraintRhs(i);
+            switch (model.getConstraintRelation(i)) {
+                case LEQ:
+                    rowLo[i] = -INF;
+                    rowHi[i] = rhs;
+                    break;
+                case GEQ:
+                    rowLo[i] = rhs;
+                    rowHi[i] = INF;
+                    break;
+                case EQ:
+                    rowLo[i] = rhs;
+                    rowHi[i] = rhs;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown relation: " + model.getConstraintRelation(i));
+            }
+            rowActive[i] = true;
+            rowCount[i] = matrix.getRowEnd(i) - matrix.getRowStart(i);
+        }
+        objectiveOffset = 0.0;
+        maximize = model.getDirection() == OptimizationDirection.MAXIMIZE;
+        infeasible = false;
+        steps = new ArrayList<>();
+        for (int j = 0; j < n && !infeasible; j++) {
+            if (lb[j] > ub[j] + tolerance) infeasible = true;
+        }
+    }
+
+    private void clear() {
+        matrix = null;
+        lb = ub = cost = rowLo = rowHi = null;
+        colActive = rowActive = null;
+        colCount = rowCount = null;
+        steps = null;
+    }
+
+    // ----- Column reductions -----
+
+    private boolean removeFixedColumns() {
+        boolean changed = false;
+        for (int j = 0; j < lb.length; j++) {
+            if (!colActive[j]) continue;
+            if (ub[j] - lb[j] <= tolerance) {
+                fixColumn(j, Double.isInfinite(lb[j]) ? ub[j] : lb[j]);
+                changed = true;
+            } else if (colCount[j] == 0) {
+                // Empty column: fix at the bound favored by the objective if that bound is finite
+                final double value = emptyColumnValue(j);
+                if (!Double.isNaN(value)) {
+                    fixColumn(j, value);
+                    changed = true;
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Optimal value of a column without active rows, or NaN if the favored bound is infinite.
+     */
+    private double emptyColumnValue(int j) {
+        if (cost[j] == 0.0) {
+            return Math.max(lb[j], Math.min(ub[j], 0.0));
+        }
+        final boolean towardsUpper = (cost[j] > 0) == maximize;
+        final double bound = towardsUpper ? ub[j] : lb[j];
+        return Double.isInfinite(bound) ? Double.NaN : bound;
+    }
+
+    private void fixColumn(int j, double value) {
+        colActive[j] = false;
+        objectiveOffset += cost[j] * value;
+        for (int p = matrix.getColumnStart(j); p < matrix.getColumnEnd(j); p++) {
+            final int i = matrix.getRowIndex(p);
+            if (!rowActive[i]) continue;
+            final double shift = matrix.getColumnValue(p) * value;
+            rowLo[i] -= shift;
+            rowHi[i] -= shift;
+            rowCount[i]--;
+        }
+        steps.add(PresolveResult.Step.fix(j, value));
+    }
+
+    private boolean mergeParallelColumns() {
+        final Map<Long, List<Integer>> buckets = new HashMap<>();
+        for (int j = 0; j < lb.length; j++) {
+            if (!colActive[j] || colCount[j] == 0) continue;
+            buckets.computeIfAbsent(columnHash(j), k -> new ArrayList<>()).add(j);
+        }
+        boolean changed = false;
+        for (List<Integer> bucket : buckets.values()) {
+            for (int a = 0; a < bucket.size(); a++) {
+                final int j = bucket.get(a);
+                if (!colActive[j]) continue;
+                for (int b = a + 1; b < bucket.size(); b++) {
+                    final int k = bucket.get(b);
+                    if (!colActive[k]) continue;
+                    final double ratio = columnRatio(j, k);
+                    if (Double.isNaN(ratio) || !close(cost[k], ratio * cost[j])) continue;
+                    mergeColumns(j, k, ratio);
+                    changed = true;
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Merges column k = ratio * column j into j: x_j' = x_j + ratio * x_k.
+     */
+    private void mergeColumns(int j, int k, double ratio) {
+        steps.add(PresolveResult.Step.merge(j, k, ratio, lb[j], ub[j], lb[k], ub[k]));
+        final double addLo = ratio > 0 ? ratio * lb[k] : ratio * ub[k];
+        final double addHi = ratio > 0 ? ratio * ub[k] : ratio * lb[k];
+        lb[j] = lb[j] + addLo;
+        ub[j] = ub[j] + addHi;
+        colActive[k] = false;
+        for (int p = matrix.getColumnStart(k); p < matrix.getColumnEnd(k); p++) {
+            final int i = matrix.getRowIndex(p);
+            if (rowActive[i]) rowCount[i]--;
+        }
+    }
+
+    private long columnHash(int j) {
+        double scale = 0.0;
+        long h = 17;
+        for (int p = matrix.getColumnStart(j); p < matrix.getColumnEnd(j); p++) {
+            final int i = matrix.getRowIndex(p);
+            if (!rowActive[i]) continue;
+            final double v = matrix.getColumnValue(p);
+            if (scale == 0.0) scale = v;
+            h = 31 * h + i;
+            h = 31 * h + Math.round(v / scale * 1e6);
+        }
+        return h;
+    }
+
+    /**
+     * Returns r with column k == r * column j on all active rows, or NaN.
+     */
+    private double columnRatio(int j, int k) {
+        int p = matrix.getColumnStart(j);
+        int q = matrix.getColumnStart(k);
+        final int pEnd = matrix.getColumnEnd(j);
+        final int qEnd = matrix.getColumnEnd(k);
+        double ratio = Double.NaN;
+        while (true) {
+            while (p < pEnd && !rowActive[matrix.getRowIndex(p)]) p++;
+            while (q < qEnd && !rowActive[matrix.getRowIndex(q)]) q++;
+            if (p >= pEnd || q >= qEnd) break;
+            if (matrix.getRowIndex(p) != matrix.getRowIndex(q)) return Double.NaN;
+            final double vj = matrix.getColumnValue(p);
+            final double vk = matrix.getColumnValue(q);
+            if (vj == 0.0 || vk == 0.0) return Double.NaN;
+            if (Double.isNaN(ratio)) ratio = vk / vj;
+            else if (!close(vk, ratio * vj)) return Double.NaN;
+            p++;
+            q++;
+        }
+        return p >= pEnd && q >= qEnd ? ratio : Double.NaN;
+    }
+
+    // ----- Row reductions -----
+
+    private boolean reduceRows() {
+        boolean changed = false;
+        for (int i = 0; i < rowLo.length && !infeasible; i++) {
+            if (!rowActive[i]) continue;
+            if (rowCount[i] == 0) {
+                if (rowLo[i] > tolerance || rowHi[i] < -tolerance) infeasible = true;
+                rowActive[i] = false;
+                changed = true;
+            } else if (rowCount[i] == 1) {
+                singletonRowToBound(i);
+                changed = true;
+            } else {
+                changed |= activityReductions(i);
+            }
+        }
+        return changed;
+    }
+
+    private void singletonRowToBound(int i) {
+        int p = matrix.getRowStart(i);
+        while (!colActive[matrix.getColumnIndex(p)]) p++;
+        final int j = matrix.getColumnIndex(p);
+        final double a = matrix.getRowValue(p);
+        rowActive[i] = false;
+        colCount[j]--;
+        if (a == 0.0) {
+            // Explicitly stored zero: the row is a constant 0 in [lo, hi]
+            if (rowLo[i] > tolerance || rowHi[i] < -tolerance) infeasible = true;
+            return;
+        }
+        final double lo = a > 0 ? rowLo[i] / a : rowHi[i] / a;
+        final double hi = a > 0 ? rowHi[i] / a : rowLo[i] / a;
+        if (lo > lb[j]) lb[j] = lo;
+        if (hi < ub[j]) ub[j] = hi;
+        checkBounds(j);
+    }
+
+    private void checkBounds(int j) {
+        if (lb[j] > ub[j]) {
+            if (lb[j] - ub[j] <= tolerance * (1.0 + Math.abs(lb[j]))) {
+                ub[j] = lb[j];
+            } else {
+                infeasible = true;
+            }
+        }
+    }
+
+    /**
+     * Uses the activity range of row i to detect infeasibility, drop a dominated row
+     * or tighten the bounds of its variables.
+     */
+    private boolean activityReductions(int i) {
+        double minFinite = 0.0, maxFinite = 0.0;
+        int minInf = 0, maxInf = 0;
+        for (int p = matrix.getRowStart(i); p < matrix.getRowEnd(i); p++) {
+            final int j = matrix.getColumnIndex(p);
+            if (!colActive[j]) continue;
+            final double a = matrix.getRowValue(p);
+            final double lo = a > 0 ? lb[j] : ub[j];
+            final double hi = a > 0 ? ub[j] : lb[j];
+            if (Double.isInfinite(lo)) minInf++;
+            else minFinite += a * lo;
+            if (Double.isInfinite(hi)) maxInf++;
+            else maxFinite += a * hi;
+        }
+        final double minAct = minInf > 0 ? -INF : minFinite;
+        final double maxAct = maxInf > 0 ? INF : maxFinite;
+        final double tol = tolerance * (1.0 + Math.abs(Double.isInfinite(rowHi[i]) ? rowLo[i] : rowHi[i]));
+
+        if (minAct > rowHi[i] + tol || maxAct < rowLo[i] - tol) {
+            infeasible = true;
+            return true;
+        }
+        if (minAct >= rowLo[i] - tol && maxAct <= rowHi[i] + tol) {
+            dropRow(i);
+            return true;
+        }
+
+        // Implied bounds: only tighten infinite bounds or improve significantly, never by roundoff
+        boolean changed = false;
+        for (int p = matrix.getRowStart(i); p < matrix.getRowEnd(i) && !infeasible; p++) {
+            final int j = matrix.getColumnIndex(p);
+            if (!colActive[j]) continue;
+            final double a = matrix.getRowValue(p);
+            if (a == 0.0) continue;
+            final double lo = a > 0 ? lb[j] : ub[j];
+            final double hi = a > 0 ? ub[j] : lb[j];
+            // Residual activity of the other variables
+            final double resMin = residual(minInf, minFinite, lo, a);
+            final double resMax = residual(maxInf, maxFinite, hi, a);
+            if (!Double.isInfinite(rowHi[i]) && !Double.isNaN(resMin)) {
+                final double bound = (rowHi[i] - resMin) / a; // upper bound if a > 0, lower if a < 0
+                changed |= a > 0 ? tightenUpper(j, bound) : tightenLower(j, bound);
+            }
+            if (!Double.isInfinite(rowLo[i]) && !Double.isNaN(resMax)) {
+                final double bound = (rowLo[i] - resMax) / a; // lower bound if a > 0, upper if a < 0
+                changed |= a > 0 ? tightenLower(j, bound) : tightenUpper(j, bound);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Activity of a row without the contribution a*own of one variable; NaN if unbounded.
+     */
+    private static double residual(int infCount, double finiteSum, double own, double a) {
+        if (Double.isInfinite(own)) {
+            return infCount == 1 ? finiteSum : Double.NaN;
+        }
+        return infCount == 0 ? finiteSum - a * own : Double.NaN;
+    }
+
+    private boolean tightenUpper(int j, double bound) {
+        final double relaxed = bound + tolerance * (1.0 + Math.abs(bound));
+        if (Double.isInfinite(ub[j]) || relaxed < ub[j] - 1e-3 * (1.0 + Math.abs(ub[j]))) {
+            if (!(relaxed < ub[j])) return false;
+            ub[j] = relaxed;
+            checkBounds(j);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean tightenLower(int j, double bound) {
+        final double relaxed = bound - tolerance * (1.0 + Math.abs(bound));
+        if (Double.isInfinite(lb[j]) || relaxed > lb[j] + 1e-3 * (1.0 + Math.abs(lb[j]))) {
+            if (!(relaxed > lb[j])) return false;
+            lb[j] = relaxed;
+            checkBounds(j);
+            return true;
+        }
+        return false;
+    }
+
+    private void dropRow(int i) {
+        rowActive[i] = false;
+        for (int p = matrix.getRowStart(i); p < matrix.getRowEnd(i); p++) {
+            final int j = matrix.getColumnIndex(p);
+            if (colActive[j]) colCount[j]--;
+        }
+    }
+
+    private boolean mergeParallelRows() {
+        final Map<Long, List<Integer>> buckets = new HashMap<>();
+        for (int i = 0; i < rowLo.length; i++) {
+            if (!rowActive[i] || rowCount[i] < 2) continue;
+            buckets.computeIfAbsent(rowHash(i), k -> new ArrayList<>()).add(i);
+        }
+        boolean changed = false;
+        for (List<Integer> bucket : buckets.values()) {
+            for (int a = 0; a < bucket.size(); a++) {
+                final int r = bucket.get(a);
+                if (!rowActive[r]) continue;
+                for (int b = a + 1; b < bucket.size() && !infeasible; b++) {
+                    final int s = bucket.get(b);
+                    if (!rowActive[s]) continue;
+                    final double ratio = rowRatio(r, s);
+                    if (Double.isNaN(ratio)) continue;
+                    // row s == ratio * row r  =>  row r in [lo_s, hi_s] / ratio
+                    double lo = ratio > 0 ? rowLo[s] / ratio : rowHi[s] / ratio;
+                    double hi = ratio > 0 ? rowHi[s] / ratio : rowLo[s] / ratio;
+                    lo = Math.max(lo, rowLo[r]);
+                    hi = Math.min(hi, rowHi[r]);
+                    if (lo > hi + tolerance) {
+                        infeasible = true;
+                        return true;
+                    }
+                    if (lo > hi) hi = lo;
+                    // The model has no ranged rows: only merge if the result is LEQ, GEQ or EQ
+                    if (lo != hi && !Double.isInfinite(lo) && !Double.isInfinite(hi)) continue;
+                    rowLo[r] = lo;
+                    rowHi[r] = hi;
+                    dropRow(s);
+                    changed = true;
+                }
+            }
+        }
+        return changed;
+    }
+
+    private long rowHash(int i) {
+        double scale = 0.0;
+        long h = 19;
+        for (int p = matrix.getRowStart(i); p < matrix.getRowEnd(i); p++) {
+            final int j = matrix.getColumnIndex(p);
+            if (!colActive[j]) continue;
+            final double v = matrix.getRowValue(p);
+            if (scale == 0.0) scale = v;
+            h = 31 * h + j;
+            h = 31 * h + Math.round(v / scale * 1e6);
+        }
+        return h;
+    }
+
+    /**
+     * Returns r with row s == r * row i on all active columns, or NaN.
+     */
+    private double rowRatio(int i, int s) {
+        int p = matrix.getRowStart(i);
+        int q = matrix.getRowStart(s);
+        final int pEnd = matrix.getRowEnd(i);
+        final int qEnd = matrix.getRowEnd(s);
+        double ratio = Double.NaN;
+        while (true) {
+            while (p < pEnd && !colActive[matrix.getColumnIndex(p)]) p++;
+            while (q < qEnd && !colActive[matrix.getColumnIndex(q)]) q++;
+            if (p >= pEnd || q >= qEnd) break;
+            if (matrix.getColumnIndex(p) != matrix.getColumnIndex(q)) return Double.NaN;
+            final double vi = matrix.getRowValue(p);
+            final double vs = matrix.getRowValue(q);
+            if (vi == 0.0 || vs == 0.0) return Double.NaN;
+            if (Double.isNaN(ratio)) ratio = vs / vi;
+            else if (!close(vs, ratio * vi)) return Double.NaN;
+            p++;
+            q++;
+        }
+        return p >= pEnd && q >= qEnd ? ratio : Double.NaN;
+    }
+
+    private boolean close(double a, double b) {
+        return Math.abs(a - b) <= tolerance * (1.0 + Math.max(Math.abs(a), Math.abs(b)));
+    }
+
+    // ----- Reduced model -----
+
+    private PresolveResult buildResult(AbstractLPModel model) {
+        final int n = lb.length;
+        final int m = rowLo.length;
+        final AbstractLPModel reduced = new AbstractLPModel();
+
+        // Columns
+        final int[] colMap = new int[n];
+        int nr = 0;
+        for (int j = 0; j < n; j++) if (colActive[j]) nr++;
+        final int[] reducedToOriginal = new int[nr];
+        final String[] names = new String[nr];
+        final double[] rlb = new double[nr];
+        final double[] rub = new double[nr];
+        final double[] rcost = new double[nr];
+        for (int j = 0, k = 0; j < n; j++) {
+            colMap[j] = -1;
+            if (!colActive[j]) continue;
+            colMap[j] = k;
+            reducedToOriginal[k] = j;
+            names[k] = model.getVariableName(j);
+            rlb[k] = lb[j];
+            rub[k] = ub[j];
+            rcost[k] = cost[j];
+            k++;
+        }
+        reduced.addVariables(names, rlb, rub);
+        reduced.setObjective(rcost, model.getDirection());
+
+        // Rows (active entries only)
+        int mr = 0, nnz = 0;
+        for (int i = 0; i < m; i++) {
+            if (!rowActive[i]) continue;
+            mr++;
+            nnz += rowCount[i];
+        }
+        final String[] rowNames = new String[mr];
+        final int[] starts = new int[mr + 1];
+        final int[] cols = new int[nnz];
+        final double[] vals = new double[nnz];
+        final Constraint.Relation[] rels = new Constraint.Relation[mr];
+        final double[] rhs = new double[mr];
+        int k = 0, q = 0;
+        for (int i = 0; i < m; i++) {
+            if (!rowActive[i]) continue;
+            rowNames[k] = model.getConstraintName(i);
+            for (int p = matrix.getRowStart(i); p < matrix.getRowEnd(i); p++) {
+                final int j = matrix.getColumnIndex(p);
+                if (!colActive[j]) continue;
+                cols[q] = colMap[j];
+                vals[q] = matrix.getRowValue(p);
+                q++;
+            }
+            starts[k + 1] = q;
+            if (rowLo[i] == rowHi[i]) {
+                rels[k] = Constraint.Relation.EQ;
+                rhs[k] = rowLo[i];
+            } else if (Double.isInfinite(rowHi[i])) {
+                rels[k] = Constraint.Relation.GEQ;
+                rhs[k] = rowLo[i];
+            } else {
+                rels[k] = Constraint.Relation.LEQ;
+                rhs[k] = rowHi[i];
+            }
+            k++;
+        }
+        reduced.addRows(rowNames, starts, cols, vals, rels, rhs);
+        reduced.setPreferredSolver(model.getPreferredSolver());
+        reduced.build();
+
+        return new PresolveResult(model, reduced, reducedToOriginal, objectiveOffset, steps, false);
+    }
+}
@@ -0,0 +1,88 @@
+package org.optsolvx.presolve;
+
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.solver.LPSolution;
+import org.optsolvx.solver.LPSolverAdapter;
+import org.optsolvx.solver.SolveControl;
+import org.optsolvx.solver.SolveStatistics;
+
+import java.util.Collections;
+
+/**
+ * Decorator that runs {@link Presolver} before delegating to another backend
+ * and maps the result back onto the original model (postsolve).
+ * If presolve removes every variable and constraint, the delegate is not called.
+ */
+public final class PresolvingSolverAdapter implements LPSolverAdapter {
+
+    private final LPSolverAdapter delegate;
+    private final Presolver presolver;
+
+    public PresolvingSolverAdapter(LPSolverAdapter delegate) {
+        this(delegate, new Presolver());
+    }
+
+    public PresolvingSolverAdapter(LPSolverAdapter delegate, Presolver presolver) {
+        if (delegate == null) throw new IllegalArgumentException("Delegate must not be null.");
+        if (presolver == null) throw new IllegalArgumentException("Presolver must not be null.");
+        this.delegate = delegate;
+        this.presolver = presolver;
+    }
+
+    /**
+     * @return the wrapped backend
+     */
+    public LPSolverAdapter getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public LPSolution solve(AbstractLPModel model) {
+        return solve(model, new SolveControl());
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        return delegate.isThreadSafe();
+    }
+
+    /**
+     * Presolve always runs; the control is passed on to the delegate's solve of the reduced model.
+     */
+    @Override
+    public LPSolution solve(AbstractLPModel model, SolveControl control) {
+        if (model == null) {
+            throw new IllegalArgumentException("Model must not be null.");
+        }
+        if (!model.isBuilt()) {
+            model.build();
+        }
+        final long start = System.nanoTime();
+        final PresolveResult result = presolver.presolve(model);
+        final long presolveNanos = System.nanoTime() - start;
+        if (result.isInfeasible()) {
+            return withPresolveTimes(result.postsolve(null), presolveNanos, 0L);
+        }
+        final AbstractLPModel reduced = result.getReducedModel();
+        final LPSolution reducedSolution;
+        if (reduced.getVariableCount() == 0 && reduced.getConstraintCount() == 0) {
+            reducedSolution = new LPSolution(Collections.<String, Double>emptyMap(), 0.0, true);
+        } else {
+            reducedSolution = delegate.solve(reduced, control);
+        }
+        final long postsolveStart = System.nanoTime();
+        final LPSolution solution = result.postsolve(reducedSolution);
+        return withPresolveTimes(solution, presolveNanos, System.nanoTime() - postsolveStart);
+    }
+
+    /**
+     * Counts presolve as translation and postsolve as extraction time of the delegate's statistics.
+     */
+    private static LPSolution withPresolveTimes(LPSolution solution, long presolveNanos, long postsolveNanos) {
+        final SolveStatistics s = solution.getStatistics();
+        final SolveStatistics statistics = new SolveStatistics(s.getStatus(), s.getBackend(),
+                s.getTranslationNanos() + presolveNanos, s.getSolveNanos(),
+                s.getExtractionNanos() + postsolveNanos, s.getIterations(), s.getError());
+        return solution.withStatistics(statistics);
+    }
+}
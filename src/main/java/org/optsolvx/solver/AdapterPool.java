@@ -0,0 +1,210 @@
+package org.optsolvx.solver;
+
+import org.optsolvx.model.AbstractLPModel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of adapter instances, so that repeated solves reuse backends together with
+ * their scratch space instead of creating a fresh adapter per request.
+ * <p>
+ * - {@link #acquire()} first takes the instance the calling thread returned last (per-thread
+ * reuse), then an idle instance, and creates a new one only if neither exists.
+ * - {@link Lease#close()} keeps the instance for the calling thread; if that slot is taken it
+ * goes back to the shared idle queue, which holds at most {@link #getMaxIdle()} instances.
+ * Surplus instances are dropped. Each thread keeps at most one instance of its own.
+ * - Adapters that declare themselves {@link LPSolverAdapter#isThreadSafe() thread-safe} are
+ * created once and shared.
+ * - An instance whose {@link LPSolverAdapter#getWorkspaceBytes() scratch space} exceeds
+ * {@link #getMaxRetainedBytes()} when it is returned drops it first, so one unusually large
+ * model does not pin its arrays in a thread slot for the lifetime of the thread.
+ * {@link #trim()} drops the scratch space of all idle instances on demand.
+ * <p>
+ * The pool itself is a thread-safe {@link LPSolverAdapter}: {@link #solve} borrows an instance
+ * for the duration of the call. Callers changing settings of a borrowed instance (start basis,
+ * tolerances, ...) must restore them before returning it.
+ * <pre>
+ * try (AdapterPool.Lease lease = SolverRegistry.pool("ojalgo").acquire()) {
+ *     LPSolution solution = lease.getAdapter().solve(model);
+ * }
+ * </pre>
+ */
+public final class AdapterPool implements LPSolverAdapter {
+
+    /**
+     * Default limit of the scratch space an instance may keep when it returns to the pool (64 MiB).
+     */
+    public static final long DEFAULT_MAX_RETAINED_BYTES = 64L << 20;
+
+    private final Supplier<? extends LPSolverAdapter> factory;
+    private final int maxIdle;
+    private final long maxRetainedBytes;
+    private final BlockingQueue<LPSolverAdapter> idle;
+    private final ThreadLocal<LPSolverAdapter> local = new ThreadLocal<>();
+    private final AtomicLong created = new AtomicLong();
+    private volatile LPSolverAdapter shared;
+
+    /**
+     * Pool keeping up to one idle instance per processor.
+     *
+     * @param factory creates new instances
+     */
+    public AdapterPool(Supplier<? extends LPSolverAdapter> factory) {
+        this(factory, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param factory creates new instances
+     * @param maxIdle maximum number of instances kept in the shared idle queue
+     */
+    public AdapterPool(Supplier<? extends LPSolverAdapter> factory, int maxIdle) {
+        this(factory, maxIdle, DEFAULT_MAX_RETAINED_BYTES);
+    }
+
+    /**
+     * @param factory          creates new instances
+     * @param maxIdle          maximum number of instances kept in the shared idle queue
+     * @param maxRetainedBytes returned instances keeping more scratch space than this drop it
+     */
+    public AdapterPool(Supplier<? extends LPSolverAdapter> factory, int maxIdle, long maxRetainedBytes) {
+        if (factory == null) throw new IllegalArgumentException("Factory must not be null.");
+        if (maxIdle < 1) throw new IllegalArgumentException("maxIdle must be positive: " + maxIdle);
+        if (maxRetainedBytes < 0L) {
+            throw new IllegalArgumentException("maxRetainedBytes must not be negative: " + maxRetainedBytes);
+        }
+        this.factory = factory;
+        this.maxIdle = maxIdle;
+        this.maxRetainedBytes = maxRetainedBytes;
+        this.idle = new ArrayBlockingQueue<>(maxIdle);
+    }
+
+    /**
+     * Borrows an instance; close the lease to return it.
+     *
+     * @return lease of an instance used by no other lease
+     */
+    public Lease acquire() {
+        final LPSolverAdapter sharedAdapter = shared;
+        if (sharedAdapter != null) return new Lease(this, sharedAdapter, false);
+        LPSolverAdapter adapter = local.get();
+        if (adapter != null) {
+            local.remove();
+        } else {
+            adapter = idle.poll();
+        }
+        if (adapter == null) {
+            adapter = factory.get();
+            if (adapter == null) throw new IllegalStateException("Adapter factory returned null.");
+            created.incrementAndGet();
+            if (adapter.isThreadSafe()) {
+                shared = adapter;
+                return new Lease(this, adapter, false);
+            }
+        }
+        return new Lease(this, adapter, true);
+    }
+
+    private void release(LPSolverAdapter adapter) {
+        if (adapter.getWorkspaceBytes() > maxRetainedBytes) adapter.clearWorkspace();
+        if (local.get() == null) {
+            local.set(adapter);
+        } else {
+            idle.offer(adapter); // dropped if the queue is full
+        }
+    }
+
+    /**
+     * Drops the scratch space of the idle instances and of the instance kept for the calling
+     * thread. Instances kept by other threads are trimmed when they are next returned; a shared
+     * thread-safe instance is left alone, as it may be in use.
+     */
+    public void trim() {
+        final LPSolverAdapter own = local.get();
+        if (own != null) own.clearWorkspace();
+        final List<LPSolverAdapter> drained = new ArrayList<>(maxIdle);
+        idle.drainTo(drained);
+        for (LPSolverAdapter adapter : drained) {
+            adapter.clearWorkspace();
+            idle.offer(adapter);
+        }
+    }
+
+    @Override
+    public LPSolution solve(AbstractLPModel model) {
+        try (Lease lease = acquire()) {
+            return lease.getAdapter().solve(model);
+        }
+    }
+
+    @Override
+    public LPSolution solve(AbstractLPModel model, SolveControl control) {
+        try (Lease lease = acquire()) {
+            return lease.getAdapter().solve(model, control);
+        }
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
+    public int getMaxIdle() {
+        return maxIdle;
+    }
+
+    /**
+     * @return limit of the scratch space an instance may keep when it returns to the pool, in bytes
+     */
+    public long getMaxRetainedBytes() {
+        return maxRetainedBytes;
+    }
+
+    /**
+     * @return number of instances in the shared idle queue (not counting per-thread instances)
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * @return number of instances created so far
+     */
+    public long getCreatedCount() {
+        return created.get();
+    }
+
+    /**
+     * A borrowed adapter instance; closing returns it to the pool (only the first close counts).
+     */
+    public static final class Lease implements AutoCloseable {
+        private final AdapterPool pool;
+        private final LPSolverAdapter adapter;
+        private boolean open;
+
+        private Lease(AdapterPool pool, LPSolverAdapter adapter, boolean pooled) {
+            this.pool = pool;
+            this.adapter = adapter;
+            this.open = pooled;
+        }
+
+        /**
+         * @return the borrowed instance; not to be used after {@link #close()}
+         */
+        public LPSolverAdapter getAdapter() {
+            return adapter;
+        }
+
+        @Override
+        public void close() {
+            if (open) {
+                open = false;
+                pool.release(adapter);
+            }
+        }
+    }
+}
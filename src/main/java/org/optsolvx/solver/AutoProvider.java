@@ -0,0 +1,17 @@
+package org.optsolvx.solver;
+
+/**
+ * Registers {@link AutoSolver} as {@code "auto"}; see {@link SolverProvider}.
+ */
+public final class AutoProvider implements SolverProvider {
+
+    @Override
+    public String getName() {
+        return AutoSolver.NAME;
+    }
+
+    @Override
+    public LPSolverAdapter create() {
+        return new AutoSolver();
+    }
+}
@@ -0,0 +1,82 @@
+package org.optsolvx.solver;
+
+import org.optsolvx.model.AbstractLPModel;
+
+/**
+ * Backend that picks a registered backend per model from cheap model statistics
+ * (registered as {@code "auto"}, the default of {@link OptSolvXConfig}).
+ * <p>
+ * Every solve computes the {@link ModelProfile} of the model, asks the {@link BackendSelector}
+ * for a backend name and solves with an instance borrowed from that backend's
+ * {@link SolverRegistry#pool(String) pool}; the statistics of the solution
+ * name the chosen backend. Times of optimal solves are reported back to the selector, which uses
+ * them if learning is enabled. Instances created by the registry share {@link #getSharedSelector()},
+ * so measurements accumulate over the whole process.
+ * Thread-safe: the chosen backend is borrowed per solve.
+ */
+public final class AutoSolver implements LPSolverAdapter {
+
+    /**
+     * Registry name of this adapter.
+     */
+    public static final String NAME = "auto";
+
+    private static final BackendSelector SHARED = new BackendSelector();
+
+    private final BackendSelector selector;
+
+    /**
+     * Uses the process-wide {@link #getSharedSelector() selector}.
+     */
+    public AutoSolver() {
+        this(SHARED);
+    }
+
+    /**
+     * @param selector rule table and measurements to use
+     */
+    public AutoSolver(BackendSelector selector) {
+        if (selector == null) throw new IllegalArgumentException("Selector must not be null.");
+        this.selector = selector;
+    }
+
+    /**
+     * @return the selector shared by all instances created with {@link #AutoSolver()}
+     */
+    public static BackendSelector getSharedSelector() {
+        return SHARED;
+    }
+
+    public BackendSelector getSelector() {
+        return selector;
+    }
+
+    /**
+     * @return name of the backend the selector chooses for {@code model} (built on demand)
+     */
+    public String choose(AbstractLPModel model) {
+        return selector.select(ModelProfile.of(model));
+    }
+
+    @Override
+    public LPSolution solve(AbstractLPModel model) {
+        return solve(model, new SolveControl());
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
+    @Override
+    public LPSolution solve(AbstractLPModel model, SolveControl control) {
+        final ModelProfile profile = ModelProfile.of(model);
+        final String backend = selector.select(profile);
+        final long start = System.nanoTime();
+        final LPSolution solution = SolverRegistry.pool(backend).solve(model, control);
+        if (solution.getStatistics().getStatus() == SolveStatus.OPTIMAL) {
+            selector.record(profile, backend, System.nanoTime() - start);
+        }
+        return solution;
+    }
+}
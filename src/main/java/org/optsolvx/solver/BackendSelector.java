@@ -0,0 +1,279 @@
+package org.optsolvx.solver;
+
+import org.optsolvx.backend.commonsmath.CommonsMathSolver;
+import org.optsolvx.backend.ojalgo.OjAlgoSolver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Chooses a backend from a {@link ModelProfile}, for the {@code "auto"} backend ({@link AutoSolver}).
+ * <p>
+ * - The rule table is checked in order; the first rule whose condition holds names the backend,
+ * {@link #getFallback()} if none does. The default table:
+ * tiny models (at most 10000 matrix cells, at most half of the variables free) go to
+ * {@code "commons-math"}, whose dense tableau is cheapest there; dense models (density &gt;= 0.2,
+ * at most 5000 rows plus columns, less than half EQ rows) to {@code "ojalgo"}, which is also the
+ * fallback for everything else.
+ * - With learning enabled ({@link #setLearning}), measured solve times are kept per backend and
+ * {@link ModelProfile#getSizeBucket() size bucket} as a moving average. Once at least two backends
+ * have {@value #MIN_SAMPLES} measurements in a bucket, the fastest one is chosen there. Every
+ * {@link #getExplorationInterval() n-th} selection in a bucket tries the least measured backend
+ * of the table instead, so alternatives get measured at all.
+ * <p>
+ * Thread-safe.
+ */
+public final class BackendSelector {
+
+    /**
+     * Measurements a backend needs in a bucket before its average is trusted.
+     */
+    public static final int MIN_SAMPLES = 3;
+
+    private static final double SMOOTHING = 0.2;
+
+    private List<Rule> rules = getDefaultRules();
+    private String fallback = OjAlgoSolver.NAME;
+    private boolean learning;
+    private int explorationInterval = 20;
+
+    // Size bucket -> backend -> timing, guarded by this
+    private final Map<Integer, Bucket> buckets = new HashMap<>();
+
+    /**
+     * One row of the rule table: a condition on the profile and the backend to use if it holds.
+     */
+    public static final class Rule {
+        private final String backend;
+        private final Predicate<ModelProfile> condition;
+
+        /**
+         * @param backend   name of a registered backend
+         * @param condition when the backend is chosen
+         */
+        public Rule(String backend, Predicate<ModelProfile> condition) {
+            if (backend == null || backend.isEmpty()) throw new IllegalArgumentException("Backend must not be empty.");
+            if (condition == null) throw new IllegalArgumentException("Condition must not be null.");
+            this.backend = backend;
+            this.condition = condition;
+        }
+
+        public String getBackend() {
+            return backend;
+        }
+
+        public boolean matches(ModelProfile profile) {
+            return condition.test(profile);
+        }
+    }
+
+    /**
+     * @return the built-in rule table (a new modifiable list)
+     */
+    public static List<Rule> getDefaultRules() {
+        return new ArrayList<>(Arrays.asList(
+                new Rule(CommonsMathSolver.NAME, p -> (long) p.getVariables() * p.getConstraints() <= 10_000L
+                        && p.getFreeShare() <= 0.5),
+                new Rule(OjAlgoSolver.NAME, p -> p.getDensity() >= 0.2
+                        && p.getVariables() + p.getConstraints() <= 5_000
+                        && p.getEqualityShare() < 0.5)));
+    }
+
+    /**
+     * @return the rule table (unmodifiable)
+     */
+    public synchronized List<Rule> getRules() {
+        return Collections.unmodifiableList(rules);
+    }
+
+    /**
+     * Replaces the rule table; backends must be registered in {@link SolverRegistry}.
+     */
+    public synchronized void setRules(List<Rule> rules) {
+        if (rules == null) throw new IllegalArgumentException("Rules must not be null.");
+        for (Rule rule : rules) {
+            checkRegistered(rule.getBackend());
+        }
+        this.rules = new ArrayList<>(rules);
+    }
+
+    /**
+     * @return backend used if no rule matches, default {@code "ojalgo"}
+     */
+    public synchronized String getFallback() {
+        return fallback;
+    }
+
+    public synchronized void setFallback(String fallback) {
+        checkRegistered(fallback);
+        this.fallback = fallback;
+    }
+
+    public synchronized boolean isLearning() {
+        return learning;
+    }
+
+    /**
+     * Enables choosing by measured solve times (default: off, rules only).
+     */
+    public synchronized void setLearning(boolean learning) {
+        this.learning = learning;
+    }
+
+    /**
+     * @return every how many selections in a bucket a less measured backend is tried, 0 for never
+     */
+    public synchronized int getExplorationInterval() {
+        return explorationInterval;
+    }
+
+    public synchronized void setExplorationInterval(int explorationInterval) {
+        if (explorationInterval < 0) {
+            throw new IllegalArgumentException("Exploration interval must be >= 0: " + explorationInterval);
+        }
+        this.explorationInterval = explorationInterval;
+    }
+
+    /**
+     * @param profile statistics of the model to solve
+     * @return name of the backend to use
+     */
+    public synchronized String select(ModelProfile profile) {
+        if (profile == null) throw new IllegalArgumentException("Profile must not be null.");
+        final String ruled = ruleFor(profile);
+        if (!learning) return ruled;
+        final Bucket bucket = bucket(profile);
+        bucket.selections++;
+        if (explorationInterval > 0 && bucket.selections % explorationInterval == 0) {
+            return bucket.leastMeasured(candidates());
+        }
+        final String fastest = bucket.fastest();
+        return fastest != null ? fastest : ruled;
+    }
+
+    /**
+     * Records the time a backend needed for a model; ignored while learning is off.
+     *
+     * @param profile statistics of the solved model
+     * @param backend backend that solved it
+     * @param nanos   wall-clock time of the solve
+     */
+    public synchronized void record(ModelProfile profile, String backend, long nanos) {
+        if (profile == null || backend == null) throw new IllegalArgumentException("Profile and backend must not be null.");
+        if (nanos < 0) throw new IllegalArgumentException("Time must be >= 0: " + nanos);
+        if (!learning) return;
+        bucket(profile).record(backend, nanos);
+    }
+
+    /**
+     * @return average measured nanoseconds of the backend in the profile's bucket, NaN without measurements
+     */
+    public synchronized double getAverageNanos(ModelProfile profile, String backend) {
+        final Bucket bucket = buckets.get(profile.getSizeBucket());
+        final Timing timing = bucket == null ? null : bucket.timings.get(backend);
+        return timing == null ? Double.NaN : timing.average;
+    }
+
+    /**
+     * Forgets all measurements.
+     */
+    public synchronized void clearMeasurements() {
+        buckets.clear();
+    }
+
+    private String ruleFor(ModelProfile profile) {
+        for (Rule rule : rules) {
+            if (rule.matches(profile)) return rule.getBackend();
+        }
+        return fallback;
+    }
+
+    private Set<String> candidates() {
+        final Set<String> names = new LinkedHashSet<>();
+        for (Rule rule : rules) {
+            names.add(rule.getBackend());
+        }
+        names.add(fallback);
+        return names;
+    }
+
+    private Bucket bucket(ModelProfile profile) {
+        final Integer key = profile.getSizeBucket();
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = new Bucket();
+            buckets.put(key, bucket);
+        }
+        return bucket;
+    }
+
+    private static void checkRegistered(String backend) {
+        if (!SolverRegistry.has(backend)) {
+            throw new IllegalArgumentException("Unknown solver: " + backend + " (known: " + SolverRegistry.names() + ")");
+        }
+    }
+
+    private static final class Bucket {
+        final Map<String, Timing> timings = new HashMap<>();
+        long selections;
+
+        void record(String backend, long nanos) {
+            final Timing timing = timings.get(backend);
+            if (timing == null) {
+                timings.put(backend, new Timing(nanos));
+            } else {
+                timing.samples++;
+                timing.average += SMOOTHING * (nanos - timing.average);
+            }
+        }
+
+        /**
+         * @return fastest backend if at least two are measured often enough, else null
+         */
+        String fastest() {
+            String best = null;
+            double bestAverage = Double.POSITIVE_INFINITY;
+            int trusted = 0;
+            for (Map.Entry<String, Timing> e : timings.entrySet()) {
+                final Timing timing = e.getValue();
+                if (timing.samples < MIN_SAMPLES) continue;
+                trusted++;
+                if (timing.average < bestAverage) {
+                    bestAverage = timing.average;
+                    best = e.getKey();
+                }
+            }
+            return trusted >= 2 ? best : null;
+        }
+
+        String leastMeasured(Set<String> candidates) {
+            String least = null;
+            int fewest = Integer.MAX_VALUE;
+            for (String name : candidates) {
+                final Timing timing = timings.get(name);
+                final int samples = timing == null ? 0 : timing.samples;
+                if (samples < fewest) {
+                    fewest = samples;
+                    least = name;
+                }
+            }
+            return least;
+        }
+    }
+
+    private static final class Timing {
+        int samples = 1;
+        double average;
+
+        Timing(long nanos) {
+            this.average = nanos;
+        }
+    }
+}
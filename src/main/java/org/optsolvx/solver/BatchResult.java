@@ -0,0 +1,54 @@
+package org.optsolvx.solver;
+
+/**
+ * Outcome of one model of a {@link BatchSolver} run: either a solution or the
+ * exception the backend threw for that model.
+ */
+public final class BatchResult {
+
+    private final int index;
+    private final LPSolution solution;
+    private final RuntimeException failure;
+
+    BatchResult(int index, LPSolution solution, RuntimeException failure) {
+        this.index = index;
+        this.solution = solution;
+        this.failure = failure;
+    }
+
+    /**
+     * @return position of the model in the input list
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return true if the backend returned a solution (feasible or not)
+     */
+    public boolean isSuccess() {
+        return failure == null;
+    }
+
+    /**
+     * @return the solution, or null if solving failed
+     */
+    public LPSolution getSolution() {
+        return solution;
+    }
+
+    /**
+     * @return the exception thrown while solving, or null on success
+     */
+    public RuntimeException getFailure() {
+        return failure;
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess()
+                ? "BatchResult{index=" + index + ", feasible=" + solution.isFeasible()
+                + ", objective=" + solution.getObjectiveValue() + "}"
+                : "BatchResult{index=" + index + ", failure=" + failure + "}";
+    }
+}
@@ -0,0 +1,126 @@
+package org.optsolvx.solver;
+
+import org.optsolvx.model.AbstractLPModel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Solves many independent models in parallel.
+ * <p>
+ * At most {@link #getParallelism()} workers run on the given executor. Each worker creates
+ * one backend instance and reuses it for all models it takes; models are handed out one at a
+ * time from a shared counter, so long and short solves balance out. Results keep the input
+ * order. An exception thrown for one model is stored in its {@link BatchResult} and the
+ * worker continues with a fresh backend instance; the batch is not aborted.
+ * <pre>
+ * List&lt;BatchResult&gt; results = new BatchSolver("ojalgo").solveAll(models, executor);
+ * </pre>
+ */
+public final class BatchSolver {
+
+    private final Supplier<? extends LPSolverAdapter> adapters;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * @param adapters creates one backend instance per worker
+     */
+    public BatchSolver(Supplier<? extends LPSolverAdapter> adapters) {
+        if (adapters == null) throw new IllegalArgumentException("Adapter supplier must not be null.");
+        this.adapters = adapters;
+    }
+
+    /**
+     * @param solver name of a backend registered in {@link SolverRegistry}
+     */
+    public BatchSolver(String solver) {
+        if (!SolverRegistry.has(solver)) {
+            throw new IllegalArgumentException("Unknown solver: " + solver + " (known: " + SolverRegistry.names() + ")");
+        }
+        this.adapters = () -> SolverRegistry.create(solver);
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @param parallelism maximum number of concurrently solved models; default: number of processors
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Solves all models on the common ForkJoin pool.
+     *
+     * @see #solveAll(List, ExecutorService)
+     */
+    public List<BatchResult> solveAll(List<? extends AbstractLPModel> models) {
+        return solveAll(models, null);
+    }
+
+    /**
+     * Solves all models, using at most {@link #getParallelism()} threads of {@code executor}.
+     * Models that are not built are built by the worker solving them; a model must not
+     * appear twice in the list.
+     *
+     * @param models   models to solve
+     * @param executor executor running the workers (null: common ForkJoin pool); not shut down here
+     * @return one result per model, in input order
+     */
+    public List<BatchResult> solveAll(List<? extends AbstractLPModel> models, ExecutorService executor) {
+        if (models == null) throw new IllegalArgumentException("Models must not be null.");
+        final int n = models.size();
+        final BatchResult[] results = new BatchResult[n];
+        if (n == 0) return Collections.emptyList();
+
+        final AtomicInteger next = new AtomicInteger();
+        final int workers = Math.min(parallelism, n);
+        final ExecutorService pool = executor != null ? executor : ForkJoinPool.commonPool();
+        final List<Future<?>> futures = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            futures.add(pool.submit(() -> work(models, results, next)));
+        }
+        for (Future<?> f : futures) {
+            try {
+                f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                next.set(n); // stop handing out models
+                throw new IllegalStateException("Interrupted while waiting for batch workers.", e);
+            } catch (ExecutionException e) {
+                // Only raised for Errors (or a failing adapter supplier): not recoverable per model
+                next.set(n);
+                final Throwable cause = e.getCause();
+                if (cause instanceof Error) throw (Error) cause;
+                throw new IllegalStateException("Batch worker failed.", cause);
+            }
+        }
+        return Collections.unmodifiableList(Arrays.asList(results));
+    }
+
+    private void work(List<? extends AbstractLPModel> models, BatchResult[] results, AtomicInteger next) {
+        final int n = models.size();
+        LPSolverAdapter adapter = null;
+        int i;
+        while ((i = next.getAndIncrement()) < n) {
+            if (adapter == null) adapter = adapters.get();
+            try {
+                results[i] = new BatchResult(i, adapter.solve(models.get(i)), null);
+            } catch (RuntimeException e) {
+                results[i] = new BatchResult(i, null, e);
+                adapter = null; // do not reuse a backend in an unknown state
+            }
+        }
+    }
+}
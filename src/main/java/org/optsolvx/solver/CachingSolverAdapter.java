@@ -0,0 +1,208 @@
+package org.optsolvx.solver;
+
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.NameIndex;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decorator that remembers solutions by {@link AbstractLPModel#getFingerprint() model fingerprint},
+ * so a model that was solved before is answered from memory instead of being solved again.
+ * <p>
+ * - The cache is bounded by an entry count and by the total number of stored variable values;
+ * the least recently used entries are evicted first.
+ * - Only definite results (optimal, feasible, infeasible, unbounded) are stored; errors,
+ * iteration and time limits and cancelled solves are solved again next time.
+ * - A hit returns the stored values (an unmodifiable map) with statistics of the lookup: status
+ * and backend of the original solve, the lookup time as solve time and 0 iterations.
+ * - Hits check variable, constraint and non-zero counts and the variable and constraint names
+ * besides the fingerprint, and the returned solution looks names up in the requesting model.
+ * <p>
+ * Thread-safe if the delegate is: lookups and inserts take a short lock, solves run outside it.
+ * Concurrent misses on the same model may solve it more than once.
+ * <pre>
+ * LPSolverAdapter cached = new CachingSolverAdapter(OptSolvXConfig.resolve(model, null));
+ * </pre>
+ */
+public final class CachingSolverAdapter implements LPSolverAdapter {
+
+    /**
+     * Default entry limit.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 1_024;
+
+    /**
+     * Default limit for the total number of stored variable values.
+     */
+    public static final long DEFAULT_MAX_VALUES = 10_000_000L;
+
+    private final LPSolverAdapter delegate;
+    private final int maxEntries;
+    private final long maxValues;
+
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true); // access order
+    private long storedValues;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public CachingSolverAdapter(LPSolverAdapter delegate) {
+        this(delegate, DEFAULT_MAX_ENTRIES, DEFAULT_MAX_VALUES);
+    }
+
+    /**
+     * @param delegate   backend solving cache misses
+     * @param maxEntries maximum number of cached solutions
+     * @param maxValues  maximum total number of variable values over all cached solutions;
+     *                   larger solutions are not cached
+     */
+    public CachingSolverAdapter(LPSolverAdapter delegate, int maxEntries, long maxValues) {
+        if (delegate == null) throw new IllegalArgumentException("Delegate must not be null.");
+        if (maxEntries < 1) throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        if (maxValues < 1) throw new IllegalArgumentException("maxValues must be positive: " + maxValues);
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.maxValues = maxValues;
+    }
+
+    /**
+     * @return the wrapped backend
+     */
+    public LPSolverAdapter getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public LPSolution solve(AbstractLPModel model) {
+        return solve(model, new SolveControl());
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        return delegate.isThreadSafe();
+    }
+
+    /**
+     * A hit is returned even if the control has already stopped; a miss passes the control on.
+     */
+    @Override
+    public LPSolution solve(AbstractLPModel model, SolveControl control) {
+        if (model == null) {
+            throw new IllegalArgumentException("Model must not be null.");
+        }
+        if (!model.isBuilt()) {
+            model.build();
+        }
+        final long start = System.nanoTime();
+        final long fingerprint = model.getFingerprint();
+        final int n = model.getVariableCount();
+        final int m = model.getConstraintCount();
+        final int nonZeros = model.getMatrix().getNonZeroCount();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(fingerprint);
+        }
+        if (entry != null && entry.matches(model, n, m, nonZeros)) {
+            hits.incrementAndGet();
+            final LPSolution s = entry.solution;
+            final SolveStatistics original = s.getStatistics();
+            return s.withNames(model).withStatistics(new SolveStatistics(original.getStatus(),
+                    original.getBackend(), 0L, System.nanoTime() - start, 0L, 0, null));
+        }
+        misses.incrementAndGet();
+        final LPSolution solution = delegate.solve(model, control);
+        final SolveStatus status = solution.getStatistics().getStatus();
+        if (!isDefinite(status) || n > maxValues) {
+            return solution;
+        }
+        final LPSolution stored = solution.readOnly();
+        put(fingerprint, new Entry(stored, model, nonZeros));
+        return stored;
+    }
+
+    /**
+     * @return number of solves answered from the cache
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of solves passed to the delegate
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return number of entries evicted to respect the limits
+     */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * @return number of cached solutions
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Removes all cached solutions; the counters are kept.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            storedValues = 0L;
+        }
+    }
+
+    private static boolean isDefinite(SolveStatus status) {
+        return status.hasSolution() || status == SolveStatus.INFEASIBLE || status == SolveStatus.UNBOUNDED;
+    }
+
+    private void put(long fingerprint, Entry entry) {
+        synchronized (entries) {
+            final Entry previous = entries.put(fingerprint, entry);
+            if (previous != null) storedValues -= previous.variables;
+            storedValues += entry.variables;
+            final Iterator<Entry> eldest = entries.values().iterator();
+            while (entries.size() > maxEntries || storedValues > maxValues) {
+                final Entry evicted = eldest.next();
+                eldest.remove();
+                storedValues -= evicted.variables;
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private static final class Entry {
+        final LPSolution solution;
+        final int variables;
+        final int constraints;
+        final int nonZeros;
+        final NameIndex variableNames;
+        final NameIndex constraintNames;
+
+        Entry(LPSolution solution, AbstractLPModel model, int nonZeros) {
+            this.solution = solution;
+            this.variables = model.getVariableCount();
+            this.constraints = model.getConstraintCount();
+            this.nonZeros = nonZeros;
+            this.variableNames = model.getVariableNameIndex();
+            this.constraintNames = model.getConstraintNameIndex();
+        }
+
+        boolean matches(AbstractLPModel model, int variables, int constraints, int nonZeros) {
+            return this.variables == variables && this.constraints == constraints && this.nonZeros == nonZeros
+                    && variableNames.equals(model.getVariableNameIndex())
+                    && constraintNames.equals(model.getConstraintNameIndex());
+        }
+    }
+}
@@ -1,21 +1,230 @@
 package org.optsolvx.solver;
 
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.NameIndex;
+import org.optsolvx.model.SparseMatrix;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
+/**
+ * Result of a solve: variable values, objective, status and, if the backend provides them,
+ * row information as primitive arrays indexed like the model's variables and constraints.
+ * <p>
+ * Backends store the values as a {@code double[]} together with the model's shared
+ * {@link NameIndex}, 8 bytes per variable; {@link #getVariableValues()} is a read-only map view
+ * over that array, created on first use. Solutions built from a map keep that map instead.
+ * <p>
+ * - Row activities {@code a_i·x} and slacks {@code rhs_i - a_i·x} (non-negative for satisfied LEQ
+ * rows, non-positive for satisfied GEQ rows) are available for every solution built from the
+ * model ({@link #hasRowActivities()}).
+ * - Duals (shadow prices) are the change of the objective per unit increase of a right-hand
+ * side, in the model's own direction: for MAXIMIZE a binding LEQ row has a dual &gt;= 0.
+ * Reduced costs are {@code c_j - sum_i dual_i·a_ij}, the objective change per unit increase of a
+ * variable at its bound. Both are available if the backend computed duals ({@link #hasDuals()}).
+ * <p>
+ * Array getters return copies; the indexed and name-based getters read the arrays directly.
+ */
 public class LPSolution {
 
-    private final Map<String, Double> variableValues; // Variable name -> value
     private final double objectiveValue;
     private final boolean feasible; // true if solution is feasible
+    private final SolveStatistics statistics;
+
+    // Variable values: array + shared names, or a map for solutions built from one
+    private final NameIndex variableNames;
+    private final double[] values;
+    private volatile Map<String, Double> variableValues; // lazy view over values
+
+    // Row information, null if not available
+    private final NameIndex constraintNames;
+    private final double[] rowActivities;
+    private final double[] slacks;
+    private final double[] duals;
+    private final double[] reducedCosts;
 
+    /**
+     * Creates a solution without timings; its status is OPTIMAL if feasible, INFEASIBLE otherwise.
+     */
     public LPSolution(Map<String, Double> variableValues, double objectValue, boolean feasible) {
+        this(variableValues, objectValue, feasible, SolveStatistics.unknown(feasible));
+    }
+
+    public LPSolution(Map<String, Double> variableValues, double objectValue, boolean feasible,
+                      SolveStatistics statistics) {
+        this(null, null, variableValues, objectValue, feasible, statistics, null, null, null, null, null);
+    }
+
+    /**
+     * Creates a solution without row information.
+     *
+     * @param variableNames names of the variables, usually {@link AbstractLPModel#getVariableNameIndex()}
+     * @param values        variable values indexed like the names (owned by the solution)
+     */
+    public LPSolution(NameIndex variableNames, double[] values, double objectValue, boolean feasible,
+                      SolveStatistics statistics) {
+        this(variableNames, values, null, objectValue, feasible, statistics, null, null, null, null, null);
+        if (values.length != variableNames.size()) {
+            throw new IllegalArgumentException("Expected " + variableNames.size() + " values, got "
+                    + values.length + ".");
+        }
+    }
+
+    /**
+     * Creates a solution with row activities and slacks computed from {@code values}, and reduced
+     * costs from {@code duals} if given.
+     *
+     * @param model  the solved, built model; rows and costs are read, only its name indices are kept
+     * @param values variable values indexed like the model's variables (owned by the solution)
+     * @param duals  row duals indexed like the model's constraints (owned by the solution), or null
+     */
+    public LPSolution(AbstractLPModel model, double[] values, double[] duals, double objectValue,
+                      boolean feasible, SolveStatistics statistics) {
+        if (statistics == null) {
+            throw new IllegalArgumentException("Statistics must not be null.");
+        }
+        final int n = model.getVariableCount();
+        final int m = model.getConstraintCount();
+        if (values.length != n || (duals != null && duals.length != m)) {
+            throw new IllegalArgumentException("Expected " + n + " values and " + m + " duals, got "
+                    + values.length + " and " + (duals == null ? 0 : duals.length) + ".");
+        }
+        this.objectiveValue = objectValue;
+        this.feasible = feasible;
+        this.statistics = statistics;
+        this.variableNames = model.getVariableNameIndex();
+        this.values = values;
+        this.constraintNames = model.getConstraintNameIndex();
+
+        final SparseMatrix matrix = model.getMatrix();
+        rowActivities = new double[m];
+        slacks = new double[m];
+        for (int i = 0; i < m; i++) {
+            double activity = 0.0;
+            for (int p = matrix.getRowStart(i); p < matrix.getRowEnd(i); p++) {
+                activity += matrix.getRowValue(p) * values[matrix.getColumnIndex(p)];
+            }
+            rowActivities[i] = activity;
+            slacks[i] = model.getConstraintRhs(i) - activity;
+        }
+        this.duals = duals;
+        if (duals == null) {
+            reducedCosts = null;
+        } else {
+            reducedCosts = new double[n];
+            for (int j = 0; j < n; j++) {
+                double d = model.getObjectiveCoefficient(j);
+                for (int p = matrix.getColumnStart(j); p < matrix.getColumnEnd(j); p++) {
+                    d -= duals[matrix.getRowIndex(p)] * matrix.getColumnValue(p);
+                }
+                reducedCosts[j] = d;
+            }
+        }
+    }
+
+    private LPSolution(NameIndex variableNames, double[] values, Map<String, Double> variableValues,
+                       double objectValue, boolean feasible, SolveStatistics statistics,
+                       NameIndex constraintNames, double[] rowActivities, double[] slacks, double[] duals,
+                       double[] reducedCosts) {
+        if (statistics == null) {
+            throw new IllegalArgumentException("Statistics must not be null.");
+        }
+        this.variableNames = variableNames;
+        this.values = values;
         this.variableValues = variableValues;
         this.objectiveValue = objectValue;
         this.feasible = feasible;
+        this.statistics = statistics;
+        this.constraintNames = constraintNames;
+        this.rowActivities = rowActivities;
+        this.slacks = slacks;
+        this.duals = duals;
+        this.reducedCosts = reducedCosts;
+    }
+
+    /**
+     * Creates a solution without values: every variable 0, objective NaN, not feasible.
+     * Used by backends that stop before or without finding a point.
+     *
+     * @param model      the model whose variable names are listed
+     * @param statistics status and timings of the attempt
+     */
+    public static LPSolution unsolved(AbstractLPModel model, SolveStatistics statistics) {
+        return new LPSolution(model.getVariableNameIndex(), new double[model.getVariableCount()], Double.NaN,
+                false, statistics);
+    }
+
+    /**
+     * @return a copy of this solution with other statistics, keeping values and row information
+     */
+    public LPSolution withStatistics(SolveStatistics statistics) {
+        return new LPSolution(variableNames, values, variableValues, objectiveValue, feasible, statistics,
+                constraintNames, rowActivities, slacks, duals, reducedCosts);
     }
 
+    /**
+     * @return a copy of this solution reading its names from {@code model}, which must have the same
+     * variable and constraint names; solutions built from a map are returned as they are
+     */
+    LPSolution withNames(AbstractLPModel model) {
+        if (values == null) return this;
+        return new LPSolution(model.getVariableNameIndex(), values, null, objectiveValue, feasible, statistics,
+                constraintNames == null ? null : model.getConstraintNameIndex(), rowActivities, slacks, duals,
+                reducedCosts);
+    }
+
+    /**
+     * @return this solution if its values are array-backed (the map view is read-only), otherwise
+     * a copy with an unmodifiable view of its map
+     */
+    LPSolution readOnly() {
+        if (values != null) return this;
+        return new LPSolution(null, null, Collections.unmodifiableMap(variableValues), objectiveValue, feasible,
+                statistics, constraintNames, rowActivities, slacks, duals, reducedCosts);
+    }
+
+    /**
+     * @return variable name -> value, in variable order; a read-only view for array-backed solutions
+     */
     public Map<String, Double> getVariableValues() {
-        return variableValues;
+        Map<String, Double> map = variableValues;
+        if (map == null) {
+            map = new ValueView(variableNames, values);
+            variableValues = map;
+        }
+        return map;
+    }
+
+    /**
+     * @return value of the named variable
+     * @throws IllegalArgumentException if there is no such variable
+     */
+    public double getVariableValue(String variable) {
+        if (values != null) return values[variableNames.require(variable)];
+        final Double value = variableValues.get(variable);
+        if (value == null) throw new IllegalArgumentException("No such variable: " + variable);
+        return value;
+    }
+
+    /**
+     * @return value of the variable at the given index
+     * @throws IllegalStateException if the solution was built from a map
+     */
+    public double getVariableValue(int column) {
+        return require(values, "indexed values")[column];
+    }
+
+    /**
+     * @return variable values indexed like the model's variables (copy)
+     * @throws IllegalStateException if the solution was built from a map
+     */
+    public double[] getVariableValueArray() {
+        return require(values, "indexed values").clone();
     }
 
     public double getObjectiveValue() {
@@ -25,4 +234,155 @@ public class LPSolution {
     public boolean isFeasible() {
         return feasible;
     }
+
+    /**
+     * @return status, phase timings and iteration count of the solve that produced this solution
+     */
+    public SolveStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * @return true if row activities and slacks are available
+     */
+    public boolean hasRowActivities() {
+        return rowActivities != null;
+    }
+
+    /**
+     * @return true if duals and reduced costs are available
+     */
+    public boolean hasDuals() {
+        return duals != null;
+    }
+
+    /**
+     * @return row activities indexed like the constraints (copy)
+     * @throws IllegalStateException if not available
+     */
+    public double[] getRowActivities() {
+        return require(rowActivities, "row activities").clone();
+    }
+
+    /**
+     * @return slacks {@code rhs - activity} indexed like the constraints (copy)
+     * @throws IllegalStateException if not available
+     */
+    public double[] getSlacks() {
+        return require(slacks, "slacks").clone();
+    }
+
+    /**
+     * @return row duals indexed like the constraints (copy)
+     * @throws IllegalStateException if not available
+     */
+    public double[] getDuals() {
+        return require(duals, "duals").clone();
+    }
+
+    /**
+     * @return reduced costs indexed like the variables (copy)
+     * @throws IllegalStateException if not available
+     */
+    public double[] getReducedCosts() {
+        return require(reducedCosts, "reduced costs").clone();
+    }
+
+    public double getRowActivity(int row) {
+        return require(rowActivities, "row activities")[row];
+    }
+
+    public double getRowActivity(String constraint) {
+        return getRowActivity(require(constraintNames, "row activities").require(constraint));
+    }
+
+    public double getSlack(int row) {
+        return require(slacks, "slacks")[row];
+    }
+
+    public double getSlack(String constraint) {
+        return getSlack(require(constraintNames, "slacks").require(constraint));
+    }
+
+    public double getDual(int row) {
+        return require(duals, "duals")[row];
+    }
+
+    public double getDual(String constraint) {
+        return getDual(require(constraintNames, "duals").require(constraint));
+    }
+
+    public double getReducedCost(int column) {
+        return require(reducedCosts, "reduced costs")[column];
+    }
+
+    public double getReducedCost(String variable) {
+        return getReducedCost(require(variableNames, "reduced costs").require(variable));
+    }
+
+    private <T> T require(T data, String what) {
+        if (data == null) {
+            throw new IllegalStateException("No " + what + " available from backend " + statistics.getBackend()
+                    + " (status " + statistics.getStatus() + ").");
+        }
+        return data;
+    }
+
+    /**
+     * Read-only map over a value array; lookups go through the shared name index.
+     */
+    private static final class ValueView extends AbstractMap<String, Double> {
+        private final NameIndex names;
+        private final double[] values;
+
+        ValueView(NameIndex names, double[] values) {
+            this.names = names;
+            this.values = values;
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return names.indexOf(key) >= 0;
+        }
+
+        @Override
+        public Double get(Object key) {
+            final int index = names.indexOf(key);
+            return index < 0 ? null : values[index];
+        }
+
+        @Override
+        public Set<Entry<String, Double>> entrySet() {
+            return new AbstractSet<Entry<String, Double>>() {
+                @Override
+                public int size() {
+                    return values.length;
+                }
+
+                @Override
+                public Iterator<Entry<String, Double>> iterator() {
+                    return new Iterator<Entry<String, Double>>() {
+                        private int next = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < values.length;
+                        }
+
+                        @Override
+                        public Entry<String, Double> next() {
+                            if (next >= values.length) throw new NoSuchElementException();
+                            final int k = next++;
+                            return new SimpleImmutableEntry<>(names.getName(k), values[k]);
+                        }
+                    };
+                }
+            };
+        }
+    }
 }
@@ -2,6 +2,100 @@ package org.optsolvx.solver;
 
 import org.optsolvx.model.AbstractLPModel;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * A backend solving {@link AbstractLPModel}s.
+ * <p>
+ * Thread-safety contract: an adapter instance runs one solve at a time unless
+ * {@link #isThreadSafe()} returns true. Backends may keep scratch space ({@link Workspace}),
+ * warm-start data or last-solve statistics in the instance, so concurrent callers either create
+ * one instance per thread or borrow instances from an {@link AdapterPool}
+ * ({@link SolverRegistry#pool(String)}). Returned solutions never share state with the adapter.
+ */
 public interface LPSolverAdapter {
     LPSolution solve(AbstractLPModel model);
+
+    /**
+     * @return true if one instance may run several solves concurrently; false by default
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
+
+    /**
+     * @return bytes of scratch space ({@link Workspace}) the instance keeps between solves; 0 by default
+     */
+    default long getWorkspaceBytes() {
+        return 0L;
+    }
+
+    /**
+     * Drops the scratch space kept between solves; the next solve allocates it again.
+     * Does nothing by default.
+     */
+    default void clearWorkspace() {
+    }
+
+    /**
+     * Solves {@code model} within the limits of {@code control}. If a limit is hit or the control
+     * is cancelled, a solution with status {@link SolveStatus#TIME_LIMIT}, {@link SolveStatus#CANCELLED}
+     * or {@link SolveStatus#ITERATION_LIMIT} is returned instead of an exception.
+     * The default checks the control only before delegating to {@link #solve(AbstractLPModel)};
+     * the built-in backends override it and also check between iterations.
+     *
+     * @param model   model to solve
+     * @param control limits and cancellation of this call
+     * @return the solution
+     */
+    default LPSolution solve(AbstractLPModel model, SolveControl control) {
+        final SolveStatus stop = control.getStopStatus();
+        if (stop != null) {
+            return LPSolution.unsolved(model, new SolveStatistics(stop, null, 0L, 0L, 0L, 0, null));
+        }
+        return solve(model);
+    }
+
+    /**
+     * Solves {@code model} on {@code executor} without limits.
+     *
+     * @see #solveAsync(AbstractLPModel, SolveControl, Executor)
+     */
+    default CompletableFuture<LPSolution> solveAsync(AbstractLPModel model, Executor executor) {
+        return solveAsync(model, new SolveControl(), executor);
+    }
+
+    /**
+     * Solves {@code model} on {@code executor}. Cancelling the returned future cancels
+     * {@code control}, so the backend stops at its next check and the worker thread is freed.
+     * Limits are reported through the solution status; the future completes exceptionally only
+     * if the backend throws.
+     *
+     * @param model    model to solve; it must not be modified until the future completes
+     * @param control  limits and cancellation of this call; the deadline runs from its creation
+     * @param executor executor running the solve
+     * @return future of the solution
+     */
+    default CompletableFuture<LPSolution> solveAsync(AbstractLPModel model, SolveControl control, Executor executor) {
+        if (control == null) throw new IllegalArgumentException("Control must not be null.");
+        if (executor == null) throw new IllegalArgumentException("Executor must not be null.");
+        final CompletableFuture<LPSolution> future = CompletableFuture.supplyAsync(() -> solve(model, control), executor);
+        future.whenComplete((solution, error) -> {
+            if (future.isCancelled()) control.cancel();
+        });
+        return future;
+    }
+
+    /**
+     * Opens a session for repeated solves of {@code model} after in-place edits.
+     * The default session simply calls {@link #solve} each time; backends that can keep
+     * their translated model alive override this.
+     *
+     * @param model model to solve repeatedly
+     * @return a new session
+     */
+    default LPSolverSession openSession(AbstractLPModel model) {
+        return new RebuildingSolverSession(this, model);
+    }
 }
@@ -0,0 +1,30 @@
+package org.optsolvx.solver;
+
+import org.optsolvx.model.AbstractLPModel;
+
+/**
+ * A backend bound to one model for repeated solves, see {@link LPSolverAdapter#openSession}.
+ * Edit the model through its in-place API (e.g. {@link AbstractLPModel#setObjectiveCoefficient})
+ * and call {@link #solve()} again; backends with incremental support only update what the
+ * model's change log reports as dirty. A session is used by one thread at a time.
+ */
+public interface LPSolverSession extends AutoCloseable {
+
+    /**
+     * @return the model this session solves
+     */
+    AbstractLPModel getModel();
+
+    /**
+     * Solves the current state of the model.
+     *
+     * @return solution over all variables of the model
+     */
+    LPSolution solve();
+
+    /**
+     * Releases backend resources held by the session.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,119 @@
+package org.optsolvx.solver;
+
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.Constraint;
+
+import java.util.Locale;
+
+/**
+ * Cheap structural statistics of a built model, used by {@link BackendSelector} to choose a backend.
+ * Computed in one pass over variables and rows; the matrix is only asked for its non-zero count.
+ */
+public final class ModelProfile {
+
+    private final int variables;
+    private final int constraints;
+    private final int nonZeros;
+    private final int equalities;
+    private final int freeVariables;
+    private final int boxedVariables;
+
+    public ModelProfile(int variables, int constraints, int nonZeros, int equalities,
+                        int freeVariables, int boxedVariables) {
+        if (variables < 0 || constraints < 0 || nonZeros < 0 || equalities < 0
+                || freeVariables < 0 || boxedVariables < 0) {
+            throw new IllegalArgumentException("Counts must be >= 0.");
+        }
+        this.variables = variables;
+        this.constraints = constraints;
+        this.nonZeros = nonZeros;
+        this.equalities = equalities;
+        this.freeVariables = freeVariables;
+        this.boxedVariables = boxedVariables;
+    }
+
+    /**
+     * @param model model to describe (built on demand)
+     * @return statistics of the model
+     */
+    public static ModelProfile of(AbstractLPModel model) {
+        if (model == null) {
+            throw new IllegalArgumentException("Model must not be null.");
+        }
+        if (!model.isBuilt()) {
+            model.build();
+        }
+        final int n = model.getVariableCount();
+        final int m = model.getConstraintCount();
+        int free = 0;
+        int boxed = 0;
+        for (int j = 0; j < n; j++) {
+            final boolean hasLower = !Double.isInfinite(model.getVariableLowerBound(j));
+            final boolean hasUpper = !Double.isInfinite(model.getVariableUpperBound(j));
+            if (!hasLower && !hasUpper) free++;
+            else if (hasLower && hasUpper) boxed++;
+        }
+        int eq = 0;
+        for (int i = 0; i < m; i++) {
+            if (model.getConstraintRelation(i) == Constraint.Relation.EQ) eq++;
+        }
+        return new ModelProfile(n, m, model.getMatrix().getNonZeroCount(), eq, free, boxed);
+    }
+
+    public int getVariables() {
+        return variables;
+    }
+
+    public int getConstraints() {
+        return constraints;
+    }
+
+    public int getNonZeros() {
+        return nonZeros;
+    }
+
+    /**
+     * @return share of stored entries in the full matrix, 0 for an empty matrix
+     */
+    public double getDensity() {
+        final double cells = (double) variables * constraints;
+        return cells == 0.0 ? 0.0 : nonZeros / cells;
+    }
+
+    /**
+     * @return share of EQ rows, 0 without rows
+     */
+    public double getEqualityShare() {
+        return constraints == 0 ? 0.0 : (double) equalities / constraints;
+    }
+
+    /**
+     * @return share of variables without finite bounds, 0 without variables
+     */
+    public double getFreeShare() {
+        return variables == 0 ? 0.0 : (double) freeVariables / variables;
+    }
+
+    /**
+     * @return share of variables with finite lower and upper bound, 0 without variables
+     */
+    public double getBoxedShare() {
+        return variables == 0 ? 0.0 : (double) boxedVariables / variables;
+    }
+
+    /**
+     * @return floor(log2(variables + constraints + nonZeros)), the size class solve times are learned for
+     */
+    public int getSizeBucket() {
+        final long size = (long) variables + constraints + nonZeros;
+        return size == 0L ? 0 : 63 - Long.numberOfLeadingZeros(size);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "%s{variables=%d, constraints=%d, nonZeros=%d, density=%.4f, eq=%.2f, free=%.2f, boxed=%.2f}",
+                getClass().getSimpleName(), variables, constraints, nonZeros, getDensity(),
+                getEqualityShare(), getFreeShare(), getBoxedShare());
+    }
+}
@@ -1,6 +1,8 @@
 package org.optsolvx.solver;
 
+import org.optsolvx.jfr.Events;
 import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.presolve.PresolvingSolverAdapter;
 
 import java.io.*;
 import java.nio.file.*;
@@ -15,7 +17,7 @@ import java.util.Properties;
  * 3) Java system property    (-Doptsolvx.solver=ojalgo)
  * 4) Environment variable    (OPTSOLVX_SOLVER=ojalgo)
  * 5) User config file        ($HOME/.optsolvx/config.properties, key=solver)
- * 6) fallback                ("commons-math")
+ * 6) fallback                ("auto": chosen per model from its statistics, see {@link AutoSolver})
  */
 public final class OptSolvXConfig {
 
@@ -34,15 +36,26 @@ public final class OptSolvXConfig {
      */
     public static final String FILE = ".optsolvx/config.properties";
 
+    /**
+     * Backend used if nothing is configured.
+     */
+    public static final String FALLBACK = AutoSolver.NAME;
+
     /**
      * Cached global choice; initialized lazily by {@link #getGlobalSolver()}.
      */
     private static volatile String globalSolver = null;
 
+    /**
+     * Setting the cached global choice came from, reported in flight recorder events.
+     */
+    private static volatile String globalSource = null;
+
     /**
      * Sets the process-wide solver choice (e.g., from a settings UI).
      */
     public static void setGlobalSolver(String name) {
+        globalSource = "global";
         globalSolver = name;
     }
 
@@ -55,11 +68,11 @@ public final class OptSolvXConfig {
 
         // 1) Java system property
         String v = System.getProperty(PROP);
-        if (v != null && !v.isEmpty()) return globalSolver = v;
+        if (v != null && !v.isEmpty()) return global(v, "system-property");
 
         // 2) Environment variable
         v = System.getenv(ENV);
-        if (v != null && !v.isEmpty()) return globalSolver = v;
+        if (v != null && !v.isEmpty()) return global(v, "environment");
 
         // 3) User config file: $HOME/.optsolvx/config.properties
         try {
@@ -70,29 +83,50 @@ public final class OptSolvXConfig {
                     props.load(in);
                 }
                 v = props.getProperty("solver");
-                if (v != null && !v.isEmpty()) return globalSolver = v;
+                if (v != null && !v.isEmpty()) return global(v, "config-file");
             }
         } catch (Exception ignored) {
         }
 
         // 4) Fallback
-        return globalSolver = "commons-math";
+        return global(FALLBACK, "fallback");
+    }
+
+    private static String global(String name, String source) {
+        globalSource = source;
+        return globalSolver = name;
     }
 
     /**
      * Resolves an {@link LPSolverAdapter} according to the documented priority:
      * explicitOverride > model preference > global setting > fallback.
+     * If the model has presolve enabled, the adapter is wrapped in a {@link PresolvingSolverAdapter}.
+     * The choice and the setting it came from are recorded as an {@code org.optsolvx.BackendResolution}
+     * flight recorder event.
      */
     public static LPSolverAdapter resolve(AbstractLPModel model, String explicitOverride) {
+        final String name;
+        final String source;
         if (explicitOverride != null && !explicitOverride.isEmpty()) {
-            return SolverRegistry.create(explicitOverride);
-        }
-        if (model != null && model.getPreferredSolver() != null && !model.getPreferredSolver().isEmpty()) {
-            return SolverRegistry.create(model.getPreferredSolver());
+            name = explicitOverride;
+            source = "explicit";
+        } else if (model != null && model.getPreferredSolver() != null && !model.getPreferredSolver().isEmpty()) {
+            name = model.getPreferredSolver();
+            source = "model";
+        } else {
+            final String global = getGlobalSolver();
+            if (SolverRegistry.has(global)) {
+                name = global;
+                source = globalSource;
+            } else {
+                name = FALLBACK;
+                source = "fallback";
+            }
         }
-        String global = getGlobalSolver();
-        if (SolverRegistry.has(global)) return SolverRegistry.create(global);
-        return SolverRegistry.create("commons-math");
+        final LPSolverAdapter adapter = SolverRegistry.create(name);
+        final boolean presolve = model != null && model.isPresolveEnabled();
+        Events.backendResolved(name, source, presolve);
+        return presolve ? new PresolvingSolverAdapter(adapter) : adapter;
     }
 
     private OptSolvXConfig() {
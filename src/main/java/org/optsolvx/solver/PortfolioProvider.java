@@ -0,0 +1,17 @@
+package org.optsolvx.solver;
+
+/**
+ * Registers {@link PortfolioSolver} as {@code "portfolio"}; see {@link SolverProvider}.
+ */
+public final class PortfolioProvider implements SolverProvider {
+
+    @Override
+    public String getName() {
+        return PortfolioSolver.NAME;
+    }
+
+    @Override
+    public LPSolverAdapter create() {
+        return new PortfolioSolver();
+    }
+}
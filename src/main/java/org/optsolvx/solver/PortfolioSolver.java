@@ -0,0 +1,181 @@
+package org.optsolvx.solver;
+
+import org.optsolvx.backend.commonsmath.CommonsMathSolver;
+import org.optsolvx.backend.ojalgo.OjAlgoSolver;
+import org.optsolvx.backend.simplex.DualSimplexSolver;
+import org.optsolvx.model.AbstractLPModel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Races several registered backends on the same model (registered as {@code "portfolio"}).
+ * <p>
+ * - Every solve borrows one instance of each member backend from its {@link SolverRegistry#pool(String) pool};
+ * the first member runs in the
+ * calling thread, the others on the executor (default: the common ForkJoin pool).
+ * - The first {@link SolveStatus#OPTIMAL} solution is returned and the other members are
+ * cancelled through their {@link SolveControl}; they stop at their next check.
+ * - If no member finds an optimum, the first infeasible or unbounded result is returned once
+ * all members are done, otherwise the first result of any status.
+ * - The statistics are those of the returned member, so {@link SolveStatistics#getBackend()}
+ * names the winner.
+ * <p>
+ * The default members are {@code "commons-math"}, {@code "ojalgo"} and {@code "optsolvx-simplex"};
+ * PDLP only yields approximate optima and is not raced unless listed explicitly.
+ * Thread-safe: members are borrowed per solve.
+ */
+public final class PortfolioSolver implements LPSolverAdapter {
+
+    /**
+     * Registry name of this adapter.
+     */
+    public static final String NAME = "portfolio";
+
+    private final List<String> members;
+    private volatile Executor executor;
+
+    /**
+     * Races the default members.
+     */
+    public PortfolioSolver() {
+        this(CommonsMathSolver.NAME, OjAlgoSolver.NAME, DualSimplexSolver.NAME);
+    }
+
+    /**
+     * @param members names of backends registered in {@link SolverRegistry}, in priority order
+     */
+    public PortfolioSolver(String... members) {
+        this(members == null ? null : Arrays.asList(members));
+    }
+
+    /**
+     * @param members names of backends registered in {@link SolverRegistry}, in priority order
+     */
+    public PortfolioSolver(List<String> members) {
+        if (members == null || members.isEmpty()) {
+            throw new IllegalArgumentException("Portfolio needs at least one backend.");
+        }
+        for (String name : members) {
+            if (!SolverRegistry.has(name)) {
+                throw new IllegalArgumentException("Unknown solver: " + name + " (known: " + SolverRegistry.names() + ")");
+            }
+            // By registration, so that members are only instantiated when the portfolio solves
+            if (SolverRegistry.isSameBackend(name, NAME)) {
+                throw new IllegalArgumentException("A portfolio cannot contain itself: " + name);
+            }
+        }
+        this.members = Collections.unmodifiableList(new ArrayList<>(members));
+    }
+
+    /**
+     * @return names of the raced backends
+     */
+    public List<String> getMembers() {
+        return members;
+    }
+
+    /**
+     * @return executor running all members but the first, null for the common ForkJoin pool
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public LPSolution solve(AbstractLPModel model) {
+        return solve(model, new SolveControl());
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
+    /**
+     * Each member gets a {@link SolveControl#child() child} of {@code control}, so the deadline,
+     * iteration limit and cancellation of the call apply to all of them.
+     */
+    @Override
+    public LPSolution solve(AbstractLPModel model, SolveControl control) {
+        if (model == null) {
+            throw new IllegalArgumentException("Model must not be null.");
+        }
+        // Build once before the members read the model concurrently
+        if (!model.isBuilt()) {
+            model.build();
+        }
+        model.getMatrix();
+
+        final Race race = new Race(members.size());
+        final SolveControl[] controls = new SolveControl[members.size()];
+        for (int k = 0; k < controls.length; k++) {
+            controls[k] = control.child();
+        }
+        final Executor pool = executor != null ? executor : ForkJoinPool.commonPool();
+        for (int k = 1; k < controls.length; k++) {
+            final String name = members.get(k);
+            final SolveControl member = controls[k];
+            try {
+                pool.execute(() -> race.finish(run(name, model, member), controls));
+            } catch (RejectedExecutionException e) {
+                race.finish(LPSolution.unsolved(model, new SolveStatistics(SolveStatus.ERROR, name,
+                        0L, 0L, 0L, 0, e)), controls);
+            }
+        }
+        race.finish(run(members.get(0), model, controls[0]), controls);
+        return race.result.join();
+    }
+
+    private static LPSolution run(String name, AbstractLPModel model, SolveControl control) {
+        try {
+            return SolverRegistry.pool(name).solve(model, control);
+        } catch (RuntimeException e) {
+            return LPSolution.unsolved(model, new SolveStatistics(SolveStatus.ERROR, name, 0L, 0L, 0L, 0, e));
+        }
+    }
+
+    /**
+     * Collects the member results of one solve.
+     */
+    private static final class Race {
+        final CompletableFuture<LPSolution> result = new CompletableFuture<>();
+        final AtomicInteger running;
+        final AtomicReference<LPSolution> conclusive = new AtomicReference<>();
+        final AtomicReference<LPSolution> first = new AtomicReference<>();
+
+        Race(int members) {
+            this.running = new AtomicInteger(members);
+        }
+
+        void finish(LPSolution solution, SolveControl[] controls) {
+            final SolveStatus status = solution.getStatistics().getStatus();
+            if (status == SolveStatus.OPTIMAL) {
+                if (result.complete(solution)) {
+                    for (SolveControl control : controls) {
+                        control.cancel();
+                    }
+                }
+            } else if (status == SolveStatus.INFEASIBLE || status == SolveStatus.UNBOUNDED) {
+                conclusive.compareAndSet(null, solution);
+            }
+            first.compareAndSet(null, solution);
+            if (running.decrementAndGet() == 0) {
+                final LPSolution fallback = conclusive.get();
+                result.complete(fallback != null ? fallback : first.get());
+            }
+        }
+    }
+}
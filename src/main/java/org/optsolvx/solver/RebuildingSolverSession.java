@@ -0,0 +1,36 @@
+package org.optsolvx.solver;
+
+import org.optsolvx.model.AbstractLPModel;
+
+/**
+ * Default {@link LPSolverSession} for backends without incremental support:
+ * every {@link #solve()} hands the current model to {@link LPSolverAdapter#solve}.
+ */
+final class RebuildingSolverSession implements LPSolverSession {
+
+    private final LPSolverAdapter adapter;
+    private final AbstractLPModel model;
+
+    RebuildingSolverSession(LPSolverAdapter adapter, AbstractLPModel model) {
+        if (model == null) {
+            throw new IllegalArgumentException("Model must not be null.");
+        }
+        this.adapter = adapter;
+        this.model = model;
+    }
+
+    @Override
+    public AbstractLPModel getModel() {
+        return model;
+    }
+
+    @Override
+    public LPSolution solve() {
+        return adapter.solve(model);
+    }
+
+    @Override
+    public void close() {
+        // nothing to release
+    }
+}
@@ -0,0 +1,176 @@
+package org.optsolvx.solver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call limits and cancellation for {@link LPSolverAdapter#solve(org.optsolvx.model.AbstractLPModel, SolveControl)}
+ * and {@link LPSolverAdapter#solveAsync}.
+ * <p>
+ * - The wall-clock deadline starts when the control is created, so for asynchronous solves
+ * time spent waiting in the executor queue counts against it.
+ * - The iteration limit overrides the backend's own limit for this call (0 keeps the backend's).
+ * - {@link #cancel()} may be called from any thread.
+ * <p>
+ * Backends poll {@link #shouldStop()} between iterations and then return a solution with status
+ * {@link SolveStatus#TIME_LIMIT} or {@link SolveStatus#CANCELLED} instead of throwing. Backends
+ * that only react to thread interrupts bracket their solve with {@link #enterInterruptible()}
+ * and {@link #leaveInterruptible()}. A control belongs to one solve call.
+ */
+public final class SolveControl {
+
+    private final long deadline;
+    private final boolean timed;
+    private final int maxIterations;
+    private volatile boolean cancelled;
+
+    // Thread to interrupt on cancel() and controls cancelled with this one, guarded by this
+    private Thread interruptible;
+    private boolean interrupted;
+    private final List<SolveControl> children = new ArrayList<>();
+
+    /**
+     * Creates a control without limits; the solve can still be cancelled.
+     */
+    public SolveControl() {
+        this(0L, TimeUnit.NANOSECONDS, 0);
+    }
+
+    /**
+     * @param timeLimit wall-clock limit from now, 0 for none
+     * @param unit      unit of {@code timeLimit}
+     */
+    public SolveControl(long timeLimit, TimeUnit unit) {
+        this(timeLimit, unit, 0);
+    }
+
+    /**
+     * @param timeLimit     wall-clock limit from now, 0 for none
+     * @param unit          unit of {@code timeLimit}
+     * @param maxIterations iteration limit for this call, 0 to keep the backend's limit
+     */
+    public SolveControl(long timeLimit, TimeUnit unit, int maxIterations) {
+        if (timeLimit < 0) throw new IllegalArgumentException("Time limit must be >= 0: " + timeLimit);
+        if (unit == null) throw new IllegalArgumentException("Time unit must not be null.");
+        if (maxIterations < 0) throw new IllegalArgumentException("maxIterations must be >= 0: " + maxIterations);
+        this.timed = timeLimit > 0;
+        // Clamped so that the deadline cannot overflow
+        this.deadline = System.nanoTime() + Math.min(unit.toNanos(timeLimit), Long.MAX_VALUE / 4);
+        this.maxIterations = maxIterations;
+    }
+
+    private SolveControl(long deadline, boolean timed, int maxIterations) {
+        this.deadline = deadline;
+        this.timed = timed;
+        this.maxIterations = maxIterations;
+    }
+
+    /**
+     * Creates a control with the same deadline and iteration limit that is cancelled together
+     * with this one, for adapters that run several solves on behalf of one call.
+     *
+     * @return a new control; cancelling it does not cancel this one
+     */
+    public SolveControl child() {
+        final SolveControl child = new SolveControl(deadline, timed, maxIterations);
+        synchronized (this) {
+            if (cancelled) child.cancel();
+            else children.add(child);
+        }
+        return child;
+    }
+
+    /**
+     * @return iteration limit for this call, 0 if the backend's limit applies
+     */
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+
+    /**
+     * @return true if a wall-clock limit was set
+     */
+    public boolean hasDeadline() {
+        return timed;
+    }
+
+    /**
+     * @return nanoseconds left until the deadline (0 once passed), Long.MAX_VALUE without deadline
+     */
+    public long getRemainingNanos() {
+        if (!timed) return Long.MAX_VALUE;
+        return Math.max(0L, deadline - System.nanoTime());
+    }
+
+    /**
+     * @return true if the deadline has passed
+     */
+    public boolean isTimedOut() {
+        return timed && deadline - System.nanoTime() <= 0;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return true if the backend should stop: cancelled or past the deadline
+     */
+    public boolean shouldStop() {
+        return cancelled || isTimedOut();
+    }
+
+    /**
+     * @return {@link SolveStatus#CANCELLED} or {@link SolveStatus#TIME_LIMIT} if the solve should
+     * stop, null otherwise
+     */
+    public SolveStatus getStopStatus() {
+        if (cancelled) return SolveStatus.CANCELLED;
+        return isTimedOut() ? SolveStatus.TIME_LIMIT : null;
+    }
+
+    /**
+     * Requests the solve to stop; a running backend returns at its next check.
+     */
+    public void cancel() {
+        synchronized (this) {
+            cancelled = true;
+            if (interruptible != null && !interrupted) {
+                interrupted = true;
+                interruptible.interrupt();
+            }
+            for (SolveControl child : children) {
+                child.cancel();
+            }
+            children.clear();
+        }
+    }
+
+    /**
+     * Lets {@link #cancel()} interrupt the calling thread until {@link #leaveInterruptible()}.
+     * For backends that stop on {@link Thread#isInterrupted()}.
+     */
+    public void enterInterruptible() {
+        synchronized (this) {
+            interruptible = Thread.currentThread();
+            if (cancelled && !interrupted) {
+                interrupted = true;
+                interruptible.interrupt();
+            }
+        }
+    }
+
+    /**
+     * Ends {@link #enterInterruptible()}; clears an interrupt caused by {@link #cancel()}.
+     */
+    public void leaveInterruptible() {
+        synchronized (this) {
+            interruptible = null;
+            if (interrupted) {
+                interrupted = false;
+                Thread.interrupted();
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.optsolvx.solver;
+
+/**
+ * Status, phase timings and iteration count of one solve, attached to every {@link LPSolution}.
+ * <p>
+ * Timings are wall-clock nanoseconds ({@link System#nanoTime()}) of three phases:
+ * - translation: model → backend data structures (including presolve, if any),
+ * - solve: the backend algorithm itself,
+ * - extraction: backend result → {@link LPSolution} (including postsolve, if any).
+ * <p>
+ * Immutable.
+ */
+public final class SolveStatistics {
+
+    private final SolveStatus status;
+    private final String backend;
+    private final long translationNanos;
+    private final long solveNanos;
+    private final long extractionNanos;
+    private final int iterations;
+    private final Throwable error;
+
+    /**
+     * @param status           outcome of the solve
+     * @param backend          name of the backend that produced the solution, null if unknown
+     * @param translationNanos time spent translating the model
+     * @param solveNanos       time spent in the backend algorithm
+     * @param extractionNanos  time spent building the solution
+     * @param iterations       iteration count, -1 if the backend does not report it
+     * @param error            failure cause of an {@link SolveStatus#ERROR} solve, null otherwise
+     */
+    public SolveStatistics(SolveStatus status, String backend, long translationNanos, long solveNanos,
+                           long extractionNanos, int iterations, Throwable error) {
+        if (status == null) {
+            throw new IllegalArgumentException("Status must not be null.");
+        }
+        this.status = status;
+        this.backend = backend;
+        this.translationNanos = translationNanos;
+        this.solveNanos = solveNanos;
+        this.extractionNanos = extractionNanos;
+        this.iterations = iterations;
+        this.error = error;
+    }
+
+    /**
+     * Statistics without timings, for solutions not produced by an instrumented backend.
+     */
+    static SolveStatistics unknown(boolean feasible) {
+        return new SolveStatistics(feasible ? SolveStatus.OPTIMAL : SolveStatus.INFEASIBLE,
+                null, 0L, 0L, 0L, -1, null);
+    }
+
+    public SolveStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * @return backend name as registered in {@link SolverRegistry}, null if unknown
+     */
+    public String getBackend() {
+        return backend;
+    }
+
+    public long getTranslationNanos() {
+        return translationNanos;
+    }
+
+    public long getSolveNanos() {
+        return solveNanos;
+    }
+
+    public long getExtractionNanos() {
+        return extractionNanos;
+    }
+
+    /**
+     * @return sum of the three phase timings
+     */
+    public long getTotalNanos() {
+        return translationNanos + solveNanos + extractionNanos;
+    }
+
+    /**
+     * @return iteration count, -1 if the backend does not report it
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * @return failure cause of an {@link SolveStatus#ERROR} solve, null otherwise
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{status=%s, backend=%s, translation=%.3fms, solve=%.3fms, extraction=%.3fms, iterations=%d%s}",
+                getClass().getSimpleName(), status, backend, translationNanos / 1e6, solveNanos / 1e6,
+                extractionNanos / 1e6, iterations, error == null ? "" : ", error=" + error);
+    }
+}
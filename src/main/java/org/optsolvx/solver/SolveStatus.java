@@ -0,0 +1,30 @@
+package org.optsolvx.solver;
+
+/**
+ * Outcome of a single solve, see {@link SolveStatistics#getStatus()}.
+ */
+public enum SolveStatus {
+    /** An optimal solution was found. */
+    OPTIMAL,
+    /** A feasible point was returned, but the backend did not prove it optimal. */
+    FEASIBLE,
+    /** The constraints cannot be satisfied. */
+    INFEASIBLE,
+    /** The objective is unbounded in the optimization direction. */
+    UNBOUNDED,
+    /** The backend stopped at its iteration limit without a result. */
+    ITERATION_LIMIT,
+    /** The wall-clock limit of the call ({@link SolveControl}) passed before a result was found. */
+    TIME_LIMIT,
+    /** The solve was cancelled ({@link SolveControl#cancel()}). */
+    CANCELLED,
+    /** The backend failed; see {@link SolveStatistics#getError()}. */
+    ERROR;
+
+    /**
+     * @return true if the solution carries usable variable values
+     */
+    public boolean hasSolution() {
+        return this == OPTIMAL || this == FEASIBLE;
+    }
+}
@@ -0,0 +1,38 @@
+package org.optsolvx.solver;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Service provider of a backend, discovered by {@link SolverRegistry} through {@link java.util.ServiceLoader}
+ * (listed in {@code META-INF/services/org.optsolvx.solver.SolverProvider}).
+ * <p>
+ * The registry instantiates every provider on first use, so a provider only carries the name
+ * metadata and must not touch the backend's classes outside {@link #create()}. The backend and the
+ * library behind it are then loaded when the backend is created for the first time.
+ * <pre>
+ * public final class MyProvider implements SolverProvider {
+ *     public String getName() { return "my-solver"; }
+ *     public LPSolverAdapter create() { return new MySolver(); }
+ * }
+ * </pre>
+ */
+public interface SolverProvider {
+
+    /**
+     * @return registry name of the backend (case-insensitive)
+     */
+    String getName();
+
+    /**
+     * @return further names resolving to the same backend; none by default
+     */
+    default List<String> getAliases() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * @return a new adapter instance
+     */
+    LPSolverAdapter create();
+}
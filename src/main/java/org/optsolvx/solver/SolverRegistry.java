@@ -1,34 +1,83 @@
 package org.optsolvx.solver;
 
-import org.optsolvx.backend.commonsmath.CommonsMathSolver;
-import org.optsolvx.backend.ojalgo.OjAlgoSolver;
+import org.optsolvx.backend.commonsmath.CommonsMathProvider;
+import org.optsolvx.backend.ojalgo.OjAlgoProvider;
+import org.optsolvx.backend.pdlp.PdlpProvider;
+import org.optsolvx.backend.simplex.DualSimplexProvider;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+/**
+ * Backends by name.
+ * <p>
+ * On first use the registry loads all {@link SolverProvider}s visible to {@link ServiceLoader}
+ * (built-ins and third-party jars alike) and registers their names and aliases; the first provider
+ * claiming a name keeps it. Providers only carry metadata, so a backend's classes and the library
+ * behind it (ojAlgo, Commons Math) are loaded when the backend is first created, not at startup.
+ * Built-in providers missing from the service files (e.g. in a repackaged jar) are added directly.
+ * {@link #register(String, Supplier)} and {@link #register(SolverProvider)} replace existing entries.
+ */
 public final class SolverRegistry {
+    private static final Logger LOGGER = Logger.getLogger(SolverRegistry.class.getName());
+
     private static final Map<String, Supplier<LPSolverAdapter>> SUPPLIERS = new ConcurrentHashMap<>();
+    private static final Map<String, AdapterPool> POOLS = new ConcurrentHashMap<>();
 
     static {
-        // Built-ins
-        register("commons-math", CommonsMathSolver::new);
-        register("ojalgo", OjAlgoSolver::new);
-
-        // Example aliases
-        registerAlias("commonsmath", "commons-math");
-        registerAlias("cm", "commons-math");
-        registerAlias("oj", "ojalgo");
+        final Iterator<SolverProvider> providers = ServiceLoader.load(SolverProvider.class).iterator();
+        while (true) {
+            try {
+                if (!providers.hasNext()) break;
+                add(providers.next(), false);
+            } catch (ServiceConfigurationError | RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Skipping solver provider: " + e.getMessage(), e);
+            }
+        }
+        for (SolverProvider builtIn : new SolverProvider[]{new CommonsMathProvider(), new OjAlgoProvider(),
+                new DualSimplexProvider(), new PdlpProvider(), new PortfolioProvider(), new AutoProvider()}) {
+            if (!has(builtIn.getName())) add(builtIn, false);
+        }
     }
 
     private static String norm(String s) {
         return s == null ? null : s.trim().toLowerCase(Locale.ROOT);
     }
 
+    /**
+     * Registers a provider's name and aliases, replacing existing entries.
+     */
+    public static void register(SolverProvider provider) {
+        Objects.requireNonNull(provider, "provider");
+        add(provider, true);
+    }
+
+    private static void add(SolverProvider provider, boolean replace) {
+        final String name = provider.getName();
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Provider " + provider.getClass().getName() + " has no name.");
+        }
+        final Supplier<LPSolverAdapter> supplier = provider::create;
+        final List<String> names = new ArrayList<>();
+        names.add(name);
+        names.addAll(provider.getAliases());
+        for (String n : names) {
+            if (replace) {
+                register(n, supplier);
+            } else if (SUPPLIERS.putIfAbsent(norm(n), supplier) != null) {
+                LOGGER.fine("Solver name " + n + " of " + provider.getClass().getName() + " is already taken.");
+            }
+        }
+    }
+
     public static void register(String name, Supplier<LPSolverAdapter> supplier) {
         Objects.requireNonNull(name, "name");
         Objects.requireNonNull(supplier, "supplier");
         SUPPLIERS.put(norm(name), supplier);
+        POOLS.remove(norm(name));
     }
 
     /**
@@ -40,6 +89,7 @@ public final class SolverRegistry {
         Supplier<LPSolverAdapter> s = SUPPLIERS.get(norm(canonical));
         if (s == null) throw new IllegalArgumentException("Unknown canonical solver: " + canonical);
         SUPPLIERS.put(norm(alias), s);
+        POOLS.remove(norm(alias));
     }
 
     public static boolean has(String name) {
@@ -48,6 +98,32 @@ public final class SolverRegistry {
     }
 
     public static LPSolverAdapter create(String name) {
+        return supplier(name).get();
+    }
+
+    /**
+     * Compares registrations without creating adapters: a name and its aliases share one supplier.
+     *
+     * @return true if both names are registered for the same backend
+     */
+    static boolean isSameBackend(String name, String other) {
+        return supplier(name) == supplier(other);
+    }
+
+    /**
+     * Process-wide pool of adapters of the named backend, created on first use and replaced when
+     * the name is registered again. Borrowing from it instead of calling {@link #create(String)}
+     * per request reuses adapter instances and their workspaces.
+     *
+     * @param name registered backend name or alias
+     * @return the shared pool for that name
+     */
+    public static AdapterPool pool(String name) {
+        final Supplier<LPSolverAdapter> s = supplier(name);
+        return POOLS.computeIfAbsent(norm(name), n -> new AdapterPool(s));
+    }
+
+    private static Supplier<LPSolverAdapter> supplier(String name) {
         String n = norm(name);
         if (n == null || n.isEmpty()) {
             throw new IllegalArgumentException("Solver name must not be null/empty. Known: " + SUPPLIERS.keySet());
@@ -56,7 +132,7 @@ public final class SolverRegistry {
         if (s == null) {
             throw new IllegalArgumentException("Unknown solver: " + name + " (known: " + SUPPLIERS.keySet() + ")");
         }
-        return s.get();
+        return s;
     }
 
     public static Set<String> names() {
@@ -0,0 +1,124 @@
+package org.optsolvx.solver;
+
+import java.util.Arrays;
+
+/**
+ * Scratch arrays a backend instance keeps between solves, addressed by slot number.
+ * <p>
+ * A request returns the array of that slot cleared to zero if it has the requested length,
+ * otherwise a new array that replaces it. Lengths are matched exactly because the solver
+ * kernels iterate over whole arrays; a service solving models of the same shape therefore
+ * allocates its scratch space once. Arrays are only valid until the same slot is requested
+ * again and must not escape a solve.
+ * <p>
+ * Not thread-safe, like the adapters owning a workspace (see {@link LPSolverAdapter#isThreadSafe()}).
+ */
+public final class Workspace {
+
+    private double[][] doubles = new double[0][];
+    private int[][] ints = new int[0][];
+    private byte[][] bytes = new byte[0][];
+    private boolean[][] booleans = new boolean[0][];
+    private long allocations;
+
+    /**
+     * @return a zeroed array of exactly {@code length} elements for {@code slot}
+     */
+    public double[] doubles(int slot, int length) {
+        checkSlot(slot);
+        if (slot >= doubles.length) doubles = Arrays.copyOf(doubles, grow(doubles.length, slot));
+        double[] a = doubles[slot];
+        if (a == null || a.length != length) {
+            doubles[slot] = a = new double[length];
+            allocations++;
+        } else {
+            Arrays.fill(a, 0.0);
+        }
+        return a;
+    }
+
+    /**
+     * @return a zeroed array of exactly {@code length} elements for {@code slot}
+     */
+    public int[] ints(int slot, int length) {
+        checkSlot(slot);
+        if (slot >= ints.length) ints = Arrays.copyOf(ints, grow(ints.length, slot));
+        int[] a = ints[slot];
+        if (a == null || a.length != length) {
+            ints[slot] = a = new int[length];
+            allocations++;
+        } else {
+            Arrays.fill(a, 0);
+        }
+        return a;
+    }
+
+    /**
+     * @return a zeroed array of exactly {@code length} elements for {@code slot}
+     */
+    public byte[] bytes(int slot, int length) {
+        checkSlot(slot);
+        if (slot >= bytes.length) bytes = Arrays.copyOf(bytes, grow(bytes.length, slot));
+        byte[] a = bytes[slot];
+        if (a == null || a.length != length) {
+            bytes[slot] = a = new byte[length];
+            allocations++;
+        } else {
+            Arrays.fill(a, (byte) 0);
+        }
+        return a;
+    }
+
+    /**
+     * @return a cleared array of exactly {@code length} elements for {@code slot}
+     */
+    public boolean[] booleans(int slot, int length) {
+        checkSlot(slot);
+        if (slot >= booleans.length) booleans = Arrays.copyOf(booleans, grow(booleans.length, slot));
+        boolean[] a = booleans[slot];
+        if (a == null || a.length != length) {
+            booleans[slot] = a = new boolean[length];
+            allocations++;
+        } else {
+            Arrays.fill(a, false);
+        }
+        return a;
+    }
+
+    /**
+     * @return number of arrays allocated so far (requests that could not reuse an array)
+     */
+    public long getAllocationCount() {
+        return allocations;
+    }
+
+    /**
+     * @return total size of the arrays currently kept, in bytes (elements only, without headers)
+     */
+    public long getRetainedBytes() {
+        long bytes = 0L;
+        for (double[] a : doubles) bytes += a == null ? 0L : 8L * a.length;
+        for (int[] a : ints) bytes += a == null ? 0L : 4L * a.length;
+        for (byte[] a : this.bytes) bytes += a == null ? 0L : a.length;
+        for (boolean[] a : booleans) bytes += a == null ? 0L : a.length;
+        return bytes;
+    }
+
+    /**
+     * Drops all arrays, e.g. after solving an unusually large model.
+     */
+    public void clear() {
+        doubles = new double[0][];
+        ints = new int[0][];
+        bytes = new byte[0][];
+        booleans = new boolean[0][];
+    }
+
+    private static void checkSlot(int slot) {
+        if (slot < 0) throw new IllegalArgumentException("Slot must be >= 0: " + slot);
+    }
+
+    private static int grow(int length, int slot) {
+        return Math.max(slot + 1, 2 * length);
+    }
+}
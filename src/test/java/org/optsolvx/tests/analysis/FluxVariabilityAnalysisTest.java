@@ -0,0 +1,121 @@
+package org.optsolvx.tests.analysis;
+
+import org.junit.jupiter.api.Test;
+import org.optsolvx.analysis.FluxVariabilityAnalysis;
+import org.optsolvx.analysis.FluxVariabilityResult;
+import org.optsolvx.backend.commonsmath.CommonsMathSolver;
+import org.optsolvx.backend.ojalgo.OjAlgoSolver;
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.Constraint;
+import org.optsolvx.model.OptimizationDirection;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link FluxVariabilityAnalysis}.
+ */
+public class FluxVariabilityAnalysisTest {
+
+    @Test
+    void testRangesAtOptimum() {
+        FluxVariabilityResult result = new FluxVariabilityAnalysis(OjAlgoSolver::new).run(branchedNetwork());
+
+        assertTrue(result.isFeasible());
+        assertEquals(10.0d, result.getObjectiveValue(), 1e-6);
+        // uptake, viaA, viaB, biomass
+        assertArrayEquals(new double[]{10, 0, 0, 10}, result.getMinimum(), 1e-6);
+        assertArrayEquals(new double[]{10, 10, 10, 10}, result.getMaximum(), 1e-6);
+    }
+
+    @Test
+    void testFractionOfOptimumWidensRanges() {
+        FluxVariabilityAnalysis fva = new FluxVariabilityAnalysis("commons-math");
+        fva.setFractionOfOptimum(0.5);
+        FluxVariabilityResult result = fva.run(branchedNetwork(), new int[]{3, 0});
+
+        assertArrayEquals(new int[]{3, 0}, result.getVariables());
+        assertArrayEquals(new double[]{5, 5}, result.getMinimum(), 1e-6);
+        assertArrayEquals(new double[]{10, 10}, result.getMaximum(), 1e-6);
+    }
+
+    @Test
+    void testParallelRunMatchesSequentialRun() {
+        AbstractLPModel model = chain(60);
+        FluxVariabilityAnalysis sequential = new FluxVariabilityAnalysis(CommonsMathSolver::new);
+        sequential.setParallelism(1);
+        FluxVariabilityResult expected = sequential.run(model);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            FluxVariabilityAnalysis parallel = new FluxVariabilityAnalysis(OjAlgoSolver::new);
+            parallel.setParallelism(4);
+            parallel.setExecutor(pool);
+            FluxVariabilityResult actual = parallel.run(model);
+            assertArrayEquals(expected.getMinimum(), actual.getMinimum(), 1e-6);
+            assertArrayEquals(expected.getMaximum(), actual.getMaximum(), 1e-6);
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(0.0d, model.getObjectiveCoefficient(0), "Input model must stay untouched");
+    }
+
+    @Test
+    void testInfeasibleModelAndInvalidArguments() {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x", 0, 1);
+        model.addConstraint("c", Map.of("x", 1.0d), Constraint.Relation.GEQ, 2.0d);
+        model.build();
+
+        FluxVariabilityResult result = new FluxVariabilityAnalysis(OjAlgoSolver::new).run(model);
+        assertFalse(result.isFeasible());
+        assertTrue(Double.isNaN(result.getMinimum()[0]));
+
+        FluxVariabilityAnalysis fva = new FluxVariabilityAnalysis(OjAlgoSolver::new);
+        assertThrows(IllegalArgumentException.class, () -> fva.setFractionOfOptimum(0.0d));
+        assertThrows(IllegalArgumentException.class, () -> fva.setParallelism(0));
+        assertThrows(IllegalArgumentException.class, () -> fva.run(model, new int[]{1}));
+        assertThrows(IllegalArgumentException.class, () -> new FluxVariabilityAnalysis("no-such-solver"));
+    }
+
+    /**
+     * uptake (<= 10) splits into two parallel routes that both feed biomass.
+     */
+    private static AbstractLPModel branchedNetwork() {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("uptake", 0, 10);
+        model.addVariable("viaA", 0, 1000);
+        model.addVariable("viaB", 0, 1000);
+        model.addVariable("biomass", 0, 1000);
+        model.setObjective(Map.of("biomass", 1.0d), OptimizationDirection.MAXIMIZE);
+        model.addConstraint("S", Map.of("uptake", 1.0d, "viaA", -1.0d, "viaB", -1.0d), Constraint.Relation.EQ, 0.0d);
+        model.addConstraint("P", Map.of("viaA", 1.0d, "viaB", 1.0d, "biomass", -1.0d), Constraint.Relation.EQ, 0.0d);
+        model.build();
+        return model;
+    }
+
+    /**
+     * Chain x0 -> x1 -> ... with a side exit per step; maximizes the chain end.
+     */
+    private static AbstractLPModel chain(int length) {
+        AbstractLPModel model = new AbstractLPModel();
+        final int[] x = new int[length];
+        final int[] exit = new int[length];
+        for (int k = 0; k < length; k++) {
+            x[k] = model.addVariable("x" + k, 0, 100 - k);
+            exit[k] = model.addVariable("exit" + k, 0, 1);
+        }
+        for (int k = 1; k < length; k++) {
+            model.addRow("n" + k, new int[]{x[k - 1], x[k], exit[k]}, new double[]{1.0d, -1.0d, -1.0d},
+                    Constraint.Relation.EQ, 0.0d);
+        }
+        double[] objective = new double[model.getVariableCount()];
+        objective[x[length - 1]] = 1.0d;
+        model.setObjective(objective, OptimizationDirection.MAXIMIZE);
+        model.build();
+        return model;
+    }
+}
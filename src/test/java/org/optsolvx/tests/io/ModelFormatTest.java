@@ -0,0 +1,234 @@
+package org.optsolvx.tests.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.optsolvx.backend.ojalgo.OjAlgoSolver;
+import org.optsolvx.io.LpReader;
+import org.optsolvx.io.LpWriter;
+import org.optsolvx.io.MpsReader;
+import org.optsolvx.io.MpsWriter;
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.Constraint;
+import org.optsolvx.model.OptimizationDirection;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the MPS and CPLEX LP readers and writers.
+ */
+public class ModelFormatTest {
+
+    private static final String MPS = String.join("\n",
+            "* a comment",
+            "NAME          EXAMPLE",
+            "OBJSENSE",
+            "    MAX",
+            "ROWS",
+            " N  profit",
+            " L  c1",
+            " G  c2",
+            " E  c3",
+            " L  c4",
+            "COLUMNS",
+            "    x         profit    3              c1        1",
+            "    x         c2        1              c4        1",
+            "    y         profit    2              c1        1",
+            "    y         c3        1",
+            "    z         profit    -1             c4        1",
+            "RHS",
+            "    RHS       c1        4              c2        1",
+            "    RHS       c3        1              c4        6",
+            "    RHS       profit    100",
+            "RANGES",
+            "    RNG       c4        2",
+            "BOUNDS",
+            " UP BND       x         3",
+            " MI BND       z",
+            " UP BND       z         10",
+            "ENDATA",
+            "");
+
+    private static final String LP = String.join("\n",
+            "\\ the same model in LP format",
+            "Maximize",
+            " profit: 3 x + 2 y - z",
+            "Subject To",
+            " c1: x + y <= 4",
+            " c2: x",
+            "     >= 1",
+            " c3: y = 1",
+            " c4: x + z <= 6",
+            " c4_range: x + z >= 4",
+            "Bounds",
+            " x <= 3",
+            " -infinity <= z <= 10",
+            "End",
+            "");
+
+    @Test
+    void testReadMps() throws IOException {
+        AbstractLPModel model = new MpsReader().read(channel(MPS));
+        assertEquals(OptimizationDirection.MAXIMIZE, model.getDirection());
+        assertEquals(3, model.getVariableCount());
+        assertEquals(5, model.getConstraintCount());
+        assertEquals(Map.of("x", 3.0d, "y", 2.0d, "z", -1.0d), model.getObjectiveCoefficients());
+        assertEquals(3.0d, model.getVariable("x").getUpperBound(), 0.0);
+        assertEquals(Double.NEGATIVE_INFINITY, model.getVariable("z").getLowerBound(), 0.0);
+        assertEquals(Constraint.Relation.GEQ, model.getConstraint("c4_range").getRelation());
+        assertEquals(4.0d, model.getConstraint("c4_range").getRhs(), 0.0);
+        assertEquals(1.0d, model.getCoefficient(model.getConstraintIndex("c4_range"), model.getVariableIndex("z")), 0.0);
+        assertEquals(solve(new LpReader().read(channel(LP))), solve(model), 1e-6);
+    }
+
+    @Test
+    void testReadFixedMpsWithSpacesInNames() throws IOException {
+        String mps = String.join("\n",
+                "NAME",
+                "ROWS",
+                " N  cost",
+                " G  lim it",
+                "COLUMNS",
+                "    x 1       cost      1.5            lim it    1",
+                "RHS",
+                "    RHS       lim it    2",
+                "BOUNDS",
+                " UP BND       x 1       1e30",
+                "ENDATA");
+        MpsReader reader = new MpsReader();
+        reader.setFixedFormat(true);
+        AbstractLPModel model = reader.read(channel(mps));
+        assertTrue(model.hasVariable("x 1"));
+        assertEquals(Double.POSITIVE_INFINITY, model.getVariable("x 1").getUpperBound(), 0.0);
+        assertEquals(3.0d, solve(model), 1e-6);
+    }
+
+    @Test
+    void testMpsRoundTrip(@TempDir Path dir) throws IOException {
+        AbstractLPModel model = new LpReader().read(channel(LP));
+        Path file = dir.resolve("model.mps");
+        new MpsWriter().write(model, file);
+        AbstractLPModel read = new MpsReader().read(file);
+        assertSameModel(model, read);
+    }
+
+    @Test
+    void testLpRoundTrip() throws IOException {
+        AbstractLPModel model = new MpsReader().read(channel(MPS));
+        model.setVariableBounds("y", -2.0d, -2.0d);
+        model.setVariableBounds("x", Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new LpWriter().write(model, Channels.newChannel(out));
+        AbstractLPModel read = new LpReader().read(channel(out.toString("UTF-8")));
+        assertSameModel(model, read);
+    }
+
+    @Test
+    void testLpRoundTripKeepsUnusedVariablesAndOrder() throws IOException {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("a", 0.0d, 5.0d);
+        model.addVariable("unused", 0.0d, Double.POSITIVE_INFINITY);
+        model.addVariable("b", 0.0d, Double.POSITIVE_INFINITY);
+        model.addVariable("c", 0.0d, Double.POSITIVE_INFINITY);
+        model.setObjective(Map.of("a", 1.0d, "c", 2.0d), OptimizationDirection.MAXIMIZE);
+        model.addConstraint("r", Map.of("a", 1.0d, "b", 1.0d, "c", 1.0d), Constraint.Relation.LEQ, 8.0d);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new LpWriter().write(model, Channels.newChannel(out));
+        AbstractLPModel read = new LpReader().read(channel(out.toString("UTF-8")));
+        assertSameModel(model, read);
+    }
+
+    @Test
+    void testLpWrapsLongRows() throws IOException {
+        AbstractLPModel model = new AbstractLPModel();
+        String[] names = new String[500];
+        double[] lower = new double[500];
+        double[] upper = new double[500];
+        int[] columns = new int[500];
+        double[] values = new double[500];
+        for (int j = 0; j < 500; j++) {
+            names[j] = "flux_" + j;
+            upper[j] = 1.0d;
+            columns[j] = j;
+            values[j] = j % 2 == 0 ? 1.5d : -2.0d;
+        }
+        model.addVariables(names, lower, upper);
+        model.addRows(new String[]{"sum"}, new int[]{0, 500}, columns, values,
+                new Constraint.Relation[]{Constraint.Relation.LEQ}, new double[]{10.0d});
+        model.setObjective(values, OptimizationDirection.MINIMIZE);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new LpWriter().write(model, Channels.newChannel(out));
+        String text = out.toString("UTF-8");
+        for (String line : text.split("\n")) assertTrue(line.length() <= 255, line);
+        assertSameModel(model, new LpReader().read(channel(text)));
+    }
+
+    @Test
+    void testErrorsNameTheLine() {
+        IOException e = assertThrows(IOException.class, () -> new MpsReader().read(channel(
+                "ROWS\n N obj\nCOLUMNS\n    x obj 1 missing 2\nENDATA\n")));
+        assertEquals("Line 4: Unknown row missing", e.getMessage());
+        e = assertThrows(IOException.class, () -> new MpsReader().read(channel(
+                "ROWS\n N obj\nCOLUMNS\n    x obj 1\nBOUNDS\n BV BND x\nENDATA\n")));
+        assertTrue(e.getMessage().startsWith("Line 6:"), e.getMessage());
+        e = assertThrows(IOException.class, () -> new MpsReader().read(channel(
+                "ROWS\n N obj\nCOLUMNS\n    x obj 1x\nENDATA\n")));
+        assertTrue(e.getMessage().startsWith("Line 4:"), e.getMessage());
+        assertThrows(IOException.class, () -> new MpsReader().read(channel("ROWS\n N obj\n")));
+        e = assertThrows(IOException.class, () -> new LpReader().read(channel(
+                "Minimize\n x + 3\nSubject To\n c: x >= 1\nEnd\n")));
+        assertTrue(e.getMessage().startsWith("Line 3:"), e.getMessage());
+        e = assertThrows(IOException.class, () -> new LpReader().read(channel(
+                "Minimize\n x\nSubject To\n c: x >= 1\nGenerals\n x\nEnd\n")));
+        assertTrue(e.getMessage().startsWith("Line 5:"), e.getMessage());
+    }
+
+    @Test
+    void testWritersRejectInvalidNames() {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("a b", 0.0d, 1.0d);
+        assertThrows(IllegalArgumentException.class,
+                () -> new MpsWriter().write(model, Channels.newChannel(new ByteArrayOutputStream())));
+        AbstractLPModel lp = new AbstractLPModel();
+        lp.addVariable("1x", 0.0d, 1.0d);
+        assertThrows(IllegalArgumentException.class,
+                () -> new LpWriter().write(lp, Channels.newChannel(new ByteArrayOutputStream())));
+    }
+
+    private static void assertSameModel(AbstractLPModel expected, AbstractLPModel actual) {
+        assertEquals(expected.getDirection(), actual.getDirection());
+        assertEquals(expected.getVariableCount(), actual.getVariableCount());
+        assertEquals(expected.getConstraintCount(), actual.getConstraintCount());
+        for (int j = 0; j < expected.getVariableCount(); j++) {
+            String name = expected.getVariableName(j);
+            int k = actual.getVariableIndex(name);
+            assertEquals(j, k, name);
+            assertEquals(expected.getVariableLowerBound(j), actual.getVariableLowerBound(k), 0.0, name);
+            assertEquals(expected.getVariableUpperBound(j), actual.getVariableUpperBound(k), 0.0, name);
+            assertEquals(expected.getObjectiveCoefficient(j), actual.getObjectiveCoefficient(k), 0.0, name);
+        }
+        for (int i = 0; i < expected.getConstraintCount(); i++) {
+            Constraint c = expected.getConstraints().get(i);
+            Constraint d = actual.getConstraint(c.getName());
+            assertEquals(c.getRelation(), d.getRelation(), c.getName());
+            assertEquals(c.getRhs(), d.getRhs(), 0.0, c.getName());
+            assertEquals(c.getCoefficients(), d.getCoefficients(), c.getName());
+        }
+    }
+
+    private static double solve(AbstractLPModel model) {
+        model.build();
+        return new OjAlgoSolver().solve(model).getObjectiveValue();
+    }
+
+    private static java.nio.channels.ReadableByteChannel channel(String text) {
+        return Channels.newChannel(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,139 @@
+package org.optsolvx.tests.io;
+
+import org.junit.jupiter.api.Test;
+import org.optsolvx.backend.ojalgo.OjAlgoSolver;
+import org.optsolvx.io.SbmlReader;
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.Constraint;
+import org.optsolvx.model.OptimizationDirection;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SbmlReader} (SBML Level 3 FBC import).
+ */
+public class SbmlReaderTest {
+
+    private static final String HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<sbml xmlns=\"http://www.sbml.org/sbml/level3/version1/core\""
+            + " xmlns:fbc=\"http://www.sbml.org/sbml/level3/version1/fbc/version2\""
+            + " level=\"3\" version=\"1\" fbc:required=\"false\">\n";
+
+    // Toy network: uptake -> A -> B -> biomass, with a reversible side reaction A <-> C
+    private static final String TOY = HEADER
+            + "<model id=\"toy\" fbc:strict=\"true\">\n"
+            + " <notes><body xmlns=\"http://www.w3.org/1999/xhtml\"><p>species reaction</p></body></notes>\n"
+            + " <listOfSpecies>\n"
+            + "  <species id=\"A\" compartment=\"c\" boundaryCondition=\"false\"/>\n"
+            + "  <species id=\"B\" compartment=\"c\" boundaryCondition=\"false\"/>\n"
+            + "  <species id=\"C\" compartment=\"c\" boundaryCondition=\"false\"/>\n"
+            + "  <species id=\"A_ext\" compartment=\"e\" boundaryCondition=\"true\"/>\n"
+            + " </listOfSpecies>\n"
+            + " <listOfParameters>\n"
+            + "  <parameter id=\"zero\" value=\"0\" constant=\"true\"/>\n"
+            + "  <parameter id=\"max_uptake\" value=\"10\" constant=\"true\"/>\n"
+            + "  <parameter id=\"default_lb\" value=\"-1000\" constant=\"true\"/>\n"
+            + "  <parameter id=\"default_ub\" value=\"1000\" constant=\"true\"/>\n"
+            + "  <parameter id=\"unbounded\" value=\"INF\" constant=\"true\"/>\n"
+            + " </listOfParameters>\n"
+            + " <listOfReactions>\n"
+            + "  <reaction id=\"R_uptake\" reversible=\"false\" fbc:lowerFluxBound=\"zero\" fbc:upperFluxBound=\"max_uptake\">\n"
+            + "   <annotation><rdf:RDF xmlns:rdf=\"http://www.w3.org/1999/02/22-rdf-syntax-ns#\"><species/></rdf:RDF></annotation>\n"
+            + "   <listOfReactants><speciesReference species=\"A_ext\" stoichiometry=\"1\" constant=\"true\"/></listOfReactants>\n"
+            + "   <listOfProducts><speciesReference species=\"A\" stoichiometry=\"1\" constant=\"true\"/></listOfProducts>\n"
+            + "  </reaction>\n"
+            + "  <reaction id=\"R_AB\" reversible=\"false\" fbc:lowerFluxBound=\"zero\" fbc:upperFluxBound=\"unbounded\">\n"
+            + "   <listOfReactants><speciesReference species=\"A\" stoichiometry=\"2\" constant=\"true\"/></listOfReactants>\n"
+            + "   <listOfProducts><speciesReference species=\"B\" stoichiometry=\"1\" constant=\"true\"/></listOfProducts>\n"
+            + "  </reaction>\n"
+            + "  <reaction id=\"R_AC\" reversible=\"true\" fbc:lowerFluxBound=\"default_lb\" fbc:upperFluxBound=\"default_ub\">\n"
+            + "   <listOfReactants><speciesReference species=\"A\" stoichiometry=\"1\" constant=\"true\"/></listOfReactants>\n"
+            + "   <listOfProducts><speciesReference species=\"C\" stoichiometry=\"1\" constant=\"true\"/></listOfProducts>\n"
+            + "   <fbc:geneProductAssociation><fbc:geneProductRef fbc:geneProduct=\"g1\"/></fbc:geneProductAssociation>\n"
+            + "  </reaction>\n"
+            + "  <reaction id=\"R_biomass\" reversible=\"false\" fbc:lowerFluxBound=\"zero\" fbc:upperFluxBound=\"default_ub\">\n"
+            + "   <listOfReactants><speciesReference species=\"B\" stoichiometry=\"1\" constant=\"true\"/></listOfReactants>\n"
+            + "  </reaction>\n"
+            + " </listOfReactions>\n"
+            + " <fbc:listOfObjectives fbc:activeObjective=\"growth\">\n"
+            + "  <fbc:objective fbc:id=\"other\" fbc:type=\"minimize\">\n"
+            + "   <fbc:listOfFluxObjectives><fbc:fluxObjective fbc:reaction=\"R_AB\" fbc:coefficient=\"1\"/></fbc:listOfFluxObjectives>\n"
+            + "  </fbc:objective>\n"
+            + "  <fbc:objective fbc:id=\"growth\" fbc:type=\"maximize\">\n"
+            + "   <fbc:listOfFluxObjectives><fbc:fluxObjective fbc:reaction=\"R_biomass\" fbc:coefficient=\"1\"/></fbc:listOfFluxObjectives>\n"
+            + "  </fbc:objective>\n"
+            + " </fbc:listOfObjectives>\n"
+            + "</model>\n"
+            + "</sbml>\n";
+
+    @Test
+    void testReadFbcModel() throws IOException {
+        AbstractLPModel model = new SbmlReader().read(stream(TOY));
+
+        assertEquals(4, model.getVariableCount());
+        assertEquals(3, model.getConstraintCount());
+        assertFalse(model.hasConstraint("A_ext"));
+        assertEquals(OptimizationDirection.MAXIMIZE, model.getDirection());
+        assertEquals(Map.of("R_biomass", 1.0d), model.getObjectiveCoefficients());
+        assertEquals(10.0d, model.getVariable("R_uptake").getUpperBound(), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, model.getVariable("R_AB").getUpperBound(), 0.0);
+        assertEquals(-1000.0d, model.getVariable("R_AC").getLowerBound(), 0.0);
+
+        Constraint a = model.getConstraint("A");
+        assertEquals(Constraint.Relation.EQ, a.getRelation());
+        assertEquals(0.0d, a.getRhs(), 0.0);
+        assertEquals(Map.of("R_uptake", 1.0d, "R_AB", -2.0d, "R_AC", -1.0d), a.getCoefficients());
+
+        model.build();
+        assertEquals(5.0d, new OjAlgoSolver().solve(model).getObjectiveValue(), 1e-6);
+    }
+
+    @Test
+    void testFbcVersion1BoundsAndDefaults() throws IOException {
+        String sbml = "<sbml xmlns=\"http://www.sbml.org/sbml/level3/version1/core\""
+                + " xmlns:fbc=\"http://www.sbml.org/sbml/level3/version1/fbc/version1\" level=\"3\" version=\"1\">"
+                + "<model><listOfSpecies><species id=\"M\" boundaryCondition=\"false\"/></listOfSpecies>"
+                + "<listOfReactions>"
+                + "<reaction id=\"in\" reversible=\"false\"><listOfProducts><speciesReference species=\"M\"/></listOfProducts></reaction>"
+                + "<reaction id=\"out\" reversible=\"true\"><listOfReactants><speciesReference species=\"M\"/></listOfReactants></reaction>"
+                + "</listOfReactions>"
+                + "<fbc:listOfFluxBounds>"
+                + "<fbc:fluxBound fbc:reaction=\"in\" fbc:operation=\"lessEqual\" fbc:value=\"4\"/>"
+                + "</fbc:listOfFluxBounds>"
+                + "<fbc:listOfObjectives><fbc:objective fbc:id=\"o\" fbc:type=\"maximize\">"
+                + "<fbc:listOfFluxObjectives><fbc:fluxObjective fbc:reaction=\"out\" fbc:coefficient=\"2\"/></fbc:listOfFluxObjectives>"
+                + "</fbc:objective></fbc:listOfObjectives></model></sbml>";
+        AbstractLPModel model = new SbmlReader().read(stream(sbml));
+        assertEquals(0.0d, model.getVariable("in").getLowerBound(), 0.0);
+        assertEquals(4.0d, model.getVariable("in").getUpperBound(), 0.0);
+        assertEquals(Double.NEGATIVE_INFINITY, model.getVariable("out").getLowerBound(), 0.0);
+        model.build();
+        assertEquals(8.0d, new OjAlgoSolver().solve(model).getObjectiveValue(), 1e-6);
+    }
+
+    @Test
+    void testInvalidDocumentsAreRejected() {
+        IOException e = assertThrows(IOException.class, () -> new SbmlReader().read(stream(
+                TOY.replace("species=\"B\" stoichiometry=\"1\" constant=\"true\"/></listOfProducts>",
+                        "species=\"X\" stoichiometry=\"1\" constant=\"true\"/></listOfProducts>"))));
+        assertTrue(e.getMessage().matches("Line \\d+: Unknown species X"), e.getMessage());
+
+        e = assertThrows(IOException.class, () -> new SbmlReader().read(stream(
+                TOY.replace("<parameter id=\"max_uptake\" value=\"10\" constant=\"true\"/>", ""))));
+        assertTrue(e.getMessage().contains("max_uptake"), e.getMessage());
+
+        assertThrows(IOException.class, () -> new SbmlReader().read(stream(
+                TOY.replace("level=\"3\"", "level=\"2\""))));
+        assertThrows(IOException.class, () -> new SbmlReader().read(stream("<sbml level=\"3\"><model>")));
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
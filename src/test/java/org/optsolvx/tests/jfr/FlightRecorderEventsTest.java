@@ -0,0 +1,106 @@
+package org.optsolvx.tests.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.optsolvx.backend.commonsmath.CommonsMathSolver;
+import org.optsolvx.backend.ojalgo.OjAlgoSolver;
+import org.optsolvx.jfr.Events;
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.Constraint;
+import org.optsolvx.model.OptimizationDirection;
+import org.optsolvx.solver.LPSolverAdapter;
+import org.optsolvx.solver.OptSolvXConfig;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the flight recorder events in {@link Events}.
+ */
+public class FlightRecorderEventsTest {
+
+    @Test
+    void testBuildResolveAndSolveAreRecorded(@TempDir Path dir) throws IOException {
+        assertTrue(Events.isAvailable());
+        Path file = dir.resolve("optsolvx.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.optsolvx.ModelBuild");
+            recording.enable("org.optsolvx.BackendResolution");
+            recording.enable("org.optsolvx.Solve");
+            recording.start();
+
+            AbstractLPModel model = model();
+            model.build();
+            LPSolverAdapter adapter = OptSolvXConfig.resolve(model, "ojalgo");
+            adapter.solve(model);
+            new CommonsMathSolver().solve(model);
+
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().startsWith("org.optsolvx."))
+                .collect(Collectors.toList());
+
+        RecordedEvent build = single(events, "org.optsolvx.ModelBuild");
+        assertEquals(2, build.getInt("variables"));
+        assertEquals(2, build.getInt("constraints"));
+        assertEquals(4, build.getInt("nonZeros"));
+
+        RecordedEvent resolution = single(events, "org.optsolvx.BackendResolution");
+        assertEquals("ojalgo", resolution.getString("backend"));
+        assertEquals("explicit", resolution.getString("source"));
+        assertFalse(resolution.getBoolean("presolve"));
+
+        List<RecordedEvent> solves = events.stream()
+                .filter(e -> e.getEventType().getName().equals("org.optsolvx.Solve"))
+                .collect(Collectors.toList());
+        assertEquals(2, solves.size());
+        assertEquals(OjAlgoSolver.NAME, solves.get(0).getString("backend"));
+        assertEquals(CommonsMathSolver.NAME, solves.get(1).getString("backend"));
+        for (RecordedEvent solve : solves) {
+            assertEquals("OPTIMAL", solve.getString("status"));
+            assertEquals(2, solve.getInt("variables"));
+            assertEquals(4, solve.getInt("nonZeros"));
+            Duration translation = solve.getDuration("translationTime");
+            Duration solveTime = solve.getDuration("solveTime");
+            assertFalse(translation.isNegative());
+            assertTrue(solve.getDuration().compareTo(translation.plus(solveTime)) >= 0,
+                    "Event must span translation and solve");
+        }
+    }
+
+    @Test
+    void testNothingIsRecordedWithoutRecording() {
+        assertNull(Events.beginSolve());
+        assertNull(Events.beginBuild());
+        Events.endSolve(null, model(), null);
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(e -> e.getEventType().getName().equals(name))
+                .collect(Collectors.toList());
+        assertEquals(1, matching.size(), name);
+        return matching.get(0);
+    }
+
+    private static AbstractLPModel model() {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x", 0, 10);
+        model.addVariable("y", 0, 10);
+        model.setObjective(Map.of("x", 3.0d, "y", 5.0d), OptimizationDirection.MAXIMIZE);
+        model.addConstraint("c1", Map.of("x", 2.0d, "y", 1.0d), Constraint.Relation.LEQ, 6.0d);
+        model.addConstraint("c2", Map.of("x", 1.0d, "y", 1.0d), Constraint.Relation.LEQ, 4.0d);
+        return model;
+    }
+}
@@ -4,8 +4,19 @@ import org.optsolvx.model.*;
 import org.optsolvx.solver.LPSolution;
 import org.junit.jupiter.api.Test;
 import org.optsolvx.solver.LPSolverAdapter;
+import org.optsolvx.solver.SolveControl;
+import org.optsolvx.solver.SolveStatistics;
+import org.optsolvx.solver.SolveStatus;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -30,6 +41,264 @@ public abstract class BaseLPSolverTest {
         assertEquals(20.0d, sol.getObjectiveValue(), 1e-6);
     }
 
+    @Test
+    void testBulkBuiltModelMatchesNameBasedModel() {
+        // Same LP as testSimpleMaximization, built through the index-based API
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariables(new String[]{"x", "y"}, new double[]{0, 0}, new double[]{10, 10});
+        model.addRows(null, new int[]{0, 2, 4}, new int[]{0, 1, 0, 1}, new double[]{2.0d, 1.0d, 1.0d, 1.0d},
+                new Constraint.Relation[]{Constraint.Relation.LEQ, Constraint.Relation.LEQ}, new double[]{6.0d, 4.0d});
+        model.setObjective(new double[]{3.0d, 5.0d}, OptimizationDirection.MAXIMIZE);
+        model.build();
+
+        LPSolution sol = getSolver().solve(model);
+
+        assertTrue(sol.isFeasible());
+        assertEquals(4.0d, sol.getVariableValues().get("y"), 1e-6);
+        assertEquals(20.0d, sol.getObjectiveValue(), 1e-6);
+    }
+
+    @Test
+    void testEqualityWithFreeAndUpperBoundedVariables() {
+        // min x + 2y - z  s.t.  x + y + z = 4,  x - y >= -2,  x free, y <= 3 (no lower), z in [1, 2], w fixed at 5
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x", Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        model.addVariable("y", Double.NEGATIVE_INFINITY, 3.0d);
+        model.addVariable("z", 1.0d, 2.0d);
+        model.addVariable("w", 5.0d, 5.0d);
+        model.setObjective(Map.of("x", 1.0d, "y", 2.0d, "z", -1.0d, "w", 1.0d), OptimizationDirection.MINIMIZE);
+        model.addConstraint("sum", Map.of("x", 1.0d, "y", 1.0d, "z", 1.0d), Constraint.Relation.EQ, 4.0d);
+        model.addConstraint("diff", Map.of("x", 1.0d, "y", -1.0d), Constraint.Relation.GEQ, -2.0d);
+        model.addConstraint("cap", Map.of("x", 1.0d, "w", 1.0d), Constraint.Relation.LEQ, 20.0d);
+        model.build();
+
+        LPSolution sol = getSolver().solve(model);
+
+        // Objective = 4 + y - 2z + w: z = 2, y as low as cap allows (x = 15) -> y = -13; 15 - 26 - 2 + 5 = -8
+        assertTrue(sol.isFeasible());
+        assertEquals(15.0d, sol.getVariableValues().get("x"), 1e-6);
+        assertEquals(-13.0d, sol.getVariableValues().get("y"), 1e-6);
+        assertEquals(2.0d, sol.getVariableValues().get("z"), 1e-6);
+        assertEquals(5.0d, sol.getVariableValues().get("w"), 1e-6);
+        assertEquals(-8.0d, sol.getObjectiveValue(), 1e-6);
+    }
+
+    @Test
+    void testDualsReducedCostsAndSlacks() {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x", 0, 10);
+        model.addVariable("y", 0, 10);
+        model.setObjective(Map.of("x", 3.0d, "y", 5.0d), OptimizationDirection.MAXIMIZE);
+        model.addConstraint("c1", Map.of("x", 2.0d, "y", 1.0d), Constraint.Relation.LEQ, 6.0d);
+        model.addConstraint("c2", Map.of("x", 1.0d, "y", 1.0d), Constraint.Relation.LEQ, 4.0d);
+        model.build();
+
+        LPSolution sol = getSolver().solve(model);
+
+        // x = 0, y = 4: c2 binds with shadow price 5, raising x costs 5 - 3 per unit
+        assertTrue(sol.hasDuals());
+        assertArrayEquals(new double[]{4.0d, 4.0d}, sol.getRowActivities(), 1e-5);
+        assertEquals(2.0d, sol.getSlack("c1"), 1e-5);
+        assertEquals(0.0d, sol.getSlack(1), 1e-5);
+        assertArrayEquals(new double[]{0.0d, 5.0d}, sol.getDuals(), 1e-5);
+        assertEquals(-2.0d, sol.getReducedCost("x"), 1e-5);
+        assertEquals(0.0d, sol.getReducedCost("y"), 1e-5);
+        assertThrows(IllegalArgumentException.class, () -> sol.getDual("nope"));
+
+        // min x + 2y - z + w  s.t.  sum = 4, diff >= -2 (slack), cap <= 20 (binding)
+        AbstractLPModel mixed = new AbstractLPModel();
+        mixed.addVariable("x", Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        mixed.addVariable("y", Double.NEGATIVE_INFINITY, 3.0d);
+        mixed.addVariable("z", 1.0d, 2.0d);
+        mixed.addVariable("w", 5.0d, 5.0d);
+        mixed.setObjective(Map.of("x", 1.0d, "y", 2.0d, "z", -1.0d, "w", 1.0d), OptimizationDirection.MINIMIZE);
+        mixed.addConstraint("sum", Map.of("x", 1.0d, "y", 1.0d, "z", 1.0d), Constraint.Relation.EQ, 4.0d);
+        mixed.addConstraint("diff", Map.of("x", 1.0d, "y", -1.0d), Constraint.Relation.GEQ, -2.0d);
+        mixed.addConstraint("cap", Map.of("x", 1.0d, "w", 1.0d), Constraint.Relation.LEQ, 20.0d);
+        mixed.build();
+
+        LPSolution mixedSol = getSolver().solve(mixed);
+
+        assertTrue(mixedSol.hasDuals());
+        assertArrayEquals(new double[]{2.0d, 0.0d, -1.0d}, mixedSol.getDuals(), 1e-5);
+        assertArrayEquals(new double[]{0.0d, 0.0d, -3.0d, 2.0d}, mixedSol.getReducedCosts(), 1e-5);
+        assertEquals(-30.0d, mixedSol.getSlack("diff"), 1e-5);
+
+        LPSolution none = getSolver().solve(mixed, new SolveControl(1L, TimeUnit.NANOSECONDS));
+        assertFalse(none.hasDuals());
+        assertThrows(IllegalStateException.class, () -> none.getDual("sum"));
+    }
+
+    @Test
+    void testValuesAreArrayBackedWithReadOnlyMapView() {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x", 0, 10);
+        model.addVariable("y", 0, 10);
+        model.setObjective(Map.of("x", 3.0d, "y", 5.0d), OptimizationDirection.MAXIMIZE);
+        model.addConstraint("c1", Map.of("x", 2.0d, "y", 1.0d), Constraint.Relation.LEQ, 6.0d);
+        model.addConstraint("c2", Map.of("x", 1.0d, "y", 1.0d), Constraint.Relation.LEQ, 4.0d);
+        model.build();
+
+        LPSolution sol = getSolver().solve(model);
+
+        double[] values = sol.getVariableValueArray();
+        assertArrayEquals(new double[]{0.0d, 4.0d}, values, 1e-5);
+        assertEquals(values[1], sol.getVariableValue("y"), 0.0);
+        assertEquals(values[0], sol.getVariableValue(0), 0.0);
+        assertThrows(IllegalArgumentException.class, () -> sol.getVariableValue("z"));
+
+        Map<String, Double> view = sol.getVariableValues();
+        assertEquals(List.of("x", "y"), new ArrayList<>(view.keySet()));
+        Map<String, Double> copy = new LinkedHashMap<>(view);
+        assertEquals(copy, view);
+        assertEquals(view, copy);
+        assertEquals(copy.hashCode(), view.hashCode());
+        assertNull(view.get("z"));
+        assertFalse(view.containsKey(1));
+        assertThrows(UnsupportedOperationException.class, () -> view.put("x", 1.0d));
+
+        values[1] = 7.0d; // copies do not write through
+        assertNotEquals(7.0d, sol.getVariableValue(1));
+    }
+
+    @Test
+    void testEarlierSolutionIsUnchangedByLaterSolve() {
+        LPSolverAdapter solver = getSolver();
+        LPSolution first = solver.solve(sumModel(3.0d));
+        LPSolution second = solver.solve(sumModel(7.0d));
+
+        assertEquals(3.0d, first.getObjectiveValue(), 1e-5);
+        assertEquals(3.0d, first.getVariableValue("x") + first.getVariableValue("y"), 1e-5);
+        assertEquals(7.0d, second.getObjectiveValue(), 1e-5);
+        assertEquals(7.0d, second.getVariableValue("x") + second.getVariableValue("y"), 1e-5);
+    }
+
+    @Test
+    void testDualsCertifyOptimality() {
+        for (int seed = 1; seed <= 5; seed++) {
+            AbstractLPModel model = randomPackingModel(seed);
+            LPSolution sol = getSolver().solve(model);
+            assertTrue(sol.hasDuals(), "Model " + seed);
+
+            // Strong duality: c·x = dual·rhs + reduced·x, with the usual sign conditions of a maximization
+            double tolerance = 1e-4d * (1.0d + Math.abs(sol.getObjectiveValue()));
+            double dualObjective = 0.0d;
+            for (int i = 0; i < model.getConstraintCount(); i++) {
+                double dual = sol.getDual(i);
+                dualObjective += dual * model.getConstraintRhs(i);
+                assertTrue(dual >= -1e-6d, "Model " + seed + ", row " + i);
+                assertEquals(0.0d, dual * sol.getSlack(i), tolerance, "Model " + seed + ", row " + i);
+            }
+            for (int j = 0; j < model.getVariableCount(); j++) {
+                double x = sol.getVariableValues().get(model.getVariableName(j));
+                double reduced = sol.getReducedCost(j);
+                dualObjective += reduced * x;
+                if (x > model.getVariableLowerBound(j) + 1e-6d) assertTrue(reduced >= -1e-6d, "Model " + seed);
+                if (x < model.getVariableUpperBound(j) - 1e-6d) assertTrue(reduced <= 1e-6d, "Model " + seed);
+            }
+            assertEquals(sol.getObjectiveValue(), dualObjective, tolerance, "Model " + seed);
+        }
+    }
+
+    @Test
+    void testInfeasibleModelIsReported() {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x", 0.0d, 1.0d);
+        model.setObjective(Map.of("x", 1.0d), OptimizationDirection.MAXIMIZE);
+        model.addConstraint("c1", Map.of("x", 1.0d), Constraint.Relation.GEQ, 2.0d);
+        model.build();
+
+        LPSolution sol = getSolver().solve(model);
+
+        assertFalse(sol.isFeasible());
+        assertTrue(Double.isNaN(sol.getObjectiveValue()));
+    }
+
+    @Test
+    void testSolveStatisticsAreReported() {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x", 0, 10);
+        model.addVariable("y", 0, 10);
+        model.setObjective(Map.of("x", 3.0d, "y", 5.0d), OptimizationDirection.MAXIMIZE);
+        model.addConstraint("c1", Map.of("x", 2.0d, "y", 1.0d), Constraint.Relation.LEQ, 6.0d);
+        model.addConstraint("c2", Map.of("x", 1.0d, "y", 1.0d), Constraint.Relation.LEQ, 4.0d);
+        model.build();
+
+        SolveStatistics stats = getSolver().solve(model).getStatistics();
+
+        assertEquals(SolveStatus.OPTIMAL, stats.getStatus());
+        assertNotNull(stats.getBackend());
+        assertTrue(stats.getTranslationNanos() >= 0 && stats.getSolveNanos() >= 0 && stats.getExtractionNanos() >= 0);
+        assertTrue(stats.getTotalNanos() > 0);
+        assertNotEquals(0, stats.getIterations());
+        assertNull(stats.getError());
+    }
+
+    @Test
+    void testInfeasibleAndUnboundedStatus() {
+        AbstractLPModel infeasible = new AbstractLPModel();
+        infeasible.addVariable("x", 0.0d, 1.0d);
+        infeasible.setObjective(Map.of("x", 1.0d), OptimizationDirection.MAXIMIZE);
+        infeasible.addConstraint("c1", Map.of("x", 1.0d), Constraint.Relation.GEQ, 2.0d);
+        infeasible.build();
+        assertEquals(SolveStatus.INFEASIBLE, getSolver().solve(infeasible).getStatistics().getStatus());
+
+        AbstractLPModel unbounded = new AbstractLPModel();
+        unbounded.addVariable("x", 0.0d, Double.POSITIVE_INFINITY);
+        unbounded.addVariable("y", 0.0d, Double.POSITIVE_INFINITY);
+        unbounded.setObjective(Map.of("x", 1.0d, "y", 1.0d), OptimizationDirection.MAXIMIZE);
+        unbounded.addConstraint("c1", Map.of("x", 1.0d, "y", -1.0d), Constraint.Relation.LEQ, 1.0d);
+        unbounded.build();
+        LPSolution sol = getSolver().solve(unbounded);
+        assertFalse(sol.isFeasible());
+        assertEquals(SolveStatus.UNBOUNDED, sol.getStatistics().getStatus());
+    }
+
+    @Test
+    void testSolveAsync() throws Exception {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x", 0, 10);
+        model.addVariable("y", 0, 10);
+        model.setObjective(Map.of("x", 3.0d, "y", 5.0d), OptimizationDirection.MAXIMIZE);
+        model.addConstraint("c1", Map.of("x", 2.0d, "y", 1.0d), Constraint.Relation.LEQ, 6.0d);
+        model.addConstraint("c2", Map.of("x", 1.0d, "y", 1.0d), Constraint.Relation.LEQ, 4.0d);
+        model.build();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            LPSolution sol = getSolver().solveAsync(model, executor).get(30, TimeUnit.SECONDS);
+            assertEquals(SolveStatus.OPTIMAL, sol.getStatistics().getStatus());
+            assertEquals(20.0d, sol.getObjectiveValue(), 1e-6);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testSolveControlLimits() {
+        // Random packing LP that needs more than one iteration in every backend
+        AbstractLPModel model = randomPackingModel(1);
+
+        LPSolution limited = getSolver().solve(model, new SolveControl(0L, TimeUnit.SECONDS, 1));
+        assertFalse(limited.isFeasible());
+        assertEquals(SolveStatus.ITERATION_LIMIT, limited.getStatistics().getStatus());
+
+        LPSolution late = getSolver().solve(model, new SolveControl(1L, TimeUnit.NANOSECONDS));
+        assertFalse(late.isFeasible());
+        assertTrue(Double.isNaN(late.getObjectiveValue()));
+        assertEquals(SolveStatus.TIME_LIMIT, late.getStatistics().getStatus());
+
+        SolveControl control = new SolveControl();
+        control.cancel();
+        LPSolution cancelled = getSolver().solve(model, control);
+        assertFalse(cancelled.isFeasible());
+        assertEquals(SolveStatus.CANCELLED, cancelled.getStatistics().getStatus());
+        assertEquals(60, cancelled.getVariableValues().size());
+
+        assertEquals(SolveStatus.OPTIMAL, getSolver().solve(model, new SolveControl(1L, TimeUnit.MINUTES))
+                .getStatistics().getStatus());
+    }
+
     @Test
     void testAddVariable() {
         AbstractLPModel model = new AbstractLPModel();
@@ -97,4 +366,40 @@ public abstract class BaseLPSolverTest {
         model.addVariable("y", 0.0d, 5.0d); // should reset built-Flag
         assertFalse(model.isBuilt());
     }
+
+    /**
+     * max x + y s.t. x + y &lt;= rhs, x, y &gt;= 0.
+     */
+    private static AbstractLPModel sumModel(double rhs) {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x", 0.0d, Double.POSITIVE_INFINITY);
+        model.addVariable("y", 0.0d, Double.POSITIVE_INFINITY);
+        model.setObjective(Map.of("x", 1.0d, "y", 1.0d), OptimizationDirection.MAXIMIZE);
+        model.addConstraint("c1", Map.of("x", 1.0d, "y", 1.0d), Constraint.Relation.LEQ, rhs);
+        model.build();
+        return model;
+    }
+
+    /**
+     * max c·x s.t. A·x &lt;= b, 0 &lt;= x &lt;= 100 with 60 variables and 40 random sparse rows.
+     */
+    private static AbstractLPModel randomPackingModel(long seed) {
+        Random random = new Random(seed);
+        AbstractLPModel model = new AbstractLPModel();
+        Map<String, Double> objective = new HashMap<>();
+        for (int j = 0; j < 60; j++) {
+            model.addVariable("x" + j, 0.0d, 100.0d);
+            objective.put("x" + j, 1.0d + random.nextInt(5));
+        }
+        for (int i = 0; i < 40; i++) {
+            Map<String, Double> row = new HashMap<>();
+            for (int j = 0; j < 60; j++) {
+                if (random.nextInt(3) == 0) row.put("x" + j, 1.0d + random.nextInt(9));
+            }
+            model.addConstraint("c" + i, row, Constraint.Relation.LEQ, 50.0d + random.nextInt(50));
+        }
+        model.setObjective(objective, OptimizationDirection.MAXIMIZE);
+        model.build();
+        return model;
+    }
 }
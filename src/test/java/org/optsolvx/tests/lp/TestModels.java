@@ -0,0 +1,137 @@
+package org.optsolvx.tests.lp;
+
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.Constraint;
+import org.optsolvx.model.OptimizationDirection;
+import org.optsolvx.model.SparseMatrix;
+import org.optsolvx.solver.LPSolution;
+
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Generated models and solution checks shared by the backend tests.
+ */
+public final class TestModels {
+
+    private TestModels() {
+    }
+
+    /**
+     * Feasible by construction: the right-hand sides are the activities of a point within the
+     * bounds (with slack for inequalities).
+     *
+     * @param maxRowLength rows get 2 to {@code maxRowLength} entries
+     */
+    public static AbstractLPModel randomFeasibleModel(Random random, int n, int m, int maxRowLength) {
+        AbstractLPModel model = new AbstractLPModel();
+        double[] point = new double[n];
+        double[] costs = new double[n];
+        for (int j = 0; j < n; j++) {
+            double upper = 1 + random.nextInt(20);
+            model.addVariable("v" + j, 0.0d, upper);
+            point[j] = random.nextInt((int) upper + 1);
+            costs[j] = random.nextInt(11) - 3;
+        }
+        model.setObjective(costs, OptimizationDirection.MAXIMIZE);
+        for (int i = 0; i < m; i++) {
+            int len = 2 + random.nextInt(maxRowLength - 1);
+            int[] columns = new int[len];
+            double[] values = new double[len];
+            int start = random.nextInt(n);
+            double activity = 0.0d;
+            for (int p = 0; p < len; p++) {
+                columns[p] = (start + p * 11) % n;
+                values[p] = random.nextInt(5) - 2;
+                if (values[p] == 0.0d) values[p] = 1.0d;
+                activity += values[p] * point[columns[p]];
+            }
+            if (i % 3 == 0) {
+                model.addRow("r" + i, columns, values, Constraint.Relation.EQ, activity);
+            } else {
+                model.addRow("r" + i, columns, values, Constraint.Relation.LEQ, activity + random.nextInt(3));
+            }
+        }
+        model.build();
+        return model;
+    }
+
+    /**
+     * Flux-balance style model: all rows are steady-state equalities {@code S·v = 0} with
+     * {@code ±1} entries, so nearly every basis is degenerate. Columns {@code 1..n/20} are
+     * exchange reactions, the rest are internal reactions with 2 or 3 metabolites (30% of them
+     * reversible); column {@code v0} consumes 4 metabolites and is maximized.
+     */
+    public static AbstractLPModel randomMetabolicModel(Random random, int n, int m) {
+        AbstractLPModel model = new AbstractLPModel();
+        final int exchanges = n / 20;
+        int[][] columns = new int[n][];
+        int[] count = new int[m];
+        for (int j = 0; j < n; j++) {
+            final int len = j == 0 ? 4 : j <= exchanges ? 1 : 2 + random.nextInt(2);
+            columns[j] = new int[len];
+            for (int p = 0; p < len; p++) {
+                columns[j][p] = (random.nextInt(m) + p * (m / len)) % m;
+                count[columns[j][p]]++;
+            }
+            final double lower = j == 0 ? 0.0d : j <= exchanges ? -10.0d : random.nextInt(10) < 3 ? -1000.0d : 0.0d;
+            final double upper = j == 0 ? Double.POSITIVE_INFINITY : 1000.0d;
+            model.addVariable("v" + j, lower, upper);
+        }
+        // Transpose the reaction columns into metabolite rows; the first entry of an internal
+        // reaction is its product, all other entries are consumed
+        int[][] rowColumns = new int[m][];
+        double[][] rowValues = new double[m][];
+        for (int i = 0; i < m; i++) {
+            rowColumns[i] = new int[count[i]];
+            rowValues[i] = new double[count[i]];
+            count[i] = 0;
+        }
+        for (int j = 0; j < n; j++) {
+            for (int p = 0; p < columns[j].length; p++) {
+                final int i = columns[j][p];
+                rowColumns[i][count[i]] = j;
+                rowValues[i][count[i]++] = j <= exchanges || p > 0 ? -1.0d : 1.0d;
+            }
+        }
+        for (int i = 0; i < m; i++) {
+            model.addRow("m" + i, rowColumns[i], rowValues[i], Constraint.Relation.EQ, 0.0d);
+        }
+        model.setObjective(Map.of("v0", 1.0d), OptimizationDirection.MAXIMIZE);
+        model.build();
+        return model;
+    }
+
+    /**
+     * Asserts that the values of {@code sol} satisfy the bounds and rows of {@code model} within 1e-6.
+     */
+    public static void assertSatisfied(AbstractLPModel model, LPSolution sol) {
+        final int n = model.getVariableCount();
+        final double[] x = new double[n];
+        for (int j = 0; j < n; j++) {
+            x[j] = sol.getVariableValues().get(model.getVariableName(j));
+            assertTrue(x[j] >= model.getVariableLowerBound(j) - 1e-6 && x[j] <= model.getVariableUpperBound(j) + 1e-6);
+        }
+        final SparseMatrix a = model.getMatrix();
+        for (int i = 0; i < model.getConstraintCount(); i++) {
+            double activity = 0.0d;
+            for (int p = a.getRowStart(i); p < a.getRowEnd(i); p++) {
+                activity += a.getRowValue(p) * x[a.getColumnIndex(p)];
+            }
+            final double rhs = model.getConstraintRhs(i);
+            switch (model.getConstraintRelation(i)) {
+                case LEQ:
+                    assertTrue(activity <= rhs + 1e-6);
+                    break;
+                case GEQ:
+                    assertTrue(activity >= rhs - 1e-6);
+                    break;
+                default:
+                    assertEquals(rhs, activity, 1e-6);
+            }
+        }
+    }
+}
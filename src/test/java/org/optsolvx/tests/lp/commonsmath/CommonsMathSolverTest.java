@@ -1,12 +1,101 @@
 package org.optsolvx.tests.lp.commonsmath;
 
+import org.junit.jupiter.api.Test;
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.Constraint;
+import org.optsolvx.model.OptimizationDirection;
+import org.optsolvx.solver.LPSolution;
 import org.optsolvx.solver.LPSolverAdapter;
 import org.optsolvx.backend.commonsmath.CommonsMathSolver;
 import org.optsolvx.tests.lp.BaseLPSolverTest;
 
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 public class CommonsMathSolverTest extends BaseLPSolverTest {
     @Override
     protected LPSolverAdapter getSolver() {
         return new CommonsMathSolver();
     }
+
+    @Test
+    void testCompactAndExpandedFormulationsAgree() {
+        // Small FBA-like chain with reversible reactions and boxed bounds
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("in", 0.0d, 10.0d);
+        model.addVariable("r1", -1000.0d, 1000.0d);
+        model.addVariable("r2", -5.0d, 1000.0d);
+        model.addVariable("out", 0.0d, 1000.0d);
+        model.setObjective(Map.of("out", 1.0d, "r2", -0.1d), OptimizationDirection.MAXIMIZE);
+        model.addConstraint("A", Map.of("in", 1.0d, "r1", -1.0d), Constraint.Relation.EQ, 0.0d);
+        model.addConstraint("B", Map.of("r1", 1.0d, "r2", -1.0d), Constraint.Relation.EQ, 0.0d);
+        model.addConstraint("C", Map.of("r2", 1.0d, "out", -1.0d), Constraint.Relation.EQ, 0.0d);
+        model.build();
+
+        LPSolution compact = new CommonsMathSolver(true).solve(model);
+        LPSolution expanded = new CommonsMathSolver(false).solve(model);
+
+        assertTrue(compact.isFeasible());
+        assertTrue(expanded.isFeasible());
+        assertEquals(expanded.getObjectiveValue(), compact.getObjectiveValue(), 1e-6);
+        assertEquals(9.0d, compact.getObjectiveValue(), 1e-6);
+        assertEquals(10.0d, compact.getVariableValues().get("out"), 1e-6);
+    }
+
+    @Test
+    void testImpliedUpperBoundsStillHold() {
+        // x <= 100 is implied by x + y <= 4 (x, y >= 0), so compact mode may drop the bound row
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x", 0.0d, 100.0d);
+        model.addVariable("y", 0.0d, 1.0d);
+        model.setObjective(Map.of("x", 1.0d, "y", 1.0d), OptimizationDirection.MAXIMIZE);
+        model.addConstraint("c1", Map.of("x", 1.0d, "y", 1.0d), Constraint.Relation.LEQ, 4.0d);
+        model.addConstraint("c2", Map.of("y", -1.0d), Constraint.Relation.LEQ, -0.5d);
+        model.build();
+
+        LPSolution sol = new CommonsMathSolver(true).solve(model);
+
+        assertTrue(sol.isFeasible());
+        assertEquals(4.0d, sol.getObjectiveValue(), 1e-6);
+        assertTrue(sol.getVariableValues().get("y") <= 1.0d + 1e-9);
+    }
+
+    @Test
+    void testDegenerateEqualityRowIsSatisfied() {
+        // Commons Math returns a point violating c1 for the compact form of this model
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("a", Double.NEGATIVE_INFINITY, 19.0d);
+        model.addVariable("b", -1.0d, 18.0d);
+        model.addVariable("c", Double.NEGATIVE_INFINITY, 8.0d);
+        model.setObjective(Map.of("a", -3.0d, "b", 4.0d, "c", -3.0d), OptimizationDirection.MAXIMIZE);
+        model.addConstraint("c1", Map.of("a", -3.0d, "b", 1.0d, "c", -3.0d), Constraint.Relation.EQ, -75.0d);
+        model.build();
+
+        LPSolution sol = new CommonsMathSolver(true).solve(model);
+
+        assertTrue(sol.isFeasible());
+        assertEquals(-57.0d, sol.getObjectiveValue(), 1e-6);
+        Map<String, Double> x = sol.getVariableValues();
+        assertEquals(-75.0d, -3.0d * x.get("a") + x.get("b") - 3.0d * x.get("c"), 1e-6);
+    }
+
+    @Test
+    void testDualRecoveryCanBeSwitchedOff() {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x", 0.0d, 10.0d);
+        model.addVariable("y", 0.0d, 10.0d);
+        model.setObjective(Map.of("x", 3.0d, "y", 5.0d), OptimizationDirection.MAXIMIZE);
+        model.addConstraint("c1", Map.of("x", 1.0d, "y", 1.0d), Constraint.Relation.LEQ, 4.0d);
+        model.build();
+        CommonsMathSolver solver = new CommonsMathSolver();
+        assertTrue(solver.isDualRecovery());
+        solver.setDualRecovery(false);
+
+        LPSolution sol = solver.solve(model);
+
+        assertEquals(20.0d, sol.getObjectiveValue(), 1e-6);
+        assertTrue(sol.hasRowActivities());
+        assertFalse(sol.hasDuals());
+    }
 }
@@ -0,0 +1,148 @@
+package org.optsolvx.tests.lp.ojalgo;
+
+import org.junit.jupiter.api.Test;
+import org.optsolvx.backend.ojalgo.OjAlgoSession;
+import org.optsolvx.backend.ojalgo.OjAlgoSolver;
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.Constraint;
+import org.optsolvx.model.OptimizationDirection;
+import org.optsolvx.solver.LPSolution;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link OjAlgoSession}: edits are applied in place and re-solves
+ * agree with a fresh solve of the equivalent model.
+ */
+public class OjAlgoSessionTest {
+
+    @Test
+    void testEditsAndResolveMatchFreshSolves() {
+        try (OjAlgoSession session = new OjAlgoSolver().openSession(model(1, 10, 6, 8))) {
+            assertEquals(11.0d, session.solve().getObjectiveValue(), 1e-6);
+
+            // Singleton row: ojAlgo presolve turns it into a bound, the edit must still apply
+            session.setConstraintRhs("single", 10.0d);
+            assertEquals(fresh(model(1, 10, 10, 8)), session.solve().getObjectiveValue(), 1e-6);
+
+            session.setVariableBounds("y", 0.0d, 2.0d);
+            LPSolution sol = session.solve();
+            assertEquals(10.0d, sol.getObjectiveValue(), 1e-6);
+            assertEquals(2.0d, sol.getVariableValues().get("y"), 1e-6);
+
+            session.setObjectiveCoefficient("x", 5.0d);
+            assertEquals(40.0d, session.solve().getObjectiveValue(), 1e-6); // x = 8, y = 0
+        }
+    }
+
+    @Test
+    void testRelaxingBoundsAndInfeasibleEdits() {
+        try (OjAlgoSession session = new OjAlgoSolver().openSession(model(1, 10, 6, 8))) {
+            session.solve();
+            session.setVariableBounds(0, 9.0d, 10.0d); // x >= 9 conflicts with x + y <= 8
+            assertFalse(session.solve().isFeasible());
+
+            session.setVariableBounds(0, 0.0d, Double.POSITIVE_INFINITY);
+            session.setConstraintRhs(1, 20.0d);
+            LPSolution sol = session.solve();
+            assertTrue(sol.isFeasible());
+            assertEquals(fresh(model(1, Double.POSITIVE_INFINITY, 6, 20)), sol.getObjectiveValue(), 1e-6);
+            assertEquals(23.0d, sol.getObjectiveValue(), 1e-6); // x = 17, y = 3
+        }
+    }
+
+    @Test
+    void testRowsRedundantBeforeAnEditStillApply() {
+        // cap is implied by the bounds of the first solve; ojAlgo's presolve marks it redundant
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x", 0.0d, 3.0d);
+        model.addVariable("y", 0.0d, 3.0d);
+        model.setObjective(Map.of("x", 1.0d, "y", 1.0d), OptimizationDirection.MAXIMIZE);
+        model.addConstraint("cap", Map.of("x", 1.0d, "y", 1.0d), Constraint.Relation.LEQ, 10.0d);
+        model.build();
+        try (OjAlgoSession session = new OjAlgoSolver().openSession(model)) {
+            assertEquals(6.0d, session.solve().getObjectiveValue(), 1e-6);
+
+            session.setVariableBounds("x", 0.0d, 20.0d);
+            assertEquals(10.0d, session.solve().getObjectiveValue(), 1e-6);
+
+            session.setConstraintRhs("cap", 12.0d);
+            assertEquals(12.0d, session.solve().getObjectiveValue(), 1e-6);
+        }
+        try (OjAlgoSession session = new OjAlgoSolver().openSession(model)) {
+            session.solve();
+            model.setVariableBounds("y", 0.0d, 20.0d);
+            assertEquals(10.0d, session.solve().getObjectiveValue(), 1e-6);
+        }
+    }
+
+    @Test
+    void testModelEditsArePickedUpByNextSolve() {
+        AbstractLPModel model = model(1, 10, 6, 8);
+        try (OjAlgoSession session = new OjAlgoSolver().openSession(model)) {
+            assertEquals(11.0d, session.solve().getObjectiveValue(), 1e-6);
+
+            model.setConstraintRhs("c", 20.0d);
+            model.setObjectiveCoefficient("x", 2.0d);
+            model.setCoefficient("single", "y", 1.0d); // y <= 6
+            assertEquals(fresh(model), session.solve().getObjectiveValue(), 1e-6);
+            assertEquals(32.0d, session.solve().getObjectiveValue(), 1e-6); // x = 10, y = 6
+
+            model.setDirection(OptimizationDirection.MINIMIZE);
+            assertEquals(0.0d, session.solve().getObjectiveValue(), 1e-6);
+
+            // Structural change: session reloads from the model
+            model.addVariable("z", 0, 1);
+            model.setObjectiveCoefficient("z", -1.0d);
+            LPSolution sol = session.solve();
+            assertEquals(-1.0d, sol.getObjectiveValue(), 1e-6);
+            assertEquals(1.0d, sol.getVariableValues().get("z"), 1e-6);
+        }
+    }
+
+    @Test
+    void testSessionRejectsInvalidEditsAndUseAfterClose() {
+        OjAlgoSession session = new OjAlgoSolver().openSession(model(1, 10, 6, 8));
+        assertThrows(IllegalArgumentException.class, () -> session.setVariableBounds(0, 2.0d, 1.0d));
+        assertThrows(IndexOutOfBoundsException.class, () -> session.setConstraintRhs(5, 1.0d));
+        assertThrows(IllegalArgumentException.class, () -> session.setObjectiveCoefficient("nope", 1.0d));
+        session.close();
+        assertThrows(IllegalStateException.class, session::solve);
+    }
+
+    @Test
+    void testDualRecoveryCanBeSwitchedOff() {
+        OjAlgoSolver solver = new OjAlgoSolver();
+        assertTrue(solver.isDualRecovery());
+        solver.setDualRecovery(false);
+        try (OjAlgoSession session = solver.openSession(model(1, 10, 6, 8))) {
+            LPSolution sol = session.solve();
+            assertEquals(11.0d, sol.getObjectiveValue(), 1e-6);
+            assertTrue(sol.hasRowActivities());
+            assertFalse(sol.hasDuals());
+
+            session.setDualRecovery(true);
+            assertTrue(session.solve().hasDuals());
+        }
+    }
+
+    private static double fresh(AbstractLPModel model) {
+        return new OjAlgoSolver().solve(model).getObjectiveValue();
+    }
+
+    /**
+     * max cx*x + 2y  s.t.  2y <= single, x + y <= c, 0 <= x <= xUpper, 0 <= y <= 10
+     */
+    private static AbstractLPModel model(double cx, double xUpper, double single, double c) {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x", 0, xUpper);
+        model.addVariable("y", 0, 10);
+        model.setObjective(Map.of("x", cx, "y", 2.0d), OptimizationDirection.MAXIMIZE);
+        model.addConstraint("single", Map.of("y", 2.0d), Constraint.Relation.LEQ, single);
+        model.addConstraint("c", Map.of("x", 1.0d, "y", 1.0d), Constraint.Relation.LEQ, c);
+        model.build();
+        return model;
+    }
+}
@@ -0,0 +1,189 @@
+package org.optsolvx.tests.lp.pdlp;
+
+import org.junit.jupiter.api.Test;
+import org.optsolvx.backend.pdlp.PdlpSolver;
+import org.optsolvx.backend.simplex.DualSimplexSolver;
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.Constraint;
+import org.optsolvx.model.OptimizationDirection;
+import org.optsolvx.solver.LPSolution;
+import org.optsolvx.solver.LPSolverAdapter;
+import org.optsolvx.solver.SolveControl;
+import org.optsolvx.solver.SolveStatus;
+import org.optsolvx.solver.SolverRegistry;
+import org.optsolvx.tests.lp.BaseLPSolverTest;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+import java.util.ServiceLoader;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.optsolvx.tests.lp.TestModels.randomFeasibleModel;
+
+public class PdlpSolverTest extends BaseLPSolverTest {
+    @Override
+    protected LPSolverAdapter getSolver() {
+        PdlpSolver solver = new PdlpSolver();
+        solver.setTolerance(1e-10);
+        return solver;
+    }
+
+    @Test
+    void testRegisteredInSolverRegistryAndServiceFile() {
+        assertInstanceOf(PdlpSolver.class, SolverRegistry.create("pdlp"));
+        boolean found = false;
+        for (LPSolverAdapter adapter : ServiceLoader.load(LPSolverAdapter.class)) {
+            found |= adapter instanceof PdlpSolver;
+        }
+        assertTrue(found);
+    }
+
+    @Test
+    void testRandomModelsMatchSimplexWithinTolerance() {
+        Random random = new Random(3);
+        for (int k = 0; k < 10; k++) {
+            AbstractLPModel model = randomFeasibleModel(random, 60 + random.nextInt(60), 30 + random.nextInt(40), 9);
+            LPSolution expected = new DualSimplexSolver().solve(model);
+            PdlpSolver solver = new PdlpSolver();
+            solver.setTolerance(1e-8);
+            LPSolution actual = solver.solve(model);
+
+            assertTrue(actual.isFeasible(), "Model " + k);
+            double scale = 1.0d + Math.abs(expected.getObjectiveValue());
+            assertEquals(expected.getObjectiveValue(), actual.getObjectiveValue(), 1e-6 * scale, "Model " + k);
+            assertTrue(solver.getLastRelativeError() <= 1e-8);
+        }
+    }
+
+    @Test
+    void testLooserToleranceNeedsFewerIterations() {
+        AbstractLPModel model = randomFeasibleModel(new Random(9), 200, 120, 9);
+        PdlpSolver precise = new PdlpSolver();
+        precise.setTolerance(1e-9);
+        PdlpSolver rough = new PdlpSolver();
+        rough.setTolerance(1e-3);
+
+        LPSolution exact = precise.solve(model);
+        LPSolution approximate = rough.solve(model);
+
+        assertTrue(exact.isFeasible() && approximate.isFeasible());
+        assertTrue(rough.getLastIterationCount() < precise.getLastIterationCount());
+        assertEquals(exact.getObjectiveValue(), approximate.getObjectiveValue(),
+                1e-2 * (1.0d + Math.abs(exact.getObjectiveValue())));
+    }
+
+    @Test
+    void testUnboundedModelIsReported() {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x", 0.0d, Double.POSITIVE_INFINITY);
+        model.addVariable("y", 0.0d, Double.POSITIVE_INFINITY);
+        model.setObjective(Map.of("x", 1.0d), OptimizationDirection.MAXIMIZE);
+        model.addConstraint("c1", Map.of("x", 1.0d, "y", -1.0d), Constraint.Relation.LEQ, 1.0d);
+        model.build();
+
+        PdlpSolver solver = new PdlpSolver();
+        LPSolution sol = solver.solve(model);
+
+        assertFalse(sol.isFeasible());
+        assertTrue(Double.isNaN(sol.getObjectiveValue()));
+        assertTrue(solver.getLastIterationCount() < solver.getMaxIterations());
+    }
+
+    @Test
+    void testInfeasibleModelWithPrimalRayIsInfeasible() {
+        // y is an improving ray, but -3·x = 6 has no solution with x >= 0
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x", 0.0d, Double.POSITIVE_INFINITY);
+        model.addVariable("y", 0.0d, Double.POSITIVE_INFINITY);
+        model.setObjective(Map.of("y", 1.0d), OptimizationDirection.MAXIMIZE);
+        model.addConstraint("c1", Map.of("x", -3.0d), Constraint.Relation.EQ, 6.0d);
+        model.build();
+
+        LPSolution sol = new PdlpSolver().solve(model);
+
+        assertFalse(sol.isFeasible());
+        assertEquals(SolveStatus.INFEASIBLE, sol.getStatistics().getStatus());
+    }
+
+    @Test
+    void testInfeasibleRandomModelIsDetected() {
+        // Only the sum a - b - c of three added rows is contradictory (0 >= 1)
+        AbstractLPModel model = randomFeasibleModel(new Random(21), 40, 25, 9);
+        model.addRow("a", new int[]{0, 1, 2}, new double[]{1.0d, 1.0d, -1.0d}, Constraint.Relation.GEQ, 3.0d);
+        model.addRow("b", new int[]{1, 3}, new double[]{1.0d, 1.0d}, Constraint.Relation.LEQ, 1.0d);
+        model.addRow("c", new int[]{0, 2, 3}, new double[]{1.0d, -1.0d, -1.0d}, Constraint.Relation.LEQ, 1.0d);
+        model.build();
+
+        PdlpSolver solver = new PdlpSolver();
+        LPSolution sol = solver.solve(model);
+
+        assertEquals(SolveStatus.INFEASIBLE, sol.getStatistics().getStatus());
+        assertTrue(solver.getLastIterationCount() < solver.getMaxIterations());
+    }
+
+    @Test
+    void testUnboundedRandomModelIsDetected() {
+        // w = z = 2·s is an improving ray through two added rows
+        AbstractLPModel model = randomFeasibleModel(new Random(22), 40, 25, 9);
+        final int w = model.addVariable("w", 0.0d, Double.POSITIVE_INFINITY);
+        final int z = model.addVariable("z", Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        final int s = model.addVariable("s", 0.0d, Double.POSITIVE_INFINITY);
+        model.addRow("u1", new int[]{w, z, 0}, new double[]{1.0d, -1.0d, -1.0d}, Constraint.Relation.LEQ, 0.0d);
+        model.addRow("u2", new int[]{z, s}, new double[]{1.0d, -2.0d}, Constraint.Relation.EQ, 1.0d);
+        model.setObjectiveCoefficient(w, 1.0d);
+        model.build();
+
+        PdlpSolver solver = new PdlpSolver();
+        LPSolution sol = solver.solve(model);
+
+        assertEquals(SolveStatus.UNBOUNDED, sol.getStatistics().getStatus());
+        assertTrue(solver.getLastIterationCount() < solver.getMaxIterations());
+    }
+
+    @Test
+    void testDivergingIteratesTerminate() {
+        // Small unbounded model whose primal weight used to grow until the iterates became NaN
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("v0", 0.0d, 3.0d);
+        model.addVariable("v1", Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        model.addVariable("v2", -2.0d, Double.POSITIVE_INFINITY);
+        model.addVariable("v3", Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        model.addVariable("v4", Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        model.addVariable("v5", 1.0d, Double.POSITIVE_INFINITY);
+        model.setObjective(new double[]{4.0d, 0.0d, -2.0d, 1.0d, 0.0d, -3.0d}, OptimizationDirection.MAXIMIZE);
+        model.addRow("r0", new int[]{2, 3, 4}, new double[]{3.0d, -2.0d, -3.0d}, Constraint.Relation.LEQ, -9.0d);
+        model.addRow("r1", new int[]{0}, new double[]{-1.0d}, Constraint.Relation.LEQ, -2.0d);
+        model.addRow("r2", new int[]{1, 5}, new double[]{1.0d, 1.0d}, Constraint.Relation.EQ, -4.0d);
+        model.build();
+
+        LPSolution sol = assertTimeoutPreemptively(Duration.ofSeconds(60), () -> new PdlpSolver().solve(model));
+        assertFalse(sol.isFeasible());
+        assertNotEquals(SolveStatus.INFEASIBLE, sol.getStatistics().getStatus());
+
+        LPSolution limited = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> new PdlpSolver().solve(model, new SolveControl(50L, TimeUnit.MILLISECONDS)));
+        assertFalse(limited.isFeasible());
+    }
+
+    @Test
+    void testParallelProductsGiveSameResult() {
+        // Large enough for the parallel matrix-vector products
+        AbstractLPModel model = randomFeasibleModel(new Random(4), 30_000, 20_000, 9);
+        assertTrue(model.getMatrix().getNonZeroCount() >= PdlpSolver.PARALLEL_NON_ZEROS);
+        PdlpSolver sequential = new PdlpSolver();
+        sequential.setParallelism(1);
+        sequential.setTolerance(1e-4);
+        PdlpSolver parallel = new PdlpSolver();
+        parallel.setParallelism(4);
+        parallel.setTolerance(1e-4);
+
+        LPSolution a = sequential.solve(model);
+        LPSolution b = parallel.solve(model);
+
+        assertTrue(a.isFeasible());
+        assertEquals(sequential.getLastIterationCount(), parallel.getLastIterationCount());
+        assertEquals(a.getVariableValues(), b.getVariableValues());
+    }
+}
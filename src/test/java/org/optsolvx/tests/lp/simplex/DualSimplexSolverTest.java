@@ -0,0 +1,271 @@
+package org.optsolvx.tests.lp.simplex;
+
+import org.junit.jupiter.api.Test;
+import org.optsolvx.backend.ojalgo.OjAlgoSolver;
+import org.optsolvx.backend.pdlp.PdlpSolver;
+import org.optsolvx.backend.simplex.DualRecovery;
+import org.optsolvx.backend.simplex.DualSimplexSession;
+import org.optsolvx.backend.simplex.DualSimplexSolver;
+import org.optsolvx.backend.simplex.SimplexBasis;
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.Constraint;
+import org.optsolvx.model.OptimizationDirection;
+import org.optsolvx.model.SparseMatrix;
+import org.optsolvx.solver.LPSolution;
+import org.optsolvx.solver.LPSolverAdapter;
+import org.optsolvx.solver.SolveControl;
+import org.optsolvx.solver.SolveStatus;
+import org.optsolvx.solver.SolverRegistry;
+import org.optsolvx.tests.lp.BaseLPSolverTest;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.optsolvx.tests.lp.TestModels.assertSatisfied;
+import static org.optsolvx.tests.lp.TestModels.randomFeasibleModel;
+import static org.optsolvx.tests.lp.TestModels.randomMetabolicModel;
+
+public class DualSimplexSolverTest extends BaseLPSolverTest {
+    @Override
+    protected LPSolverAdapter getSolver() {
+        return new DualSimplexSolver();
+    }
+
+    @Test
+    void testRegisteredInSolverRegistry() {
+        assertInstanceOf(DualSimplexSolver.class, SolverRegistry.create("optsolvx-simplex"));
+        assertInstanceOf(DualSimplexSolver.class, SolverRegistry.create("simplex"));
+    }
+
+    @Test
+    void testRandomSparseModelsMatchOjAlgo() {
+        final Random random = new Random(7);
+        int feasible = 0;
+        for (int k = 0; k < 60; k++) {
+            AbstractLPModel model = randomModel(random, 20 + random.nextInt(30), 10 + random.nextInt(25));
+            LPSolution expected = new OjAlgoSolver().solve(model);
+            LPSolution actual = new DualSimplexSolver().solve(model);
+
+            assertEquals(expected.isFeasible(), actual.isFeasible(), "Model " + k);
+            if (!actual.isFeasible()) continue;
+            feasible++;
+            double scale = Math.max(1.0d, Math.abs(expected.getObjectiveValue()));
+            assertEquals(expected.getObjectiveValue(), actual.getObjectiveValue(), 1e-6 * scale, "Model " + k);
+            assertSatisfied(model, actual);
+        }
+        assertTrue(feasible > 20 && feasible < 60, "Generator should produce feasible and infeasible models: " + feasible);
+    }
+
+    @Test
+    void testUnboundedModelIsReported() {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x", 0.0d, Double.POSITIVE_INFINITY);
+        model.addVariable("y", 0.0d, Double.POSITIVE_INFINITY);
+        model.setObjective(Map.of("x", 1.0d), OptimizationDirection.MAXIMIZE);
+        model.addConstraint("c1", Map.of("x", 1.0d, "y", -1.0d), Constraint.Relation.LEQ, 1.0d);
+        model.build();
+
+        LPSolution sol = new DualSimplexSolver().solve(model);
+
+        assertFalse(sol.isFeasible());
+        assertTrue(Double.isNaN(sol.getObjectiveValue()));
+    }
+
+    @Test
+    void testInfeasibleModelWithUnboundedObjectiveIsInfeasible() {
+        // No dual feasible basis (y is unbounded) and no feasible point (-3·x = 6, x >= 0)
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x", 0.0d, Double.POSITIVE_INFINITY);
+        model.addVariable("y", 0.0d, Double.POSITIVE_INFINITY);
+        model.setObjective(Map.of("y", 1.0d), OptimizationDirection.MAXIMIZE);
+        model.addConstraint("c1", Map.of("x", -3.0d), Constraint.Relation.EQ, 6.0d);
+        model.build();
+        assertEquals(SolveStatus.INFEASIBLE, new DualSimplexSolver().solve(model).getStatistics().getStatus());
+
+        // Empty row 0 >= 4
+        AbstractLPModel empty = new AbstractLPModel();
+        empty.addVariable("x", 0.0d, Double.POSITIVE_INFINITY);
+        empty.setObjective(Map.of("x", 1.0d), OptimizationDirection.MAXIMIZE);
+        empty.addRow("c1", new int[0], new double[0], Constraint.Relation.GEQ, 4.0d);
+        empty.build();
+        assertEquals(SolveStatus.INFEASIBLE, new DualSimplexSolver().solve(empty).getStatistics().getStatus());
+    }
+
+    @Test
+    void testDualRecoveryHonoursSolveControl() {
+        AbstractLPModel model = randomFeasibleModel(new Random(13), 40, 25, 6);
+        LPSolution sol = new OjAlgoSolver().solve(model);
+        assertTrue(sol.isFeasible());
+        double[] x = sol.getVariableValueArray();
+        DualRecovery recovery = new DualRecovery();
+
+        assertArrayEquals(new DualSimplexSolver().solve(model).getDuals(),
+                recovery.duals(model, x, new SolveControl()), 1e-6);
+        SolveControl cancelled = new SolveControl();
+        cancelled.cancel();
+        assertNull(recovery.duals(model, x, cancelled));
+        assertNull(recovery.duals(model, x, new SolveControl(1L, TimeUnit.NANOSECONDS)));
+    }
+
+    @Test
+    void testDualRecoveryOnDegenerateMetabolicModel() {
+        // Off-vertex optimum of a degenerate model: the crossover stays within its cap of 3 iterations per row
+        AbstractLPModel model = randomMetabolicModel(new Random(9), 1200, 600);
+        PdlpSolver pdlp = new PdlpSolver();
+        pdlp.setTolerance(1e-9);
+        double[] x = pdlp.solve(model).getVariableValueArray();
+        DualRecovery recovery = new DualRecovery();
+
+        double[] duals = recovery.duals(model, x, new SolveControl());
+        assertNotNull(duals);
+        assertTrue(recovery.getLastIterationCount() <= 3 * 600 + 100, recovery.getLastIterationCount() + " iterations");
+
+        // Complementary to x: reduced costs of a maximization are >= 0 above the lower and <= 0 below the upper bound
+        SparseMatrix a = model.getMatrix();
+        for (int j = 0; j < model.getVariableCount(); j++) {
+            double reduced = model.getObjectiveCoefficient(j);
+            for (int p = a.getColumnStart(j); p < a.getColumnEnd(j); p++) {
+                reduced -= duals[a.getRowIndex(p)] * a.getColumnValue(p);
+            }
+            if (x[j] > model.getVariableLowerBound(j) + 1e-6) assertTrue(reduced >= -1e-6, "Variable " + j);
+            if (x[j] < model.getVariableUpperBound(j) - 1e-6) assertTrue(reduced <= 1e-6, "Variable " + j);
+        }
+    }
+
+    @Test
+    void testSavedBasisRestartsWithoutIterations() {
+        AbstractLPModel model = randomFeasibleModel(new Random(11), 80, 50, 6);
+        DualSimplexSolver solver = new DualSimplexSolver();
+        LPSolution cold = solver.solve(model);
+        assertTrue(cold.isFeasible());
+        assertTrue(solver.getLastIterationCount() > 0);
+        SimplexBasis basis = solver.getLastBasis();
+        assertEquals(80, basis.getVariableCount());
+        assertEquals(50, basis.getConstraintCount());
+
+        DualSimplexSolver warm = new DualSimplexSolver();
+        warm.setStartBasis(basis);
+        assertEquals(cold.getObjectiveValue(), warm.solve(model).getObjectiveValue(), 1e-9);
+        assertEquals(0, warm.getLastIterationCount());
+
+        warm.setStartBasis(new DualSimplexSolver().getLastBasis()); // null: slack basis again
+        warm.solve(model);
+        assertEquals(solver.getLastIterationCount(), warm.getLastIterationCount());
+
+        AbstractLPModel other = randomFeasibleModel(new Random(12), 10, 5, 6);
+        warm.setStartBasis(basis);
+        assertThrows(IllegalArgumentException.class, () -> warm.solve(other));
+    }
+
+    @Test
+    void testSessionWarmStartsAfterEdits() {
+        AbstractLPModel model = randomFeasibleModel(new Random(5), 120, 80, 6);
+        DualSimplexSolver solver = new DualSimplexSolver();
+        try (DualSimplexSession session = solver.openSession(model)) {
+            LPSolution first = session.solve();
+            assertTrue(first.isFeasible());
+            int coldIterations = session.getLastIterationCount();
+
+            // Tighten the bound of a variable that is active in the optimum
+            int j = 0;
+            while (Math.abs(first.getVariableValues().get(model.getVariableName(j))) < 1e-6) j++;
+            double value = first.getVariableValues().get(model.getVariableName(j));
+            model.setVariableBounds(j, model.getVariableLowerBound(j), value / 2);
+
+            LPSolution edited = session.solve();
+            LPSolution fresh = new DualSimplexSolver().solve(model);
+            assertEquals(fresh.isFeasible(), edited.isFeasible());
+            if (fresh.isFeasible()) {
+                assertEquals(fresh.getObjectiveValue(), edited.getObjectiveValue(), 1e-6);
+            }
+            assertTrue(session.getLastIterationCount() < coldIterations,
+                    session.getLastIterationCount() + " warm vs " + coldIterations + " cold iterations");
+            assertNotNull(session.getBasis());
+        }
+    }
+
+    @Test
+    void testDegenerateMetabolicModelIsSolvedExactly() {
+        // Degenerate +-1 equality model on which the steepest edge weights used to blow up
+        AbstractLPModel model = randomMetabolicModel(new Random(9), 1200, 600);
+        PdlpSolver reference = new PdlpSolver();
+        reference.setTolerance(1e-6);
+        double expected = reference.solve(model).getObjectiveValue();
+
+        DualSimplexSolver solver = new DualSimplexSolver();
+        try (DualSimplexSession session = solver.openSession(model)) {
+            LPSolution first = session.solve();
+            assertEquals(SolveStatus.OPTIMAL, first.getStatistics().getStatus());
+            assertSatisfied(model, first);
+            assertEquals(expected, first.getObjectiveValue(), 1e-4 * (1.0d + Math.abs(expected)));
+
+            // Warm re-solve after capping the objective column below its optimum
+            model.setVariableBounds(0, 0.0d, first.getObjectiveValue() / 2);
+            LPSolution edited = session.solve();
+            LPSolution fresh = new DualSimplexSolver().solve(model);
+            assertEquals(SolveStatus.OPTIMAL, edited.getStatistics().getStatus());
+            assertSatisfied(model, edited);
+            assertEquals(fresh.getObjectiveValue(), edited.getObjectiveValue(), 1e-6);
+        }
+    }
+
+    /**
+     * Sparse model with boxed, fixed and reversible variables and mixed relations. The right-hand
+     * sides are the activities of a point with many zero entries (degenerate), some rows are
+     * shifted at random so that a part of the models is infeasible.
+     */
+    private static AbstractLPModel randomModel(Random random, int n, int m) {
+        AbstractLPModel model = new AbstractLPModel();
+        double[] point = new double[n];
+        for (int j = 0; j < n; j++) {
+            double lower = random.nextInt(3) - 1;
+            double upper = lower + random.nextInt(20);
+            switch (random.nextInt(6)) {
+                case 0:
+                    upper = lower; // fixed
+                    break;
+                case 1:
+                    lower = -Math.abs(upper) - 1; // reversible
+                    break;
+                default:
+                    break;
+            }
+            model.addVariable("v" + j, lower, upper);
+            point[j] = lower <= 0.0d && upper >= 0.0d && random.nextBoolean()
+                    ? 0.0d : lower + random.nextInt((int) (upper - lower) + 1);
+        }
+        double[] costs = new double[n];
+        for (int j = 0; j < n; j++) {
+            costs[j] = random.nextInt(3) == 0 ? 0.0d : random.nextInt(11) - 5;
+        }
+        model.setObjective(costs, random.nextBoolean() ? OptimizationDirection.MAXIMIZE : OptimizationDirection.MINIMIZE);
+        Constraint.Relation[] relations = Constraint.Relation.values();
+        for (int i = 0; i < m; i++) {
+            int len = 2 + random.nextInt(4);
+            int[] columns = new int[len];
+            double[] values = new double[len];
+            int start = random.nextInt(n);
+            double activity = 0.0d;
+            for (int p = 0; p < len; p++) {
+                columns[p] = (start + p * 3) % n;
+                values[p] = random.nextInt(7) - 3;
+                if (values[p] == 0.0d) values[p] = 1.0d;
+                activity += values[p] * point[columns[p]];
+            }
+            Constraint.Relation rel = relations[random.nextInt(relations.length)];
+            double rhs = activity;
+            if (random.nextInt(10) == 0) {
+                rhs += random.nextInt(21) - 10;
+            } else if (rel == Constraint.Relation.LEQ) {
+                rhs += random.nextInt(2);
+            } else if (rel == Constraint.Relation.GEQ) {
+                rhs -= random.nextInt(2);
+            }
+            model.addRow("r" + i, columns, values, rel, rhs);
+        }
+        model.build();
+        return model;
+    }
+}
@@ -4,8 +4,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.optsolvx.model.AbstractLPModel;
 import org.optsolvx.model.Constraint;
+import org.optsolvx.model.ModelChange;
+import org.optsolvx.model.ModelOverlay;
+import org.optsolvx.model.NameIndex;
+import org.optsolvx.model.OptimizationDirection;
+import org.optsolvx.model.SparseMatrix;
 import org.optsolvx.model.Variable;
 
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -160,6 +166,27 @@ public class AbstractLPModelTest {
         assertTrue(ex.getMessage().toLowerCase().contains("no such variable"));
     }
 
+    @Test
+    void testNameIndexIsSharedUntilNamesAreAdded() {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x1", 0, 10);
+        model.addVariables(null, new double[]{0.0d}, new double[]{1.0d});
+
+        NameIndex names = model.getVariableNameIndex();
+        assertSame(names, model.getVariableNameIndex());
+        assertEquals(1, names.indexOf("_x1"));
+        assertEquals(-1, names.indexOf("x9"));
+        assertThrows(IllegalArgumentException.class, () -> names.require("x9"));
+
+        model.setVariableBounds(0, 1.0d, 2.0d);
+        assertSame(names, model.getVariableNameIndex());
+        model.addVariable("x3", 0, 1);
+        assertNotSame(names, model.getVariableNameIndex());
+        assertEquals("x3", model.getVariableNameIndex().getName(2));
+        assertEquals(2, names.size());
+        assertEquals(0, model.getConstraintNameIndex().size());
+    }
+
     @Test
     void testGetConstraintIndexReturnsCorrectIndex() {
         AbstractLPModel model = new AbstractLPModel();
@@ -176,4 +203,273 @@ public class AbstractLPModelTest {
         });
         assertTrue(ex.getMessage().toLowerCase().contains("no such constraint"));
     }
+
+    @Test
+    void testMatrixIsAvailableAsCsrAndCsc() {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x1", 0, 10);
+        model.addVariable("x2", 0, 10);
+        model.addVariable("x3", 0, 10);
+        model.addConstraint("c1", Map.of("x3", 3.0d, "x1", 1.0d), Constraint.Relation.LEQ, 5.0d);
+        model.addConstraint("c2", Map.of("x2", 4.0d), Constraint.Relation.GEQ, 1.0d);
+        model.build();
+
+        SparseMatrix m = model.getMatrix();
+        assertEquals(2, m.getRowCount(), "Row count mismatch");
+        assertEquals(3, m.getColumnCount(), "Column count mismatch");
+        assertEquals(3, m.getNonZeroCount(), "Non-zero count mismatch");
+
+        // CSR: row 0 holds columns 0 and 2 in ascending order
+        assertEquals(2, m.getRowEnd(0) - m.getRowStart(0));
+        assertEquals(0, m.getColumnIndex(m.getRowStart(0)));
+        assertEquals(2, m.getColumnIndex(m.getRowStart(0) + 1));
+        assertEquals(3.0d, m.getRowValue(m.getRowStart(0) + 1));
+
+        // CSC: column 1 holds only row 1
+        assertEquals(1, m.getColumnEnd(1) - m.getColumnStart(1));
+        assertEquals(1, m.getRowIndex(m.getColumnStart(1)));
+        assertEquals(4.0d, m.getColumnValue(m.getColumnStart(1)));
+
+        assertEquals(0.0d, m.get(1, 0), "Missing entry should read as zero");
+        assertSame(m, model.getMatrix(), "Unchanged model should reuse the compiled matrix");
+    }
+
+    @Test
+    void testConstraintCoefficientsAreViewOverMatrix() {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x1", 0, 10);
+        model.addVariable("x2", 0, 10);
+        Constraint c = model.addConstraint("c1", Map.of("x2", 2.0d, "x1", -1.0d), Constraint.Relation.EQ, 0.0d);
+
+        assertEquals(2, c.getCoefficients().size());
+        assertEquals(-1.0d, c.getCoefficients().get("x1"));
+        assertNull(c.getCoefficients().get("unknown"), "Unknown variable should not be present");
+        assertEquals(Map.of("x1", -1.0d, "x2", 2.0d), c.getCoefficients());
+        assertThrows(UnsupportedOperationException.class, () -> c.getCoefficients().put("x1", 5.0d));
+    }
+
+    @Test
+    void testAddConstraintWithUnknownVariableThrows() {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x1", 0, 10);
+        assertThrows(IllegalArgumentException.class,
+                () -> model.addConstraint("c1", Map.of("y", 1.0d), Constraint.Relation.LEQ, 1.0d));
+        assertEquals(0, model.getConstraints().size(), "Failed add must not leave a constraint behind");
+    }
+
+    @Test
+    void testBulkRowsAndGeneratedNames() {
+        AbstractLPModel model = new AbstractLPModel();
+        int first = model.addVariables(null, new double[]{0, 0, -1}, new double[]{1, 2, 3});
+        assertEquals(0, first);
+        assertEquals(3, model.getVariableCount());
+        assertEquals("_x2", model.getVariableName(2), "Unnamed variable should get a generated name");
+        assertEquals(2, model.getVariableIndex("_x2"));
+        assertEquals(-1.0d, model.getVariable("_x2").getLowerBound());
+
+        // Two rows in CSR form: c0 = x0 + 2 x2 <= 4, c1 = x1 >= 1
+        int row = model.addRows(new String[]{"cap", null},
+                new int[]{0, 2, 3}, new int[]{0, 2, 1}, new double[]{1.0d, 2.0d, 1.0d},
+                new Constraint.Relation[]{Constraint.Relation.LEQ, Constraint.Relation.GEQ},
+                new double[]{4.0d, 1.0d});
+        assertEquals(0, row);
+        assertEquals("cap", model.getConstraintName(0));
+        assertEquals("_c1", model.getConstraintName(1));
+        assertEquals(Constraint.Relation.GEQ, model.getConstraint("_c1").getRelation());
+        assertEquals(2.0d, model.getMatrix().get(0, 2));
+        assertEquals(Map.of("_x1", 1.0d), model.getConstraints().get(1).getCoefficients());
+    }
+
+    @Test
+    void testAddColumnsAppendsIntoExistingRows() {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addRow("r0", new int[0], new double[0], Constraint.Relation.EQ, 0.0d);
+        model.addRow("r1", new int[0], new double[0], Constraint.Relation.EQ, 0.0d);
+        model.addColumn("v0", 0, 10, 1.0d, new int[]{0}, new double[]{1.0d});
+        model.addColumns(new String[]{"v1", "v2"}, new double[]{0, 0}, new double[]{10, 10},
+                new double[]{0.0d, 2.0d}, new int[]{0, 2, 3}, new int[]{0, 1, 1}, new double[]{-1.0d, 1.0d, -1.0d});
+
+        SparseMatrix m = model.getMatrix();
+        assertEquals(3, m.getColumnCount());
+        assertEquals(4, m.getNonZeroCount());
+        assertEquals(-1.0d, m.get(0, 1));
+        assertEquals(-1.0d, m.get(1, 2));
+        assertEquals(2.0d, model.getObjectiveCoefficient(2));
+        assertEquals(Map.of("v0", 1.0d, "v2", 2.0d), model.getObjectiveCoefficients());
+    }
+
+    @Test
+    void testBulkApiRejectsInvalidInput() {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariables(new String[]{"a", "b"}, new double[]{0, 0}, new double[]{1, 1});
+        assertThrows(IllegalArgumentException.class,
+                () -> model.addVariables(null, new double[]{0}, new double[]{1, 2}), "Length mismatch");
+        assertThrows(IllegalArgumentException.class,
+                () -> model.addVariables(new String[]{"a"}, new double[]{0}, new double[]{1}), "Duplicate name");
+        assertThrows(IllegalArgumentException.class,
+                () -> model.addVariable("_x7", 0, 1), "Reserved generated name");
+        assertThrows(IllegalArgumentException.class,
+                () -> model.addRow(null, new int[]{5}, new double[]{1.0d}, Constraint.Relation.LEQ, 1.0d), "Unknown column");
+        assertEquals(2, model.getVariableCount());
+        assertEquals(0, model.getConstraintCount());
+    }
+
+    @Test
+    void testInPlaceEditsAreLoggedWithVersions() {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariables(new String[]{"a", "b", "c"}, new double[]{0, 0, 0}, new double[]{1, 1, 1});
+        model.addRow("r0", new int[]{0, 1}, new double[]{1.0d, 1.0d}, Constraint.Relation.LEQ, 1.0d);
+        model.addRow("r1", new int[]{1, 2}, new double[]{1.0d, 1.0d}, Constraint.Relation.LEQ, 1.0d);
+        model.build();
+        final long v = model.getVersion();
+
+        model.setVariableBounds("b", -1.0d, 2.0d);
+        model.setConstraintRhs(1, 5.0d);
+        model.setObjectiveCoefficient("c", 3.0d);
+        model.setDirection(OptimizationDirection.MINIMIZE);
+
+        assertEquals(v + 4, model.getVersion());
+        assertFalse(model.isBuilt());
+        assertEquals(-1.0d, model.getVariable("b").getLowerBound());
+        assertEquals(5.0d, model.getConstraint("r1").getRhs());
+        assertEquals(3.0d, model.getObjectiveCoefficient(2));
+
+        List<ModelChange> changes = model.getChangesSince(v);
+        assertEquals(4, changes.size());
+        assertEquals(ModelChange.Type.VARIABLE_BOUNDS, changes.get(0).getType());
+        assertEquals(1, changes.get(0).getColumn());
+        assertEquals(ModelChange.Type.CONSTRAINT_RHS, changes.get(1).getType());
+        assertEquals(1, changes.get(1).getRow());
+        assertEquals(v + 4, changes.get(3).getVersion());
+        assertArrayEquals(new int[]{1, 2}, model.getDirtyColumns(v));
+        assertArrayEquals(new int[]{1}, model.getDirtyRows(v));
+        assertTrue(model.getChangesSince(model.getVersion()).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> model.getChangesSince(model.getVersion() + 1));
+    }
+
+    @Test
+    void testSetCoefficientReplacesAndRemovesEntries() {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariables(null, new double[]{0, 0}, new double[]{1, 1});
+        model.addRow("r0", new int[]{0, 1, 0}, new double[]{1.0d, 2.0d, 3.0d}, Constraint.Relation.LEQ, 1.0d);
+        assertEquals(4.0d, model.getMatrix().get(0, 0), "Duplicates are summed");
+        final long v = model.getVersion();
+
+        model.setCoefficient(0, 0, 7.0d);
+        assertEquals(7.0d, model.getCoefficient(0, 0));
+        model.setCoefficient("r0", "_x1", 0.0d);
+        SparseMatrix m = model.getMatrix();
+        assertEquals(1, m.getNonZeroCount());
+        assertEquals(7.0d, m.get(0, 0));
+        assertEquals(Map.of("_x0", 7.0d), model.getConstraint("r0").getCoefficients());
+        assertArrayEquals(new int[]{0, 1}, model.getDirtyColumns(v));
+        assertArrayEquals(new int[]{0}, model.getDirtyRows(v));
+        assertThrows(IllegalArgumentException.class, () -> model.setCoefficient(0, 1, Double.NaN));
+    }
+
+    @Test
+    void testAddedVariablesAndRowsAreDirty() {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addRow("r0", new int[0], new double[0], Constraint.Relation.EQ, 0.0d);
+        model.addRow("r1", new int[0], new double[0], Constraint.Relation.EQ, 0.0d);
+        final long v = model.getVersion();
+        model.addColumn("x", 0, 1, 1.0d, new int[]{1}, new double[]{1.0d});
+        model.addRow("r2", new int[]{0}, new double[]{1.0d}, Constraint.Relation.LEQ, 1.0d);
+
+        assertTrue(model.getChangesSince(v).get(0).getType().isStructural());
+        assertArrayEquals(new int[]{0}, model.getDirtyColumns(v));
+        assertArrayEquals(new int[]{1, 2}, model.getDirtyRows(v));
+    }
+
+    @Test
+    void testColumnsOfAddedRowsAreDirty() {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariables(new String[]{"a", "b", "c", "d"}, new double[]{0, 0, 0, 0}, new double[]{1, 1, 1, 1});
+        model.addRow("r0", new int[]{0, 1}, new double[]{1.0d, 1.0d}, Constraint.Relation.LEQ, 1.0d);
+        model.build();
+        final long v = model.getVersion();
+        model.addRow("r1", new int[]{1, 3}, new double[]{1.0d, -1.0d}, Constraint.Relation.EQ, 0.0d);
+        model.addConstraint("r2", Map.of("c", 2.0d), Constraint.Relation.GEQ, 0.5d);
+
+        assertArrayEquals(new int[]{1, 2, 3}, model.getDirtyColumns(v));
+        assertArrayEquals(new int[]{1, 2}, model.getDirtyRows(v));
+        final long w = model.getVersion();
+        model.addRow("r3", new int[0], new double[0], Constraint.Relation.LEQ, 1.0d);
+        assertArrayEquals(new int[0], model.getDirtyColumns(w));
+    }
+
+    @Test
+    void testChangeLogKeepsRecentEntriesOnly() {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x", 0, 1);
+        final long v = model.getVersion();
+        for (int k = 0; k < 200_000; k++) {
+            model.setVariableBounds(0, 0, k);
+        }
+        assertNull(model.getChangesSince(v), "Old versions are no longer covered");
+        assertNull(model.getDirtyColumns(v));
+        assertArrayEquals(new int[]{0}, model.getDirtyColumns(model.getVersion() - 1));
+        assertEquals(v + 200_000, model.getVersion());
+    }
+
+    @Test
+    void testCopyIsIndependent() {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariables(new String[]{"a", null}, new double[]{0, 0}, new double[]{1, 2});
+        model.addRow("r0", new int[]{0, 1}, new double[]{1.0d, 3.0d}, Constraint.Relation.LEQ, 4.0d);
+        model.setObjective(new double[]{1.0d, 2.0d}, OptimizationDirection.MINIMIZE);
+        model.build();
+
+        AbstractLPModel copy = model.copy();
+        assertTrue(copy.isBuilt());
+        assertEquals("_x1", copy.getVariableName(1));
+        assertEquals(3.0d, copy.getCoefficient(0, 1));
+        assertEquals(OptimizationDirection.MINIMIZE, copy.getDirection());
+        assertEquals(model.getObjectiveCoefficients(), copy.getObjectiveCoefficients());
+
+        copy.setVariableBounds("a", 0, 5);
+        copy.setCoefficient(0, 0, 9.0d);
+        assertEquals(1.0d, model.getVariableUpperBound(0));
+        assertEquals(1.0d, model.getCoefficient(0, 0));
+    }
+
+    @Test
+    void testFingerprintFollowsInPlaceEdits() {
+        AbstractLPModel a = new AbstractLPModel();
+        a.addVariables(new String[]{"x", "y"}, new double[]{0, 0}, new double[]{4, 5});
+        a.addRow("r0", new int[]{0, 1}, new double[]{1.0d, 2.0d}, Constraint.Relation.LEQ, 8.0d);
+        a.setObjective(new double[]{1.0d, 1.0d}, OptimizationDirection.MAXIMIZE);
+        a.build();
+        AbstractLPModel b = a.copy();
+        final long original = a.getFingerprint();
+        assertEquals(original, b.getFingerprint());
+
+        a.setVariableBounds(0, 0, 3);
+        assertNotEquals(original, a.getFingerprint());
+        a.setVariableBounds(0, 0, 4);
+        assertEquals(original, a.getFingerprint(), "Undoing an edit restores the fingerprint");
+
+        a.setCoefficient(0, 1, 3.0d);
+        long edited = a.getFingerprint();
+        assertNotEquals(original, edited);
+        b.setCoefficient(0, 1, 3.0d);
+        assertEquals(edited, b.getFingerprint());
+
+        b.setDirection(OptimizationDirection.MINIMIZE);
+        assertNotEquals(edited, b.getFingerprint());
+        b.setDirection(OptimizationDirection.MAXIMIZE);
+        b.setConstraintRhs(0, -0.0d);
+        a.setConstraintRhs(0, 0.0d);
+        assertEquals(a.getFingerprint(), b.getFingerprint());
+
+        a.addVariable("z", 0, 1);
+        assertNotEquals(b.getFingerprint(), a.getFingerprint());
+
+        ModelOverlay overlay = new ModelOverlay(b);
+        assertEquals(b.getFingerprint(), overlay.getFingerprint());
+        overlay.setVariableBounds("y", 0, 1);
+        AbstractLPModel expected = b.copy();
+        expected.setVariableBounds("y", 0, 1);
+        assertEquals(expected.getFingerprint(), overlay.getFingerprint());
+    }
 }
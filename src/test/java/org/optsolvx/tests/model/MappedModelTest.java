@@ -0,0 +1,117 @@
+package org.optsolvx.tests.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.optsolvx.backend.ojalgo.OjAlgoSolver;
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.Constraint;
+import org.optsolvx.model.MappedModel;
+import org.optsolvx.model.ModelOverlay;
+import org.optsolvx.model.OptimizationDirection;
+import org.optsolvx.model.SparseMatrix;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link MappedModel}: binary snapshots opened through a memory mapping.
+ */
+public class MappedModelTest {
+
+    @Test
+    void testSnapshotRoundTrip(@TempDir Path dir) throws IOException {
+        AbstractLPModel model = model();
+        Path file = dir.resolve("model.osx");
+        model.saveSnapshot(file);
+        MappedModel mapped = AbstractLPModel.openSnapshot(file);
+
+        assertTrue(mapped.isBuilt());
+        assertTrue(mapped.isFrozen());
+        assertEquals(OptimizationDirection.MAXIMIZE, mapped.getDirection());
+        assertEquals(model.getVariableCount(), mapped.getVariableCount());
+        assertEquals(model.getConstraintCount(), mapped.getConstraintCount());
+        for (int j = 0; j < model.getVariableCount(); j++) {
+            assertEquals(model.getVariableName(j), mapped.getVariableName(j));
+            assertEquals(j, mapped.getVariableIndex(model.getVariableName(j)));
+            assertEquals(model.getVariableLowerBound(j), mapped.getVariableLowerBound(j), 0.0);
+            assertEquals(model.getVariableUpperBound(j), mapped.getVariableUpperBound(j), 0.0);
+            assertEquals(model.getObjectiveCoefficient(j), mapped.getObjectiveCoefficient(j), 0.0);
+        }
+        for (int i = 0; i < model.getConstraintCount(); i++) {
+            assertEquals(model.getConstraintName(i), mapped.getConstraintName(i));
+            assertEquals(i, mapped.getConstraintIndex(model.getConstraintName(i)));
+            assertEquals(model.getConstraintRelation(i), mapped.getConstraintRelation(i));
+            assertEquals(model.getConstraintRhs(i), mapped.getConstraintRhs(i), 0.0);
+        }
+        assertEquals("μ-flux", mapped.getVariableName(2));
+        assertFalse(mapped.hasVariable("missing"));
+        assertThrows(IllegalArgumentException.class, () -> mapped.getConstraintIndex("missing"));
+
+        SparseMatrix expected = model.getMatrix();
+        SparseMatrix actual = mapped.getMatrix();
+        assertEquals(expected.getNonZeroCount(), actual.getNonZeroCount());
+        for (int i = 0; i < model.getConstraintCount(); i++) {
+            for (int j = 0; j < model.getVariableCount(); j++) {
+                assertEquals(expected.get(i, j), actual.get(i, j), 0.0);
+            }
+        }
+        assertEquals(Map.of("x", 1.0d, "μ-flux", 1.0d), mapped.getConstraint("c1").getCoefficients());
+        assertEquals(new OjAlgoSolver().solve(model).getObjectiveValue(),
+                new OjAlgoSolver().solve(mapped).getObjectiveValue(), 1e-9);
+    }
+
+    @Test
+    void testSnapshotIsReadOnly(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("model.osx");
+        model().saveSnapshot(file);
+        MappedModel mapped = MappedModel.open(file);
+
+        assertThrows(UnsupportedOperationException.class, () -> mapped.setVariableBounds("x", 0.0d, 1.0d));
+        assertThrows(UnsupportedOperationException.class, () -> mapped.addVariable("z", 0.0d, 1.0d));
+        assertThrows(UnsupportedOperationException.class, () -> mapped.setDirection(OptimizationDirection.MINIMIZE));
+
+        ModelOverlay knockout = new ModelOverlay(mapped);
+        knockout.setVariableBounds("x", 0.0d, 0.0d);
+        assertEquals(15.0d, new OjAlgoSolver().solve(knockout).getObjectiveValue(), 1e-6);
+
+        AbstractLPModel copy = mapped.copy();
+        copy.setVariableBounds("x", 0.0d, 0.0d);
+        copy.build();
+        assertEquals(15.0d, new OjAlgoSolver().solve(copy).getObjectiveValue(), 1e-6);
+    }
+
+    @Test
+    void testCorruptSnapshotIsRejected(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("model.osx");
+        model().saveSnapshot(file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 20] ^= 1;
+        Files.write(file, bytes);
+        IOException e = assertThrows(IOException.class, () -> MappedModel.open(file));
+        assertEquals("Snapshot checksum mismatch", e.getMessage());
+        assertNotNull(MappedModel.open(file, false));
+
+        Files.write(file, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> MappedModel.open(file));
+    }
+
+    private static AbstractLPModel model() {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariables(new String[]{"x", "y", "μ-flux", null},
+                new double[]{0.0d, -2.0d, 0.0d, Double.NEGATIVE_INFINITY},
+                new double[]{4.0d, 3.0d, Double.POSITIVE_INFINITY, 1.0d});
+        model.addRows(new String[]{"c1", "c2", null},
+                new int[]{0, 2, 4, 5},
+                new int[]{0, 2, 1, 3, 2},
+                new double[]{1.0d, 1.0d, 2.0d, -1.0d, 1.0d},
+                new Constraint.Relation[]{Constraint.Relation.LEQ, Constraint.Relation.GEQ, Constraint.Relation.EQ},
+                new double[]{10.0d, -1.0d, 6.0d});
+        model.setObjective(new double[]{3.0d, 1.0d, 2.0d, 0.0d}, OptimizationDirection.MAXIMIZE);
+        model.build();
+        return model;
+    }
+}
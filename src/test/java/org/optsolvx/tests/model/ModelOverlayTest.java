@@ -0,0 +1,115 @@
+package org.optsolvx.tests.model;
+
+import org.junit.jupiter.api.Test;
+import org.optsolvx.backend.commonsmath.CommonsMathSolver;
+import org.optsolvx.backend.ojalgo.OjAlgoSession;
+import org.optsolvx.backend.ojalgo.OjAlgoSolver;
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.Constraint;
+import org.optsolvx.model.ModelOverlay;
+import org.optsolvx.model.OptimizationDirection;
+import org.optsolvx.solver.LPSolution;
+import org.optsolvx.solver.OptSolvXConfig;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ModelOverlay}: deltas over a shared, frozen base model.
+ */
+public class ModelOverlayTest {
+
+    @Test
+    void testOverlayReadsBaseAndDeltas() {
+        AbstractLPModel base = base();
+        ModelOverlay overlay = new ModelOverlay(base);
+        overlay.setVariableBounds("y", 0.0d, 0.0d);
+        overlay.setConstraintRhs("c1", 5.0d);
+        overlay.setObjectiveCoefficient("x", 3.0d);
+
+        assertTrue(base.isFrozen());
+        assertEquals(3, overlay.getDeltaCount());
+        assertEquals(0.0d, overlay.getVariable("y").getUpperBound(), 0.0);
+        assertEquals(10.0d, base.getVariable("y").getUpperBound(), 0.0);
+        assertEquals(5.0d, overlay.getConstraint("c1").getRhs(), 0.0);
+        assertEquals(8.0d, base.getConstraint("c1").getRhs(), 0.0);
+        assertEquals(Map.of("x", 3.0d, "y", 2.0d), overlay.getObjectiveCoefficients());
+        assertSame(base.getMatrix(), overlay.getMatrix());
+        assertEquals(3, overlay.getVersion());
+
+        AbstractLPModel copy = overlay.copy();
+        assertFalse(copy instanceof ModelOverlay);
+        assertEquals(0.0d, copy.getVariableUpperBound(copy.getVariableIndex("y")), 0.0);
+
+        overlay.reset();
+        assertEquals(0, overlay.getDeltaCount());
+        assertEquals(10.0d, overlay.getVariable("y").getUpperBound(), 0.0);
+    }
+
+    @Test
+    void testOverlaysSolveIndependently() {
+        AbstractLPModel base = base();
+        ModelOverlay knockout = new ModelOverlay(base);
+        knockout.setVariableBounds("y", 0.0d, 0.0d);
+        ModelOverlay relaxed = new ModelOverlay(base);
+        relaxed.setConstraintRhs("single", 8.0d);
+
+        assertEquals(14.0d, new OjAlgoSolver().solve(base).getObjectiveValue(), 1e-6);
+        assertEquals(8.0d, new OjAlgoSolver().solve(knockout).getObjectiveValue(), 1e-6);
+        assertEquals(8.0d, new CommonsMathSolver().solve(knockout).getObjectiveValue(), 1e-6);
+        assertEquals(16.0d, OptSolvXConfig.resolve(relaxed, "ojalgo").solve(relaxed).getObjectiveValue(), 1e-6);
+        assertEquals(16.0d, new CommonsMathSolver().solve(relaxed).getObjectiveValue(), 1e-6);
+
+        // Scenario solutions share the base's names
+        assertSame(base.getVariableNameIndex(), knockout.getVariableNameIndex());
+        assertSame(base.getConstraintNameIndex(), relaxed.getConstraintNameIndex());
+        assertEquals(0.0d, new CommonsMathSolver().solve(knockout).getVariableValue("y"), 1e-9);
+    }
+
+    @Test
+    void testSessionFollowsOverlayEdits() {
+        ModelOverlay overlay = new ModelOverlay(base());
+        try (OjAlgoSession session = new OjAlgoSolver().openSession(overlay)) {
+            assertEquals(14.0d, session.solve().getObjectiveValue(), 1e-6);
+
+            overlay.setVariableBounds("y", 0.0d, 1.0d);
+            LPSolution sol = session.solve();
+            assertEquals(9.0d, sol.getObjectiveValue(), 1e-6);
+            assertEquals(1.0d, sol.getVariableValues().get("y"), 1e-6);
+
+            overlay.reset();
+            overlay.setDirection(OptimizationDirection.MINIMIZE);
+            assertEquals(0.0d, session.solve().getObjectiveValue(), 1e-6);
+        }
+    }
+
+    @Test
+    void testFrozenBaseAndStructuralEditsAreRejected() {
+        AbstractLPModel base = base();
+        ModelOverlay overlay = new ModelOverlay(base);
+
+        assertThrows(IllegalStateException.class, () -> base.setVariableBounds("x", 0.0d, 1.0d));
+        assertThrows(IllegalStateException.class, () -> base.addVariable("z", 0, 1));
+        assertThrows(UnsupportedOperationException.class, () -> overlay.addVariable("z", 0, 1));
+        assertThrows(UnsupportedOperationException.class,
+                () -> overlay.addConstraint("c2", Map.of("x", 1.0d), Constraint.Relation.LEQ, 1.0d));
+        assertThrows(UnsupportedOperationException.class, () -> overlay.setCoefficient("c1", "x", 2.0d));
+        assertThrows(IllegalArgumentException.class, () -> overlay.setConstraintRhs("c1", Double.NaN));
+        assertThrows(IndexOutOfBoundsException.class, () -> overlay.setObjectiveCoefficient(2, 1.0d));
+    }
+
+    /**
+     * max x + 2y  s.t.  x + y <= 8, y <= 6, x, y in [0, 10]; optimum 14 at (2, 6).
+     */
+    private static AbstractLPModel base() {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x", 0, 10);
+        model.addVariable("y", 0, 10);
+        model.setObjective(Map.of("x", 1.0d, "y", 2.0d), OptimizationDirection.MAXIMIZE);
+        model.addConstraint("c1", Map.of("x", 1.0d, "y", 1.0d), Constraint.Relation.LEQ, 8.0d);
+        model.addConstraint("single", Map.of("y", 1.0d), Constraint.Relation.LEQ, 6.0d);
+        model.build();
+        return model;
+    }
+}
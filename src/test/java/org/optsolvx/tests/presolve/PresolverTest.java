@@ -0,0 +1,150 @@
+package org.optsolvx.tests.presolve;
+
+import org.junit.jupiter.api.Test;
+import org.optsolvx.backend.commonsmath.CommonsMathSolver;
+import org.optsolvx.backend.ojalgo.OjAlgoSolver;
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.Constraint;
+import org.optsolvx.model.OptimizationDirection;
+import org.optsolvx.presolve.PresolveResult;
+import org.optsolvx.presolve.Presolver;
+import org.optsolvx.presolve.PresolvingSolverAdapter;
+import org.optsolvx.solver.LPSolution;
+import org.optsolvx.solver.LPSolverAdapter;
+import org.optsolvx.solver.OptSolvXConfig;
+import org.optsolvx.solver.SolveStatus;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link Presolver} and {@link PresolvingSolverAdapter}.
+ * Checks the individual reductions and that postsolve restores the original solution.
+ */
+public class PresolverTest {
+
+    @Test
+    void testFixedVariableAndSingletonRowAreRemoved() {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x", 2.0d, 2.0d); // fixed
+        model.addVariable("y", 0, 10);
+        model.addVariable("z", 0, 10);
+        model.setObjective(Map.of("x", 1.0d, "y", 1.0d, "z", 2.0d), OptimizationDirection.MAXIMIZE);
+        model.addConstraint("c1", Map.of("x", 1.0d, "y", 1.0d, "z", 1.0d), Constraint.Relation.LEQ, 8.0d);
+        model.addConstraint("single", Map.of("y", 2.0d), Constraint.Relation.LEQ, 6.0d); // y <= 3
+        model.build();
+
+        PresolveResult result = new Presolver().presolve(model);
+
+        assertFalse(result.isInfeasible());
+        AbstractLPModel reduced = result.getReducedModel();
+        assertFalse(reduced.hasVariable("x"), "Fixed variable should be removed");
+        assertFalse(reduced.hasConstraint("single"), "Singleton row should become a bound");
+        assertEquals(3.0d, reduced.getVariable("y").getUpperBound(), 1e-9);
+        assertEquals(2.0d, result.getObjectiveOffset(), 1e-12);
+        assertEquals(6.0d, reduced.getConstraint("c1").getRhs(), 1e-12);
+    }
+
+    @Test
+    void testEmptyAndDominatedRowsAreDropped() {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x", 0, 1);
+        model.addVariable("y", 0, 1);
+        model.addVariable("z", 0, 5);
+        model.setObjective(Map.of("x", 1.0d, "y", 1.0d, "z", 3.0d), OptimizationDirection.MAXIMIZE);
+        model.addConstraint("empty", Map.of(), Constraint.Relation.LEQ, 1.0d);
+        model.addConstraint("dominated", Map.of("x", 1.0d, "y", 1.0d), Constraint.Relation.LEQ, 5.0d);
+        model.addConstraint("binding", Map.of("x", 1.0d, "z", 1.0d), Constraint.Relation.LEQ, 3.0d);
+        model.build();
+
+        PresolveResult result = new Presolver().presolve(model);
+
+        AbstractLPModel reduced = result.getReducedModel();
+        assertFalse(reduced.hasConstraint("empty"));
+        assertFalse(reduced.hasConstraint("dominated"));
+        assertTrue(reduced.hasConstraint("binding"));
+    }
+
+    @Test
+    void testParallelColumnsAreMergedAndSplitInPostsolve() {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("a", 0, 2);
+        model.addVariable("b", 0, 2); // b is a copy of a (e.g. duplicated reaction)
+        model.addVariable("c", 0, 10);
+        model.setObjective(Map.of("a", 1.0d, "b", 1.0d, "c", 0.5d), OptimizationDirection.MAXIMIZE);
+        model.addConstraint("r1", Map.of("a", 1.0d, "b", 1.0d, "c", 1.0d), Constraint.Relation.LEQ, 3.0d);
+        model.addConstraint("r2", Map.of("a", 2.0d, "b", 2.0d, "c", -1.0d), Constraint.Relation.GEQ, 0.0d);
+        model.build();
+
+        PresolveResult result = new Presolver().presolve(model);
+        assertEquals(2, result.getReducedModel().getVariableCount(), "Parallel columns should be merged");
+
+        LPSolution sol = new PresolvingSolverAdapter(new OjAlgoSolver()).solve(model);
+        LPSolution ref = new OjAlgoSolver().solve(model);
+        assertTrue(sol.isFeasible());
+        assertEquals(ref.getObjectiveValue(), sol.getObjectiveValue(), 1e-6);
+        assertEquals(SolveStatus.OPTIMAL, sol.getStatistics().getStatus());
+        assertEquals(OjAlgoSolver.NAME, sol.getStatistics().getBackend());
+        assertTrue(sol.getStatistics().getTranslationNanos() > 0, "Presolve counts as translation");
+        double a = sol.getVariableValues().get("a");
+        double b = sol.getVariableValues().get("b");
+        assertTrue(a >= -1e-9 && a <= 2 + 1e-9 && b >= -1e-9 && b <= 2 + 1e-9, "Split values must respect bounds");
+    }
+
+    @Test
+    void testInfeasibleModelIsDetected() {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x", 0, 1);
+        model.addVariable("y", 0, 1);
+        model.addConstraint("c1", Map.of("x", 1.0d, "y", 1.0d), Constraint.Relation.GEQ, 3.0d);
+        model.build();
+
+        PresolveResult result = new Presolver().presolve(model);
+        assertTrue(result.isInfeasible());
+
+        LPSolution sol = new PresolvingSolverAdapter(new CommonsMathSolver()).solve(model);
+        assertFalse(sol.isFeasible());
+        assertTrue(Double.isNaN(sol.getObjectiveValue()));
+        assertEquals(SolveStatus.INFEASIBLE, sol.getStatistics().getStatus());
+    }
+
+    @Test
+    void testPresolvedSolveMatchesDirectSolve() {
+        AbstractLPModel model = smallNetwork();
+        for (LPSolverAdapter backend : new LPSolverAdapter[]{new CommonsMathSolver(), new OjAlgoSolver()}) {
+            LPSolution direct = backend.solve(model);
+            LPSolution presolved = new PresolvingSolverAdapter(backend).solve(model);
+            assertTrue(presolved.isFeasible());
+            assertEquals(direct.getObjectiveValue(), presolved.getObjectiveValue(), 1e-6);
+            assertEquals(model.getVariableCount(), presolved.getVariableValues().size());
+        }
+    }
+
+    @Test
+    void testConfigWrapsAdapterWhenPresolveEnabled() {
+        AbstractLPModel model = smallNetwork();
+        model.setPresolveEnabled(true);
+        LPSolverAdapter adapter = OptSolvXConfig.resolve(model, "ojalgo");
+        assertInstanceOf(PresolvingSolverAdapter.class, adapter);
+        assertEquals(10.0d, adapter.solve(model).getObjectiveValue(), 1e-6);
+    }
+
+    /**
+     * Tiny FBA-like network: uptake -> A -> B -> biomass, with a fixed maintenance flux.
+     */
+    private static AbstractLPModel smallNetwork() {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("uptake", 0, 10);
+        model.addVariable("r1", 0, 1000);
+        model.addVariable("r2", -1000, 1000);
+        model.addVariable("maint", 1, 1);
+        model.addVariable("biomass", 0, 1000);
+        model.setObjective(Map.of("biomass", 1.0d), OptimizationDirection.MAXIMIZE);
+        model.addConstraint("A", Map.of("uptake", 1.0d, "r1", -1.0d), Constraint.Relation.EQ, 0.0d);
+        model.addConstraint("B", Map.of("r1", 1.0d, "r2", -1.0d, "maint", -1.0d), Constraint.Relation.EQ, 0.0d);
+        model.addConstraint("C", Map.of("r2", 1.0d, "biomass", -1.0d, "maint", 1.0d), Constraint.Relation.EQ, 0.0d);
+        model.build();
+        return model;
+    }
+}
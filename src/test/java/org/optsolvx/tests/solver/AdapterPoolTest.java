@@ -0,0 +1,180 @@
+package org.optsolvx.tests.solver;
+
+import org.junit.jupiter.api.Test;
+import org.optsolvx.backend.ojalgo.OjAlgoSolver;
+import org.optsolvx.backend.simplex.DualSimplexSolver;
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.Constraint;
+import org.optsolvx.model.OptimizationDirection;
+import org.optsolvx.solver.AdapterPool;
+import org.optsolvx.solver.LPSolution;
+import org.optsolvx.solver.LPSolverAdapter;
+import org.optsolvx.solver.SolveStatus;
+import org.optsolvx.solver.SolverRegistry;
+import org.optsolvx.solver.Workspace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.optsolvx.tests.lp.TestModels.randomFeasibleModel;
+
+/**
+ * Unit tests for {@link AdapterPool}, {@link SolverRegistry#pool(String)} and {@link Workspace}.
+ */
+public class AdapterPoolTest {
+
+    @Test
+    void testInstancesAreReusedAndIdleIsBounded() {
+        AdapterPool pool = new AdapterPool(DualSimplexSolver::new, 1);
+        LPSolverAdapter first;
+        try (AdapterPool.Lease lease = pool.acquire()) {
+            first = lease.getAdapter();
+        }
+        // Same thread gets its instance back
+        try (AdapterPool.Lease lease = pool.acquire()) {
+            assertSame(first, lease.getAdapter());
+        }
+        assertEquals(1, pool.getCreatedCount());
+
+        // Three concurrent leases: one goes back to the thread slot, one to the idle queue, one is dropped
+        AdapterPool.Lease a = pool.acquire();
+        AdapterPool.Lease b = pool.acquire();
+        AdapterPool.Lease c = pool.acquire();
+        assertNotSame(a.getAdapter(), b.getAdapter());
+        assertNotSame(b.getAdapter(), c.getAdapter());
+        assertEquals(3, pool.getCreatedCount());
+        a.close();
+        a.close(); // idempotent
+        b.close();
+        c.close();
+        assertEquals(1, pool.getIdleCount());
+
+        assertThrows(IllegalArgumentException.class, () -> new AdapterPool(DualSimplexSolver::new, 0));
+        assertThrows(IllegalArgumentException.class, () -> new AdapterPool(null));
+    }
+
+    @Test
+    void testThreadSafeAdaptersAreShared() {
+        AdapterPool pool = new AdapterPool(OjAlgoSolver::new);
+        try (AdapterPool.Lease a = pool.acquire(); AdapterPool.Lease b = pool.acquire()) {
+            assertSame(a.getAdapter(), b.getAdapter());
+        }
+        assertEquals(1, pool.getCreatedCount());
+        assertEquals(0, pool.getIdleCount());
+        assertTrue(pool.isThreadSafe());
+        assertFalse(new DualSimplexSolver().isThreadSafe());
+    }
+
+    @Test
+    void testRegistryPoolsSolveConcurrently() throws Exception {
+        AdapterPool pool = SolverRegistry.pool(DualSimplexSolver.NAME);
+        assertSame(pool, SolverRegistry.pool(" Optsolvx-Simplex "));
+        assertThrows(IllegalArgumentException.class, () -> SolverRegistry.pool("nope"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<LPSolution>> futures = new ArrayList<>();
+            for (int k = 1; k <= 40; k++) {
+                final double rhs = k;
+                futures.add(executor.submit(() -> pool.solve(model(rhs))));
+            }
+            for (int k = 1; k <= 40; k++) {
+                LPSolution solution = futures.get(k - 1).get();
+                assertEquals(SolveStatus.OPTIMAL, solution.getStatistics().getStatus());
+                assertEquals(5.0d * k, solution.getObjectiveValue(), 1e-6);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(pool.getCreatedCount() <= 40);
+
+        SolverRegistry.register("test-pooled", DualSimplexSolver::new);
+        AdapterPool before = SolverRegistry.pool("test-pooled");
+        SolverRegistry.register("test-pooled", DualSimplexSolver::new);
+        assertNotSame(before, SolverRegistry.pool("test-pooled"));
+    }
+
+    @Test
+    void testLargeWorkspacesAreDroppedOnRelease() {
+        AdapterPool pool = new AdapterPool(DualSimplexSolver::new, 2, 4096L);
+        LPSolverAdapter adapter;
+        try (AdapterPool.Lease lease = pool.acquire()) {
+            adapter = lease.getAdapter();
+            lease.getAdapter().solve(model(1.0d));
+        }
+        // Small scratch space stays with the instance
+        final long small = adapter.getWorkspaceBytes();
+        assertTrue(small > 0L && small <= 4096L, "Kept " + small);
+
+        try (AdapterPool.Lease lease = pool.acquire()) {
+            assertSame(adapter, lease.getAdapter());
+            assertEquals(SolveStatus.OPTIMAL,
+                    adapter.solve(randomFeasibleModel(new Random(5), 300, 200, 9)).getStatistics().getStatus());
+            assertTrue(adapter.getWorkspaceBytes() > 4096L);
+        }
+        assertEquals(0L, adapter.getWorkspaceBytes());
+
+        // The instance still works after dropping its arrays
+        try (AdapterPool.Lease lease = pool.acquire()) {
+            assertEquals(5.0d, lease.getAdapter().solve(model(1.0d)).getObjectiveValue(), 1e-9);
+        }
+        assertEquals(1, pool.getCreatedCount());
+        assertThrows(IllegalArgumentException.class, () -> new AdapterPool(DualSimplexSolver::new, 1, -1L));
+    }
+
+    @Test
+    void testTrimDropsWorkspacesOfIdleInstances() {
+        AdapterPool pool = new AdapterPool(DualSimplexSolver::new, 2, Long.MAX_VALUE);
+        AdapterPool.Lease a = pool.acquire();
+        AdapterPool.Lease b = pool.acquire();
+        a.getAdapter().solve(model(1.0d));
+        b.getAdapter().solve(model(2.0d));
+        a.close(); // thread slot
+        b.close(); // idle queue
+        assertTrue(a.getAdapter().getWorkspaceBytes() > 0L && b.getAdapter().getWorkspaceBytes() > 0L);
+
+        pool.trim();
+        assertEquals(0L, a.getAdapter().getWorkspaceBytes());
+        assertEquals(0L, b.getAdapter().getWorkspaceBytes());
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    void testWorkspaceReusesArraysOfTheSameLength() {
+        Workspace work = new Workspace();
+        double[] a = work.doubles(3, 5);
+        a[2] = 7.0d;
+        assertSame(a, work.doubles(3, 5));
+        assertEquals(0.0d, a[2], 0.0);
+        assertEquals(1, work.getAllocationCount());
+
+        assertEquals(6, work.doubles(3, 6).length);
+        assertEquals(4, work.ints(0, 4).length);
+        assertEquals(3, work.getAllocationCount());
+        assertEquals(8L * 6 + 4L * 4, work.getRetainedBytes()); // slot 3 now holds the 6-element array
+        work.clear();
+        assertEquals(0L, work.getRetainedBytes());
+        assertNotSame(a, work.doubles(3, 5));
+        assertThrows(IllegalArgumentException.class, () -> work.bytes(-1, 1));
+    }
+
+    /**
+     * max x + y  s.t.  x + 2y &lt;= 5·rhs, y &lt;= rhs; optimum 5·rhs at x = 5·rhs, y = 0.
+     */
+    private static AbstractLPModel model(double rhs) {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x", 0.0d, Double.POSITIVE_INFINITY);
+        model.addVariable("y", 0.0d, Double.POSITIVE_INFINITY);
+        model.setObjective(Map.of("x", 1.0d, "y", 1.0d), OptimizationDirection.MAXIMIZE);
+        model.addConstraint("c1", Map.of("x", 1.0d, "y", 2.0d), Constraint.Relation.LEQ, 5.0d * rhs);
+        model.addConstraint("c2", Map.of("y", 1.0d), Constraint.Relation.LEQ, rhs);
+        model.build();
+        return model;
+    }
+}
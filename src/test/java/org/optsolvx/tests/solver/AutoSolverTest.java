@@ -0,0 +1,99 @@
+package org.optsolvx.tests.solver;
+
+import org.junit.jupiter.api.Test;
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.Constraint;
+import org.optsolvx.model.OptimizationDirection;
+import org.optsolvx.solver.AutoSolver;
+import org.optsolvx.solver.BackendSelector;
+import org.optsolvx.solver.LPSolution;
+import org.optsolvx.solver.LPSolverAdapter;
+import org.optsolvx.solver.ModelProfile;
+import org.optsolvx.solver.OptSolvXConfig;
+import org.optsolvx.solver.SolveStatus;
+import org.optsolvx.tests.lp.BaseLPSolverTest;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link AutoSolver} and {@link BackendSelector}; the shared LP tests run on the default rules.
+ */
+public class AutoSolverTest extends BaseLPSolverTest {
+
+    @Override
+    protected LPSolverAdapter getSolver() {
+        return new AutoSolver(new BackendSelector());
+    }
+
+    @Test
+    void testDefaultRules() {
+        BackendSelector selector = new BackendSelector();
+        assertEquals("commons-math", selector.select(new ModelProfile(20, 10, 60, 0, 0, 20)));
+        assertEquals("ojalgo", selector.select(new ModelProfile(300, 200, 30_000, 20, 0, 300)));
+        assertEquals("ojalgo", selector.select(new ModelProfile(300, 200, 30_000, 150, 0, 300)));
+        assertEquals("ojalgo", selector.select(new ModelProfile(50_000, 20_000, 200_000, 20_000, 100, 49_000)));
+
+        selector.setRules(List.of(new BackendSelector.Rule("pdlp", p -> p.getNonZeros() > 100_000)));
+        assertEquals("pdlp", selector.select(new ModelProfile(50_000, 20_000, 200_000, 20_000, 100, 49_000)));
+        assertEquals("ojalgo", selector.select(new ModelProfile(20, 10, 60, 0, 0, 20)));
+        selector.setFallback("optsolvx-simplex");
+        assertEquals("optsolvx-simplex", selector.select(new ModelProfile(20, 10, 60, 0, 0, 20)));
+        assertThrows(IllegalArgumentException.class,
+                () -> selector.setRules(List.of(new BackendSelector.Rule("missing", p -> true))));
+    }
+
+    @Test
+    void testLearnedTimesOverrideRules() {
+        BackendSelector selector = new BackendSelector();
+        selector.setExplorationInterval(0);
+        ModelProfile tiny = new ModelProfile(20, 10, 60, 0, 0, 20);
+        selector.record(tiny, "ojalgo", 1_000L);
+        assertTrue(Double.isNaN(selector.getAverageNanos(tiny, "ojalgo")));
+
+        selector.setLearning(true);
+        for (int k = 0; k < BackendSelector.MIN_SAMPLES; k++) {
+            selector.record(tiny, "commons-math", 5_000_000L);
+            assertEquals("commons-math", selector.select(tiny));
+            selector.record(tiny, "ojalgo", 1_000_000L);
+        }
+        assertEquals(1_000_000.0d, selector.getAverageNanos(tiny, "ojalgo"), 1e-6);
+        assertEquals("ojalgo", selector.select(tiny));
+        // Other size buckets keep using the rules
+        assertEquals("ojalgo", selector.select(new ModelProfile(50_000, 20_000, 200_000, 0, 0, 0)));
+
+        selector.setFallback("optsolvx-simplex");
+        selector.setExplorationInterval(5);
+        assertEquals("optsolvx-simplex", selector.select(tiny)); // 5th selection: least measured candidate
+        selector.clearMeasurements();
+        assertEquals("commons-math", selector.select(tiny));
+    }
+
+    @Test
+    void testAutoIsTheDefaultAndSolvesWithTheChosenBackend() {
+        assertEquals("auto", OptSolvXConfig.FALLBACK);
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x", 0, 10);
+        model.addVariable("y", 0, 10);
+        model.setObjective(Map.of("x", 3.0d, "y", 5.0d), OptimizationDirection.MAXIMIZE);
+        model.addConstraint("c1", Map.of("x", 2.0d, "y", 1.0d), Constraint.Relation.LEQ, 6.0d);
+        model.build();
+
+        ModelProfile profile = ModelProfile.of(model);
+        assertEquals(2, profile.getVariables());
+        assertEquals(1.0d, profile.getDensity(), 0.0);
+        assertEquals(1.0d, profile.getBoxedShare(), 0.0);
+
+        BackendSelector selector = new BackendSelector();
+        selector.setLearning(true);
+        AutoSolver auto = (AutoSolver) OptSolvXConfig.resolve(model, "auto");
+        assertSame(AutoSolver.getSharedSelector(), auto.getSelector());
+        LPSolution sol = new AutoSolver(selector).solve(model);
+        assertEquals(SolveStatus.OPTIMAL, sol.getStatistics().getStatus());
+        assertEquals("commons-math", sol.getStatistics().getBackend());
+        assertEquals(30.0d, sol.getObjectiveValue(), 1e-6);
+        assertFalse(Double.isNaN(selector.getAverageNanos(profile, "commons-math")));
+    }
+}
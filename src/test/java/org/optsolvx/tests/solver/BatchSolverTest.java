@@ -0,0 +1,117 @@
+package org.optsolvx.tests.solver;
+
+import org.junit.jupiter.api.Test;
+import org.optsolvx.backend.ojalgo.OjAlgoSolver;
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.Constraint;
+import org.optsolvx.model.OptimizationDirection;
+import org.optsolvx.solver.BatchResult;
+import org.optsolvx.solver.BatchSolver;
+import org.optsolvx.solver.LPSolution;
+import org.optsolvx.solver.LPSolverAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link BatchSolver}.
+ */
+public class BatchSolverTest {
+
+    @Test
+    void testResultsKeepInputOrder() {
+        List<AbstractLPModel> models = new ArrayList<>();
+        for (int k = 0; k < 50; k++) {
+            models.add(scenario(k));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            BatchSolver batch = new BatchSolver("commons-math");
+            batch.setParallelism(3);
+            List<BatchResult> results = batch.solveAll(models, pool);
+
+            assertEquals(models.size(), results.size());
+            for (int k = 0; k < models.size(); k++) {
+                BatchResult r = results.get(k);
+                assertEquals(k, r.getIndex());
+                assertTrue(r.isSuccess());
+                assertEquals(k, r.getSolution().getObjectiveValue(), 1e-6);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testFailuresAreReportedPerModel() {
+        List<AbstractLPModel> models = new ArrayList<>();
+        for (int k = 0; k < 10; k++) {
+            models.add(scenario(k));
+        }
+        // Odd scenarios make the backend throw
+        LPSolverAdapter flaky = model -> {
+            if (model.getConstraintRhs(0) % 2 == 1) throw new IllegalStateException("boom");
+            return new OjAlgoSolver().solve(model);
+        };
+        List<BatchResult> results = new BatchSolver(() -> flaky).solveAll(models);
+
+        for (int k = 0; k < 10; k++) {
+            BatchResult r = results.get(k);
+            assertEquals(k % 2 == 0, r.isSuccess(), "Result " + k);
+            if (r.isSuccess()) {
+                assertEquals(k, r.getSolution().getObjectiveValue(), 1e-6);
+            } else {
+                assertNull(r.getSolution());
+                assertEquals("boom", r.getFailure().getMessage());
+            }
+        }
+    }
+
+    @Test
+    void testAdaptersAreReusedPerWorker() {
+        List<AbstractLPModel> models = new ArrayList<>();
+        for (int k = 0; k < 40; k++) {
+            models.add(scenario(k));
+        }
+        AtomicInteger created = new AtomicInteger();
+        Set<LPSolverAdapter> used = ConcurrentHashMap.newKeySet();
+        BatchSolver batch = new BatchSolver(() -> {
+            created.incrementAndGet();
+            OjAlgoSolver delegate = new OjAlgoSolver();
+            return new LPSolverAdapter() {
+                @Override
+                public LPSolution solve(AbstractLPModel model) {
+                    used.add(this);
+                    return delegate.solve(model);
+                }
+            };
+        });
+        batch.setParallelism(2);
+        batch.solveAll(models);
+
+        assertTrue(created.get() <= 2, "At most one adapter per worker");
+        assertEquals(created.get(), used.size());
+        assertTrue(batch.solveAll(new ArrayList<>()).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> batch.setParallelism(0));
+    }
+
+    /**
+     * max x s.t. x <= k
+     */
+    private static AbstractLPModel scenario(int k) {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x", 0, 1000);
+        model.setObjective(Map.of("x", 1.0d), OptimizationDirection.MAXIMIZE);
+        model.addConstraint("cap", Map.of("x", 1.0d), Constraint.Relation.LEQ, k);
+        model.build();
+        return model;
+    }
+}
@@ -0,0 +1,154 @@
+package org.optsolvx.tests.solver;
+
+import org.junit.jupiter.api.Test;
+import org.optsolvx.backend.ojalgo.OjAlgoSolver;
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.Constraint;
+import org.optsolvx.model.OptimizationDirection;
+import org.optsolvx.solver.CachingSolverAdapter;
+import org.optsolvx.solver.LPSolution;
+import org.optsolvx.solver.LPSolverAdapter;
+import org.optsolvx.solver.SolveStatus;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link CachingSolverAdapter}.
+ */
+public class CachingSolverAdapterTest {
+
+    @Test
+    void testIdenticalModelsAreAnsweredFromCache() {
+        AtomicInteger calls = new AtomicInteger();
+        LPSolverAdapter counting = model -> {
+            calls.incrementAndGet();
+            return new OjAlgoSolver().solve(model);
+        };
+        CachingSolverAdapter cache = new CachingSolverAdapter(counting);
+
+        LPSolution first = cache.solve(model(4.0d));
+        LPSolution second = cache.solve(model(4.0d));
+        assertEquals(1, calls.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(first.getObjectiveValue(), second.getObjectiveValue(), 0.0);
+        assertEquals(first.getVariableValues(), second.getVariableValues());
+        assertEquals(SolveStatus.OPTIMAL, second.getStatistics().getStatus());
+        assertEquals(0, second.getStatistics().getIterations());
+        assertThrows(UnsupportedOperationException.class, () -> second.getVariableValues().put("x", 1.0d));
+
+        // An in-place edit is a different model, undoing it hits the first entry again
+        AbstractLPModel model = model(4.0d);
+        model.setConstraintRhs("c2", 3.0d);
+        assertEquals(15.0d, cache.solve(model).getObjectiveValue(), 1e-6);
+        model.setConstraintRhs("c2", 4.0d);
+        assertEquals(20.0d, cache.solve(model).getObjectiveValue(), 1e-6);
+        assertEquals(2, calls.get());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntriesAreEvicted() {
+        CachingSolverAdapter cache = new CachingSolverAdapter(new OjAlgoSolver(), 2, 1_000);
+        cache.solve(model(1.0d));
+        cache.solve(model(2.0d));
+        cache.solve(model(1.0d)); // 2.0 is now the least recently used
+        cache.solve(model(3.0d));
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(2, cache.size());
+
+        cache.solve(model(1.0d));
+        assertEquals(2, cache.getHitCount());
+        cache.solve(model(2.0d));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(4, cache.getMissCount());
+
+        // Size-aware limit: two values per solution, room for two solutions
+        CachingSolverAdapter small = new CachingSolverAdapter(new OjAlgoSolver(), 10, 4);
+        for (int k = 1; k <= 3; k++) {
+            small.solve(model(k));
+        }
+        assertEquals(2, small.size());
+        assertEquals(1, small.getEvictionCount());
+    }
+
+    @Test
+    void testFailedSolvesAreNotCached() {
+        AtomicInteger calls = new AtomicInteger();
+        CachingSolverAdapter cache = new CachingSolverAdapter(model -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("backend down");
+        });
+        assertThrows(IllegalStateException.class, () -> cache.solve(model(1.0d)));
+        assertThrows(IllegalStateException.class, () -> cache.solve(model(1.0d)));
+        assertEquals(2, calls.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testSwappedRowNamesAreDifferentModels() {
+        AtomicInteger calls = new AtomicInteger();
+        CachingSolverAdapter cache = new CachingSolverAdapter(model -> {
+            calls.incrementAndGet();
+            return new OjAlgoSolver().solve(model);
+        });
+        AbstractLPModel swapped = new AbstractLPModel();
+        swapped.addVariable("x", 0, 10);
+        swapped.addVariable("y", 0, 10);
+        swapped.setObjective(Map.of("x", 3.0d, "y", 5.0d), OptimizationDirection.MAXIMIZE);
+        swapped.addConstraint("c2", Map.of("x", 2.0d, "y", 1.0d), Constraint.Relation.LEQ, 6.0d);
+        swapped.addConstraint("c1", Map.of("x", 1.0d, "y", 1.0d), Constraint.Relation.LEQ, 4.0d);
+        swapped.build();
+        assertNotEquals(model(4.0d).getFingerprint(), swapped.getFingerprint());
+
+        LPSolution first = cache.solve(model(4.0d));
+        LPSolution second = cache.solve(swapped);
+        assertEquals(2, calls.get());
+        assertEquals(first.getObjectiveValue(), second.getObjectiveValue(), 1e-6);
+        assertEquals(first.getDual("c2"), second.getDual("c1"), 1e-6); // c1 of swapped is c2 of the first model
+        assertEquals(5.0d, second.getDual("c1"), 1e-6);
+    }
+
+    @Test
+    void testNamesWithEqualStringHashesAreDifferentModels() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        CachingSolverAdapter cache = new CachingSolverAdapter(new OjAlgoSolver());
+        AbstractLPModel aa = named("Aa");
+        AbstractLPModel bb = named("BB");
+        assertNotEquals(aa.getFingerprint(), bb.getFingerprint());
+
+        assertEquals(4.0d, cache.solve(aa).getVariableValue("Aa"), 1e-6);
+        assertEquals(4.0d, cache.solve(bb).getVariableValue("BB"), 1e-6);
+        assertEquals(0, cache.getHitCount());
+
+        // A hit on an equal model reads the names of the requesting model
+        AbstractLPModel again = named("BB");
+        LPSolution hit = cache.solve(again);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(4.0d, hit.getVariableValue("BB"), 1e-6);
+    }
+
+    private static AbstractLPModel named(String variable) {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable(variable, 0, 4);
+        model.setObjective(Map.of(variable, 1.0d), OptimizationDirection.MAXIMIZE);
+        model.addConstraint("c", Map.of(variable, 1.0d), Constraint.Relation.LEQ, 10.0d);
+        model.build();
+        return model;
+    }
+
+    private static AbstractLPModel model(double rhs) {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x", 0, 10);
+        model.addVariable("y", 0, 10);
+        model.setObjective(Map.of("x", 3.0d, "y", 5.0d), OptimizationDirection.MAXIMIZE);
+        model.addConstraint("c1", Map.of("x", 2.0d, "y", 1.0d), Constraint.Relation.LEQ, 6.0d);
+        model.addConstraint("c2", Map.of("x", 1.0d, "y", 1.0d), Constraint.Relation.LEQ, rhs);
+        model.build();
+        return model;
+    }
+}
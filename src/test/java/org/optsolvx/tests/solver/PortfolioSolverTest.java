@@ -0,0 +1,101 @@
+package org.optsolvx.tests.solver;
+
+import org.junit.jupiter.api.Test;
+import org.optsolvx.backend.ojalgo.OjAlgoSolver;
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.model.Constraint;
+import org.optsolvx.model.OptimizationDirection;
+import org.optsolvx.solver.LPSolution;
+import org.optsolvx.solver.LPSolverAdapter;
+import org.optsolvx.solver.PortfolioSolver;
+import org.optsolvx.solver.SolveControl;
+import org.optsolvx.solver.SolveStatistics;
+import org.optsolvx.solver.SolveStatus;
+import org.optsolvx.solver.SolverRegistry;
+import org.optsolvx.tests.lp.BaseLPSolverTest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link PortfolioSolver}; the shared LP tests run on the default members.
+ */
+public class PortfolioSolverTest extends BaseLPSolverTest {
+
+    private static final CountDownLatch POLLING_STOPPED = new CountDownLatch(1);
+
+    static {
+        // Never finishes on its own, only when its control is cancelled
+        SolverRegistry.register("test-polling", () -> new LPSolverAdapter() {
+            @Override
+            public LPSolution solve(AbstractLPModel model) {
+                return solve(model, new SolveControl());
+            }
+
+            @Override
+            public LPSolution solve(AbstractLPModel model, SolveControl control) {
+                while (!control.shouldStop()) {
+                    Thread.onSpinWait();
+                }
+                POLLING_STOPPED.countDown();
+                return LPSolution.unsolved(model, new SolveStatistics(control.getStopStatus(), "test-polling",
+                        0L, 0L, 0L, 0, null));
+            }
+        });
+    }
+
+    @Override
+    protected LPSolverAdapter getSolver() {
+        return new PortfolioSolver();
+    }
+
+    @Test
+    void testRegisteredInSolverRegistry() {
+        PortfolioSolver portfolio = (PortfolioSolver) SolverRegistry.create("portfolio");
+        assertEquals(List.of("commons-math", "ojalgo", "optsolvx-simplex"), portfolio.getMembers());
+    }
+
+    @Test
+    void testFirstOptimalResultWinsAndCancelsTheOthers() throws InterruptedException {
+        PortfolioSolver portfolio = new PortfolioSolver("test-polling", OjAlgoSolver.NAME);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        portfolio.setExecutor(executor);
+        try {
+            LPSolution sol = portfolio.solve(model());
+            assertEquals(SolveStatus.OPTIMAL, sol.getStatistics().getStatus());
+            assertEquals(OjAlgoSolver.NAME, sol.getStatistics().getBackend());
+            assertEquals(20.0d, sol.getObjectiveValue(), 1e-6);
+            assertTrue(POLLING_STOPPED.await(30, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testLimitsOfTheCallApplyToAllMembers() {
+        PortfolioSolver portfolio = new PortfolioSolver("test-polling", "test-polling");
+        LPSolution sol = portfolio.solve(model(), new SolveControl(20L, TimeUnit.MILLISECONDS));
+        assertEquals(SolveStatus.TIME_LIMIT, sol.getStatistics().getStatus());
+        assertFalse(sol.isFeasible());
+
+        assertThrows(IllegalArgumentException.class, () -> new PortfolioSolver("ojalgo", "portfolio"));
+        assertThrows(IllegalArgumentException.class, () -> new PortfolioSolver("ojalgo", "missing"));
+    }
+
+    private static AbstractLPModel model() {
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x", 0, 10);
+        model.addVariable("y", 0, 10);
+        model.setObjective(Map.of("x", 3.0d, "y", 5.0d), OptimizationDirection.MAXIMIZE);
+        model.addConstraint("c1", Map.of("x", 2.0d, "y", 1.0d), Constraint.Relation.LEQ, 6.0d);
+        model.addConstraint("c2", Map.of("x", 1.0d, "y", 1.0d), Constraint.Relation.LEQ, 4.0d);
+        model.build();
+        return model;
+    }
+}
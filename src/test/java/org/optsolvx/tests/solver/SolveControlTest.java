@@ -0,0 +1,87 @@
+package org.optsolvx.tests.solver;
+
+import org.junit.jupiter.api.Test;
+import org.optsolvx.model.AbstractLPModel;
+import org.optsolvx.solver.LPSolution;
+import org.optsolvx.solver.LPSolverAdapter;
+import org.optsolvx.solver.SolveControl;
+import org.optsolvx.solver.SolveStatistics;
+import org.optsolvx.solver.SolveStatus;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SolveControl} and {@link LPSolverAdapter#solveAsync}.
+ */
+public class SolveControlTest {
+
+    @Test
+    void testDeadlineAndCancellation() {
+        SolveControl unlimited = new SolveControl();
+        assertFalse(unlimited.hasDeadline());
+        assertEquals(Long.MAX_VALUE, unlimited.getRemainingNanos());
+        assertNull(unlimited.getStopStatus());
+
+        SolveControl timed = new SolveControl(1L, TimeUnit.HOURS, 50);
+        assertTrue(timed.hasDeadline());
+        assertTrue(timed.getRemainingNanos() > TimeUnit.MINUTES.toNanos(59));
+        assertEquals(50, timed.getMaxIterations());
+        assertFalse(timed.shouldStop());
+        timed.cancel();
+        assertTrue(timed.shouldStop());
+        assertEquals(SolveStatus.CANCELLED, timed.getStopStatus());
+
+        assertEquals(SolveStatus.TIME_LIMIT, new SolveControl(1L, TimeUnit.NANOSECONDS).getStopStatus());
+        assertFalse(new SolveControl(Long.MAX_VALUE, TimeUnit.DAYS).isTimedOut());
+        assertThrows(IllegalArgumentException.class, () -> new SolveControl(-1L, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class, () -> new SolveControl(1L, TimeUnit.SECONDS, -1));
+    }
+
+    @Test
+    void testCancellingTheFutureStopsTheSolve() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        LPSolverAdapter polling = new LPSolverAdapter() {
+            @Override
+            public LPSolution solve(AbstractLPModel model) {
+                return solve(model, new SolveControl());
+            }
+
+            @Override
+            public LPSolution solve(AbstractLPModel model, SolveControl control) {
+                started.countDown();
+                while (!control.shouldStop()) {
+                    Thread.onSpinWait();
+                }
+                return LPSolution.unsolved(model, new SolveStatistics(control.getStopStatus(), "polling",
+                        0L, 0L, 0L, 0, null));
+            }
+        };
+        AbstractLPModel model = new AbstractLPModel();
+        model.addVariable("x", 0.0d, 1.0d);
+        model.build();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            SolveControl control = new SolveControl();
+            CompletableFuture<LPSolution> future = polling.solveAsync(model, control, executor);
+            assertTrue(started.await(30, TimeUnit.SECONDS));
+            assertTrue(future.cancel(true));
+            assertTrue(control.isCancelled());
+
+            // The worker is free again once the backend saw the cancellation
+            LPSolution timedOut = polling.solveAsync(model, new SolveControl(10L, TimeUnit.MILLISECONDS), executor)
+                    .get(30, TimeUnit.SECONDS);
+            assertEquals(SolveStatus.TIME_LIMIT, timedOut.getStatistics().getStatus());
+            assertFalse(timedOut.isFeasible());
+            assertEquals(0.0d, timedOut.getVariableValues().get("x"), 0.0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
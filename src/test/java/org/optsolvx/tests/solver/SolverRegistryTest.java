@@ -0,0 +1,137 @@
+package org.optsolvx.tests.solver;
+
+import org.apache.commons.math3.optim.linear.SimplexSolver;
+import org.junit.jupiter.api.Test;
+import org.ojalgo.optimisation.ExpressionsBasedModel;
+import org.optsolvx.backend.commonsmath.CommonsMathSolver;
+import org.optsolvx.backend.ojalgo.OjAlgoSolver;
+import org.optsolvx.backend.simplex.DualSimplexSolver;
+import org.optsolvx.solver.LPSolverAdapter;
+import org.optsolvx.solver.SolverProvider;
+import org.optsolvx.solver.SolverRegistry;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link SolverProvider} discovery of {@link SolverRegistry}.
+ */
+public class SolverRegistryTest {
+
+    /**
+     * Third-party style provider, listed in the test resources' service file.
+     */
+    public static final class EchoProvider implements SolverProvider {
+        @Override
+        public String getName() {
+            return "test-echo";
+        }
+
+        @Override
+        public List<String> getAliases() {
+            return List.of("test-echo-alias");
+        }
+
+        @Override
+        public LPSolverAdapter create() {
+            return new DualSimplexSolver();
+        }
+    }
+
+    @Test
+    void testProvidersAreDiscovered() {
+        Set<String> names = SolverRegistry.names();
+        for (String name : List.of("commons-math", "commonsmath", "cm", "ojalgo", "oj", "optsolvx-simplex",
+                "simplex", "pdlp", "portfolio", "auto", "test-echo", "test-echo-alias")) {
+            assertTrue(names.contains(name), name);
+        }
+        assertInstanceOf(CommonsMathSolver.class, SolverRegistry.create("CM"));
+        assertInstanceOf(DualSimplexSolver.class, SolverRegistry.create("test-echo-alias"));
+    }
+
+    @Test
+    void testRegisteringAProviderReplacesNames() {
+        SolverRegistry.register(new SolverProvider() {
+            @Override
+            public String getName() {
+                return "test-replaced";
+            }
+
+            @Override
+            public List<String> getAliases() {
+                return List.of("test-replaced-alias");
+            }
+
+            @Override
+            public LPSolverAdapter create() {
+                return new OjAlgoSolver();
+            }
+        });
+        assertInstanceOf(OjAlgoSolver.class, SolverRegistry.create("test-replaced-alias"));
+        SolverRegistry.register("test-replaced-alias", DualSimplexSolver::new);
+        assertInstanceOf(DualSimplexSolver.class, SolverRegistry.create("test-replaced-alias"));
+        assertInstanceOf(OjAlgoSolver.class, SolverRegistry.create("test-replaced"));
+    }
+
+    @Test
+    void testBackendClassesAreLoadedOnFirstCreate() throws Exception {
+        URL[] urls = {
+                location(SolverRegistry.class), location(SolverRegistryTest.class),
+                location(ExpressionsBasedModel.class), location(SimplexSolver.class)
+        };
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        try (IsolatedLoader loader = new IsolatedLoader(urls)) {
+            thread.setContextClassLoader(loader);
+            Class<?> registry = Class.forName(SolverRegistry.class.getName(), true, loader);
+            assertEquals(true, registry.getMethod("has", String.class).invoke(null, "ojalgo"));
+            assertNull(loader.loaded(OjAlgoSolver.class.getName()));
+            assertNull(loader.loaded(ExpressionsBasedModel.class.getName()));
+            assertNull(loader.loaded(CommonsMathSolver.class.getName()));
+
+            registry.getMethod("create", String.class).invoke(null, "ojalgo");
+            assertNotNull(loader.loaded(OjAlgoSolver.class.getName()));
+            assertNull(loader.loaded(CommonsMathSolver.class.getName()));
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    @Test
+    void testPortfolioDoesNotCreateMembersUpFront() throws Exception {
+        URL[] urls = {
+                location(SolverRegistry.class), location(SolverRegistryTest.class),
+                location(ExpressionsBasedModel.class), location(SimplexSolver.class)
+        };
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        try (IsolatedLoader loader = new IsolatedLoader(urls)) {
+            thread.setContextClassLoader(loader);
+            Class<?> registry = Class.forName(SolverRegistry.class.getName(), true, loader);
+            registry.getMethod("create", String.class).invoke(null, "portfolio");
+            assertNull(loader.loaded(OjAlgoSolver.class.getName()));
+            assertNull(loader.loaded(CommonsMathSolver.class.getName()));
+            assertNull(loader.loaded(DualSimplexSolver.class.getName()));
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    private static URL location(Class<?> type) {
+        return type.getProtectionDomain().getCodeSource().getLocation();
+    }
+
+    private static final class IsolatedLoader extends URLClassLoader {
+        IsolatedLoader(URL[] urls) {
+            super(urls, ClassLoader.getPlatformClassLoader());
+        }
+
+        Class<?> loaded(String name) {
+            return findLoadedClass(name);
+        }
+    }
+}